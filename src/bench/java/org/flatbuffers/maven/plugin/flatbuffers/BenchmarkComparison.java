@@ -0,0 +1,121 @@
+package org.flatbuffers.maven.plugin.flatbuffers;
+
+/*
+ * Copyright (c) 2016 Maven Flatbuffers Plugin Authors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+import com.google.common.base.Splitter;
+import com.google.common.io.Files;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static java.lang.String.format;
+
+/**
+ * Compares two JMH result files in CSV format and reports the benchmarks that regressed.
+ *
+ * <p>Usage: {@code BenchmarkComparison <baseline.csv> <current.csv> [threshold-percent]}.
+ * The process exits with status {@code 1} if any benchmark is slower than the baseline
+ * by more than the threshold (10% by default).</p>
+ */
+public final class BenchmarkComparison {
+
+    private static final double DEFAULT_THRESHOLD_PERCENT = 10.0;
+
+    private BenchmarkComparison() {
+    }
+
+    public static void main(final String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("Usage: BenchmarkComparison <baseline.csv> <current.csv> [threshold-percent]");
+            System.exit(2);
+        }
+        final Map<String, Result> baseline = read(new File(args[0]));
+        final Map<String, Result> current = read(new File(args[1]));
+        final double threshold = args.length > 2 ? Double.parseDouble(args[2]) : DEFAULT_THRESHOLD_PERCENT;
+
+        int regressions = 0;
+        for (final Map.Entry<String, Result> entry : current.entrySet()) {
+            final Result before = baseline.get(entry.getKey());
+            final Result after = entry.getValue();
+            if (before == null) {
+                System.out.println(format("%-100s %14s -> %14.3f %s (new)",
+                        entry.getKey(), "", after.score, after.unit));
+                continue;
+            }
+            // Lower is better for time-based modes, higher is better for throughput.
+            final double change = 100.0 * (after.score - before.score) / before.score;
+            final double slowdown = "thrpt".equals(after.mode) ? -change : change;
+            final boolean regressed = slowdown > threshold;
+            if (regressed) {
+                regressions++;
+            }
+            System.out.println(format("%-100s %14.3f -> %14.3f %s (%+.1f%%)%s",
+                    entry.getKey(), before.score, after.score, after.unit, change, regressed ? " REGRESSION" : ""));
+        }
+        if (regressions > 0) {
+            System.out.println(format("%d benchmark(s) regressed by more than %.1f%%", regressions, threshold));
+            System.exit(1);
+        }
+    }
+
+    private static Map<String, Result> read(final File file) throws IOException {
+        final List<String> lines = Files.readLines(file, StandardCharsets.UTF_8);
+        final Map<String, Result> results = new LinkedHashMap<String, Result>();
+        if (lines.isEmpty()) {
+            return results;
+        }
+        final List<String> header = parseLine(lines.get(0));
+        for (final String line : lines.subList(1, lines.size())) {
+            if (line.trim().isEmpty()) {
+                continue;
+            }
+            final List<String> values = parseLine(line);
+            final StringBuilder key = new StringBuilder(values.get(header.indexOf("Benchmark")));
+            for (int i = 0; i < header.size(); i++) {
+                if (header.get(i).startsWith("Param: ") && !values.get(i).isEmpty()) {
+                    key.append(' ').append(header.get(i).substring("Param: ".length()))
+                            .append('=').append(values.get(i));
+                }
+            }
+            final Result result = new Result();
+            result.mode = values.get(header.indexOf("Mode"));
+            result.score = Double.parseDouble(values.get(header.indexOf("Score")));
+            result.unit = values.get(header.indexOf("Unit"));
+            results.put(key.toString(), result);
+        }
+        return results;
+    }
+
+    private static List<String> parseLine(final String line) {
+        final List<String> values = new ArrayList<String>();
+        for (final String value : Splitter.on(',').split(line)) {
+            values.add(value.replace("\"", ""));
+        }
+        return values;
+    }
+
+    private static final class Result {
+        String mode;
+        double score;
+        String unit;
+    }
+}
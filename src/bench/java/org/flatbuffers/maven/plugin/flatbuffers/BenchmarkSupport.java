@@ -0,0 +1,361 @@
+package org.flatbuffers.maven.plugin.flatbuffers;
+
+/*
+ * Copyright (c) 2016 Maven Flatbuffers Plugin Authors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+import com.google.common.collect.ImmutableList;
+import org.apache.maven.artifact.Artifact;
+import org.apache.maven.artifact.DefaultArtifact;
+import org.apache.maven.artifact.handler.DefaultArtifactHandler;
+import org.apache.maven.artifact.versioning.VersionRange;
+import org.apache.maven.execution.MavenSession;
+import org.apache.maven.project.DefaultMavenProjectHelper;
+import org.apache.maven.project.MavenProject;
+import org.apache.maven.toolchain.Toolchain;
+import org.apache.maven.toolchain.ToolchainManager;
+import org.codehaus.plexus.util.FileUtils;
+import org.codehaus.plexus.util.Os;
+import org.codehaus.plexus.util.ReflectionUtils;
+import org.sonatype.plexus.build.incremental.DefaultBuildContext;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+
+import static java.lang.String.format;
+
+/**
+ * Fixtures shared by the benchmarks: synthetic schema trees, synthetic dependency jars,
+ * and mojo instances configured the way Maven would configure them.
+ */
+final class BenchmarkSupport {
+
+    /**
+     * Number of schema files placed into a single directory of a synthetic tree.
+     */
+    static final int FILES_PER_DIRECTORY = 100;
+
+    private BenchmarkSupport() {
+    }
+
+    static File createTempDirectory(final String prefix) throws IOException {
+        return Files.createTempDirectory("flatc-bench-" + prefix).toFile();
+    }
+
+    static void deleteDirectory(final File directory) throws IOException {
+        if (directory != null && directory.exists()) {
+            FileUtils.deleteDirectory(directory);
+        }
+    }
+
+    /**
+     * Creates a tree of {@code count} schema files under {@code root},
+     * with {@value #FILES_PER_DIRECTORY} files per directory.
+     *
+     * @param root the root of the tree.
+     * @param count the number of schema files.
+     * @return the created schema files, in creation order.
+     * @throws IOException if the tree cannot be written.
+     */
+    static ImmutableList<File> createSchemaTree(final File root, final int count) throws IOException {
+        return createSchemaTree(root, count, 0, ImmutableList.<String>of());
+    }
+
+    /**
+     * Creates a tree of {@code count} schema files under {@code root},
+     * with {@value #FILES_PER_DIRECTORY} files per directory.
+     * Each schema includes, and references a table from, up to {@code fanOut} preceding schemas.
+     * The first schemas additionally include one of the given dependency schemas each.
+     *
+     * @param root the root of the tree.
+     * @param count the number of schema files.
+     * @param fanOut the number of includes per schema.
+     * @param dependencySchemas include paths of schemas that are expected to come from dependency jars.
+     * @return the created schema files, in creation order.
+     * @throws IOException if the tree cannot be written.
+     */
+    static ImmutableList<File> createSchemaTree(
+            final File root,
+            final int count,
+            final int fanOut,
+            final List<String> dependencySchemas) throws IOException {
+        return createSchemaTree(root, "bench", count, fanOut, dependencySchemas);
+    }
+
+    /**
+     * Same as {@link #createSchemaTree(File, int, int, List)}, with all namespaces nested in {@code rootNamespace}.
+     *
+     * @param root the root of the tree.
+     * @param rootNamespace the namespace that contains all definitions.
+     * @param count the number of schema files.
+     * @param fanOut the number of includes per schema.
+     * @param dependencySchemas include paths of schemas that are expected to come from dependency jars.
+     * @return the created schema files, in creation order.
+     * @throws IOException if the tree cannot be written.
+     */
+    static ImmutableList<File> createSchemaTree(
+            final File root,
+            final String rootNamespace,
+            final int count,
+            final int fanOut,
+            final List<String> dependencySchemas) throws IOException {
+        final ImmutableList.Builder<File> files = ImmutableList.builder();
+        for (int i = 0; i < count; i++) {
+            final String namespace = namespace(rootNamespace, i);
+            final File directory = new File(root, namespace.replace('.', File.separatorChar));
+            final File file = new File(directory, format("schema_%d.fbs", i));
+            final StringBuilder includes = new StringBuilder();
+            final StringBuilder fields = new StringBuilder();
+            for (int j = Math.max(0, i - fanOut); j < i; j++) {
+                includes.append(format("include \"%s\";\n", schemaPath(rootNamespace, j)));
+                fields.append(format("  ref_%d:%s.T%d;\n", j, namespace(rootNamespace, j), j));
+            }
+            if (i < dependencySchemas.size()) {
+                includes.append(format("include \"%s\";\n", dependencySchemas.get(i)));
+            }
+            FileUtils.mkdir(directory.getAbsolutePath());
+            FileUtils.fileWrite(file, StandardCharsets.UTF_8.name(),
+                    includes + "\n" + schema(namespace, "T" + i, fields.toString()));
+            files.add(file);
+        }
+        return files.build();
+    }
+
+    /**
+     * Returns the include path of a schema created by {@link #createSchemaTree(File, String, int, int, List)}.
+     *
+     * @param rootNamespace the namespace that contains all definitions of the tree.
+     * @param index the index of the schema within the tree.
+     * @return the path of the schema relative to the root of the tree.
+     */
+    static String schemaPath(final String rootNamespace, final int index) {
+        return format("%s/schema_%d.fbs", namespace(rootNamespace, index).replace('.', '/'), index);
+    }
+
+    private static String namespace(final String rootNamespace, final int index) {
+        return rootNamespace + ".d" + (index / FILES_PER_DIRECTORY);
+    }
+
+    /**
+     * Creates a jar resembling a dependency artifact, with a number of class entries
+     * and optionally a number of schema entries.
+     *
+     * @param jarFile the jar to create.
+     * @param classEntries the number of (empty) class entries.
+     * @param schemaEntries the number of schema entries.
+     * @return paths of the schema entries within the jar.
+     * @throws IOException if the jar cannot be written.
+     */
+    static ImmutableList<String> createJar(final File jarFile, final int classEntries, final int schemaEntries)
+            throws IOException {
+        final ImmutableList.Builder<String> schemas = ImmutableList.builder();
+        final JarOutputStream out = new JarOutputStream(new FileOutputStream(jarFile));
+        try {
+            final String namespace = "bench.jar." + jarFile.getName().replaceAll("\\W", "_");
+            final String directory = namespace.replace('.', '/') + '/';
+            for (int i = 0; i < classEntries; i++) {
+                out.putNextEntry(new JarEntry(directory + "C" + i + ".class"));
+                out.closeEntry();
+            }
+            for (int i = 0; i < schemaEntries; i++) {
+                final String schema = directory + "schema_" + i + ".fbs";
+                out.putNextEntry(new JarEntry(schema));
+                out.write(schema(namespace, "J" + i, "").getBytes(StandardCharsets.UTF_8));
+                out.closeEntry();
+                schemas.add(schema);
+            }
+        } finally {
+            out.close();
+        }
+        return schemas.build();
+    }
+
+    /**
+     * Creates a jar with the contents of a directory, the way the jar plugin would package resources.
+     *
+     * @param jarFile the jar to create.
+     * @param directory the directory to package.
+     * @throws IOException if the jar cannot be written.
+     */
+    static void createJar(final File jarFile, final File directory) throws IOException {
+        final JarOutputStream out = new JarOutputStream(new FileOutputStream(jarFile));
+        try {
+            for (final String path : FileUtils.getFileNames(directory, "**/*", null, false)) {
+                out.putNextEntry(new JarEntry(path.replace(File.separatorChar, '/')));
+                out.write(Files.readAllBytes(new File(directory, path).toPath()));
+                out.closeEntry();
+            }
+        } finally {
+            out.close();
+        }
+    }
+
+    static String schema(final String namespace, final String table, final String extraFields) {
+        return "namespace " + namespace + ";\n\n"
+                + "table " + table + " {\n"
+                + "  id:long;\n"
+                + "  name:string;\n"
+                + "  values:[int];\n"
+                + extraFields
+                + "}\n";
+    }
+
+    /**
+     * Creates a compile mojo with the parameter values that Maven would inject by default.
+     *
+     * @return a new mojo instance.
+     * @throws IllegalAccessException if a parameter cannot be set.
+     */
+    static FlatcCompileMojo newCompileMojo() throws IllegalAccessException {
+        final FlatcCompileMojo mojo = new FlatcCompileMojo();
+        setParameter(mojo, "hashDependentPaths", true);
+        return mojo;
+    }
+
+    /**
+     * Creates a project with the conventional directory layout under {@code basedir},
+     * depending on the given jars in compile scope.
+     *
+     * @param basedir the project base directory.
+     * @param dependencyJars jars to be returned as compile dependencies.
+     * @return a new project instance.
+     */
+    static MavenProject newProject(final File basedir, final Iterable<File> dependencyJars) {
+        final MavenProject project = new MavenProject();
+        project.setGroupId("org.flatbuffers.maven.plugins.bench");
+        project.setArtifactId(basedir.getName());
+        project.setVersion("1.0.0");
+        project.setFile(new File(basedir, "pom.xml"));
+        project.getBuild().setDirectory(new File(basedir, "target").getAbsolutePath());
+        project.getBuild().setOutputDirectory(new File(basedir, "target/classes").getAbsolutePath());
+        project.getBuild().setTestOutputDirectory(new File(basedir, "target/test-classes").getAbsolutePath());
+
+        final DefaultArtifactHandler handler = new DefaultArtifactHandler("jar");
+        handler.setAddedToClasspath(true);
+        final Set<Artifact> artifacts = new LinkedHashSet<Artifact>();
+        for (final File jar : dependencyJars) {
+            final Artifact artifact = new DefaultArtifact(
+                    "org.flatbuffers.maven.plugins.bench", jar.getName(), VersionRange.createFromVersion("1.0.0"),
+                    Artifact.SCOPE_COMPILE, "jar", null, handler);
+            artifact.setFile(jar);
+            artifacts.add(artifact);
+        }
+        project.setArtifacts(artifacts);
+        return project;
+    }
+
+    /**
+     * Creates a compile mojo for the given project, reading definitions from {@code src/main/flatbuffers}.
+     *
+     * @param project the project to compile.
+     * @param flatcExecutable the {@code flatc} executable.
+     * @return a new mojo instance.
+     * @throws IllegalAccessException if a parameter cannot be set.
+     */
+    static FlatcCompileMojo newCompileMojo(final MavenProject project, final File flatcExecutable)
+            throws IllegalAccessException {
+        final FlatcCompileMojo mojo = new FlatcCompileMojo();
+        configure(mojo, project, flatcExecutable);
+        setParameter(mojo, "fbsSourceRoot", new File(project.getBasedir(), "src/main/flatbuffers"));
+        setParameter(mojo, "descriptorSetOutputDirectory",
+                new File(project.getBuild().getDirectory(), "generated-resources/flatbuffers/descriptor-sets"));
+        setParameter(mojo, "outputDirectory",
+                new File(project.getBuild().getDirectory(), "generated-sources/flatbuffers/java"));
+        return mojo;
+    }
+
+    /**
+     * Creates a test-compile mojo for the given project, reading definitions from {@code src/test/flatbuffers}.
+     *
+     * @param project the project to compile.
+     * @param flatcExecutable the {@code flatc} executable.
+     * @return a new mojo instance.
+     * @throws IllegalAccessException if a parameter cannot be set.
+     */
+    static FlatcTestCompileMojo newTestCompileMojo(final MavenProject project, final File flatcExecutable)
+            throws IllegalAccessException {
+        final FlatcTestCompileMojo mojo = new FlatcTestCompileMojo();
+        configure(mojo, project, flatcExecutable);
+        setParameter(mojo, "fbsTestSourceRoot", new File(project.getBasedir(), "src/test/flatbuffers"));
+        setParameter(mojo, "descriptorSetOutputDirectory",
+                new File(project.getBuild().getDirectory(), "generated-test-resources/flatbuffers/descriptor-sets"));
+        setParameter(mojo, "outputDirectory",
+                new File(project.getBuild().getDirectory(), "generated-test-sources/flatbuffers/java"));
+        return mojo;
+    }
+
+    private static void configure(
+            final AbstractFlatcMojo mojo,
+            final MavenProject project,
+            final File flatcExecutable) throws IllegalAccessException {
+        setParameter(mojo, "project", project);
+        setParameter(mojo, "buildContext", new DefaultBuildContext());
+        setParameter(mojo, "projectHelper", new DefaultMavenProjectHelper());
+        setParameter(mojo, "toolchainManager", new ToolchainManager() {
+            @Override
+            public Toolchain getToolchainFromBuildContext(final String type, final MavenSession context) {
+                return null;
+            }
+        });
+        setParameter(mojo, "flatcExecutable", flatcExecutable.getAbsolutePath());
+        setParameter(mojo, "temporaryFbsFileDirectory",
+                new File(project.getBuild().getDirectory(), "flatc-dependencies"));
+        setParameter(mojo, "hashDependentPaths", true);
+        setParameter(mojo, "attachFbsSources", true);
+        setParameter(mojo, "clearOutputDirectory", true);
+    }
+
+    /**
+     * Writes a launcher script for {@link FakeFlatc}, which can be used as the {@code flatc} executable.
+     * The stub runs on the classpath of the current JVM.
+     *
+     * @param directory the directory in which to create the launcher.
+     * @param costMicros the simulated compilation cost of each definition, in microseconds.
+     * @return the launcher file.
+     * @throws IOException if the launcher cannot be written.
+     */
+    static File createFakeFlatc(final File directory, final long costMicros) throws IOException {
+        final String command = format("\"%s\" -D%s=%d -cp \"%s\" %s",
+                new File(System.getProperty("java.home"), "bin/java").getAbsolutePath(),
+                FakeFlatc.COST_PROPERTY,
+                costMicros,
+                System.getProperty("java.class.path"),
+                FakeFlatc.class.getName());
+        FileUtils.mkdir(directory.getAbsolutePath());
+        final File launcher;
+        if (Os.isFamily(Os.FAMILY_WINDOWS)) {
+            launcher = new File(directory, "flatc.cmd");
+            FileUtils.fileWrite(launcher, "@echo off\r\n" + command + " %*\r\n");
+        } else {
+            launcher = new File(directory, "flatc");
+            FileUtils.fileWrite(launcher, "#!/bin/sh\nexec " + command + " \"$@\"\n");
+            launcher.setExecutable(true);
+        }
+        return launcher;
+    }
+
+    static void setParameter(final Object target, final String name, final Object value)
+            throws IllegalAccessException {
+        ReflectionUtils.setVariableValueInObject(target, name, value);
+    }
+}
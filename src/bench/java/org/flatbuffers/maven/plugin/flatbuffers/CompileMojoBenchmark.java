@@ -0,0 +1,124 @@
+package org.flatbuffers.maven.plugin.flatbuffers;
+
+/*
+ * Copyright (c) 2016 Maven Flatbuffers Plugin Authors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+import com.google.common.collect.ImmutableList;
+import org.apache.maven.project.MavenProject;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.File;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures a complete execution of the {@code compile} goal on a synthetic project,
+ * using {@link FakeFlatc} in place of the real compiler.
+ *
+ * <p>The project has {@code schemas} definitions, each including {@code fanOut} other definitions,
+ * and {@code dependencyJars} compile dependencies with definitions of their own.
+ * Besides the execution time, the peak heap usage of the benchmark JVM is reported as a secondary result.</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 1, time = 1)
+@Measurement(iterations = 3, time = 1)
+public class CompileMojoBenchmark {
+
+    @Param({"100", "1000", "10000", "50000"})
+    public int schemas;
+
+    @Param({"0", "4"})
+    public int fanOut;
+
+    @Param({"0", "10"})
+    public int dependencyJars;
+
+    /**
+     * Simulated compilation cost of a single definition, in microseconds.
+     */
+    @Param({"100"})
+    public long costMicros;
+
+    private File basedir;
+
+    private FlatcCompileMojo mojo;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        basedir = BenchmarkSupport.createTempDirectory("compile");
+        final File repository = new File(basedir, "repository");
+        repository.mkdirs();
+        final ImmutableList.Builder<File> jars = ImmutableList.builder();
+        final ImmutableList.Builder<String> dependencySchemas = ImmutableList.builder();
+        for (int i = 0; i < dependencyJars; i++) {
+            final File jar = new File(repository, "dependency-" + i + ".jar");
+            dependencySchemas.addAll(BenchmarkSupport.createJar(jar, 200, 5));
+            jars.add(jar);
+        }
+        final File project = new File(basedir, "project");
+        BenchmarkSupport.createSchemaTree(
+                new File(project, "src/main/flatbuffers"), schemas, fanOut, dependencySchemas.build());
+        final MavenProject mavenProject = BenchmarkSupport.newProject(project, jars.build());
+        mojo = BenchmarkSupport.newCompileMojo(
+                mavenProject, BenchmarkSupport.createFakeFlatc(new File(basedir, "bin"), costMicros));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        BenchmarkSupport.deleteDirectory(basedir);
+    }
+
+    @Benchmark
+    public void compile(final HeapUsage heapUsage) throws Exception {
+        mojo.execute();
+    }
+
+    /**
+     * Reports the peak heap usage during a measurement iteration.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class HeapUsage {
+
+        public long peakHeapMegabytes;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            System.gc();
+            for (final MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+                if (pool.getType() == MemoryType.HEAP) {
+                    pool.resetPeakUsage();
+                }
+            }
+        }
+
+        @TearDown(Level.Iteration)
+        public void record() {
+            long peak = 0;
+            for (final MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+                if (pool.getType() == MemoryType.HEAP) {
+                    peak += pool.getPeakUsage().getUsed();
+                }
+            }
+            peakHeapMegabytes = peak >> 20;
+        }
+    }
+}
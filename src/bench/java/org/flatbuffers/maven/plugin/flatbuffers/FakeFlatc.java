@@ -0,0 +1,119 @@
+package org.flatbuffers.maven.plugin.flatbuffers;
+
+/*
+ * Copyright (c) 2016 Maven Flatbuffers Plugin Authors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+import com.google.common.base.Charsets;
+import com.google.common.io.Files;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * A stand-in for the {@code flatc} executable, used to measure the plugin without a native build of the compiler.
+ *
+ * <p>It accepts the same command line as the plugin passes to {@code flatc}, spends a configurable
+ * amount of CPU time on each definition ({@value #COST_PROPERTY} system property, in microseconds),
+ * and writes one Java source file per table, struct, enum or union into the output directory.
+ * With {@code -b}, it writes a placeholder {@code .bfbs} file per definition instead.</p>
+ */
+public final class FakeFlatc {
+
+    static final String COST_PROPERTY = "flatc.bench.costMicros";
+
+    private static final Pattern NAMESPACE = Pattern.compile("^\\s*namespace\\s+([\\w.]+)\\s*;", Pattern.MULTILINE);
+
+    private static final Pattern FIELD = Pattern.compile("^\\s*(\\w+)\\s*:", Pattern.MULTILINE);
+
+    private static final Pattern TYPE =
+            Pattern.compile("^\\s*(table|struct|enum|union)\\s+(\\w+)[^{]*\\{([^}]*)\\}", Pattern.MULTILINE);
+
+    private FakeFlatc() {
+    }
+
+    public static void main(final String[] args) throws IOException {
+        final long costNanos = Long.getLong(COST_PROPERTY, 0L) * 1000L;
+        File outputDirectory = null;
+        boolean binarySchema = false;
+        final List<File> fbsFiles = new ArrayList<File>();
+        for (int i = 0; i < args.length; i++) {
+            if ("-o".equals(args[i])) {
+                outputDirectory = new File(args[++i]);
+            } else if ("-I".equals(args[i])) {
+                i++;
+            } else if ("-b".equals(args[i])) {
+                binarySchema = true;
+            } else if (!args[i].startsWith("-")) {
+                fbsFiles.add(new File(args[i]));
+            }
+        }
+        if (outputDirectory == null) {
+            System.err.println("error: no output directory");
+            System.exit(1);
+        }
+        for (final File fbsFile : fbsFiles) {
+            final long deadline = System.nanoTime() + costNanos;
+            if (binarySchema) {
+                // not a real reflection.Schema, but it has the name and a size that grows with the definition
+                final String name = fbsFile.getName();
+                Files.copy(fbsFile, new File(outputDirectory, name.substring(0, name.length() - 4) + ".bfbs"));
+            } else {
+                generate(Files.asCharSource(fbsFile, Charsets.UTF_8).read(), outputDirectory);
+            }
+            while (System.nanoTime() < deadline) {
+                // simulate the parsing and code generation cost of the real compiler
+                Thread.yield();
+            }
+        }
+    }
+
+    private static void generate(final String schema, final File outputDirectory) throws IOException {
+        final Matcher namespace = NAMESPACE.matcher(schema);
+        final String packageName = namespace.find() ? namespace.group(1) : "";
+        final File packageDirectory = new File(outputDirectory, packageName.replace('.', File.separatorChar));
+        packageDirectory.mkdirs();
+        final Matcher type = TYPE.matcher(schema);
+        while (type.find()) {
+            final String name = type.group(2);
+            final StringBuilder source = new StringBuilder();
+            source.append("// automatically generated by the FlatBuffers compiler, do not modify\n\n");
+            if (!packageName.isEmpty()) {
+                source.append("package ").append(packageName).append(";\n\n");
+            }
+            source.append("import java.nio.*;\nimport java.lang.*;\nimport java.util.*;\n")
+                    .append("import com.google.flatbuffers.*;\n\n")
+                    .append("@SuppressWarnings(\"unused\")\n")
+                    .append("public final class ").append(name).append(" extends Table {\n")
+                    .append("  public static ").append(name).append(" getRootAs").append(name)
+                    .append("(ByteBuffer _bb) { return getRootAs").append(name).append("(_bb, new ")
+                    .append(name).append("()); }\n");
+            final Matcher field = FIELD.matcher(type.group(3));
+            int offset = 4;
+            while (field.find()) {
+                source.append("  public int ").append(field.group(1))
+                        .append("() { int o = __offset(").append(offset)
+                        .append("); return o != 0 ? bb.getInt(o + bb_pos) : 0; }\n");
+                offset += 2;
+            }
+            source.append("}\n\n");
+            Files.asCharSink(new File(packageDirectory, name + ".java"), Charsets.UTF_8).write(source);
+        }
+    }
+}
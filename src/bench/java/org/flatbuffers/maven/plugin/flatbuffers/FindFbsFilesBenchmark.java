@@ -0,0 +1,59 @@
+package org.flatbuffers.maven.plugin.flatbuffers;
+
+/*
+ * Copyright (c) 2016 Maven Flatbuffers Plugin Authors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+import com.google.common.collect.ImmutableSet;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.File;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures scanning of the source root for {@code .fbs} files.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class FindFbsFilesBenchmark {
+
+    @Param({"1000", "10000", "100000"})
+    public int files;
+
+    private File sourceRoot;
+
+    private FlatcCompileMojo mojo;
+
+    @Setup
+    public void setUp() throws Exception {
+        sourceRoot = BenchmarkSupport.createTempDirectory("sources");
+        BenchmarkSupport.createSchemaTree(sourceRoot, files);
+        mojo = BenchmarkSupport.newCompileMojo();
+    }
+
+    @TearDown
+    public void tearDown() throws Exception {
+        BenchmarkSupport.deleteDirectory(sourceRoot);
+    }
+
+    @Benchmark
+    public ImmutableSet<File> findFbsFilesInDirectory() throws Exception {
+        return mojo.findFbsFilesInDirectory(sourceRoot);
+    }
+}
@@ -0,0 +1,90 @@
+package org.flatbuffers.maven.plugin.flatbuffers;
+
+/*
+ * Copyright (c) 2016 Maven Flatbuffers Plugin Authors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+import com.google.common.collect.ImmutableList;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.File;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures building of the {@link Flatc} configuration and its command line for large include paths.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class FlatcCommandBenchmark {
+
+    /**
+     * Number of include path elements; each of them holds one schema file.
+     */
+    @Param({"100", "1000", "10000"})
+    public int paths;
+
+    private File workDirectory;
+
+    private ImmutableList<File> fbPathElements;
+
+    private ImmutableList<File> fbsFiles;
+
+    private File outputDirectory;
+
+    private Flatc flatc;
+
+    @Setup
+    public void setUp() throws Exception {
+        workDirectory = BenchmarkSupport.createTempDirectory("command");
+        outputDirectory = new File(workDirectory, "output");
+        outputDirectory.mkdirs();
+        final ImmutableList.Builder<File> pathBuilder = ImmutableList.builder();
+        final ImmutableList.Builder<File> fileBuilder = ImmutableList.builder();
+        for (int i = 0; i < paths; i++) {
+            final File pathElement = new File(workDirectory, "path-" + i);
+            final List<File> files = BenchmarkSupport.createSchemaTree(pathElement, 1);
+            pathBuilder.add(pathElement);
+            fileBuilder.addAll(files);
+        }
+        fbPathElements = pathBuilder.build();
+        fbsFiles = fileBuilder.build();
+        flatc = build();
+    }
+
+    @TearDown
+    public void tearDown() throws Exception {
+        BenchmarkSupport.deleteDirectory(workDirectory);
+    }
+
+    @Benchmark
+    public Flatc build() {
+        return ImmutableFlatc.builder()
+                .executable("flatc")
+                .addAllFbPathElements(fbPathElements)
+                .addAllFbsFiles(fbsFiles)
+                .javaOutputDirectory(outputDirectory)
+                .build();
+    }
+
+    @Benchmark
+    public ImmutableList<String> buildFlatcCommand() {
+        return flatc.buildFlatcCommand();
+    }
+}
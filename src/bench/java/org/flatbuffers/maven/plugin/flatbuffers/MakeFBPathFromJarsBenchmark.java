@@ -0,0 +1,80 @@
+package org.flatbuffers.maven.plugin.flatbuffers;
+
+/*
+ * Copyright (c) 2016 Maven Flatbuffers Plugin Authors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.File;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures extraction of {@code .fbs} files from dependency jars into the temporary include directory.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class MakeFBPathFromJarsBenchmark {
+
+    @Param({"10", "100"})
+    public int jars;
+
+    /**
+     * Number of schema entries in each jar; zero models the common case of plain Java dependencies.
+     */
+    @Param({"0", "20"})
+    public int schemasPerJar;
+
+    @Param({"200"})
+    public int classesPerJar;
+
+    private File workDirectory;
+
+    private File temporaryFbsFileDirectory;
+
+    private ImmutableList<File> jarFiles;
+
+    private FlatcCompileMojo mojo;
+
+    @Setup
+    public void setUp() throws Exception {
+        workDirectory = BenchmarkSupport.createTempDirectory("jars");
+        temporaryFbsFileDirectory = new File(workDirectory, "flatc-dependencies");
+        final ImmutableList.Builder<File> builder = ImmutableList.builder();
+        for (int i = 0; i < jars; i++) {
+            final File jarFile = new File(workDirectory, "dependency-" + i + ".jar");
+            BenchmarkSupport.createJar(jarFile, classesPerJar, schemasPerJar);
+            builder.add(jarFile);
+        }
+        jarFiles = builder.build();
+        mojo = BenchmarkSupport.newCompileMojo();
+    }
+
+    @TearDown
+    public void tearDown() throws Exception {
+        BenchmarkSupport.deleteDirectory(workDirectory);
+    }
+
+    @Benchmark
+    public ImmutableSet<File> makeFBPathFromJars() throws Exception {
+        return mojo.makeFBPathFromJars(temporaryFbsFileDirectory, jarFiles);
+    }
+}
@@ -0,0 +1,71 @@
+package org.flatbuffers.maven.plugin.flatbuffers;
+
+/*
+ * Copyright (c) 2016 Maven Flatbuffers Plugin Authors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+import org.apache.maven.plugin.logging.SystemStreamLog;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.File;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures generation of the launcher (a shell script, or a WinRun4J ini file on Windows)
+ * for a {@link FlatcPlugin} with a large resolved classpath.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class PluginAssemblerBenchmark {
+
+    @Param({"10", "100", "1000"})
+    public int jars;
+
+    private File pluginDirectory;
+
+    private FlatcPluginAssembler assembler;
+
+    @Setup
+    public void setUp() throws Exception {
+        pluginDirectory = BenchmarkSupport.createTempDirectory("plugins");
+        final FlatcPlugin plugin = new FlatcPlugin();
+        BenchmarkSupport.setParameter(plugin, "id", "bench");
+        BenchmarkSupport.setParameter(plugin, "mainClass", "org.flatbuffers.bench.Main");
+        BenchmarkSupport.setParameter(plugin, "winJvmDataModel", "64");
+        plugin.setJavaHome(System.getProperty("java.home"));
+        assembler = new FlatcPluginAssembler(
+                plugin, null, null, null, null, null, null, pluginDirectory, new SystemStreamLog());
+        final File repository = new File(System.getProperty("user.home"), ".m2/repository");
+        for (int i = 0; i < jars; i++) {
+            assembler.getResolvedJars().add(
+                    new File(repository, "org/flatbuffers/bench/artifact-" + i + "/1.0/artifact-" + i + "-1.0.jar"));
+        }
+    }
+
+    @TearDown
+    public void tearDown() throws Exception {
+        BenchmarkSupport.deleteDirectory(pluginDirectory);
+    }
+
+    @Benchmark
+    public File buildPluginExecutable() throws Exception {
+        assembler.buildPluginExecutable();
+        return pluginDirectory;
+    }
+}
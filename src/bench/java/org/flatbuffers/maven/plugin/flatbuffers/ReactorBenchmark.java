@@ -0,0 +1,280 @@
+package org.flatbuffers.maven.plugin.flatbuffers;
+
+/*
+ * Copyright (c) 2016 Maven Flatbuffers Plugin Authors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+import com.google.common.collect.ImmutableList;
+import org.apache.maven.project.MavenProject;
+import org.codehaus.plexus.util.FileUtils;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.File;
+import java.io.PrintWriter;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static java.lang.String.format;
+
+/**
+ * Measures a multi-module reactor built in parallel, the way {@code mvn -T <threads>} schedules modules.
+ *
+ * <p>Each module runs the {@code compile} goal, packages its definitions into a jar that downstream modules
+ * depend on, and then runs the {@code test-compile} goal. {@link FakeFlatc} is used in place of the compiler.
+ * A module starts as soon as all of its upstream modules are finished.</p>
+ *
+ * <p>Secondary results are the critical path through the module graph, the sum of module execution times
+ * (which grows with the number of threads when modules contend for shared directories),
+ * and the number of modules that failed. Setting {@code sharedTemporaryDirectory} makes all modules
+ * extract dependency definitions into the same directory. Per-module timings of the last build are written
+ * to {@code target/reactor-benchmark}.</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 1, time = 1)
+@Measurement(iterations = 3, time = 1)
+public class ReactorBenchmark {
+
+    @Param({"10", "100"})
+    public int modules;
+
+    /**
+     * The equivalent of {@code -T} for the reactor.
+     */
+    @Param({"1", "2", "4", "8"})
+    public int threads;
+
+    @Param({"20"})
+    public int schemasPerModule;
+
+    @Param({"3"})
+    public int dependenciesPerModule;
+
+    @Param({"false", "true"})
+    public boolean sharedTemporaryDirectory;
+
+    /**
+     * Simulated compilation cost of a single definition, in microseconds.
+     */
+    @Param({"100"})
+    public long costMicros;
+
+    private File basedir;
+
+    private List<Module> reactor;
+
+    private final List<Timing> timings = new ArrayList<Timing>();
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        basedir = BenchmarkSupport.createTempDirectory("reactor");
+        final File repository = new File(basedir, "repository");
+        repository.mkdirs();
+        final File flatc = BenchmarkSupport.createFakeFlatc(new File(basedir, "bin"), costMicros);
+        final File sharedDirectory = new File(basedir, "shared/flatc-dependencies");
+
+        reactor = new ArrayList<Module>();
+        for (int i = 0; i < modules; i++) {
+            final Module module = new Module();
+            module.name = "module-" + i;
+            module.jar = new File(repository, module.name + ".jar");
+            module.upstream = upstreamOf(i);
+
+            final Set<File> jars = new LinkedHashSet<File>();
+            final ImmutableList.Builder<String> dependencySchemas = ImmutableList.builder();
+            for (final int upstream : module.upstream) {
+                final Module upstreamModule = reactor.get(upstream);
+                jars.addAll(upstreamModule.dependencyJars);
+                jars.add(upstreamModule.jar);
+                dependencySchemas.add(BenchmarkSupport.schemaPath("bench.m" + upstream, 0));
+            }
+            module.dependencyJars = ImmutableList.copyOf(jars);
+
+            final File projectDirectory = new File(basedir, module.name);
+            module.sourceRoot = new File(projectDirectory, "src/main/flatbuffers");
+            BenchmarkSupport.createSchemaTree(
+                    module.sourceRoot, "bench.m" + i, schemasPerModule, 2, dependencySchemas.build());
+            BenchmarkSupport.createSchemaTree(
+                    new File(projectDirectory, "src/test/flatbuffers"), "bench.m" + i + ".test", schemasPerModule, 2,
+                    ImmutableList.of(BenchmarkSupport.schemaPath("bench.m" + i, 0)));
+
+            final MavenProject project = BenchmarkSupport.newProject(projectDirectory, module.dependencyJars);
+            module.outputDirectory = new File(project.getBuild().getOutputDirectory());
+            module.compile = BenchmarkSupport.newCompileMojo(project, flatc);
+            module.testCompile = BenchmarkSupport.newTestCompileMojo(project, flatc);
+            if (sharedTemporaryDirectory) {
+                BenchmarkSupport.setParameter(module.compile, "temporaryFbsFileDirectory", sharedDirectory);
+                BenchmarkSupport.setParameter(module.testCompile, "temporaryFbsFileDirectory", sharedDirectory);
+            }
+            reactor.add(module);
+        }
+    }
+
+    /**
+     * Picks up to {@link #dependenciesPerModule} distinct upstream modules among the preceding ones,
+     * which gives a graph that is neither a chain nor flat.
+     */
+    private List<Integer> upstreamOf(final int index) {
+        final Set<Integer> upstream = new LinkedHashSet<Integer>();
+        for (int k = 0; k < dependenciesPerModule && index > 0; k++) {
+            upstream.add((index * 7 + k * 13) % index);
+        }
+        return ImmutableList.copyOf(upstream);
+    }
+
+    @TearDown(Level.Iteration)
+    public void writeTimings() throws Exception {
+        final File reportDirectory = new File("target/reactor-benchmark");
+        reportDirectory.mkdirs();
+        final File report = new File(reportDirectory, format("modules-%d-threads-%d-shared-%s.csv",
+                modules, threads, sharedTemporaryDirectory));
+        final PrintWriter out = new PrintWriter(report, "UTF-8");
+        try {
+            out.println("module,startMillis,endMillis,durationMillis,criticalPathMillis,failed");
+            for (final Timing timing : timings) {
+                out.println(format("%s,%d,%d,%d,%d,%s", timing.module.name, timing.startMillis, timing.endMillis,
+                        timing.endMillis - timing.startMillis, timing.criticalPathMillis, timing.failed));
+            }
+        } finally {
+            out.close();
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        BenchmarkSupport.deleteDirectory(basedir);
+    }
+
+    @Benchmark
+    public void build(final ReactorMetrics metrics) throws Exception {
+        final ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            final CompletionService<Timing> completion = new ExecutorCompletionService<Timing>(executor);
+            final int[] pendingUpstream = new int[modules];
+            final List<List<Integer>> downstream = new ArrayList<List<Integer>>();
+            for (int i = 0; i < modules; i++) {
+                downstream.add(new ArrayList<Integer>());
+            }
+            for (int i = 0; i < modules; i++) {
+                pendingUpstream[i] = reactor.get(i).upstream.size();
+                for (final int upstream : reactor.get(i).upstream) {
+                    downstream.get(upstream).add(i);
+                }
+            }
+
+            final long start = System.nanoTime();
+            for (int i = 0; i < modules; i++) {
+                if (pendingUpstream[i] == 0) {
+                    completion.submit(reactor.get(i).build(start));
+                }
+            }
+            final Timing[] results = new Timing[modules];
+            for (int completed = 0; completed < modules; completed++) {
+                final Timing timing = completion.take().get();
+                results[reactor.indexOf(timing.module)] = timing;
+                for (final int next : downstream.get(reactor.indexOf(timing.module))) {
+                    if (--pendingUpstream[next] == 0) {
+                        completion.submit(reactor.get(next).build(start));
+                    }
+                }
+            }
+
+            timings.clear();
+            metrics.criticalPathMillis = 0;
+            metrics.moduleMillis = 0;
+            metrics.failedModules = 0;
+            for (int i = 0; i < modules; i++) {
+                final Timing timing = results[i];
+                long upstreamCriticalPath = 0;
+                for (final int upstream : reactor.get(i).upstream) {
+                    upstreamCriticalPath = Math.max(upstreamCriticalPath, results[upstream].criticalPathMillis);
+                }
+                final long duration = timing.endMillis - timing.startMillis;
+                timing.criticalPathMillis = upstreamCriticalPath + duration;
+                metrics.criticalPathMillis = Math.max(metrics.criticalPathMillis, timing.criticalPathMillis);
+                metrics.moduleMillis += duration;
+                metrics.failedModules += timing.failed ? 1 : 0;
+                timings.add(timing);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Secondary results of the last reactor build in an iteration.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class ReactorMetrics {
+
+        public long criticalPathMillis;
+
+        public long moduleMillis;
+
+        public long failedModules;
+    }
+
+    private static final class Module {
+        String name;
+        List<Integer> upstream;
+        List<File> dependencyJars;
+        File sourceRoot;
+        File outputDirectory;
+        File jar;
+        FlatcCompileMojo compile;
+        FlatcTestCompileMojo testCompile;
+
+        Callable<Timing> build(final long reactorStart) {
+            return new Callable<Timing>() {
+                @Override
+                public Timing call() throws Exception {
+                    final Timing timing = new Timing();
+                    timing.module = Module.this;
+                    timing.startMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - reactorStart);
+                    try {
+                        compile.execute();
+                        // process-resources and package: the definitions end up in the output directory and the jar
+                        FileUtils.copyDirectoryStructure(sourceRoot, outputDirectory);
+                        BenchmarkSupport.createJar(jar, sourceRoot);
+                        testCompile.execute();
+                    } catch (Exception e) {
+                        timing.failed = true;
+                    }
+                    timing.endMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - reactorStart);
+                    return timing;
+                }
+            };
+        }
+    }
+
+    private static final class Timing {
+        Module module;
+        long startMillis;
+        long endMillis;
+        long criticalPathMillis;
+        boolean failed;
+    }
+}
@@ -0,0 +1,61 @@
+package org.flatbuffers.maven.plugin.flatbuffers;
+
+/*
+ * Copyright (c) 2016 Maven Flatbuffers Plugin Authors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+import org.apache.maven.artifact.repository.ArtifactRepositoryPolicy;
+import org.apache.maven.artifact.repository.MavenArtifactRepository;
+import org.apache.maven.artifact.repository.layout.DefaultRepositoryLayout;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.File;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the mapping of dependency jar paths to directory names under the temporary include directory.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class TruncatePathBenchmark {
+
+    @Param({"true", "false"})
+    public boolean hashDependentPaths;
+
+    private String jarPath;
+
+    private FlatcCompileMojo mojo;
+
+    @Setup
+    public void setUp() throws Exception {
+        final File repository = new File(System.getProperty("user.home"), ".m2/repository");
+        jarPath = new File(repository,
+                "org/flatbuffers/maven/plugins/its/some-artifact/1.0.0/some-artifact-1.0.0.jar").getAbsolutePath();
+        mojo = BenchmarkSupport.newCompileMojo();
+        BenchmarkSupport.setParameter(mojo, "hashDependentPaths", hashDependentPaths);
+        final ArtifactRepositoryPolicy policy = new ArtifactRepositoryPolicy();
+        BenchmarkSupport.setParameter(mojo, "localRepository", new MavenArtifactRepository(
+                "local", repository.toURI().toString(), new DefaultRepositoryLayout(), policy, policy));
+    }
+
+    @Benchmark
+    public String truncatePath() throws Exception {
+        return mojo.truncatePath(jarPath);
+    }
+}
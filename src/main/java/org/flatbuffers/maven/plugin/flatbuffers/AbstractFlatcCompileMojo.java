@@ -16,12 +16,29 @@ package org.flatbuffers.maven.plugin.flatbuffers;
  * limitations under the License.
  */
 
+import com.google.common.base.Charsets;
+import com.google.common.base.Joiner;
 import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Iterables;
+import com.google.common.io.Files;
 import org.apache.maven.artifact.Artifact;
+import org.apache.maven.artifact.DependencyResolutionRequiredException;
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugin.MojoFailureException;
 import org.apache.maven.plugins.annotations.Parameter;
+import org.flatbuffers.maven.plugin.flatbuffers.codegen.ClassCache;
+import org.flatbuffers.maven.plugin.flatbuffers.codegen.InMemoryCompiler;
 
 import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+import static java.lang.String.format;
 
 /**
  * An abstract base mojo configuration for using {@code flatc} compiler with the main sources.
@@ -30,6 +47,10 @@ import java.util.List;
  */
 public abstract class AbstractFlatcCompileMojo extends AbstractFlatcMojo {
 
+    private static final String FLATBUFFERS_GROUP_ID = "com.google.flatbuffers";
+
+    private static final String FLATBUFFERS_RUNTIME_ARTIFACT_ID = "flatbuffers-java";
+
     /**
      * The source directories containing the {@code .fbs} definitions to be compiled.
      */
@@ -40,7 +61,7 @@ public abstract class AbstractFlatcCompileMojo extends AbstractFlatcMojo {
     private File fbsSourceRoot;
 
     /**
-     * This is the directory into which the (optional) descriptor set file will be created.
+     * This is the directory into which the (optional) binary schema files will be created.
      *
      * @since 0.3.0
      */
@@ -60,6 +81,256 @@ public abstract class AbstractFlatcCompileMojo extends AbstractFlatcMojo {
     )
     protected String descriptorSetClassifier;
 
+    /**
+     * When {@code true}, the generated sources are compiled in the Maven JVM with the compiler of the running JDK,
+     * and only the classes are written to the build output directory. The generated sources are not added
+     * as a compile source root, so that the compiler plugin does not scan and compile them again.
+     * This is meant for modules whose generated code is never edited nor browsed.
+     *
+     * @since 0.1.0
+     */
+    @Parameter(
+            required = false,
+            property = "flatc.compileClasses",
+            defaultValue = "false"
+    )
+    private boolean compileClasses;
+
+    /**
+     * The Java version of the classes compiled with {@link #compileClasses}, such as {@code 1.8} or {@code 11}.
+     *
+     * @since 0.1.0
+     */
+    @Parameter(
+            required = false,
+            property = "maven.compiler.target",
+            defaultValue = "1.8"
+    )
+    private String compileTarget;
+
+    /**
+     * When {@code true} with {@link #compileClasses}, the generated sources are packaged and attached
+     * to the build as a jar, with the {@link #generatedSourcesClassifier} classifier.
+     *
+     * @since 0.1.0
+     */
+    @Parameter(
+            required = false,
+            defaultValue = "false"
+    )
+    private boolean attachGeneratedSources;
+
+    /**
+     * The classifier of the jar of generated sources.
+     *
+     * @see #attachGeneratedSources
+     * @since 0.1.0
+     */
+    @Parameter(
+            required = false,
+            defaultValue = "flatbuffers-sources"
+    )
+    private String generatedSourcesClassifier;
+
+    /**
+     * When {@code true} with {@link #compileClasses}, the generated sources and their classes are stored in
+     * {@link #classCacheDirectory}, keyed by a digest of the definitions, the {@code flatc} version,
+     * the Java target, the Java compiler and the {@code flatbuffers-java} jar, and with {@code skipDependencyTypes},
+     * the dependencies whose classes the generated code uses. A later compilation of the same definitions, in this
+     * or in any other module, restores the classes and sources of the cache instead of running {@code flatc} and
+     * compiling them.
+     *
+     * @since 0.1.0
+     */
+    @Parameter(
+            required = false,
+            property = "flatc.classCache",
+            defaultValue = "false"
+    )
+    private boolean classCache;
+
+    /**
+     * The directory of the cache of compiled classes.
+     *
+     * @see #classCache
+     * @since 0.1.0
+     */
+    @Parameter(
+            required = false,
+            property = "flatc.classCacheDirectory",
+            defaultValue = "${user.home}/.m2/flatbuffers/classes"
+    )
+    private File classCacheDirectory;
+
+    /**
+     * The number of entries that {@link #classCacheDirectory} keeps. When a compilation is stored, the entries
+     * that were least recently stored or restored are deleted.
+     *
+     * @see #classCache
+     * @since 0.1.0
+     */
+    @Parameter(
+            required = false,
+            property = "flatc.classCacheMaxEntries",
+            defaultValue = "64"
+    )
+    private int classCacheMaxEntries;
+
+    /**
+     * The cache key of the current compilation, set when the compilation is to be stored in the cache.
+     */
+    private String classCacheKey;
+
+    @Override
+    protected boolean restoreGeneratedSources(final Flatc flatc, final List<File> typeDependencies)
+            throws MojoExecutionException, IOException {
+        if (!classCache) {
+            return false;
+        }
+        if (!compileClasses) {
+            throw new MojoExecutionException("classCache requires compileClasses");
+        }
+        final String fingerprint = getGenerationFingerprint(flatc);
+        if (fingerprint == null) {
+            getLog().info("Compiled classes are not cached, the generated code cannot be identified");
+            return false;
+        }
+        final long start = System.nanoTime();
+        final String key = ClassCache.key(flatc.fbPathElements(), flatc.fbsFiles(), fingerprint, compileTarget,
+                System.getProperty("java.version"),
+                ClassCache.classpathDigest(Iterables.concat(flatbuffersRuntime(), typeDependencies)));
+        final InMemoryCompiler.Result cached = new ClassCache(classCacheDirectory)
+                .restore(key, getSchemaOutputDirectory(), clearOutputDirectory);
+        if (cached == null) {
+            getLog().debug("No compiled classes cached for " + key);
+            classCacheKey = key;
+            return false;
+        }
+        installClasses(cached, format("Restored %d cached class(es) of %s", cached.getClasses().size(), key),
+                start);
+        return true;
+    }
+
+    @Override
+    protected void processGeneratedSources(final Flatc flatc)
+            throws MojoExecutionException, MojoFailureException, IOException {
+        if (!compileClasses) {
+            return;
+        }
+        if (flatc.javaOutputDirectory() == null) {
+            throw new MojoExecutionException("compileClasses requires Java sources to be generated");
+        }
+        final File sourceDirectory = getSchemaOutputDirectory();
+        final String root = sourceDirectory.getAbsolutePath();
+        final Map<String, String> sources = new TreeMap<String, String>();
+        for (final File file : findGeneratedFilesInDirectory(sourceDirectory)) {
+            if (file.getName().endsWith(".java")) {
+                sources.put(file.getAbsolutePath().substring(root.length() + 1).replace(File.separatorChar, '/'),
+                        Files.asCharSource(file, Charsets.UTF_8).read());
+            }
+        }
+
+        final long start = System.nanoTime();
+        final InMemoryCompiler.Result result =
+                new InMemoryCompiler(compileClasspath(), compileTarget).compile(sources);
+        for (final String warning : result.getWarnings()) {
+            getLog().warn(warning);
+        }
+        if (!result.isSuccess()) {
+            for (final String error : result.getErrors()) {
+                getLog().error(error);
+            }
+            throw new MojoFailureException("Generated sources did not compile. Review output for more information.");
+        }
+        installClasses(result, format("Compiled %d generated source(s)", sources.size()), start);
+        if (classCacheKey != null) {
+            final ClassCache cache = new ClassCache(classCacheDirectory);
+            cache.store(classCacheKey, sourceDirectory, result);
+            getLog().debug("Cached compiled classes as " + classCacheKey);
+            final int pruned = cache.prune(classCacheMaxEntries);
+            if (pruned > 0) {
+                getLog().debug(format("Deleted %d least recently used class cache entries", pruned));
+            }
+        }
+    }
+
+    /**
+     * Returns the {@code flatbuffers-java} jar that the generated code is compiled against. The other elements
+     * of the compile classpath are left out of the cache key, as the generated code only refers to the
+     * dependencies whose types are skipped, so that modules with different dependencies share the classes
+     * of the same definitions.
+     *
+     * @return the jar, or nothing if the project does not depend on {@code flatbuffers-java}.
+     */
+    private List<File> flatbuffersRuntime() {
+        for (final Artifact artifact : project.getArtifacts()) {
+            if (FLATBUFFERS_GROUP_ID.equals(artifact.getGroupId())
+                    && FLATBUFFERS_RUNTIME_ARTIFACT_ID.equals(artifact.getArtifactId()) && artifact.getFile() != null) {
+                return ImmutableList.of(artifact.getFile());
+            }
+        }
+        return ImmutableList.of();
+    }
+
+    private List<File> compileClasspath() throws MojoExecutionException {
+        final List<File> classpath = new ArrayList<File>();
+        try {
+            for (final String element : project.getCompileClasspathElements()) {
+                classpath.add(new File(element));
+            }
+        } catch (DependencyResolutionRequiredException e) {
+            throw new MojoExecutionException("Compile classpath is not resolved", e);
+        }
+        return classpath;
+    }
+
+    /**
+     * Writes classes to the build output directory, and deletes the classes of the previous execution
+     * that are gone.
+     *
+     * @param classes the classes to install.
+     * @param origin describes where the classes come from, for the log.
+     * @param start when the compilation started, in {@link System#nanoTime()} units.
+     * @throws IOException if the classes cannot be written.
+     */
+    private void installClasses(final InMemoryCompiler.Result classes, final String origin, final long start)
+            throws IOException {
+        final File classOutputDirectory = new File(project.getBuild().getOutputDirectory());
+        final int written = classes.write(classOutputDirectory);
+        final int deleted = deleteStaleClasses(classOutputDirectory, classes.getClasses().keySet());
+        getLog().info(format("%s to %s: wrote %d and kept %d unchanged class(es), deleted %d stale class(es) "
+                        + "in %d ms", origin, classOutputDirectory, written, classes.getClasses().size() - written,
+                deleted, (System.nanoTime() - start) / 1000000));
+        buildContext.refresh(classOutputDirectory);
+    }
+
+    /**
+     * Deletes the classes compiled by the previous execution that were not compiled again,
+     * and records the classes of this execution.
+     *
+     * @param classOutputDirectory the build output directory.
+     * @param classes the paths of the compiled classes.
+     * @return the number of classes deleted.
+     * @throws IOException if the record cannot be read or written.
+     */
+    private int deleteStaleClasses(final File classOutputDirectory, final Set<String> classes) throws IOException {
+        final File record = new File(project.getBuild().getDirectory(),
+                "flatc-classes" + File.separator + getClass().getSimpleName() + ".lst");
+        int deleted = 0;
+        if (record.isFile()) {
+            final Set<String> current = new HashSet<String>(classes);
+            for (final String path : Files.readLines(record, Charsets.UTF_8)) {
+                if (!path.isEmpty() && !current.contains(path)
+                        && new File(classOutputDirectory, path.replace('/', File.separatorChar)).delete()) {
+                    deleted++;
+                }
+            }
+        }
+        Files.createParentDirs(record);
+        Files.asCharSink(record, Charsets.UTF_8).write(Joiner.on('\n').join(classes) + '\n');
+        return deleted;
+    }
+
     @Override
     protected void doAttachFbsSources() {
         projectHelper.addResource(project, getFbsSourceRoot().getAbsolutePath(),
@@ -69,14 +340,26 @@ public abstract class AbstractFlatcCompileMojo extends AbstractFlatcMojo {
     @Override
     protected void doAttachGeneratedFiles() {
         final File outputDirectory = getSchemaOutputDirectory();
-        project.addCompileSourceRoot(outputDirectory.getAbsolutePath());
-        if (writeBinarySchema) {
-//            final File descriptorSetFile = new File(getDescriptorSetOutputDirectory(), descriptorSetFileName);
-//            projectHelper.attachArtifact(project, "fbbin", descriptorSetClassifier, descriptorSetFile);
+        if (!compileClasses) {
+            project.addCompileSourceRoot(outputDirectory.getAbsolutePath());
+        } else if (attachGeneratedSources) {
+            attachDirectory(outputDirectory, "jar", generatedSourcesClassifier);
+        }
+        if (new File(outputDirectory, SERVICES_DIRECTORY).isDirectory()) {
+            projectHelper.addResource(project, outputDirectory.getAbsolutePath(),
+                    ImmutableList.of(SERVICES_DIRECTORY + "**"), ImmutableList.<String>of());
+        }
+        if (writeBinarySchema && attachBinarySchema) {
+            attachBinarySchemas("fbbin", descriptorSetClassifier);
         }
         buildContext.refresh(outputDirectory);
     }
 
+    @Override
+    protected File getDescriptorSetOutputDirectory() {
+        return descriptorSetOutputDirectory;
+    }
+
     @Override
     protected List<Artifact> getDependencyArtifacts() {
         return project.getCompileArtifacts();
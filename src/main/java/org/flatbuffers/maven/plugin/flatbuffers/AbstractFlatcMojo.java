@@ -17,10 +17,17 @@ package org.flatbuffers.maven.plugin.flatbuffers;
  */
 
 import com.google.common.base.Joiner;
+import com.google.common.base.Predicates;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.ImmutableSetMultimap;
+import com.google.common.collect.Iterables;
+import com.google.common.io.Files;
 import org.apache.maven.artifact.Artifact;
 import org.apache.maven.artifact.repository.ArtifactRepository;
 import org.apache.maven.artifact.resolver.*;
+import org.apache.maven.artifact.versioning.InvalidVersionSpecificationException;
 import org.apache.maven.execution.MavenSession;
 import org.apache.maven.model.Dependency;
 import org.apache.maven.plugin.AbstractMojo;
@@ -39,15 +46,33 @@ import org.codehaus.plexus.util.Os;
 import org.codehaus.plexus.util.StringUtils;
 import org.codehaus.plexus.util.cli.CommandLineException;
 import org.codehaus.plexus.util.io.RawInputStreamFacade;
+import org.flatbuffers.maven.plugin.flatbuffers.codegen.AccessorStripper;
+import org.flatbuffers.maven.plugin.flatbuffers.codegen.BuilderPoolGenerator;
+import org.flatbuffers.maven.plugin.flatbuffers.codegen.BulkAccessorGenerator;
+import org.flatbuffers.maven.plugin.flatbuffers.codegen.JavaEngine;
+import org.flatbuffers.maven.plugin.flatbuffers.codegen.JavaGenerator;
+import org.flatbuffers.maven.plugin.flatbuffers.codegen.ReaderGenerator;
+import org.flatbuffers.maven.plugin.flatbuffers.codegen.SchemaFingerprint;
+import org.flatbuffers.maven.plugin.flatbuffers.codegen.TypeSelection;
+import org.flatbuffers.maven.plugin.flatbuffers.idl.Declaration;
+import org.flatbuffers.maven.plugin.flatbuffers.idl.Schema;
+import org.flatbuffers.maven.plugin.flatbuffers.idl.SchemaLoader;
+import org.flatbuffers.maven.plugin.flatbuffers.idl.SchemaProblem;
+import org.flatbuffers.maven.plugin.flatbuffers.idl.SchemaSet;
+import org.flatbuffers.maven.toolchain.flatbuffers.FlatbuffersToolchain;
+import org.flatbuffers.maven.toolchain.flatbuffers.FlatcRegistry;
 import org.sonatype.plexus.build.incremental.BuildContext;
 
 import java.io.File;
+import java.io.FileOutputStream;
 import java.io.IOException;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
 import java.util.*;
 import java.util.jar.JarEntry;
 import java.util.jar.JarFile;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
 
 import static com.google.common.base.Preconditions.*;
 import static java.lang.Math.max;
@@ -67,6 +92,15 @@ abstract class AbstractFlatcMojo extends AbstractMojo {
 
     private static final String DEFAULT_INCLUDES = "**/*" + FBS_FILE_SUFFIX;
 
+    private static final String ENGINE_FLATC = "flatc";
+
+    private static final String ENGINE_JAVA = "java";
+
+    /**
+     * The directory of {@link java.util.ServiceLoader} provider declarations, relative to a class path root.
+     */
+    protected static final String SERVICES_DIRECTORY = "META-INF/services/";
+
     /**
      * The current Maven project.
      */
@@ -119,6 +153,14 @@ abstract class AbstractFlatcMojo extends AbstractMojo {
     @Component
     private ResolutionErrorHandler resolutionErrorHandler;
 
+    /**
+     * Locally installed {@code flatc} executables.
+     *
+     * @since 0.1.0
+     */
+    @Component
+    private FlatcRegistry flatcRegistry;
+
     /**
      * This is the path to the local maven {@code repository}.
      */
@@ -178,6 +220,34 @@ abstract class AbstractFlatcMojo extends AbstractMojo {
     )
     private String flatcArtifact;
 
+    /**
+     * Version requirement for a locally installed {@code flatc}, either a version such as {@code 1.12.0}
+     * or a version range such as {@code [1.11,1.13)}.
+     * When this parameter is set and neither {@code flatcExecutable} nor a toolchain is configured,
+     * the directories of {@code flatcSearchPath} and the {@code PATH} are searched for {@code flatc} executables,
+     * and the highest version that satisfies the requirement is used.
+     * If none does, {@code flatcArtifact} is resolved instead, or the build fails when it is not set.
+     * Versions and checksums of the executables found are cached in {@code ~/.m2/flatbuffers}.
+     *
+     * @since 0.1.0
+     */
+    @Parameter(
+            required = false,
+            property = "flatcVersion"
+    )
+    private String flatcVersion;
+
+    /**
+     * Directories that are searched for {@code flatc} installations when {@code flatcVersion} is set,
+     * including up to three levels of subdirectories, before the directories of the {@code PATH}.
+     *
+     * @since 0.1.0
+     */
+    @Parameter(
+            required = false
+    )
+    private File[] flatcSearchPath = {};
+
     /**
      * Additional source paths for {@code .fbs} definitions.
      */
@@ -209,6 +279,140 @@ abstract class AbstractFlatcMojo extends AbstractMojo {
     )
     private boolean hashDependentPaths;
 
+    /**
+     * When {@code true}, only the types of the definitions in the source root are generated,
+     * and the types of dependencies are used from the classes the dependencies ship.
+     * A definition file of the source root whose path also exists in a dependency, such as a copy of an upstream
+     * definition, is not generated; the build fails if the content of the copy differs from the upstream one.
+     * Before generating, the plugin checks that every table and struct of a dependency that the generated classes
+     * refer to is compiled in that dependency.
+     *
+     * @since 0.1.0
+     */
+    @Parameter(
+            required = false,
+            property = "flatc.skipDependencyTypes",
+            defaultValue = "false"
+    )
+    private boolean skipDependencyTypes;
+
+    /**
+     * Root types to generate, such as {@code MyGame.Example.Monster}, or namespaces followed by {@code .*},
+     * such as {@code MyGame.Example.*}. When set, only the types reachable from the root types are generated:
+     * the root types, and transitively the tables, structs, enums and unions their fields use, the members of
+     * their unions and their nested flatbuffers. The sources of the other types of the compiled definitions
+     * are not generated, or deleted after {@code flatc} has generated them.
+     *
+     * @since 0.1.0
+     */
+    @Parameter(
+            required = false,
+            property = "flatc.rootTypes"
+    )
+    private String[] rootTypes = {};
+
+    /**
+     * When {@code true}, the accessors of generated tables and structs that the compiled classes of the project
+     * never call are removed from the generated sources, before these are compiled: field accessors, vector
+     * helpers and mutators. The calls are read from the classes of the previous build, in the main and test
+     * output directories; when there are none, as after {@code mvn clean}, all accessors are kept.
+     * The build fails if a source of the project calls a removed accessor, which happens when code using
+     * a new accessor was written since the classes were compiled.
+     *
+     * @since 0.1.0
+     */
+    @Parameter(
+            required = false,
+            property = "flatc.stripUnusedAccessors",
+            defaultValue = "false"
+    )
+    private boolean stripUnusedAccessors;
+
+    /**
+     * The fully qualified name of a class to generate, which maps the names and the file identifiers of the
+     * root types of the compiled definitions to factories of their root tables. The class implements
+     * {@link #rootTypeRegistryInterface}, and is declared as its provider in {@code META-INF/services},
+     * so that an application finds the root types of all its modules with {@link java.util.ServiceLoader}
+     * rather than by scanning the classpath.
+     *
+     * @since 0.1.0
+     */
+    @Parameter(
+            required = false,
+            property = "flatc.rootTypeRegistry"
+    )
+    private String rootTypeRegistry;
+
+    /**
+     * The fully qualified name of the interface of the {@link #rootTypeRegistry}. The interface is generated
+     * with the registry, unless a dependency provides it.
+     *
+     * @since 0.1.0
+     */
+    @Parameter(
+            required = false,
+            property = "flatc.rootTypeRegistryInterface",
+            defaultValue = "org.flatbuffers.registry.RootTypeRegistry"
+    )
+    private String rootTypeRegistryInterface;
+
+    /**
+     * When {@code true}, each generated table and struct declares its structural fingerprint, a 64-bit hash
+     * of its field ids, types, deprecations and default values and of the types it uses, as a {@code FINGERPRINT}
+     * constant.
+     * Peers can compare the fingerprints of their root types to check that they exchange compatible buffers.
+     *
+     * @since 0.1.0
+     */
+    @Parameter(
+            required = false,
+            property = "flatc.schemaFingerprints",
+            defaultValue = "false"
+    )
+    private boolean schemaFingerprints;
+
+    /**
+     * When {@code true}, a pool of reusable {@code FlatBufferBuilder}s is generated for each root type, named after
+     * the type with a {@code BuilderPool} suffix. The pool keeps one builder per thread, backed by a direct buffer
+     * whose initial capacity is estimated from the schema, and can adapt the capacity to the buffers built.
+     *
+     * @since 0.1.0
+     */
+    @Parameter(
+            required = false,
+            property = "flatc.builderPools",
+            defaultValue = "false"
+    )
+    private boolean builderPools;
+
+    /**
+     * When {@code true}, a reader is generated for each generated table and struct, named after the type with
+     * a {@code Reader} suffix. A reader keeps the flyweights of the nested tables, structs and vector elements
+     * it reads, so that traversing a buffer again allocates nothing.
+     *
+     * @since 0.1.0
+     */
+    @Parameter(
+            required = false,
+            property = "flatc.readers",
+            defaultValue = "false"
+    )
+    private boolean readers;
+
+    /**
+     * When {@code true}, generated tables get bulk accessors of their vectors of scalars and structs:
+     * views of the vectors as {@code ByteBuffer}s, or as {@code FloatBuffer}s and the other buffer types
+     * of the scalars, and copies of the vectors into arrays of the caller.
+     *
+     * @since 0.1.0
+     */
+    @Parameter(
+            required = false,
+            property = "flatc.bulkAccessors",
+            defaultValue = "false"
+    )
+    private boolean bulkAccessors;
+
     /**
      * A list of &lt;include&gt; elements specifying the flatbuffers definition files (by pattern)
      * that should be included in compilation.
@@ -257,18 +461,22 @@ abstract class AbstractFlatcMojo extends AbstractMojo {
 
 
     /**
-     * If set to {@code true}, the compiler will generate a binary-encoded schema represented by {@code .fbs} files.
+     * If set to {@code true}, the compiler will generate a binary-encoded schema ({@code .bfbs})
+     * for each of the {@code .fbs} files, into the descriptor set output directory.
+     * When the {@code flatbuffers} toolchain declares a {@code reflectionFbs}, that file is copied
+     * next to the binary schemas, so that they can be read with the reflection API.
      *
      * @since 0.1.0
      */
     @Parameter(
             required = true,
-            defaultValue = "true"
+            defaultValue = "false"
     )
     protected boolean writeBinarySchema;
 
     /**
-     * If set to {@code true}, the generated binart-encoded schema will be attached as resource to the build.
+     * If set to {@code true}, the generated binary-encoded schemas will be packaged and attached to the build,
+     * with type {@code fbbin} ({@code test-fbbin} for tests) and the descriptor set classifier.
      *
      * @since 0.1.0
      */
@@ -278,6 +486,18 @@ abstract class AbstractFlatcMojo extends AbstractMojo {
     )
     protected boolean attachBinarySchema;
 
+    /**
+     * If set to {@code true}, binary-encoded schemas are also generated for the {@code .fbs} files
+     * found in dependencies.
+     *
+     * @since 0.1.0
+     */
+    @Parameter(
+            required = false,
+            defaultValue = "false"
+    )
+    private boolean includeDependenciesInBinarySchema;
+
 
     /**
      * Sets the granularity in milliseconds of the last modification date
@@ -342,7 +562,197 @@ abstract class AbstractFlatcMojo extends AbstractMojo {
             required = false,
             defaultValue = "true"
     )
-    private boolean clearOutputDirectory;
+    protected boolean clearOutputDirectory;
+
+    /**
+     * The engine that generates the Java sources: {@code flatc} runs the {@code flatc} executable,
+     * and {@code java} parses the definitions and generates the same sources as {@code flatc} 1.12.0
+     * inside the Maven JVM, without any native executable.
+     *
+     * <p>The {@code java} engine generates definition files in parallel and only writes the sources
+     * whose content has changed, so that incremental compilation is not triggered for untouched classes.
+     * With {@link #clearOutputDirectory}, it deletes only the files it did not generate.
+     * It cannot be combined with {@link #writeBinarySchema}, {@link #embedBinarySchema}, {@link #generators}
+     * or {@link #profileSchemas}, which need {@code flatc}.</p>
+     *
+     * @since 0.1.0
+     */
+    @Parameter(
+            required = false,
+            property = "flatc.engine",
+            defaultValue = ENGINE_FLATC
+    )
+    private String engine;
+
+    /**
+     * When {@code true}, each definition is additionally compiled in its own {@code flatc} invocation,
+     * after the regular compilation has succeeded. The time, the number and the size of generated files
+     * are recorded for every definition, and a report ranking the definitions by compilation time
+     * is written to {@link #profileOutputDirectory}.
+     *
+     * <p>This is meant to identify the definitions that are expensive to compile, and it roughly doubles
+     * the compilation time, so it should not be enabled in regular builds.</p>
+     *
+     * @since 0.1.0
+     */
+    @Parameter(
+            required = false,
+            property = "flatc.profile",
+            defaultValue = "false"
+    )
+    private boolean profileSchemas;
+
+    /**
+     * The directory into which the schema compilation profile is written.
+     *
+     * @see #profileSchemas
+     * @since 0.1.0
+     */
+    @Parameter(
+            required = false,
+            defaultValue = "${project.build.directory}/flatc-profile"
+    )
+    private File profileOutputDirectory;
+
+    /**
+     * Code generators that run inside the Maven JVM, after {@code flatc} has compiled the definitions.
+     * Each generator is resolved, with its dependencies, from a Maven artifact,
+     * and receives the binary schemas of the compiled definitions:
+     * <pre>
+     * &lt;generators&gt;
+     *   &lt;generator&gt;
+     *     &lt;id&gt;builders&lt;/id&gt;
+     *     &lt;groupId&gt;com.example&lt;/groupId&gt;
+     *     &lt;artifactId&gt;builder-generator&lt;/artifactId&gt;
+     *     &lt;version&gt;1.0&lt;/version&gt;
+     *     &lt;parameters&gt;&lt;pooled&gt;true&lt;/pooled&gt;&lt;/parameters&gt;
+     *   &lt;/generator&gt;
+     * &lt;/generators&gt;
+     * </pre>
+     *
+     * @see org.flatbuffers.maven.plugin.flatbuffers.spi.CodeGenerator
+     * @since 0.1.0
+     */
+    @Parameter(
+            required = false
+    )
+    private FlatcGenerator[] generators = {};
+
+    /**
+     * When {@code true}, a Java class is generated for each definition, next to the {@code flatc} output,
+     * that holds the binary schema of the definition as a constant and exposes it as a read-only
+     * {@link java.nio.ByteBuffer}. Reflection data is then available without reading resources at runtime.
+     * The class is named after the definition file with a {@code BinarySchema} suffix,
+     * in the package of the definition's namespace.
+     *
+     * @since 0.1.0
+     */
+    @Parameter(
+            required = false,
+            property = "flatc.embedBinarySchema",
+            defaultValue = "false"
+    )
+    private boolean embedBinarySchema;
+
+    /**
+     * The directory into which binary schemas are compiled for the {@link #generators}
+     * and for {@link #embedBinarySchema}, unless {@link #writeBinarySchema} already provides them.
+     *
+     * @since 0.1.0
+     */
+    @Parameter(
+            required = false,
+            defaultValue = "${project.build.directory}/flatc-bfbs"
+    )
+    private File binarySchemaWorkDirectory;
+
+    /**
+     * When {@code true}, the number of generated files, lines, classes and methods is reported
+     * per definition file and per namespace, and compared with the numbers of the previous build.
+     * The report is always produced when any of the footprint budgets is configured.
+     *
+     * @since 0.1.0
+     */
+    @Parameter(
+            required = false,
+            property = "flatc.footprint",
+            defaultValue = "false"
+    )
+    private boolean footprintReport;
+
+    /**
+     * The directory into which the generated code footprint is written. The footprint of the previous
+     * build is read from the same location, so it should survive {@code clean} if the comparison
+     * is meant to span clean builds.
+     *
+     * @see #footprintReport
+     * @since 0.1.0
+     */
+    @Parameter(
+            required = false,
+            defaultValue = "${project.build.directory}/flatc-footprint"
+    )
+    private File footprintReportDirectory;
+
+    /**
+     * Maximum number of generated files, {@code 0} for no limit.
+     *
+     * @see #failOnFootprintBudget
+     * @since 0.1.0
+     */
+    @Parameter(
+            required = false,
+            defaultValue = "0"
+    )
+    private long maxGeneratedFiles;
+
+    /**
+     * Maximum number of generated lines, {@code 0} for no limit.
+     *
+     * @see #failOnFootprintBudget
+     * @since 0.1.0
+     */
+    @Parameter(
+            required = false,
+            defaultValue = "0"
+    )
+    private long maxGeneratedLines;
+
+    /**
+     * Maximum number of generated classes, including nested classes, {@code 0} for no limit.
+     *
+     * @see #failOnFootprintBudget
+     * @since 0.1.0
+     */
+    @Parameter(
+            required = false,
+            defaultValue = "0"
+    )
+    private long maxGeneratedClasses;
+
+    /**
+     * Maximum number of generated methods, {@code 0} for no limit.
+     *
+     * @see #failOnFootprintBudget
+     * @since 0.1.0
+     */
+    @Parameter(
+            required = false,
+            defaultValue = "0"
+    )
+    private long maxGeneratedMethods;
+
+    /**
+     * When {@code true}, exceeding a footprint budget fails the build; otherwise a warning is logged.
+     *
+     * @since 0.1.0
+     */
+    @Parameter(
+            required = false,
+            property = "flatc.failOnFootprintBudget",
+            defaultValue = "true"
+    )
+    private boolean failOnFootprintBudget;
 
     /**
      * Executes the mojo.
@@ -355,6 +765,7 @@ abstract class AbstractFlatcMojo extends AbstractMojo {
         }
 
         checkParameters();
+        final boolean javaEngine = isJavaEngine();
         final File fbsSourceRoot = getFbsSourceRoot();
         if (fbsSourceRoot.exists()) {
             try {
@@ -375,21 +786,56 @@ abstract class AbstractFlatcMojo extends AbstractMojo {
                             makeFBPathFromJars(temporaryFbsFileDirectory, getDependencyArtifactFiles());
                     FileUtils.mkdir(outputDirectory.getAbsolutePath());
 
-                    if (clearOutputDirectory) {
+                    // the java engine deletes stale files itself, so that unchanged sources keep their timestamps
+                    if (clearOutputDirectory && !javaEngine) {
                         cleanDirectory(outputDirectory);
                     }
 
                     if (writeBinarySchema) {
-                        final File schemaOutputDirectory = getSchemaOutputDirectory();
-                        FileUtils.mkdir(schemaOutputDirectory.getAbsolutePath());
+                        final File descriptorSetOutputDirectory = getDescriptorSetOutputDirectory();
+                        FileUtils.mkdir(descriptorSetOutputDirectory.getAbsolutePath());
                         if (clearOutputDirectory) {
-                            cleanDirectory(schemaOutputDirectory);
+                            cleanDirectory(descriptorSetOutputDirectory);
+                        }
+                    }
+
+                    final DependencyTypes dependencyTypes = skipDependencyTypes
+                            ? new DependencyTypes(getDependencySchemaRoots(derivedFBPathElements)) : null;
+                    if (dependencyTypes != null) {
+                        final ImmutableList<String> modified =
+                                dependencyTypes.findModifiedCopies(fbsSourceRoot, fbsFiles);
+                        for (final String message : modified) {
+                            getLog().error(message);
+                        }
+                        if (!modified.isEmpty()) {
+                            throw new MojoFailureException(format("%d fbs file(s) have the path of a definition "
+                                    + "of a dependency, but another content; rename them, or make them identical",
+                                    modified.size()));
                         }
                     }
+                    final ImmutableSet<File> ownFbsFiles = dependencyTypes != null
+                            ? dependencyTypes.withoutDependencyFiles(fbsSourceRoot, fbsFiles) : fbsFiles;
+                    if (ownFbsFiles.size() < fbsFiles.size()) {
+                        getLog().info(format("Skipping %d fbs file(s) provided by dependencies",
+                                fbsFiles.size() - ownFbsFiles.size()));
+                    }
+                    final ImmutableSet<File> compiledFbsFiles = filterFbsFiles(fbsSourceRoot, ownFbsFiles);
+                    if (compiledFbsFiles.isEmpty()) {
+                        getLog().info("No fbs files to compile.");
+                        GenerationManifest.write(
+                                GenerationManifest.file(new File(project.getBuild().getDirectory()), getClass()),
+                                fbsSourceRoot, compiledFbsFiles);
+                        doAttachFiles();
+                        return;
+                    }
 
                     //get toolchain from context
                     final Toolchain tc = toolchainManager.getToolchainFromBuildContext("flatbuffers", session); //NOI18N
-                    if (tc != null) {
+                    String reflectionFbs = null;
+                    if (tc instanceof FlatbuffersToolchain) {
+                        reflectionFbs = ((FlatbuffersToolchain) tc).getReflectionFbs();
+                    }
+                    if (tc != null && !javaEngine) {
                         getLog().info("Toolchain in flatbuffers-maven-plugin: " + tc);
                         //when the executable to use is explicitly set by user in mojo's parameter, ignore toolchains.
                         if (flatcExecutable != null) {
@@ -400,6 +846,13 @@ abstract class AbstractFlatcMojo extends AbstractMojo {
                             flatcExecutable = tc.findTool("flatc"); //NOI18N
                         }
                     }
+                    if (javaEngine) {
+                        // flatc is not run, the executable only names the configuration in the logs
+                        flatcExecutable = ENGINE_FLATC;
+                    }
+                    if (flatcExecutable == null && flatcVersion != null) {
+                        flatcExecutable = selectInstalledFlatc();
+                    }
                     if (flatcExecutable == null && flatcArtifact != null) {
                         final Artifact artifact = createDependencyArtifact(flatcArtifact);
                         final File file = resolveBinaryArtifact(artifact);
@@ -415,7 +868,7 @@ abstract class AbstractFlatcMojo extends AbstractMojo {
                             .addFbPathElements(fbsSourceRoot)
                             .addAllFbPathElements(derivedFBPathElements)
                             .addFbPathElements(additionalFBPathElements)
-                            .addAllFbsFiles(fbsFiles);
+                            .addAllFbsFiles(compiledFbsFiles);
 
                     addFlatcBuilderParameters(flatcBuilder);
                     final Flatc flatc = flatcBuilder.build();
@@ -438,9 +891,77 @@ abstract class AbstractFlatcMojo extends AbstractMojo {
                             }
                         }
                     }
+                    SchemaSet schemas = null;
+                    TypeSelection selection = null;
+                    if (rootTypes.length > 0) {
+                        schemas = loadSchemas(flatc);
+                        selection = selectTypes(schemas, flatc);
+                    }
+                    if (dependencyTypes != null) {
+                        if (schemas == null) {
+                            schemas = loadSchemas(flatc);
+                        }
+                        final ImmutableList<String> missing = dependencyTypes.findMissingClasses(
+                                schemas, flatc.fbsFiles(), flatc.fbPathElements(),
+                                selection != null ? selection : Predicates.<Declaration>alwaysTrue());
+                        for (final String message : missing) {
+                            getLog().error(message);
+                        }
+                        if (!missing.isEmpty()) {
+                            throw new MojoFailureException(format("%d type(s) of dependencies are not compiled in "
+                                    + "these dependencies, disable skipDependencyTypes to generate them",
+                                    missing.size()));
+                        }
+                    }
+                    if (restoreGeneratedSources(flatc, dependencyTypes != null
+                            ? dependencyTypes.getDependencies() : ImmutableList.<File>of())) {
+                        completeCompilation(fbsSourceRoot, compiledFbsFiles, schemas, selection);
+                        return;
+                    }
+                    if (javaEngine) {
+                        if (schemas == null) {
+                            schemas = loadSchemas(flatc);
+                        }
+                        final Set<File> otherFiles = new HashSet<File>();
+                        // the accessors that the readers call are kept by the stripper
+                        final ImmutableSetMultimap<String, String> readerCalls = readers
+                                ? writeReaders(flatc, schemas, selection, otherFiles)
+                                : ImmutableSetMultimap.<String, String>of();
+                        final AccessorStripperRunner accessorStripping =
+                                stripUnusedAccessors ? newAccessorStripperRunner() : null;
+                        final AccessorStripper stripper =
+                                accessorStripping != null ? accessorStripping.scan(schemas, readerCalls) : null;
+                        final JavaEngineRunner engineRunner =
+                                new JavaEngineRunner(flatc, clearOutputDirectory, getLog());
+                        final List<JavaEngine.SourceTransformer> transformers =
+                                new ArrayList<JavaEngine.SourceTransformer>();
+                        if (schemaFingerprints) {
+                            transformers.add(new SchemaFingerprint(schemas));
+                        }
+                        if (bulkAccessors) {
+                            transformers.add(new BulkAccessorGenerator(schemas));
+                        }
+                        if (stripper != null) {
+                            transformers.add(stripper);
+                        }
+                        final JavaEngine.Result sources = engineRunner.generate(schemas, selection, transformers);
+                        if (StringUtils.isNotBlank(rootTypeRegistry)) {
+                            otherFiles.addAll(newRootTypeRegistryWriter().write(flatc, schemas, selection));
+                        }
+                        if (builderPools) {
+                            otherFiles.addAll(writeBuilderPools(flatc, schemas, selection));
+                        }
+                        if (stripper != null) {
+                            accessorStripping.checkUses(stripper, stripper.getTransformed());
+                        }
+                        engineRunner.deleteStale(sources, otherFiles);
+                        processGeneratedSources(flatc);
+                        completeCompilation(fbsSourceRoot, compiledFbsFiles, schemas, selection);
+                        return;
+                    }
                     flatc.logExecutionParameters(getLog());
 
-                    getLog().info(format("Compiling %d fbs file(s) to %s", fbsFiles.size(), outputDirectory));
+                    getLog().info(format("Compiling %d fbs file(s) to %s", compiledFbsFiles.size(), outputDirectory));
 
                     final int exitStatus = flatc.execute(getLog());
                     if (StringUtils.isNotBlank(flatc.getStdOut())) {
@@ -457,7 +978,55 @@ abstract class AbstractFlatcMojo extends AbstractMojo {
                     } else if (StringUtils.isNotBlank(flatc.getStdErr())) {
                         getLog().warn("FLATC: " + flatc.getStdErr());
                     }
-                    doAttachFiles();
+                    if (selection != null && flatc.javaOutputDirectory() != null) {
+                        final int deleted = selection.deleteUnselected(
+                                schemas, flatc.fbsFiles(), flatc.javaOutputDirectory());
+                        getLog().info(format("Deleted %d source(s) of types not reachable from the root types",
+                                deleted));
+                    }
+                    if (writeBinarySchema) {
+                        writeBinarySchemas(flatc, derivedFBPathElements, reflectionFbs);
+                    }
+                    if (embedBinarySchema || generators.length > 0) {
+                        final Flatc schemaFlatc = compileBinarySchemas(flatc);
+                        if (embedBinarySchema) {
+                            final int count = BinarySchemaEmbedder.embed(schemaFlatc, getSchemaOutputDirectory());
+                            getLog().info(format("Embedded %d binary schema(s) in %s", count,
+                                    getSchemaOutputDirectory()));
+                        }
+                        if (generators.length > 0) {
+                            runGenerators(schemaFlatc);
+                        }
+                    }
+                    if (profileSchemas) {
+                        profileSchemas(flatc);
+                    }
+                    if (StringUtils.isNotBlank(rootTypeRegistry) || builderPools || schemaFingerprints
+                            || bulkAccessors || readers || stripUnusedAccessors) {
+                        if (schemas == null) {
+                            schemas = loadSchemas(flatc);
+                        }
+                        if (StringUtils.isNotBlank(rootTypeRegistry)) {
+                            newRootTypeRegistryWriter().write(flatc, schemas, selection);
+                        }
+                        if (builderPools) {
+                            writeBuilderPools(flatc, schemas, selection);
+                        }
+                        if (schemaFingerprints) {
+                            declareFingerprints(flatc, schemas, selection);
+                        }
+                        if (bulkAccessors) {
+                            addBulkAccessors(flatc, schemas, selection);
+                        }
+                        final ImmutableSetMultimap<String, String> readerCalls = readers
+                                ? writeReaders(flatc, schemas, selection, new HashSet<File>())
+                                : ImmutableSetMultimap.<String, String>of();
+                        if (stripUnusedAccessors) {
+                            newAccessorStripperRunner().strip(flatc, schemas, readerCalls);
+                        }
+                    }
+                    processGeneratedSources(flatc);
+                    completeCompilation(fbsSourceRoot, compiledFbsFiles, schemas, selection);
                 }
             } catch (IOException e) {
                 throw new MojoExecutionException("An IO error occured", e);
@@ -474,6 +1043,555 @@ abstract class AbstractFlatcMojo extends AbstractMojo {
         }
     }
 
+    /**
+     * Checks the configured {@link #engine}.
+     *
+     * @return {@code true} if the Java sources are generated in-process.
+     * @throws MojoExecutionException if the engine is unknown, or cannot honour the configuration.
+     */
+    private boolean isJavaEngine() throws MojoExecutionException {
+        if (engine == null || ENGINE_FLATC.equals(engine)) {
+            return false;
+        }
+        if (!ENGINE_JAVA.equals(engine)) {
+            throw new MojoExecutionException(
+                    "Unknown engine '" + engine + "', expected '" + ENGINE_FLATC + "' or '" + ENGINE_JAVA + "'");
+        }
+        if (writeBinarySchema || embedBinarySchema || generators.length > 0 || profileSchemas) {
+            throw new MojoExecutionException("The '" + ENGINE_JAVA + "' engine cannot write binary schemas, "
+                    + "run generators or profile definitions; use the '" + ENGINE_FLATC + "' engine instead");
+        }
+        return true;
+    }
+
+    /**
+     * Parses the definitions of a compilation and everything they include.
+     *
+     * @param flatc the configuration of the compilation.
+     * @return the definitions.
+     * @throws MojoFailureException if the definitions have problems.
+     * @throws InterruptedException if the thread is interrupted.
+     */
+    private SchemaSet loadSchemas(final Flatc flatc) throws MojoFailureException, InterruptedException {
+        final SchemaSet schemas = new SchemaLoader(flatc.fbPathElements(), Runtime.getRuntime().availableProcessors())
+                .load(flatc.fbsFiles());
+        reportSchemaProblems(flatc.fbsFiles(), schemas);
+        return schemas;
+    }
+
+    /**
+     * Selects the types reachable from the {@link #rootTypes}.
+     *
+     * @param schemas the definitions of the compilation.
+     * @param flatc the configuration of the compilation.
+     * @return the selected types.
+     * @throws MojoExecutionException if a root type matches no type.
+     */
+    private TypeSelection selectTypes(final SchemaSet schemas, final Flatc flatc) throws MojoExecutionException {
+        final TypeSelection selection;
+        try {
+            selection = TypeSelection.reachableFrom(schemas, Arrays.asList(rootTypes));
+        } catch (IllegalArgumentException e) {
+            throw new MojoExecutionException(e.getMessage(), e);
+        }
+        final int unselected = selection.unselected(schemas, flatc.fbsFiles()).size();
+        getLog().info(format("Generating %d type(s) reachable from the root types, leaving out %d type(s)",
+                selection.getTypes().size(), unselected));
+        return selection;
+    }
+
+    /**
+     * Returns the directories holding the definitions of each dependency.
+     *
+     * @param derivedFBPathElements the directories into which definitions are extracted from dependencies.
+     * @return the directories, mapped to the jar or class directory of their dependency.
+     * @throws MojoExecutionException if a dependency path cannot be truncated.
+     */
+    private ImmutableMap<File, File> getDependencySchemaRoots(final ImmutableSet<File> derivedFBPathElements)
+            throws MojoExecutionException {
+        final Map<File, File> roots = new LinkedHashMap<File, File>();
+        for (final File dependency : getDependencyArtifactFiles()) {
+            final File root = dependency.isDirectory()
+                    ? dependency
+                    : new File(temporaryFbsFileDirectory, truncatePath(dependency.getPath()));
+            if (derivedFBPathElements.contains(root) && !roots.containsKey(root)) {
+                roots.put(root, dependency);
+            }
+        }
+        return ImmutableMap.copyOf(roots);
+    }
+
+    /**
+     * Declares the fingerprint of each generated table and struct in its source written by {@code flatc};
+     * the {@link JavaEngine} declares them as it generates the sources.
+     *
+     * @param flatc the configuration of the compilation.
+     * @param schemas the definitions of the compilation.
+     * @param selection the generated types, or {@code null} if all types are generated.
+     * @throws MojoExecutionException if the mojo does not generate Java sources.
+     * @throws IOException if a source cannot be read or written.
+     */
+    private void declareFingerprints(final Flatc flatc, final SchemaSet schemas, final TypeSelection selection)
+            throws MojoExecutionException, IOException {
+        if (flatc.javaOutputDirectory() == null) {
+            throw new MojoExecutionException("schemaFingerprints requires Java sources to be generated");
+        }
+        final int written = new SchemaFingerprint(schemas)
+                .writeConstants(generatedTypes(flatc, schemas, selection), flatc.javaOutputDirectory());
+        getLog().info(format("Declared the fingerprint of %d generated class(es)", written));
+    }
+
+    /**
+     * Adds the bulk accessors of the vectors of each generated table to its source written by {@code flatc};
+     * the {@link JavaEngine} adds them as it generates the sources.
+     *
+     * @param flatc the configuration of the compilation.
+     * @param schemas the definitions of the compilation.
+     * @param selection the generated types, or {@code null} if all types are generated.
+     * @throws MojoExecutionException if the mojo does not generate Java sources.
+     * @throws IOException if a source cannot be read or written.
+     */
+    private void addBulkAccessors(final Flatc flatc, final SchemaSet schemas, final TypeSelection selection)
+            throws MojoExecutionException, IOException {
+        if (flatc.javaOutputDirectory() == null) {
+            throw new MojoExecutionException("bulkAccessors requires Java sources to be generated");
+        }
+        final int written = new BulkAccessorGenerator(schemas)
+                .write(generatedTypes(flatc, schemas, selection), flatc.javaOutputDirectory());
+        getLog().info(format("Added bulk vector accessors to %d generated class(es)", written));
+    }
+
+    /**
+     * Writes the builder pool of each root type of the compiled definitions, next to its generated class.
+     *
+     * @param flatc the configuration of the compilation.
+     * @param schemas the definitions of the compilation.
+     * @param selection the generated types, or {@code null} if all types are generated.
+     * @return the sources of the pools.
+     * @throws MojoExecutionException if the mojo does not generate Java sources.
+     * @throws IOException if a pool cannot be written.
+     */
+    private Set<File> writeBuilderPools(final Flatc flatc, final SchemaSet schemas, final TypeSelection selection)
+            throws MojoExecutionException, IOException {
+        if (flatc.javaOutputDirectory() == null) {
+            throw new MojoExecutionException("builderPools requires Java sources to be generated");
+        }
+        final BuilderPoolGenerator pools = new BuilderPoolGenerator(schemas);
+        final Set<File> files = new HashSet<File>();
+        final Set<Declaration> rootTypes = RootTypeRegistryGenerator.rootTypes(schemas, flatc.fbsFiles(),
+                selection != null ? selection : Predicates.<Declaration>alwaysTrue()).keySet();
+        for (final Declaration rootType : rootTypes) {
+            pools.write(rootType, flatc.javaOutputDirectory());
+            files.add(BuilderPoolGenerator.sourceFile(rootType, flatc.javaOutputDirectory()));
+            getLog().debug(format("Estimated %d byte(s) for the buffers of %s", pools.estimateSize(rootType),
+                    rootType.getFullName()));
+        }
+        getLog().info(format("Generated the builder pools of %d root type(s)", rootTypes.size()));
+        return files;
+    }
+
+    /**
+     * Writes the reader of each generated table and struct, next to its class.
+     *
+     * @param flatc the configuration of the compilation.
+     * @param schemas the definitions of the compilation.
+     * @param selection the generated types, or {@code null} if all types are generated.
+     * @param files the files written by the execution, to which the sources of the readers are added.
+     * @return the accessors that the readers call, by internal class name.
+     * @throws MojoExecutionException if the mojo does not generate Java sources.
+     * @throws IOException if a reader cannot be written.
+     */
+    private ImmutableSetMultimap<String, String> writeReaders(
+            final Flatc flatc,
+            final SchemaSet schemas,
+            final TypeSelection selection,
+            final Set<File> files) throws MojoExecutionException, IOException {
+        if (flatc.javaOutputDirectory() == null) {
+            throw new MojoExecutionException("readers requires Java sources to be generated");
+        }
+        final ReaderGenerator generator = new ReaderGenerator(schemas, generatedTypes(flatc, schemas, selection));
+        final ImmutableSetMultimap<String, String> calls = generator.write(flatc.javaOutputDirectory());
+        files.addAll(generator.getSourceFiles(flatc.javaOutputDirectory()));
+        getLog().info(format("Generated the readers of %d type(s)", generator.getTypes().size()));
+        return calls;
+    }
+
+    /**
+     * Returns the types whose classes are generated.
+     *
+     * @param flatc the configuration of the compilation.
+     * @param schemas the definitions of the compilation.
+     * @param selection the generated types, or {@code null} if all types are generated.
+     * @return the types declared by the compiled definitions that are generated.
+     */
+    private static ImmutableList<Declaration> generatedTypes(
+            final Flatc flatc,
+            final SchemaSet schemas,
+            final TypeSelection selection) {
+        final ImmutableList.Builder<Declaration> types = ImmutableList.builder();
+        for (final File fbsFile : flatc.fbsFiles()) {
+            final Schema schema = schemas.getSchemas().get(fbsFile.getAbsoluteFile().toPath().normalize().toFile());
+            if (schema == null) {
+                continue;
+            }
+            for (final Declaration declaration : schema.getDeclarations()) {
+                if (JavaGenerator.isGenerated(declaration) && (selection == null || selection.apply(declaration))) {
+                    types.add(declaration);
+                }
+            }
+        }
+        return types.build();
+    }
+
+    /**
+     * Creates the writer of the {@link #rootTypeRegistry}, which writes its interface unless a dependency
+     * or the compiled classes provide it.
+     *
+     * @return the writer.
+     */
+    private RootTypeRegistryWriter newRootTypeRegistryWriter() {
+        return new RootTypeRegistryWriter(rootTypeRegistry, rootTypeRegistryInterface,
+                Iterables.concat(getDependencyArtifactFiles(), getCompiledClassDirectories()), getLog());
+    }
+
+    /**
+     * Returns the directories of compiled classes that the generated code is compiled against, besides the
+     * dependencies. Returns none by default.
+     *
+     * @return the class directories.
+     */
+    protected List<File> getCompiledClassDirectories() {
+        return ImmutableList.of();
+    }
+
+    /**
+     * Creates the stripper of the accessors that the compiled classes of the project do not call.
+     *
+     * @return the stripper, reading the main and test classes, and checking the sources of the project
+     *         other than the generated ones.
+     */
+    private AccessorStripperRunner newAccessorStripperRunner() {
+        final List<File> sourceRoots = new ArrayList<File>();
+        for (final String root : Iterables.concat(project.getCompileSourceRoots(),
+                project.getTestCompileSourceRoots())) {
+            final File sourceRoot = new File(root);
+            if (!sourceRoot.getAbsoluteFile().equals(getSchemaOutputDirectory().getAbsoluteFile())) {
+                sourceRoots.add(sourceRoot);
+            }
+        }
+        return new AccessorStripperRunner(ImmutableList.of(
+                new File(project.getBuild().getOutputDirectory()),
+                new File(project.getBuild().getTestOutputDirectory())), sourceRoots, getLog());
+    }
+
+    /**
+     * Records the compiled definitions in the {@link GenerationManifest} of the goal, measures the generated code
+     * if configured, and attaches the generated files to the project. With {@link #rootTypes}, only the definitions
+     * whose types were all generated are recorded, as the other ones lack classes.
+     *
+     * @param fbsSourceRoot the root of the compiled definitions.
+     * @param fbsFiles the compiled definitions.
+     * @param schemas the loaded definitions, or {@code null} if no types were selected.
+     * @param selection the selected types, or {@code null} if all types were generated.
+     * @throws IOException if the generated code cannot be measured.
+     * @throws MojoFailureException if a footprint budget is exceeded.
+     */
+    private void completeCompilation(
+            final File fbsSourceRoot,
+            final ImmutableSet<File> fbsFiles,
+            final SchemaSet schemas,
+            final TypeSelection selection) throws IOException, MojoFailureException {
+        final List<File> recorded = new ArrayList<File>(fbsFiles);
+        if (selection != null) {
+            final Set<File> incomplete = new HashSet<File>();
+            for (final Declaration declaration : selection.unselected(schemas, fbsFiles)) {
+                incomplete.add(declaration.getLocation().getFile());
+            }
+            final Iterator<File> fbsFile = recorded.iterator();
+            while (fbsFile.hasNext()) {
+                if (incomplete.contains(fbsFile.next().getAbsoluteFile().toPath().normalize().toFile())) {
+                    fbsFile.remove();
+                }
+            }
+            if (recorded.size() < fbsFiles.size()) {
+                getLog().debug(format("Not recording %d fbs file(s) whose types were not all generated",
+                        fbsFiles.size() - recorded.size()));
+            }
+        }
+        GenerationManifest.write(GenerationManifest.file(new File(project.getBuild().getDirectory()), getClass()),
+                fbsSourceRoot, recorded);
+        if (footprintReport || maxGeneratedFiles > 0 || maxGeneratedLines > 0
+                || maxGeneratedClasses > 0 || maxGeneratedMethods > 0) {
+            reportFootprint(fbsSourceRoot, fbsFiles);
+        }
+        doAttachFiles();
+    }
+
+    /**
+     * Selects the definition files to compile among those of the source root. Returns all of them by default.
+     *
+     * @param fbsSourceRoot the source root.
+     * @param fbsFiles the definition files of the source root.
+     * @return the definition files to compile.
+     * @throws IOException if a definition cannot be read.
+     */
+    protected ImmutableSet<File> filterFbsFiles(final File fbsSourceRoot, final ImmutableSet<File> fbsFiles)
+            throws IOException {
+        return fbsFiles;
+    }
+
+    /**
+     * Restores the generated code of a previous, identical compilation instead of generating it.
+     * Does nothing by default.
+     *
+     * @param flatc the configuration of the compilation.
+     * @param typeDependencies the dependencies whose classes the generated code uses instead of generating
+     *                         them, with {@link #skipDependencyTypes}; empty otherwise.
+     * @return {@code true} if the generated code was restored, and nothing has to be generated.
+     * @throws MojoExecutionException if the code cannot be restored with the configuration of the mojo.
+     * @throws IOException if the code cannot be restored.
+     */
+    protected boolean restoreGeneratedSources(final Flatc flatc, final List<File> typeDependencies)
+            throws MojoExecutionException, IOException {
+        return false;
+    }
+
+    /**
+     * Describes everything besides the definitions that determines the generated sources:
+     * the engine and its version, binary schema embedding, generators, root types, root type registry,
+     * fingerprints, builder pools, bulk accessors and readers.
+     *
+     * @param flatc the configuration of the compilation.
+     * @return the description, or {@code null} if the generated code cannot be reused, because the
+     *         version of {@code flatc} is unknown, the compilation writes more than sources, or the sources
+     *         depend on the compiled classes of the project.
+     */
+    protected String getGenerationFingerprint(final Flatc flatc) {
+        if (writeBinarySchema || profileSchemas || stripUnusedAccessors) {
+            return null;
+        }
+        final String version = ENGINE_JAVA.equals(engine)
+                ? ENGINE_JAVA + " " + JavaGenerator.FLATC_VERSION
+                : flatcRegistry.version(flatc.executable());
+        if (version == null) {
+            return null;
+        }
+        return "flatc " + version + " --java embedBinarySchema=" + embedBinarySchema
+                + " generators=" + Arrays.toString(generators) + " rootTypes=" + Arrays.toString(rootTypes)
+                + " rootTypeRegistry=" + rootTypeRegistry + " " + rootTypeRegistryInterface
+                + " schemaFingerprints=" + schemaFingerprints + " builderPools=" + builderPools
+                + " bulkAccessors=" + bulkAccessors + " readers=" + readers;
+    }
+
+    /**
+     * Processes the generated sources, after all of them have been written to {@link #getSchemaOutputDirectory()}.
+     * Does nothing by default.
+     *
+     * @param flatc the configuration of the compilation.
+     * @throws MojoExecutionException if the sources cannot be processed with the configuration of the mojo.
+     * @throws MojoFailureException if the sources cannot be processed.
+     * @throws IOException if the sources cannot be read, or the results cannot be written.
+     */
+    protected void processGeneratedSources(final Flatc flatc)
+            throws MojoExecutionException, MojoFailureException, IOException {
+    }
+
+    /**
+     * Logs the problems found in definitions, and reports them to the IDE through the build context.
+     *
+     * @param fbsFiles the definition files whose previous messages are cleared.
+     * @param schemas the loaded definitions.
+     * @throws MojoFailureException if there is any problem.
+     */
+    protected void reportSchemaProblems(final Collection<File> fbsFiles, final SchemaSet schemas)
+            throws MojoFailureException {
+        for (final File fbsFile : fbsFiles) {
+            buildContext.removeMessages(fbsFile);
+        }
+        for (final SchemaProblem problem : schemas.getProblems()) {
+            getLog().error(problem.toString());
+            buildContext.addMessage(problem.getLocation().getFile(), problem.getLocation().getLine(),
+                    problem.getLocation().getColumn(), problem.getMessage(), BuildContext.SEVERITY_ERROR, null);
+        }
+        if (schemas.hasProblems()) {
+            throw new MojoFailureException(
+                    "Found " + schemas.getProblems().size() + " problem(s) in flatbuffers definitions");
+        }
+    }
+
+    /**
+     * Selects the highest installed {@code flatc} that satisfies {@code flatcVersion}.
+     *
+     * @return the path of the executable, or {@code null} if none matches and {@code flatcArtifact} is set.
+     * @throws MojoExecutionException if none matches and there is no artifact to fall back to,
+     *                                or if the version requirement is invalid.
+     */
+    private String selectInstalledFlatc() throws MojoExecutionException {
+        final FlatcRegistry.Installation installation;
+        try {
+            installation = flatcRegistry.select(flatcVersion, Arrays.asList(flatcSearchPath), true);
+        } catch (InvalidVersionSpecificationException e) {
+            throw new MojoExecutionException("Invalid flatcVersion: " + flatcVersion, e);
+        }
+        if (installation != null) {
+            getLog().info("Using " + installation);
+            return installation.getExecutable().getAbsolutePath();
+        }
+        if (flatcArtifact == null) {
+            throw new MojoExecutionException("No flatc installation satisfies version " + flatcVersion
+                    + ", searched " + Arrays.toString(flatcSearchPath) + " and the PATH");
+        }
+        getLog().info("No flatc installation satisfies version " + flatcVersion + ", resolving " + flatcArtifact);
+        return null;
+    }
+
+    /**
+     * Completes the binary schemas written by the regular compilation: compiles the definitions found
+     * in dependencies, if requested, and copies the reflection schema from the toolchain.
+     *
+     * @param flatc the configuration of the regular compilation.
+     * @param derivedFBPathElements directories into which definitions were extracted from dependencies.
+     * @param reflectionFbs path to {@code reflection.fbs} declared by the toolchain, may be {@code null}.
+     * @throws MojoFailureException if the binary schemas cannot be compiled.
+     * @throws IOException if a file cannot be copied.
+     * @throws CommandLineException if {@code flatc} cannot be invoked.
+     * @throws InterruptedException if the thread is interrupted.
+     */
+    private void writeBinarySchemas(
+            final Flatc flatc,
+            final ImmutableSet<File> derivedFBPathElements,
+            final String reflectionFbs)
+            throws MojoFailureException, IOException, CommandLineException, InterruptedException {
+        if (includeDependenciesInBinarySchema) {
+            final Set<File> dependencyFbsFiles = new LinkedHashSet<File>();
+            for (final File derivedFBPathElement : derivedFBPathElements) {
+                dependencyFbsFiles.addAll(
+                        getFiles(derivedFBPathElement, DEFAULT_INCLUDES, getDefaultExcludesAsString()));
+            }
+            if (!dependencyFbsFiles.isEmpty()) {
+                getLog().info(format("Compiling binary schemas of %d fbs file(s) from dependencies",
+                        dependencyFbsFiles.size()));
+                executeSchemaFlatc(ImmutableFlatc.copyOf(flatc)
+                        .withJavaOutputDirectory(null)
+                        .withFbsFiles(dependencyFbsFiles));
+            }
+        }
+        if (reflectionFbs != null) {
+            final File reflectionFbsFile = new File(reflectionFbs);
+            if (reflectionFbsFile.isFile()) {
+                copyFileToDirectory(reflectionFbsFile, getDescriptorSetOutputDirectory());
+            } else {
+                getLog().warn("Toolchain reflection schema does not exist: " + reflectionFbsFile);
+            }
+        }
+    }
+
+    private void executeSchemaFlatc(final Flatc schemaFlatc)
+            throws MojoFailureException, CommandLineException, InterruptedException {
+        schemaFlatc.logExecutionParameters(getLog());
+        if (schemaFlatc.execute(getLog()) != 0) {
+            getLog().error("FLATC FAILED: " + schemaFlatc.getStdErr());
+            throw new MojoFailureException("flatc did not exit cleanly. Review output for more information.");
+        }
+    }
+
+    /**
+     * Makes sure that the binary schemas of the definitions exist.
+     *
+     * @param flatc the configuration of the regular compilation.
+     * @return a compilation whose {@link Flatc#schemaOutputDirectory()} holds the binary schemas.
+     * @throws MojoFailureException if the binary schemas cannot be compiled.
+     * @throws IOException if the binary schema directory cannot be prepared.
+     * @throws CommandLineException if {@code flatc} cannot be invoked.
+     * @throws InterruptedException if the thread is interrupted.
+     */
+    private Flatc compileBinarySchemas(final Flatc flatc)
+            throws MojoFailureException, IOException, CommandLineException, InterruptedException {
+        if (flatc.schemaOutputDirectory() != null && flatc.genSchema()) {
+            // the regular compilation has produced them already
+            return flatc;
+        }
+        final File binarySchemaDirectory = new File(binarySchemaWorkDirectory, getClass().getSimpleName());
+        FileUtils.mkdir(binarySchemaDirectory.getAbsolutePath());
+        cleanDirectory(binarySchemaDirectory);
+        final Flatc schemaFlatc = ImmutableFlatc.copyOf(flatc)
+                .withJavaOutputDirectory(null)
+                .withSchemaOutputDirectory(binarySchemaDirectory);
+        executeSchemaFlatc(schemaFlatc);
+        return schemaFlatc;
+    }
+
+    /**
+     * Runs the in-process {@link #generators} on the binary schemas.
+     *
+     * @param schemaFlatc a compilation whose binary schemas have been written.
+     * @throws MojoExecutionException if a generator cannot be resolved or instantiated.
+     * @throws MojoFailureException if a generator fails.
+     * @throws IOException if the binary schemas cannot be listed.
+     * @throws InterruptedException if the thread is interrupted.
+     */
+    private void runGenerators(final Flatc schemaFlatc)
+            throws MojoExecutionException, MojoFailureException, IOException, InterruptedException {
+        final List<File> binarySchemas = new ArrayList<File>();
+        for (final File file : findGeneratedFilesInDirectory(schemaFlatc.schemaOutputDirectory())) {
+            if (file.getName().endsWith(".bfbs")) {
+                binarySchemas.add(file);
+            }
+        }
+        getLog().info(format("Running %d generator(s) on %d binary schema(s)",
+                generators.length, binarySchemas.size()));
+        new GeneratorRunner(session, project.getArtifact(), repositorySystem, resolutionErrorHandler,
+                localRepository, remoteRepositories, getLog())
+                .run(Arrays.asList(generators), binarySchemas, getSchemaOutputDirectory());
+    }
+
+    /**
+     * Compiles each definition on its own and writes a report that ranks them by compilation cost.
+     *
+     * @param flatc the configuration of the regular compilation.
+     * @throws IOException if the report cannot be written.
+     * @throws CommandLineException if {@code flatc} cannot be invoked.
+     * @throws InterruptedException if the thread is interrupted.
+     */
+    private void profileSchemas(final Flatc flatc) throws IOException, CommandLineException, InterruptedException {
+        getLog().info(format("Profiling compilation of %d fbs file(s)", flatc.fbsFiles().size()));
+        final SchemaProfiler profiler = new SchemaProfiler(
+                flatc, new File(profileOutputDirectory, getClass().getSimpleName()), getLog());
+        profiler.writeReport(profiler.profile(),
+                new File(profileOutputDirectory, getClass().getSimpleName() + ".csv"));
+    }
+
+    /**
+     * Measures the generated code, compares it with the previous build and checks the configured budgets.
+     *
+     * @param fbsSourceRoot the root of the compiled definitions.
+     * @param fbsFiles the compiled definitions.
+     * @throws IOException if the generated code cannot be read, or the report cannot be written.
+     * @throws MojoFailureException if a budget is exceeded and {@link #failOnFootprintBudget} is set.
+     */
+    private void reportFootprint(final File fbsSourceRoot, final ImmutableSet<File> fbsFiles)
+            throws IOException, MojoFailureException {
+        final File reportFile = new File(footprintReportDirectory, getClass().getSimpleName() + ".csv");
+        final GeneratedCodeFootprint previous = GeneratedCodeFootprint.load(reportFile);
+        final GeneratedCodeFootprint footprint =
+                GeneratedCodeFootprint.measure(getSchemaOutputDirectory(), fbsSourceRoot, fbsFiles, getLog());
+        footprint.log(getLog(), previous);
+        footprint.store(reportFile);
+
+        final ImmutableList<String> violations = footprint.checkBudgets(
+                maxGeneratedFiles, maxGeneratedLines, maxGeneratedClasses, maxGeneratedMethods);
+        for (final String violation : violations) {
+            if (failOnFootprintBudget) {
+                getLog().error(violation);
+            } else {
+                getLog().warn(violation);
+            }
+        }
+        if (failOnFootprintBudget && !violations.isEmpty()) {
+            throw new MojoFailureException("Generated code exceeds the configured footprint budget.");
+        }
+    }
+
     /**
      * Attempts to detect java home directory, using {@code jdk} toolchain if available,
      * with a fallback to {@code java.home} system property.
@@ -526,13 +1644,10 @@ abstract class AbstractFlatcMojo extends AbstractMojo {
      */
     protected void addFlatcBuilderParameters(final ImmutableFlatc.Builder flatcBuilder) throws MojoExecutionException {
         if (writeBinarySchema) {
-//            final File descriptorSetFile = new File(getDescriptorSetOutputDirectory(), descriptorSetFileName);
-//            getLog().info("Will write descriptor set:");
-//            getLog().info(" " + descriptorSetFile.getAbsolutePath());
-//            flatcBuilder.withDescriptorSetFile(
-//                    descriptorSetFile,
-//                    includeDependenciesInDescriptorSet,
-//                    includeSourceInfoInDescriptorSet);
+            final File descriptorSetOutputDirectory = getDescriptorSetOutputDirectory();
+            getLog().info("Will write binary schemas to:");
+            getLog().info(" " + descriptorSetOutputDirectory.getAbsolutePath());
+            flatcBuilder.schemaOutputDirectory(descriptorSetOutputDirectory);
         }
     }
 
@@ -649,6 +1764,57 @@ abstract class AbstractFlatcMojo extends AbstractMojo {
      */
     protected abstract File getSchemaOutputDirectory();
 
+    /**
+     * Returns the output directory for binary schemas. Depends on build phase so must
+     * be defined in concrete implementation.
+     *
+     * @return output directory for binary schemas.
+     */
+    protected abstract File getDescriptorSetOutputDirectory();
+
+    /**
+     * Packages the binary schemas into a zip file and attaches it to the project.
+     *
+     * @param type the type of the attached artifact.
+     * @param classifier the classifier of the attached artifact, may be {@code null}.
+     */
+    protected void attachBinarySchemas(final String type, final String classifier) {
+        attachDirectory(getDescriptorSetOutputDirectory(), type, classifier);
+    }
+
+    /**
+     * Packages the files of a directory and attaches the archive to the build.
+     * Nothing is attached if the directory does not exist.
+     *
+     * @param directory the directory to package.
+     * @param type the type of the attached artifact.
+     * @param classifier the classifier of the attached artifact, may be {@code null}.
+     */
+    protected void attachDirectory(final File directory, final String type, final String classifier) {
+        if (!directory.isDirectory()) {
+            return;
+        }
+        final File archive = new File(project.getBuild().getDirectory(), project.getBuild().getFinalName()
+                + (StringUtils.isNotEmpty(classifier) ? "-" + classifier : "") + "." + type);
+        try {
+            final ZipOutputStream out = new ZipOutputStream(new FileOutputStream(archive));
+            try {
+                final String root = directory.getAbsolutePath();
+                for (final File file : findGeneratedFilesInDirectory(directory)) {
+                    out.putNextEntry(new ZipEntry(
+                            file.getAbsolutePath().substring(root.length() + 1).replace(File.separatorChar, '/')));
+                    Files.copy(file, out);
+                    out.closeEntry();
+                }
+            } finally {
+                out.close();
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not package " + directory + ": " + archive, e);
+        }
+        projectHelper.attachArtifact(project, type, classifier, archive);
+    }
+
 
     protected void doAttachFiles() {
         if (attachFbsSources) {
@@ -661,6 +1827,24 @@ abstract class AbstractFlatcMojo extends AbstractMojo {
 
     protected abstract void doAttachGeneratedFiles();
 
+    /**
+     * Returns the include path of a compilation: the source root, the directories into which
+     * definitions are extracted from dependencies, and the additional path elements.
+     *
+     * @param fbsSourceRoot the source root.
+     * @return the include path, in lookup order.
+     * @throws IOException if definitions cannot be extracted from a dependency.
+     * @throws MojoExecutionException if a dependency path cannot be truncated.
+     */
+    protected ImmutableList<File> getFbPathElements(final File fbsSourceRoot)
+            throws IOException, MojoExecutionException {
+        return ImmutableList.<File>builder()
+                .add(fbsSourceRoot)
+                .addAll(makeFBPathFromJars(temporaryFbsFileDirectory, getDependencyArtifactFiles()))
+                .add(additionalFBPathElements)
+                .build();
+    }
+
     /**
      * Gets the {@link File} for each dependency artifact.
      *
@@ -40,7 +40,7 @@ public abstract class AbstractFlatcTestCompileMojo extends AbstractFlatcMojo {
     private File fbsTestSourceRoot;
 
     /**
-     * This is the directory into which the (optional) descriptor set file will be created.
+     * This is the directory into which the (optional) binary schema files will be created.
      *
      * @since 0.3.0
      */
@@ -71,13 +71,26 @@ public abstract class AbstractFlatcTestCompileMojo extends AbstractFlatcMojo {
     protected void doAttachGeneratedFiles() {
         final File outputDirectory = getSchemaOutputDirectory();
         project.addTestCompileSourceRoot(outputDirectory.getAbsolutePath());
-        if (writeBinarySchema) {
-//            final File descriptorSetFile = new File(getDescriptorSetOutputDirectory(), descriptorSetFileName);
-//            projectHelper.attachArtifact(project, "test-fbbin", descriptorSetClassifier, descriptorSetFile);
+        if (new File(outputDirectory, SERVICES_DIRECTORY).isDirectory()) {
+            projectHelper.addTestResource(project, outputDirectory.getAbsolutePath(),
+                    ImmutableList.of(SERVICES_DIRECTORY + "**"), ImmutableList.<String>of());
+        }
+        if (writeBinarySchema && attachBinarySchema) {
+            attachBinarySchemas("test-fbbin", descriptorSetClassifier);
         }
         buildContext.refresh(outputDirectory);
     }
 
+    @Override
+    protected List<File> getCompiledClassDirectories() {
+        return ImmutableList.of(new File(project.getBuild().getOutputDirectory()));
+    }
+
+    @Override
+    protected File getDescriptorSetOutputDirectory() {
+        return descriptorSetOutputDirectory;
+    }
+
     @Override
     protected List<Artifact> getDependencyArtifacts() {
         return project.getTestArtifacts();
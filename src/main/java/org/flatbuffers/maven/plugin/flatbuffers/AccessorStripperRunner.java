@@ -0,0 +1,158 @@
+package org.flatbuffers.maven.plugin.flatbuffers;
+
+/*
+ * Copyright (c) 2016 Maven Flatbuffers Plugin Authors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSetMultimap;
+import com.google.common.collect.Multimap;
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugin.MojoFailureException;
+import org.apache.maven.plugin.logging.Log;
+import org.flatbuffers.maven.plugin.flatbuffers.codegen.AccessorStripper;
+import org.flatbuffers.maven.plugin.flatbuffers.codegen.JavaGenerator;
+import org.flatbuffers.maven.plugin.flatbuffers.idl.Declaration;
+import org.flatbuffers.maven.plugin.flatbuffers.idl.Schema;
+import org.flatbuffers.maven.plugin.flatbuffers.idl.SchemaSet;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static java.lang.String.format;
+
+/**
+ * Removes the accessors of the generated tables and structs that the compiled classes of the project
+ * do not call, and checks that the sources of the project do not call them either.
+ *
+ * <p>The {@code flatc} engine writes the sources first, and {@link #strip(Flatc, SchemaSet, Multimap)} rewrites them.
+ * The {@code java} engine passes the {@link AccessorStripper} returned by {@link #scan(SchemaSet, Multimap)} to the
+ * generation, which then writes the stripped sources only when they change.</p>
+ *
+ * @since 0.1.0
+ */
+final class AccessorStripperRunner {
+
+    private final List<File> classDirectories;
+
+    private final List<File> sourceRoots;
+
+    private final Log log;
+
+    /**
+     * @param classDirectories the directories of the compiled classes of the project.
+     * @param sourceRoots the source roots of the project, without the generated sources.
+     * @param log a logger.
+     */
+    AccessorStripperRunner(final Iterable<File> classDirectories, final Iterable<File> sourceRoots, final Log log) {
+        this.classDirectories = ImmutableList.copyOf(classDirectories);
+        this.sourceRoots = ImmutableList.copyOf(sourceRoots);
+        this.log = log;
+    }
+
+    /**
+     * Reads the accessors that the compiled classes of the project call.
+     *
+     * @param schemas the definitions of the compilation.
+     * @param generatedCalls the accessors called by generated sources that are not compiled yet, such as
+     *                       the readers, by internal class name.
+     * @return the stripper, or {@code null} if the project has no compiled classes yet and all accessors are kept.
+     * @throws IOException if a class cannot be read.
+     */
+    AccessorStripper scan(final SchemaSet schemas, final Multimap<String, String> generatedCalls)
+            throws IOException {
+        final Set<String> generatedClasses = new HashSet<String>();
+        for (final Declaration declaration : schemas.getTypes().values()) {
+            if (JavaGenerator.isGenerated(declaration)) {
+                generatedClasses.add(className(declaration));
+            }
+        }
+        final AccessorStripper stripper = AccessorStripper.scan(classDirectories, generatedClasses);
+        if (stripper.getScannedClasses() == 0) {
+            log.info("No compiled classes of the project to read the used accessors from, keeping all of them");
+            return null;
+        }
+        return stripper.withReferences(generatedCalls);
+    }
+
+    /**
+     * Removes the unused accessors from the written sources of a compilation.
+     *
+     * @param flatc the configuration of the compilation.
+     * @param schemas the definitions of the compilation.
+     * @param generatedCalls the accessors called by generated sources, by internal class name.
+     * @throws MojoExecutionException if the compilation does not generate Java sources.
+     * @throws MojoFailureException if a source of the project calls a removed accessor.
+     * @throws IOException if a class cannot be read, or a source cannot be read or written.
+     */
+    void strip(final Flatc flatc, final SchemaSet schemas, final Multimap<String, String> generatedCalls)
+            throws MojoExecutionException, MojoFailureException, IOException {
+        if (flatc.javaOutputDirectory() == null) {
+            throw new MojoExecutionException("stripUnusedAccessors requires Java sources to be generated");
+        }
+        final AccessorStripper stripper = scan(schemas, generatedCalls);
+        if (stripper == null) {
+            return;
+        }
+        final List<String> classNames = new ArrayList<String>();
+        for (final File fbsFile : flatc.fbsFiles()) {
+            final Schema schema = schemas.getSchemas().get(fbsFile.getAbsoluteFile().toPath().normalize().toFile());
+            if (schema == null) {
+                continue;
+            }
+            for (final Declaration declaration : schema.getDeclarations()) {
+                if (JavaGenerator.isGenerated(declaration) && (declaration.getKind() == Declaration.Kind.TABLE
+                        || declaration.getKind() == Declaration.Kind.STRUCT)) {
+                    classNames.add(className(declaration));
+                }
+            }
+        }
+        checkUses(stripper, stripper.strip(flatc.javaOutputDirectory(), classNames));
+    }
+
+    /**
+     * Reports the removed accessors, and fails if the sources of the project may call one of them.
+     *
+     * @param stripper the stripper that removed the accessors.
+     * @param removed the removed accessors, by internal class name.
+     * @throws MojoFailureException if a source of the project calls a removed accessor.
+     * @throws IOException if a source cannot be read.
+     */
+    void checkUses(final AccessorStripper stripper, final ImmutableSetMultimap<String, String> removed)
+            throws MojoFailureException, IOException {
+        log.info(format("Removed %d accessor(s) not called by %d compiled class(es)",
+                removed.size(), stripper.getScannedClasses()));
+        final ImmutableList<String> uses = AccessorStripper.findUses(sourceRoots, removed);
+        for (final String use : uses) {
+            log.error(use);
+        }
+        if (!uses.isEmpty()) {
+            throw new MojoFailureException(format("%d removed accessor(s) may be called by sources compiled after "
+                    + "the classes the accessors were read from, build once with mvn clean or without "
+                    + "stripUnusedAccessors", uses.size()));
+        }
+    }
+
+    /**
+     * Returns the internal name of the class of a generated type, such as {@code MyGame/Example/Monster}.
+     */
+    private static String className(final Declaration declaration) {
+        return JavaGenerator.getPath(declaration).replaceAll("\\.java$", "");
+    }
+}
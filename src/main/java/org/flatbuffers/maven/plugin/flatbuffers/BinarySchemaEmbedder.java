@@ -0,0 +1,187 @@
+package org.flatbuffers.maven.plugin.flatbuffers;
+
+/*
+ * Copyright (c) 2016 Maven Flatbuffers Plugin Authors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+import com.google.common.io.Files;
+import org.codehaus.plexus.util.FileUtils;
+import org.flatbuffers.maven.plugin.flatbuffers.idl.SchemaException;
+import org.flatbuffers.maven.plugin.flatbuffers.idl.SchemaParser;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static java.lang.String.format;
+
+/**
+ * Generates a Java class for each binary schema, which holds the schema as a constant.
+ * The schema is available as a read-only {@link java.nio.ByteBuffer} without any file or class path lookup.
+ *
+ * <p>The bytes are encoded as ISO-8859-1 string literals, which the class file stores in its constant pool,
+ * so the schema costs one array copy at class initialization. Literals are split into chunks,
+ * because a constant pool entry is limited to 65535 bytes of modified UTF-8,
+ * where bytes above {@code 0x7f} and zero take two bytes each.</p>
+ *
+ * @since 0.1.0
+ */
+final class BinarySchemaEmbedder {
+
+    /**
+     * Maximum number of characters in a single string literal; at two bytes per character
+     * this stays well within the constant pool limit.
+     */
+    private static final int CHUNK_LENGTH = 16000;
+
+    private static final String CLASS_NAME_SUFFIX = "BinarySchema";
+
+    private BinarySchemaEmbedder() {
+    }
+
+    /**
+     * Writes a class for the binary schema of each definition.
+     * The class is placed in the package of the definition's namespace, and is named after the definition file,
+     * for example {@code monster_test.fbs} results in {@code MonsterTestBinarySchema}.
+     * Classes that already have the content are not written, so that the compiler does not see them as changed.
+     *
+     * @param schemaFlatc a compilation whose binary schemas have been written.
+     * @param javaOutputDirectory the directory into which classes are written.
+     * @return the number of embedded binary schemas.
+     * @throws IOException if a file cannot be read or written.
+     * @throws IllegalArgumentException if two definitions would result in the same class.
+     */
+    static int embed(final Flatc schemaFlatc, final File javaOutputDirectory) throws IOException {
+        final Map<String, File> classes = new HashMap<String, File>();
+        for (final File fbsFile : schemaFlatc.fbsFiles()) {
+            final String packageName = namespace(fbsFile);
+            final String simpleName = className(fbsFile.getName());
+            final String className = packageName.isEmpty() ? simpleName : packageName + '.' + simpleName;
+            final File previous = classes.put(className, fbsFile);
+            checkArgument(previous == null,
+                    "Definitions %s and %s would both embed their binary schema as %s", previous, fbsFile, className);
+
+            final File classFile = new File(javaOutputDirectory,
+                    className.replace('.', File.separatorChar) + ".java");
+            final byte[] source = source(packageName, simpleName, fbsFile.getName(),
+                    Files.toByteArray(schemaFlatc.binarySchemaFile(fbsFile))).getBytes("UTF-8");
+            if (!classFile.isFile() || !Arrays.equals(Files.toByteArray(classFile), source)) {
+                FileUtils.mkdir(classFile.getParentFile().getAbsolutePath());
+                Files.write(source, classFile);
+            }
+        }
+        return classes.size();
+    }
+
+    private static String namespace(final File fbsFile) throws IOException {
+        try {
+            return SchemaParser.parse(fbsFile).getNamespace();
+        } catch (SchemaException e) {
+            throw new IOException("Cannot determine the namespace of " + fbsFile, e);
+        }
+    }
+
+    private static String className(final String fbsFileName) {
+        final StringBuilder name = new StringBuilder();
+        boolean upper = true;
+        for (final char c : fbsFileName.substring(0, fbsFileName.length() - ".fbs".length()).toCharArray()) {
+            if (Character.isLetterOrDigit(c)) {
+                name.append(upper ? Character.toUpperCase(c) : c);
+                upper = false;
+            } else {
+                upper = true;
+            }
+        }
+        if (name.length() == 0 || Character.isDigit(name.charAt(0))) {
+            name.insert(0, '_');
+        }
+        return name.append(CLASS_NAME_SUFFIX).toString();
+    }
+
+    private static String source(
+            final String packageName,
+            final String simpleName,
+            final String fbsFileName,
+            final byte[] schema) {
+        final StringBuilder out = new StringBuilder(schema.length * 2 + 1024);
+        out.append("// automatically generated by the flatbuffers-maven-plugin, do not modify\n\n");
+        if (!packageName.isEmpty()) {
+            out.append("package ").append(packageName).append(";\n\n");
+        }
+        out.append("import java.nio.ByteBuffer;\n")
+                .append("import java.nio.ByteOrder;\n")
+                .append("import java.nio.charset.Charset;\n\n")
+                .append("/**\n")
+                .append(" * The binary schema of {@code ").append(fbsFileName).append("}.\n")
+                .append(" */\n")
+                .append("public final class ").append(simpleName).append(" {\n\n")
+                .append("  /**\n")
+                .append("   * Size of the binary schema, in bytes.\n")
+                .append("   */\n")
+                .append("  public static final int SIZE = ").append(schema.length).append(";\n\n")
+                .append("  private static final ByteBuffer SCHEMA;\n\n")
+                .append("  static {\n")
+                .append("    final Charset latin1 = Charset.forName(\"ISO-8859-1\");\n")
+                .append("    final byte[] bytes = new byte[SIZE];\n")
+                .append("    int position = 0;\n")
+                .append("    for (final String chunk : new String[] {\n");
+        for (int start = 0; start < schema.length; start += CHUNK_LENGTH) {
+            out.append("        \"");
+            appendEscaped(out, schema, start, Math.min(schema.length, start + CHUNK_LENGTH));
+            out.append("\",\n");
+        }
+        out.append("    }) {\n")
+                .append("      final byte[] chunkBytes = chunk.getBytes(latin1);\n")
+                .append("      System.arraycopy(chunkBytes, 0, bytes, position, chunkBytes.length);\n")
+                .append("      position += chunkBytes.length;\n")
+                .append("    }\n")
+                .append("    SCHEMA = ByteBuffer.wrap(bytes).asReadOnlyBuffer();\n")
+                .append("  }\n\n")
+                .append("  private ").append(simpleName).append("() {\n")
+                .append("  }\n\n")
+                .append("  /**\n")
+                .append("   * Returns a read-only little-endian view of the binary schema,\n")
+                .append("   * with its own position and limit.\n")
+                .append("   *\n")
+                .append("   * @return a new view of the schema, positioned at its start.\n")
+                .append("   */\n")
+                .append("  public static ByteBuffer schema() {\n")
+                .append("    return SCHEMA.duplicate().order(ByteOrder.LITTLE_ENDIAN);\n")
+                .append("  }\n")
+                .append("}\n");
+        return out.toString();
+    }
+
+    /**
+     * Appends bytes as the content of a Java string literal. Printable ASCII is kept,
+     * everything else is written as the shortest octal escape that cannot be confused with the next character.
+     */
+    private static void appendEscaped(final StringBuilder out, final byte[] bytes, final int start, final int end) {
+        for (int i = start; i < end; i++) {
+            final int b = bytes[i] & 0xff;
+            if (b == '"' || b == '\\') {
+                out.append('\\').append((char) b);
+            } else if (b >= 0x20 && b < 0x7f) {
+                out.append((char) b);
+            } else {
+                final boolean digitFollows = i + 1 < end && bytes[i + 1] >= '0' && bytes[i + 1] <= '7';
+                out.append('\\').append(digitFollows ? format("%03o", b) : Integer.toOctalString(b));
+            }
+        }
+    }
+}
@@ -0,0 +1,249 @@
+package org.flatbuffers.maven.plugin.flatbuffers;
+
+/*
+ * Copyright (c) 2016 Maven Flatbuffers Plugin Authors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+import com.google.common.base.Predicate;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.io.Files;
+import org.flatbuffers.maven.plugin.flatbuffers.codegen.JavaGenerator;
+import org.flatbuffers.maven.plugin.flatbuffers.idl.Declaration;
+import org.flatbuffers.maven.plugin.flatbuffers.idl.Field;
+import org.flatbuffers.maven.plugin.flatbuffers.idl.Schema;
+import org.flatbuffers.maven.plugin.flatbuffers.idl.SchemaSet;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.jar.JarFile;
+
+import static java.lang.String.format;
+
+/**
+ * Keeps types that dependencies already ship out of the generated code.
+ *
+ * <p>A definition file of the source root whose path also exists in a dependency, typically a copy of
+ * an upstream definition, is not generated: its classes come from the dependency. Such a copy must have
+ * the content of the definition of the dependency, or the classes of the dependency would not match it.
+ * Tables and structs that generated classes refer to, and that are defined by a dependency, must then be
+ * compiled in that dependency, which is verified before anything is generated, rather than leaving the Java
+ * compiler to report missing symbols.</p>
+ *
+ * @since 0.1.0
+ */
+final class DependencyTypes {
+
+    /**
+     * The directories holding definitions of dependencies, mapped to the dependency,
+     * a jar or a class directory.
+     */
+    private final ImmutableMap<File, File> schemaRoots;
+
+    /**
+     * @param schemaRoots the directories holding the definitions of each dependency, mapped to the dependency.
+     */
+    DependencyTypes(final ImmutableMap<File, File> schemaRoots) {
+        this.schemaRoots = schemaRoots;
+    }
+
+    /**
+     * @return the dependencies that hold definitions, jars or class directories, whose classes the generated
+     *         code uses instead of generating them.
+     */
+    ImmutableList<File> getDependencies() {
+        return ImmutableSet.copyOf(schemaRoots.values()).asList();
+    }
+
+    /**
+     * Removes the definition files that dependencies also provide with the same content.
+     *
+     * @param fbsSourceRoot the source root of the definition files.
+     * @param fbsFiles the definition files to compile.
+     * @return the definition files that are not provided by a dependency.
+     * @throws IOException if a definition cannot be read.
+     */
+    ImmutableSet<File> withoutDependencyFiles(final File fbsSourceRoot, final Iterable<File> fbsFiles)
+            throws IOException {
+        final ImmutableSet.Builder<File> own = ImmutableSet.builder();
+        for (final File fbsFile : fbsFiles) {
+            final File provided = findDependencyFile(relativePath(fbsSourceRoot, fbsFile));
+            if (provided == null || !Files.equal(fbsFile, provided)) {
+                own.add(fbsFile);
+            }
+        }
+        return own.build();
+    }
+
+    /**
+     * Finds the definition files of the source root that have the path of a definition of a dependency,
+     * but another content. The dependency does not ship the classes of such a file, and generating them
+     * would put two versions of the same classes on the classpath.
+     *
+     * @param fbsSourceRoot the source root of the definition files.
+     * @param fbsFiles the definition files to compile.
+     * @return a description of each modified copy, empty if there is none.
+     * @throws IOException if a definition cannot be read.
+     */
+    ImmutableList<String> findModifiedCopies(final File fbsSourceRoot, final Iterable<File> fbsFiles)
+            throws IOException {
+        final ImmutableList.Builder<String> modified = ImmutableList.builder();
+        for (final File fbsFile : fbsFiles) {
+            final String relativePath = relativePath(fbsSourceRoot, fbsFile);
+            final File provided = findDependencyFile(relativePath);
+            if (provided != null && !Files.equal(fbsFile, provided)) {
+                modified.add(format("%s differs from %s of %s", fbsFile, relativePath,
+                        findDependency(relativePath)));
+            }
+        }
+        return modified.build();
+    }
+
+    /**
+     * Checks that the tables and structs which the generated classes refer to, and which are defined
+     * by dependencies, are compiled in these dependencies.
+     *
+     * @param schemas the loaded definitions.
+     * @param fbsFiles the definition files that are generated.
+     * @param fbPathElements the include path of the compilation.
+     * @param filter selects the generated types.
+     * @return a description of each missing class, empty if all are present.
+     * @throws IOException if a dependency cannot be read.
+     */
+    ImmutableList<String> findMissingClasses(
+            final SchemaSet schemas,
+            final Iterable<File> fbsFiles,
+            final Iterable<File> fbPathElements,
+            final Predicate<? super Declaration> filter) throws IOException {
+        final Set<File> generated = new LinkedHashSet<File>();
+        for (final File fbsFile : fbsFiles) {
+            generated.add(fbsFile.getAbsoluteFile().toPath().normalize().toFile());
+        }
+        final Set<Declaration> referenced = new LinkedHashSet<Declaration>();
+        for (final File fbsFile : generated) {
+            final Schema schema = schemas.getSchemas().get(fbsFile);
+            if (schema == null) {
+                continue;
+            }
+            for (final Declaration declaration : schema.getDeclarations()) {
+                if (!filter.apply(declaration)) {
+                    continue;
+                }
+                for (final Field field : declaration.getFields()) {
+                    final Declaration type = field.getType().isUserDefined() ? schemas.resolve(field.getType()) : null;
+                    if (type != null && (type.getKind() == Declaration.Kind.TABLE
+                            || type.getKind() == Declaration.Kind.STRUCT)
+                            && !generated.contains(type.getLocation().getFile())) {
+                        referenced.add(type);
+                    }
+                }
+            }
+        }
+
+        final ImmutableList.Builder<String> missing = ImmutableList.builder();
+        final Map<File, JarFile> jars = new HashMap<File, JarFile>();
+        try {
+            for (final Declaration type : referenced) {
+                final File fbsFile = type.getLocation().getFile();
+                final File dependency = findDependency(relativePath(fbPathElements, fbsFile));
+                if (dependency == null) {
+                    // neither generated nor provided by a dependency, as configured by the user
+                    continue;
+                }
+                final String classFile = JavaGenerator.getPath(type).replaceAll("\\.java$", ".class");
+                if (!contains(dependency, classFile, jars)) {
+                    missing.add(format("%s, defined in %s, is not compiled in %s (missing %s)",
+                            type.getFullName(), fbsFile.getName(), dependency, classFile));
+                }
+            }
+        } finally {
+            for (final JarFile jar : jars.values()) {
+                jar.close();
+            }
+        }
+        return missing.build();
+    }
+
+    /**
+     * Returns the dependency that provides a definition file.
+     *
+     * @param relativePath the path of the definition file relative to its include path element.
+     * @return the dependency, or {@code null} if no dependency provides the file.
+     */
+    private File findDependency(final String relativePath) {
+        if (relativePath == null) {
+            return null;
+        }
+        for (final Map.Entry<File, File> root : schemaRoots.entrySet()) {
+            if (new File(root.getKey(), relativePath).isFile()) {
+                return root.getValue();
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Returns the definition file of a dependency, in the first dependency that provides it.
+     *
+     * @param relativePath the path of the definition file relative to its include path element.
+     * @return the file, or {@code null} if no dependency provides the file.
+     */
+    private File findDependencyFile(final String relativePath) {
+        if (relativePath == null) {
+            return null;
+        }
+        for (final File root : schemaRoots.keySet()) {
+            final File file = new File(root, relativePath);
+            if (file.isFile()) {
+                return file;
+            }
+        }
+        return null;
+    }
+
+    private static boolean contains(final File dependency, final String path, final Map<File, JarFile> jars)
+            throws IOException {
+        if (dependency.isDirectory()) {
+            return new File(dependency, path).isFile();
+        }
+        JarFile jar = jars.get(dependency);
+        if (jar == null) {
+            jar = new JarFile(dependency);
+            jars.put(dependency, jar);
+        }
+        return jar.getEntry(path) != null;
+    }
+
+    private static String relativePath(final Iterable<File> roots, final File file) {
+        for (final File root : roots) {
+            final String path = relativePath(root, file);
+            if (path != null) {
+                return path;
+            }
+        }
+        return null;
+    }
+
+    private static String relativePath(final File root, final File file) {
+        final String prefix = root.getAbsoluteFile().toPath().normalize().toString() + File.separator;
+        final String absolute = file.getAbsoluteFile().toPath().normalize().toString();
+        return absolute.startsWith(prefix) ? absolute.substring(prefix.length()) : null;
+    }
+}
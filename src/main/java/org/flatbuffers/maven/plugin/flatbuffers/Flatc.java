@@ -20,6 +20,7 @@ import com.google.common.base.Joiner;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableSet;
 import org.apache.maven.plugin.logging.Log;
+import org.codehaus.plexus.util.Os;
 import org.codehaus.plexus.util.cli.CommandLineException;
 import org.codehaus.plexus.util.cli.CommandLineUtils;
 import org.codehaus.plexus.util.cli.CommandLineUtils.StringStreamConsumer;
@@ -28,7 +29,10 @@ import org.immutables.value.Value;
 
 import javax.annotation.Nullable;
 import java.io.File;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 import static com.google.common.base.Preconditions.*;
 import static com.google.common.collect.Lists.newLinkedList;
@@ -82,6 +86,14 @@ abstract class Flatc {
     @Value.Default
     boolean genSchema() { return true; }
 
+    /**
+     * Maximum length of a single {@code flatc} command line, in characters.
+     * If the definitions do not fit, {@code flatc} is invoked several times, each time with a subset of them.
+     * The default stays well below the limits of {@code cmd.exe} on Windows and {@code ARG_MAX} elsewhere.
+     */
+    @Value.Default
+    int maxCommandLineLength() { return Os.isFamily(Os.FAMILY_WINDOWS) ? 8000 : 128 * 1024; }
+
     /**
      * A buffer to consume standard output from the {@code flatc} executable.
      */
@@ -174,9 +186,35 @@ abstract class Flatc {
      * @throws CommandLineException if command line environment cannot be set up.
      */
     public int execute(final Log log) throws CommandLineException, InterruptedException {
+        for (final boolean binarySchema : outputs()) {
+            final Map<File, List<File>> groups = binarySchema
+                    ? groupBySchemaOutputDirectory()
+                    : Collections.<File, List<File>>singletonMap(javaOutputDirectory(), fbsFiles().asList());
+            for (final Map.Entry<File, List<File>> group : groups.entrySet()) {
+                if (binarySchema) {
+                    group.getKey().mkdirs();
+                }
+                final List<List<File>> batches = partitionFbsFiles(group.getValue(), binarySchema, group.getKey());
+                if (batches.size() > 1) {
+                    log.debug(LOG_PREFIX + "Command line is too long, invoking flatc in "
+                            + batches.size() + " batches");
+                }
+                for (final List<File> batch : batches) {
+                    final int exitStatus = execute(log, buildFlatcCommand(batch, binarySchema, group.getKey()));
+                    if (exitStatus != 0) {
+                        return exitStatus;
+                    }
+                }
+            }
+        }
+        return 0;
+    }
+
+    private int execute(final Log log, final List<String> arguments)
+            throws CommandLineException, InterruptedException {
         final Commandline cl = new Commandline();
         cl.setExecutable(executable());
-        cl.addArguments(buildFlatcCommand().toArray(new String[] {}));
+        cl.addArguments(arguments.toArray(new String[] {}));
         // There is a race condition in JDK that may sporadically prevent process creation on Linux
         // https://bugs.openjdk.java.net/browse/JDK-8068370
         // In order to mitigate that, retry up to 2 more times before giving up
@@ -202,16 +240,129 @@ abstract class Flatc {
      * @return A list consisting of the executable followed by any arguments.
      */
     public ImmutableList<String> buildFlatcCommand() {
+        final boolean binarySchema = outputs().get(0);
+        return buildFlatcCommand(fbsFiles(), binarySchema,
+                binarySchema ? schemaOutputDirectory() : javaOutputDirectory());
+    }
+
+    /**
+     * {@code flatc} accepts a single output directory, so Java sources and binary schemas
+     * are generated by separate invocations.
+     *
+     * @return for each invocation, whether it generates binary schemas rather than Java sources.
+     */
+    private ImmutableList<Boolean> outputs() {
+        final ImmutableList.Builder<Boolean> outputs = ImmutableList.builder();
+        if (javaOutputDirectory() != null && genJava()) {
+            outputs.add(false);
+        }
+        if (schemaOutputDirectory() != null && genSchema()) {
+            outputs.add(true);
+        }
+        final ImmutableList<Boolean> result = outputs.build();
+        return result.isEmpty() ? ImmutableList.of(false) : result;
+    }
+
+    /**
+     * {@code flatc} writes binary schemas directly into its output directory, whatever the location
+     * of the definitions. To keep definitions with the same name apart, binary schemas are written
+     * to the same relative directory as their definition has in the import path.
+     *
+     * @return the definitions, grouped by the directory into which their binary schemas are written.
+     */
+    private Map<File, List<File>> groupBySchemaOutputDirectory() {
+        final Map<File, List<File>> groups = new LinkedHashMap<File, List<File>>();
+        for (final File fbsFile : fbsFiles()) {
+            final File outputDirectory = binarySchemaFile(fbsFile).getParentFile();
+            List<File> group = groups.get(outputDirectory);
+            if (group == null) {
+                group = newLinkedList();
+                groups.put(outputDirectory, group);
+            }
+            group.add(fbsFile);
+        }
+        return groups;
+    }
+
+    /**
+     * Returns the binary schema that is generated for a definition.
+     *
+     * @param fbsFile one of the {@link #fbsFiles()}.
+     * @return the {@code .bfbs} file in the {@link #schemaOutputDirectory()}.
+     */
+    File binarySchemaFile(final File fbsFile) {
+        File outputDirectory = schemaOutputDirectory();
+        for (final String name : relativeDirectory(fbsFile.getParentFile())) {
+            outputDirectory = new File(outputDirectory, name);
+        }
+        final String name = fbsFile.getName();
+        return new File(outputDirectory, name.substring(0, name.length() - ".fbs".length()) + ".bfbs");
+    }
+
+    private List<String> relativeDirectory(final File directory) {
+        if (directory == null || fbPathElements().contains(directory)) {
+            return newLinkedList();
+        }
+        final List<String> names = relativeDirectory(directory.getParentFile());
+        names.add(directory.getName());
+        return names;
+    }
+
+    /**
+     * Splits the definitions into batches, so that the command line for each batch
+     * does not exceed {@link #maxCommandLineLength()}.
+     *
+     * @return a list of batches, in the original order of definitions.
+     */
+    List<List<File>> partitionFbsFiles() {
+        final boolean binarySchema = outputs().get(0);
+        return partitionFbsFiles(fbsFiles(), binarySchema,
+                binarySchema ? schemaOutputDirectory() : javaOutputDirectory());
+    }
+
+    private List<List<File>> partitionFbsFiles(
+            final Iterable<File> fbsFiles,
+            final boolean binarySchema,
+            final File outputDirectory) {
+        int optionsLength = executable().length();
+        for (final String argument : buildFlatcCommand(ImmutableList.<File>of(), binarySchema, outputDirectory)) {
+            optionsLength += argument.length() + 3;
+        }
+        final List<List<File>> batches = newLinkedList();
+        List<File> batch = newLinkedList();
+        int length = optionsLength;
+        for (final File fbsFile : fbsFiles) {
+            final int argumentLength = fbsFile.toString().length() + 3;
+            if (!batch.isEmpty() && length + argumentLength > maxCommandLineLength()) {
+                batches.add(batch);
+                batch = newLinkedList();
+                length = optionsLength;
+            }
+            batch.add(fbsFile);
+            length += argumentLength;
+        }
+        batches.add(batch);
+        return batches;
+    }
+
+    private ImmutableList<String> buildFlatcCommand(
+            final Iterable<File> fbsFiles,
+            final boolean binarySchema,
+            final File outputDirectory) {
         ImmutableList.Builder<String> command = ImmutableList.builder();
 
-        command.add("--java");
+        if (binarySchema) {
+            command.add("--schema", "-b");
+        } else {
+            command.add("--java");
+        }
 
         // add include path
         for (final File fbPathElement : fbPathElements()) {
             command.add("-I", fbPathElement.getAbsolutePath());
         }
-        if (javaOutputDirectory() != null) {
-            command.add("-o", javaOutputDirectory().getAbsolutePath());
+        if (outputDirectory != null) {
+            command.add("-o", outputDirectory.getAbsolutePath());
 //
 //            // For now we assume all custom plugins produce Java output
 //            for (final FlatcPlugin plugin : plugins) {
@@ -220,7 +371,7 @@ abstract class Flatc {
 //                command.add("--" + plugin.getId() + "_out=" + javaOutputDirectory);
 //            }
         }
-        for (final File fbsFile : fbsFiles()) {
+        for (final File fbsFile : fbsFiles) {
             command.add(fbsFile.toString());
         }
         return command.build();
@@ -250,6 +401,11 @@ abstract class Flatc {
 
             }
 
+            if (schemaOutputDirectory() != null) {
+                log.debug(LOG_PREFIX + "Binary schema output directory:");
+                log.debug(LOG_PREFIX + ' ' + schemaOutputDirectory());
+            }
+
             log.debug(LOG_PREFIX + "Flatbuffers descriptors:");
             for (final File fbsFile : fbsFiles()) {
                 log.debug(LOG_PREFIX + ' ' + fbsFile);
@@ -0,0 +1,150 @@
+package org.flatbuffers.maven.plugin.flatbuffers;
+
+/*
+ * Copyright (c) 2016 Maven Flatbuffers Plugin Authors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+import java.io.File;
+import java.util.Collections;
+import java.util.Map;
+
+import static com.google.common.base.Preconditions.checkState;
+
+/**
+ * Describes a {@link org.flatbuffers.maven.plugin.flatbuffers.spi.CodeGenerator} that is resolved
+ * from a Maven artifact and run inside the Maven JVM.
+ * The state is populated from the Maven plugin's configuration.
+ *
+ * @since 0.1.0
+ */
+public class FlatcGenerator {
+
+    private String id;
+
+    private String groupId;
+
+    private String artifactId;
+
+    private String version;
+
+    private String classifier;
+
+    private String generatorClass;
+
+    private File outputDirectory;
+
+    private Map<String, String> parameters;
+
+    /**
+     * Returns the unique id for this generator.
+     *
+     * @return the generator's unique id.
+     */
+    public String getId() {
+        return id;
+    }
+
+    /**
+     * Returns group id of the generator's artifact for dependency resolution.
+     *
+     * @return the generator's group id.
+     */
+    public String getGroupId() {
+        return groupId;
+    }
+
+    /**
+     * Returns the generator's artifact id for dependency resolution.
+     *
+     * @return the generator's artifact id.
+     */
+    public String getArtifactId() {
+        return artifactId;
+    }
+
+    /**
+     * Returns the generator's version specification for dependency resolution.
+     * This can be specified as either a single version or a version range.
+     *
+     * @return the generator's version or version range.
+     */
+    public String getVersion() {
+        return version;
+    }
+
+    /**
+     * Returns an optional classifier of the generator's artifact for dependency resolution.
+     *
+     * @return the generator's artifact classifier.
+     */
+    public String getClassifier() {
+        return classifier;
+    }
+
+    /**
+     * Returns the optional name of the class that implements the generator.
+     * When it is not set, the implementation is discovered with {@link java.util.ServiceLoader}.
+     *
+     * @return fully qualified name of the generator class, or {@code null}.
+     */
+    public String getGeneratorClass() {
+        return generatorClass;
+    }
+
+    /**
+     * Returns an optional output directory for the generator.
+     * When it is not set, the generator writes into the Java output directory of the mojo.
+     *
+     * @return the output directory, or {@code null}.
+     */
+    public File getOutputDirectory() {
+        return outputDirectory;
+    }
+
+    /**
+     * Returns optional parameters passed to the generator.
+     *
+     * @return a map of parameters.
+     */
+    public Map<String, String> getParameters() {
+        return (parameters != null) ? parameters : Collections.<String, String>emptyMap();
+    }
+
+    /**
+     * Validate the state of this generator specification.
+     *
+     * @throws IllegalStateException if properties are incorrect or are missing
+     */
+    public void validate() {
+        checkState(id != null, "id must be set in generator definition");
+        checkState(groupId != null, "groupId must be set in generator definition");
+        checkState(artifactId != null, "artifactId must be set in generator definition");
+        checkState(version != null, "version must be set in generator definition");
+    }
+
+    @Override
+    public String toString() {
+        return "FlatcGenerator{" +
+                "id='" + id + '\'' +
+                ", groupId='" + groupId + '\'' +
+                ", artifactId='" + artifactId + '\'' +
+                ", version='" + version + '\'' +
+                ", classifier='" + classifier + '\'' +
+                ", generatorClass='" + generatorClass + '\'' +
+                ", outputDirectory=" + outputDirectory +
+                ", parameters=" + parameters +
+                '}';
+    }
+}
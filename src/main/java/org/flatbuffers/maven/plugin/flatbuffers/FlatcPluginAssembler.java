@@ -110,7 +110,17 @@ public class FlatcPluginAssembler {
         }
 
         resolvePluginDependencies();
+        buildPluginExecutable();
+    }
 
+    /**
+     * Builds the plugin executable for the current platform from the resolved jars.
+     *
+     * <p>This method has been made visible for testing only.</p>
+     *
+     * @throws MojoExecutionException if plugin executable could not be built.
+     */
+    void buildPluginExecutable() throws MojoExecutionException {
         if (Os.isFamily(Os.FAMILY_WINDOWS)) {
             buildWindowsPlugin();
             copyWinRun4JExecutable();
@@ -120,6 +130,17 @@ public class FlatcPluginAssembler {
         }
     }
 
+    /**
+     * Returns the jars that make up the plugin's classpath.
+     *
+     * <p>This method has been made visible for testing only.</p>
+     *
+     * @return a mutable list of resolved jars.
+     */
+    List<File> getResolvedJars() {
+        return resolvedJars;
+    }
+
     private void buildWindowsPlugin() throws MojoExecutionException {
         createPluginDirectory();
 
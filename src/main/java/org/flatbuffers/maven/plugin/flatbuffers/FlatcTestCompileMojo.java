@@ -16,6 +16,8 @@ package org.flatbuffers.maven.plugin.flatbuffers;
  * limitations under the License.
  */
 
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
 import org.apache.maven.plugin.MojoExecutionException;
 import org.apache.maven.plugins.annotations.LifecyclePhase;
 import org.apache.maven.plugins.annotations.Mojo;
@@ -23,6 +25,9 @@ import org.apache.maven.plugins.annotations.Parameter;
 import org.apache.maven.plugins.annotations.ResolutionScope;
 
 import java.io.File;
+import java.io.IOException;
+
+import static java.lang.String.format;
 
 /**
  * This mojo executes the {@code protoc} compiler for generating test Java sources
@@ -51,6 +56,22 @@ public final class FlatcTestCompileMojo extends AbstractFlatcTestCompileMojo {
     )
     private File outputDirectory;
 
+    /**
+     * When {@code true}, test definition files that the {@code compile} goal has already compiled,
+     * with the same path and content, are not compiled again: the tests use the main classes,
+     * rather than duplicates that shadow them. The {@code compile} goal records the definitions it compiles
+     * in {@code target/flatc-manifests}, leaving out those whose types it did not all generate because of
+     * {@code rootTypes}.
+     *
+     * @since 0.1.0
+     */
+    @Parameter(
+            required = false,
+            property = "flatc.reuseMainTypes",
+            defaultValue = "true"
+    )
+    private boolean reuseMainTypes;
+
     @Override
     protected void addFlatcBuilderParameters(final ImmutableFlatc.Builder protocBuilder) throws MojoExecutionException {
         super.addFlatcBuilderParameters(protocBuilder);
@@ -63,6 +84,33 @@ public final class FlatcTestCompileMojo extends AbstractFlatcTestCompileMojo {
         }
     }
 
+    @Override
+    protected ImmutableSet<File> filterFbsFiles(final File fbsSourceRoot, final ImmutableSet<File> fbsFiles)
+            throws IOException {
+        if (!reuseMainTypes) {
+            return fbsFiles;
+        }
+        final ImmutableMap<String, String> main = GenerationManifest.read(
+                GenerationManifest.file(new File(project.getBuild().getDirectory()), FlatcCompileMojo.class));
+        if (main.isEmpty()) {
+            return fbsFiles;
+        }
+        final ImmutableSet.Builder<File> testOnly = ImmutableSet.builder();
+        int reused = 0;
+        for (final File fbsFile : fbsFiles) {
+            final String checksum = main.get(GenerationManifest.relativePath(fbsSourceRoot, fbsFile));
+            if (checksum != null && checksum.equals(GenerationManifest.checksum(fbsFile))) {
+                reused++;
+            } else {
+                testOnly.add(fbsFile);
+            }
+        }
+        if (reused > 0) {
+            getLog().info(format("Skipping %d fbs file(s) already compiled by the compile goal", reused));
+        }
+        return testOnly.build();
+    }
+
     @Override
     protected File getSchemaOutputDirectory() {
         return outputDirectory;
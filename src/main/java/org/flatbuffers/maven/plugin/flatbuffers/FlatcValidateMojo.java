@@ -0,0 +1,102 @@
+package org.flatbuffers.maven.plugin.flatbuffers;
+
+/*
+ * Copyright (c) 2016 Maven Flatbuffers Plugin Authors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+import com.google.common.collect.ImmutableSet;
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugin.MojoFailureException;
+import org.apache.maven.plugins.annotations.LifecyclePhase;
+import org.apache.maven.plugins.annotations.Mojo;
+import org.apache.maven.plugins.annotations.Parameter;
+import org.apache.maven.plugins.annotations.ResolutionScope;
+import org.flatbuffers.maven.plugin.flatbuffers.idl.SchemaLoader;
+import org.flatbuffers.maven.plugin.flatbuffers.idl.SchemaSet;
+
+import java.io.File;
+import java.io.IOException;
+
+/**
+ * This mojo checks the main {@code .fbs} definitions without running {@code flatc}.
+ * The definitions and everything they include are parsed in the Maven JVM, and includes and type references
+ * are resolved against the same include path that the {@code compile} goal passes to {@code flatc},
+ * including definitions found in dependencies. Problems are reported as {@code file:line:column: message},
+ * and to the IDE through the build context.
+ *
+ * @since 0.1.0
+ */
+@Mojo(
+        name = "validate",
+        defaultPhase = LifecyclePhase.VALIDATE,
+        requiresDependencyResolution = ResolutionScope.COMPILE,
+        threadSafe = true
+)
+public final class FlatcValidateMojo extends AbstractFlatcCompileMojo {
+
+    /**
+     * Number of definition files parsed at the same time; zero or less uses one thread per processor.
+     *
+     * @since 0.1.0
+     */
+    @Parameter(
+            required = false,
+            property = "flatc.validateThreads",
+            defaultValue = "0"
+    )
+    private int validateThreads;
+
+    @Override
+    public void execute() throws MojoExecutionException, MojoFailureException {
+        if (skipMojo()) {
+            return;
+        }
+        final File fbsSourceRoot = getFbsSourceRoot();
+        if (!fbsSourceRoot.exists()) {
+            getLog().info("No fbs files to validate.");
+            return;
+        }
+        final long start = System.nanoTime();
+        final SchemaSet schemas;
+        final ImmutableSet<File> fbsFiles;
+        try {
+            fbsFiles = findFbsFilesInDirectory(fbsSourceRoot);
+            if (fbsFiles.isEmpty()) {
+                getLog().info("No fbs files to validate.");
+                return;
+            }
+            final int threads = validateThreads > 0 ? validateThreads : Runtime.getRuntime().availableProcessors();
+            schemas = new SchemaLoader(getFbPathElements(fbsSourceRoot), threads).load(fbsFiles);
+        } catch (IOException e) {
+            throw new MojoExecutionException("An IO error occured", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new MojoExecutionException("Interrupted while validating fbs files", e);
+        }
+
+        reportSchemaProblems(fbsFiles, schemas);
+        getLog().info("Validated " + fbsFiles.size() + " fbs file(s) and "
+                + (schemas.getSchemas().size() - fbsFiles.size()) + " included file(s) in "
+                + (System.nanoTime() - start) / 1000000 + " ms");
+    }
+
+    /**
+     * Validation does not generate anything.
+     */
+    @Override
+    protected File getSchemaOutputDirectory() {
+        return null;
+    }
+}
@@ -0,0 +1,367 @@
+package org.flatbuffers.maven.plugin.flatbuffers;
+
+/*
+ * Copyright (c) 2016 Maven Flatbuffers Plugin Authors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+import com.google.common.collect.ImmutableList;
+import org.apache.maven.plugin.logging.Log;
+import org.codehaus.plexus.util.FileUtils;
+import org.flatbuffers.maven.plugin.flatbuffers.idl.Declaration;
+import org.flatbuffers.maven.plugin.flatbuffers.idl.SchemaException;
+import org.flatbuffers.maven.plugin.flatbuffers.idl.SchemaParser;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static java.lang.String.format;
+
+/**
+ * Measures the Java code generated by {@code flatc}: the number of files, lines, classes and methods,
+ * in total, per definition file and per namespace.
+ *
+ * <p>Classes and methods are counted from their declarations in the source text, which is accurate
+ * for the regular layout of generated code, but is not a Java parser.</p>
+ *
+ * <p>The footprint is stored as a CSV file, so that the next build can report what has changed.</p>
+ *
+ * @since 0.1.0
+ */
+final class GeneratedCodeFootprint {
+
+    private static final String TOTAL = "total";
+
+    private static final String SCHEMA = "schema";
+
+    private static final String NAMESPACE = "namespace";
+
+    /**
+     * Key of the generated files whose type is not declared by any of the compiled definitions.
+     */
+    private static final String UNKNOWN_SCHEMA = "<unknown>";
+
+    private static final Pattern COMMENT = Pattern.compile("//[^\\n]*|/\\*.*?\\*/", Pattern.DOTALL);
+
+    private static final Pattern CLASS_DECLARATION = Pattern.compile("\\b(?:class|interface|enum)\\s+\\w+");
+
+    private static final Pattern METHOD_DECLARATION = Pattern.compile(
+            "^[ \\t]*(?:(?:public|protected|private|static|final|abstract|synchronized|native|default)\\s+)*"
+                    + "(?:<[^>]+>\\s+)?(?!(?:return|new|else|throw|case)\\b)[\\w.$]+(?:<[^()]*?>)?(?:\\[\\])*"
+                    + "\\s+\\w+\\s*\\(",
+            Pattern.MULTILINE);
+
+    private final Counts total;
+
+    private final SortedMap<String, Counts> schemas;
+
+    private final SortedMap<String, Counts> namespaces;
+
+    private GeneratedCodeFootprint(
+            final Counts total,
+            final SortedMap<String, Counts> schemas,
+            final SortedMap<String, Counts> namespaces) {
+        this.total = total;
+        this.schemas = schemas;
+        this.namespaces = namespaces;
+    }
+
+    /**
+     * Measures the Java files in the given output directory.
+     *
+     * @param outputDirectory the directory into which {@code flatc} generated Java sources.
+     * @param fbsSourceRoot the root of the definitions, used to report definitions by relative path.
+     * @param fbsFiles the compiled definitions.
+     * @param log the log, which warns about definitions that cannot be parsed.
+     * @return the footprint.
+     * @throws IOException if a file cannot be read.
+     */
+    static GeneratedCodeFootprint measure(
+            final File outputDirectory,
+            final File fbsSourceRoot,
+            final Iterable<File> fbsFiles,
+            final Log log) throws IOException {
+        final Map<String, File> declaringFiles = declaringFiles(fbsFiles, log);
+        final Counts total = new Counts();
+        final SortedMap<String, Counts> schemas = new TreeMap<String, Counts>();
+        final SortedMap<String, Counts> namespaces = new TreeMap<String, Counts>();
+        final String root = outputDirectory.getAbsolutePath();
+        for (final File file : AbstractFlatcMojo.findGeneratedFilesInDirectory(outputDirectory)) {
+            final String path = file.getAbsolutePath();
+            if (!path.endsWith(".java") || !path.startsWith(root)) {
+                continue;
+            }
+            final String type = path.substring(root.length() + 1, path.length() - ".java".length())
+                    .replace(File.separatorChar, '.');
+            final int lastDot = type.lastIndexOf('.');
+            final File declaringFile = declaringFiles.get(type);
+
+            final Counts counts = count(FileUtils.fileRead(file, "UTF-8"));
+            total.add(counts);
+            countsFor(schemas, declaringFile == null
+                    ? UNKNOWN_SCHEMA : relativize(fbsSourceRoot, declaringFile)).add(counts);
+            countsFor(namespaces, lastDot < 0 ? "" : type.substring(0, lastDot)).add(counts);
+        }
+        return new GeneratedCodeFootprint(total, schemas, namespaces);
+    }
+
+    /**
+     * Maps the fully qualified names of the types declared in the given files to the declaring file.
+     * Namespaces map directly to Java packages, which is what {@code flatc} does for Java.
+     * Files that cannot be parsed are left out with a warning, so their classes are reported as
+     * {@value #UNKNOWN_SCHEMA}.
+     */
+    private static Map<String, File> declaringFiles(final Iterable<File> fbsFiles, final Log log) throws IOException {
+        final Map<String, File> types = new HashMap<String, File>();
+        for (final File fbsFile : fbsFiles) {
+            try {
+                for (final Declaration declaration : SchemaParser.parse(fbsFile).getDeclarations()) {
+                    if (declaration.getKind() != Declaration.Kind.RPC_SERVICE) {
+                        types.put(declaration.getFullName(), fbsFile);
+                    }
+                }
+            } catch (SchemaException e) {
+                log.warn(format("Cannot attribute generated code to %s: %s", fbsFile, e.getMessage()));
+            }
+        }
+        return types;
+    }
+
+    /**
+     * Reads a footprint stored by an earlier build.
+     *
+     * @param reportFile the stored footprint.
+     * @return the footprint, or {@code null} if the file does not exist or cannot be read.
+     */
+    static GeneratedCodeFootprint load(final File reportFile) {
+        if (!reportFile.isFile()) {
+            return null;
+        }
+        final Counts total = new Counts();
+        final SortedMap<String, Counts> schemas = new TreeMap<String, Counts>();
+        final SortedMap<String, Counts> namespaces = new TreeMap<String, Counts>();
+        try {
+            for (final String line : FileUtils.fileRead(reportFile, "UTF-8").split("\r?\n")) {
+                final String[] columns = line.split(",", 6);
+                if (columns.length < 6 || columns[0].equals("scope")) {
+                    continue;
+                }
+                final Counts counts = columns[0].equals(TOTAL) ? total
+                        : countsFor(columns[0].equals(SCHEMA) ? schemas : namespaces, columns[5]);
+                counts.files = Long.parseLong(columns[1]);
+                counts.lines = Long.parseLong(columns[2]);
+                counts.classes = Long.parseLong(columns[3]);
+                counts.methods = Long.parseLong(columns[4]);
+            }
+        } catch (IOException e) {
+            return null;
+        } catch (NumberFormatException e) {
+            return null;
+        }
+        return new GeneratedCodeFootprint(total, schemas, namespaces);
+    }
+
+    /**
+     * Writes the footprint as a CSV file.
+     *
+     * @param reportFile the report to write.
+     * @throws IOException if the report cannot be written.
+     */
+    void store(final File reportFile) throws IOException {
+        FileUtils.mkdir(reportFile.getParentFile().getAbsolutePath());
+        final PrintWriter out = new PrintWriter(reportFile, "UTF-8");
+        try {
+            out.println("scope,files,lines,classes,methods,name");
+            write(out, TOTAL, "", total);
+            for (final Map.Entry<String, Counts> entry : schemas.entrySet()) {
+                write(out, SCHEMA, entry.getKey(), entry.getValue());
+            }
+            for (final Map.Entry<String, Counts> entry : namespaces.entrySet()) {
+                write(out, NAMESPACE, entry.getKey(), entry.getValue());
+            }
+        } finally {
+            out.close();
+        }
+    }
+
+    /**
+     * Logs the footprint. Totals are always logged; namespaces and definitions are logged
+     * when they changed since the previous build, or at debug level.
+     *
+     * @param log a logger.
+     * @param previous the footprint of the previous build, may be {@code null}.
+     */
+    void log(final Log log, final GeneratedCodeFootprint previous) {
+        log.info("Generated code footprint: " + describe(total, previous == null ? null : previous.total));
+        logChanges(log, "namespace", namespaces, previous == null ? null : previous.namespaces);
+        logChanges(log, "schema", schemas, previous == null ? null : previous.schemas);
+    }
+
+    /**
+     * Checks the totals against the given budgets.
+     *
+     * @param maxFiles maximum number of generated files, or {@code 0} for no limit.
+     * @param maxLines maximum number of generated lines, or {@code 0} for no limit.
+     * @param maxClasses maximum number of generated classes, or {@code 0} for no limit.
+     * @param maxMethods maximum number of generated methods, or {@code 0} for no limit.
+     * @return a description of every exceeded budget, empty if all budgets are met.
+     */
+    ImmutableList<String> checkBudgets(
+            final long maxFiles,
+            final long maxLines,
+            final long maxClasses,
+            final long maxMethods) {
+        final ImmutableList.Builder<String> violations = ImmutableList.builder();
+        checkBudget(violations, "files", total.files, maxFiles);
+        checkBudget(violations, "lines", total.lines, maxLines);
+        checkBudget(violations, "classes", total.classes, maxClasses);
+        checkBudget(violations, "methods", total.methods, maxMethods);
+        return violations.build();
+    }
+
+    private static void checkBudget(
+            final ImmutableList.Builder<String> violations,
+            final String name,
+            final long actual,
+            final long budget) {
+        if (budget > 0 && actual > budget) {
+            violations.add(format("%d generated %s exceed the budget of %d", actual, name, budget));
+        }
+    }
+
+    private static void logChanges(
+            final Log log,
+            final String scope,
+            final SortedMap<String, Counts> current,
+            final SortedMap<String, Counts> previous) {
+        for (final Map.Entry<String, Counts> entry : current.entrySet()) {
+            final Counts before = previous == null ? null : previous.get(entry.getKey());
+            final String message = format("  %s %s: %s", scope, entry.getKey(), describe(entry.getValue(), before));
+            if (previous != null && !entry.getValue().equals(before)) {
+                log.info(message);
+            } else if (log.isDebugEnabled()) {
+                log.debug(message);
+            }
+        }
+        if (previous != null) {
+            for (final String removed : previous.keySet()) {
+                if (!current.containsKey(removed)) {
+                    log.info(format("  %s %s: removed", scope, removed));
+                }
+            }
+        }
+    }
+
+    private static String describe(final Counts counts, final Counts previous) {
+        return format("%d file(s)%s, %d line(s)%s, %d class(es)%s, %d method(s)%s",
+                counts.files, delta(counts.files, previous == null ? null : previous.files),
+                counts.lines, delta(counts.lines, previous == null ? null : previous.lines),
+                counts.classes, delta(counts.classes, previous == null ? null : previous.classes),
+                counts.methods, delta(counts.methods, previous == null ? null : previous.methods));
+    }
+
+    private static String delta(final long current, final Long previous) {
+        return previous == null || previous == current ? "" : format(" (%+d)", current - previous);
+    }
+
+    private static void write(final PrintWriter out, final String scope, final String name, final Counts counts) {
+        out.println(format("%s,%d,%d,%d,%d,%s", scope, counts.files, counts.lines, counts.classes, counts.methods,
+                name));
+    }
+
+    private static Counts count(final String source) {
+        final Counts counts = new Counts();
+        counts.files = 1;
+        for (int i = 0; i < source.length(); i++) {
+            if (source.charAt(i) == '\n') {
+                counts.lines++;
+            }
+        }
+        if (!source.isEmpty() && source.charAt(source.length() - 1) != '\n') {
+            counts.lines++;
+        }
+        final String code = COMMENT.matcher(source).replaceAll("");
+        counts.classes = occurrences(CLASS_DECLARATION.matcher(code));
+        counts.methods = occurrences(METHOD_DECLARATION.matcher(code));
+        return counts;
+    }
+
+    private static long occurrences(final Matcher matcher) {
+        long count = 0;
+        while (matcher.find()) {
+            count++;
+        }
+        return count;
+    }
+
+    private static Counts countsFor(final Map<String, Counts> map, final String key) {
+        Counts counts = map.get(key);
+        if (counts == null) {
+            counts = new Counts();
+            map.put(key, counts);
+        }
+        return counts;
+    }
+
+    private static String relativize(final File root, final File file) {
+        final String rootPath = root.getAbsolutePath();
+        final String path = file.getAbsolutePath();
+        final String relative = path.startsWith(rootPath + File.separator)
+                ? path.substring(rootPath.length() + 1) : path;
+        return relative.replace(File.separatorChar, '/');
+    }
+
+    /**
+     * Sizes of a portion of generated code.
+     */
+    private static final class Counts {
+
+        long files;
+
+        long lines;
+
+        long classes;
+
+        long methods;
+
+        void add(final Counts other) {
+            files += other.files;
+            lines += other.lines;
+            classes += other.classes;
+            methods += other.methods;
+        }
+
+        @Override
+        public boolean equals(final Object obj) {
+            if (!(obj instanceof Counts)) {
+                return false;
+            }
+            final Counts other = (Counts) obj;
+            return files == other.files && lines == other.lines
+                    && classes == other.classes && methods == other.methods;
+        }
+
+        @Override
+        public int hashCode() {
+            return (int) (31 * (31 * (31 * files + lines) + classes) + methods);
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package org.flatbuffers.maven.plugin.flatbuffers;
+
+/*
+ * Copyright (c) 2016 Maven Flatbuffers Plugin Authors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+import com.google.common.base.Charsets;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.hash.Hashing;
+import com.google.common.io.Files;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Records which definition files an execution has generated code for, so that a later execution
+ * can tell which types are already compiled. The record lists the SHA-256 checksum and the path relative
+ * to the source root of each definition file, in the format of {@code sha256sum}.
+ *
+ * @since 0.1.0
+ */
+final class GenerationManifest {
+
+    private static final String DIRECTORY = "flatc-manifests";
+
+    private GenerationManifest() {
+    }
+
+    /**
+     * Returns the manifest of a goal.
+     *
+     * @param buildDirectory the build directory of the project.
+     * @param mojo the class of the goal.
+     * @return the manifest file, which may not exist.
+     */
+    static File file(final File buildDirectory, final Class<? extends AbstractFlatcMojo> mojo) {
+        return new File(buildDirectory, DIRECTORY + File.separator + mojo.getSimpleName() + ".sha256");
+    }
+
+    /**
+     * Writes a manifest.
+     *
+     * @param manifest the manifest file.
+     * @param fbsSourceRoot the source root of the definitions.
+     * @param fbsFiles the definitions whose code was generated.
+     * @throws IOException if a definition cannot be read, or the manifest cannot be written.
+     */
+    static void write(final File manifest, final File fbsSourceRoot, final Iterable<File> fbsFiles)
+            throws IOException {
+        final Map<String, String> checksums = new TreeMap<String, String>();
+        for (final File fbsFile : fbsFiles) {
+            checksums.put(relativePath(fbsSourceRoot, fbsFile), checksum(fbsFile));
+        }
+        final StringBuilder content = new StringBuilder();
+        for (final Map.Entry<String, String> entry : checksums.entrySet()) {
+            content.append(entry.getValue()).append("  ").append(entry.getKey()).append('\n');
+        }
+        Files.createParentDirs(manifest);
+        Files.asCharSink(manifest, Charsets.UTF_8).write(content);
+    }
+
+    /**
+     * Reads a manifest.
+     *
+     * @param manifest the manifest file.
+     * @return the checksums of the definitions by relative path, empty if there is no manifest.
+     * @throws IOException if the manifest cannot be read.
+     */
+    static ImmutableMap<String, String> read(final File manifest) throws IOException {
+        if (!manifest.isFile()) {
+            return ImmutableMap.of();
+        }
+        final ImmutableMap.Builder<String, String> checksums = ImmutableMap.builder();
+        for (final String line : Files.readLines(manifest, Charsets.UTF_8)) {
+            final int separator = line.indexOf("  ");
+            if (separator > 0) {
+                checksums.put(line.substring(separator + 2), line.substring(0, separator));
+            }
+        }
+        return checksums.build();
+    }
+
+    static String checksum(final File fbsFile) throws IOException {
+        return Files.asByteSource(fbsFile).hash(Hashing.sha256()).toString();
+    }
+
+    static String relativePath(final File fbsSourceRoot, final File fbsFile) {
+        final String root = fbsSourceRoot.getAbsolutePath() + File.separator;
+        final String path = fbsFile.getAbsolutePath();
+        return (path.startsWith(root) ? path.substring(root.length()) : path).replace(File.separatorChar, '/');
+    }
+}
@@ -0,0 +1,478 @@
+package org.flatbuffers.maven.plugin.flatbuffers;
+
+/*
+ * Copyright (c) 2016 Maven Flatbuffers Plugin Authors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import org.apache.maven.artifact.Artifact;
+import org.apache.maven.artifact.repository.ArtifactRepository;
+import org.apache.maven.artifact.resolver.ArtifactResolutionException;
+import org.apache.maven.artifact.resolver.ArtifactResolutionRequest;
+import org.apache.maven.artifact.resolver.ArtifactResolutionResult;
+import org.apache.maven.artifact.resolver.ResolutionErrorHandler;
+import org.apache.maven.execution.MavenSession;
+import org.apache.maven.model.Dependency;
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugin.MojoFailureException;
+import org.apache.maven.plugin.logging.Log;
+import org.apache.maven.repository.RepositorySystem;
+import org.codehaus.plexus.util.FileUtils;
+import org.flatbuffers.maven.plugin.flatbuffers.spi.CodeGenerator;
+import org.flatbuffers.maven.plugin.flatbuffers.spi.GeneratorContext;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.reflect.InvocationTargetException;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.ServiceLoader;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static java.lang.String.format;
+
+/**
+ * Resolves {@link FlatcGenerator} definitions and runs them inside the Maven JVM.
+ *
+ * <p>Each generator is loaded in its own {@link IsolatedClassLoader}. Class loaders and generator instances
+ * are cached for the lifetime of the JVM, keyed by the resolved jars, so that the modules of a reactor build
+ * share them. A class loader is closed when one of its jars changes, such as a rebuilt snapshot, and when
+ * it is evicted as the least recently used of more than {@value #MAX_CLASS_LOADERS}. All generators run
+ * on a single shared thread pool.</p>
+ *
+ * @since 0.1.0
+ */
+final class GeneratorRunner {
+
+    private static final ExecutorService EXECUTOR = Executors.newFixedThreadPool(
+            Runtime.getRuntime().availableProcessors(), new ThreadFactory() {
+                private final AtomicInteger count = new AtomicInteger();
+
+                @Override
+                public Thread newThread(final Runnable runnable) {
+                    final Thread thread = new Thread(runnable, "flatc-generator-" + count.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                }
+            });
+
+    /**
+     * The maximum number of cached class loaders.
+     */
+    private static final int MAX_CLASS_LOADERS = 16;
+
+    /**
+     * The cached class loaders, by the paths of their jars, from the least to the most recently used.
+     * Access is synchronized on the map.
+     */
+    private static final Map<String, CachedClassLoader> CLASS_LOADERS =
+            new LinkedHashMap<String, CachedClassLoader>(MAX_CLASS_LOADERS, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(final Map.Entry<String, CachedClassLoader> eldest) {
+                    if (size() > MAX_CLASS_LOADERS) {
+                        eldest.getValue().close();
+                        return true;
+                    }
+                    return false;
+                }
+            };
+
+    private final MavenSession session;
+
+    private final Artifact rootResolutionArtifact;
+
+    private final RepositorySystem repositorySystem;
+
+    private final ResolutionErrorHandler resolutionErrorHandler;
+
+    private final ArtifactRepository localRepository;
+
+    private final List<ArtifactRepository> remoteRepositories;
+
+    private final Log log;
+
+    GeneratorRunner(
+            final MavenSession session,
+            final Artifact rootResolutionArtifact,
+            final RepositorySystem repositorySystem,
+            final ResolutionErrorHandler resolutionErrorHandler,
+            final ArtifactRepository localRepository,
+            final List<ArtifactRepository> remoteRepositories,
+            final Log log) {
+        this.session = session;
+        this.rootResolutionArtifact = rootResolutionArtifact;
+        this.repositorySystem = repositorySystem;
+        this.resolutionErrorHandler = resolutionErrorHandler;
+        this.localRepository = localRepository;
+        this.remoteRepositories = remoteRepositories;
+        this.log = log;
+    }
+
+    /**
+     * Runs the generators concurrently and waits for all of them to complete.
+     *
+     * @param definitions the generators to run.
+     * @param binarySchemas the compiled binary schemas.
+     * @param defaultOutputDirectory the output directory of generators that do not declare their own.
+     * @throws MojoExecutionException if a generator cannot be resolved or instantiated.
+     * @throws MojoFailureException if a generator fails.
+     * @throws InterruptedException if the thread is interrupted while waiting for the generators.
+     */
+    void run(
+            final List<FlatcGenerator> definitions,
+            final List<File> binarySchemas,
+            final File defaultOutputDirectory)
+            throws MojoExecutionException, MojoFailureException, InterruptedException {
+        final List<Future<?>> futures = new ArrayList<Future<?>>();
+        final List<FlatcGenerator> submitted = new ArrayList<FlatcGenerator>();
+        boolean allSubmitted = false;
+        try {
+            for (final FlatcGenerator definition : definitions) {
+                definition.validate();
+                if (log.isDebugEnabled()) {
+                    log.debug("generator definition: " + definition);
+                }
+                final File outputDirectory = definition.getOutputDirectory() != null
+                        ? definition.getOutputDirectory() : defaultOutputDirectory;
+                FileUtils.mkdir(outputDirectory.getAbsolutePath());
+
+                final CodeGenerator generator = getGenerator(definition, resolve(definition));
+                final Context context = new Context(definition, binarySchemas, outputDirectory, log);
+                futures.add(EXECUTOR.submit(new Callable<Void>() {
+                    @Override
+                    public Void call() throws Exception {
+                        final Thread thread = Thread.currentThread();
+                        final ClassLoader contextClassLoader = thread.getContextClassLoader();
+                        thread.setContextClassLoader(generator.getClass().getClassLoader());
+                        try {
+                            generator.generate(context);
+                        } finally {
+                            thread.setContextClassLoader(contextClassLoader);
+                        }
+                        return null;
+                    }
+                }));
+                submitted.add(definition);
+            }
+            allSubmitted = true;
+        } finally {
+            if (!allSubmitted) {
+                // a generator could not be set up: the ones already submitted must not outlive the mojo
+                cancel(futures);
+            }
+        }
+
+        Throwable failure = null;
+        for (int i = 0; i < futures.size(); i++) {
+            try {
+                futures.get(i).get();
+            } catch (ExecutionException e) {
+                log.error(format("Generator '%s' failed: %s", submitted.get(i).getId(), e.getCause()));
+                if (failure == null) {
+                    failure = e.getCause();
+                }
+            }
+        }
+        if (failure != null) {
+            throw new MojoFailureException("At least one generator failed. Review output for more information.",
+                    failure);
+        }
+    }
+
+    /**
+     * Cancels the generators that have not started, and waits for the running ones to complete.
+     *
+     * @param futures the submitted generators.
+     */
+    private static void cancel(final List<Future<?>> futures) {
+        for (final Future<?> future : futures) {
+            future.cancel(false);
+        }
+        for (final Future<?> future : futures) {
+            try {
+                future.get();
+            } catch (CancellationException e) {
+                // never started
+            } catch (ExecutionException e) {
+                // the failure that stopped the submission is reported instead
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    /**
+     * Returns the generator of a definition, loaded from its jars by a cached class loader.
+     *
+     * @param definition the generator definition.
+     * @param jars the resolved jars of the generator.
+     * @return the generator.
+     * @throws MojoExecutionException if the generator cannot be found or instantiated.
+     */
+    CodeGenerator getGenerator(final FlatcGenerator definition, final List<File> jars)
+            throws MojoExecutionException {
+        final StringBuilder paths = new StringBuilder();
+        final StringBuilder stamps = new StringBuilder();
+        for (final File jar : jars) {
+            paths.append(jar.getAbsolutePath()).append(File.pathSeparatorChar);
+            stamps.append(jar.length()).append(':').append(jar.lastModified()).append(File.pathSeparatorChar);
+        }
+        synchronized (CLASS_LOADERS) {
+            CachedClassLoader cached = CLASS_LOADERS.get(paths.toString());
+            if (cached != null && !cached.stamps.equals(stamps.toString())) {
+                log.debug("Generator jars changed, closing the class loader of " + definition.getId());
+                cached.close();
+                cached = null;
+            }
+            if (cached == null) {
+                cached = new CachedClassLoader(new IsolatedClassLoader(toUrls(jars)), stamps.toString());
+                CLASS_LOADERS.put(paths.toString(), cached);
+            }
+            final String generatorClass = String.valueOf(definition.getGeneratorClass());
+            CodeGenerator generator = cached.generators.get(generatorClass);
+            if (generator == null) {
+                generator = newGenerator(definition, cached.classLoader);
+                cached.generators.put(generatorClass, generator);
+            }
+            return generator;
+        }
+    }
+
+    private static CodeGenerator newGenerator(final FlatcGenerator definition, final ClassLoader classLoader)
+            throws MojoExecutionException {
+        final CodeGenerator generator;
+        if (definition.getGeneratorClass() != null) {
+            try {
+                generator = classLoader.loadClass(definition.getGeneratorClass())
+                        .asSubclass(CodeGenerator.class).getDeclaredConstructor().newInstance();
+            } catch (ClassNotFoundException e) {
+                throw new MojoExecutionException("Generator class not found: " + definition.getGeneratorClass(), e);
+            } catch (ClassCastException e) {
+                throw new MojoExecutionException(format("Generator class %s does not implement %s",
+                        definition.getGeneratorClass(), CodeGenerator.class.getName()), e);
+            } catch (NoSuchMethodException e) {
+                throw new MojoExecutionException("Generator class has no constructor without parameters: "
+                        + definition.getGeneratorClass(), e);
+            } catch (InvocationTargetException e) {
+                throw new MojoExecutionException("Could not instantiate generator: "
+                        + definition.getGeneratorClass(), e.getCause());
+            } catch (InstantiationException e) {
+                throw new MojoExecutionException("Could not instantiate generator: "
+                        + definition.getGeneratorClass(), e);
+            } catch (IllegalAccessException e) {
+                throw new MojoExecutionException("Could not instantiate generator: "
+                        + definition.getGeneratorClass(), e);
+            }
+        } else {
+            final Iterator<CodeGenerator> services = ServiceLoader.load(CodeGenerator.class, classLoader).iterator();
+            if (!services.hasNext()) {
+                throw new MojoExecutionException(format("No %s service found for generator '%s'; "
+                        + "set 'generatorClass' in its definition", CodeGenerator.class.getName(), definition.getId()));
+            }
+            generator = services.next();
+            if (services.hasNext()) {
+                throw new MojoExecutionException(format("Several %s services found for generator '%s'; "
+                        + "set 'generatorClass' in its definition", CodeGenerator.class.getName(), definition.getId()));
+            }
+        }
+        return generator;
+    }
+
+    private List<File> resolve(final FlatcGenerator definition) throws MojoExecutionException {
+        final Dependency dependency = new Dependency();
+        dependency.setGroupId(definition.getGroupId());
+        dependency.setArtifactId(definition.getArtifactId());
+        dependency.setVersion(definition.getVersion());
+        dependency.setScope(Artifact.SCOPE_RUNTIME);
+        dependency.setType("jar");
+        dependency.setClassifier(definition.getClassifier());
+        final Artifact generatorArtifact = repositorySystem.createDependencyArtifact(dependency);
+
+        try {
+            final ArtifactResolutionRequest request = new ArtifactResolutionRequest()
+                    .setArtifact(rootResolutionArtifact)
+                    .setResolveRoot(false)
+                    .setArtifactDependencies(Collections.singleton(generatorArtifact))
+                    .setManagedVersionMap(Collections.emptyMap())
+                    .setLocalRepository(localRepository)
+                    .setRemoteRepositories(remoteRepositories)
+                    .setOffline(session.isOffline())
+                    .setForceUpdate(session.getRequest().isUpdateSnapshots())
+                    .setServers(session.getRequest().getServers())
+                    .setMirrors(session.getRequest().getMirrors())
+                    .setProxies(session.getRequest().getProxies());
+
+            final ArtifactResolutionResult result = repositorySystem.resolve(request);
+
+            resolutionErrorHandler.throwErrors(request, result);
+
+            final Set<Artifact> artifacts = result.getArtifacts();
+
+            if (artifacts == null || artifacts.isEmpty()) {
+                throw new MojoExecutionException("Unable to resolve generator artifact: " + definition.getId());
+            }
+
+            final List<File> jars = new ArrayList<File>();
+            for (final Artifact artifact : artifacts) {
+                jars.add(artifact.getFile());
+            }
+            if (log.isDebugEnabled()) {
+                log.debug("Resolved jars for generator " + definition.getId() + ": " + jars);
+            }
+            return jars;
+        } catch (final ArtifactResolutionException e) {
+            throw new MojoExecutionException(e.getMessage(), e);
+        }
+    }
+
+    private static URL[] toUrls(final List<File> jars) throws MojoExecutionException {
+        final URL[] urls = new URL[jars.size()];
+        for (int i = 0; i < urls.length; i++) {
+            try {
+                urls[i] = jars.get(i).toURI().toURL();
+            } catch (MalformedURLException e) {
+                throw new MojoExecutionException("Invalid generator jar: " + jars.get(i), e);
+            }
+        }
+        return urls;
+    }
+
+    /**
+     * A cached class loader, the sizes and modification times of its jars, and the generators it loaded,
+     * by generator class.
+     */
+    private static final class CachedClassLoader {
+
+        private final IsolatedClassLoader classLoader;
+
+        private final String stamps;
+
+        private final Map<String, CodeGenerator> generators = new HashMap<String, CodeGenerator>();
+
+        CachedClassLoader(final IsolatedClassLoader classLoader, final String stamps) {
+            this.classLoader = classLoader;
+            this.stamps = stamps;
+        }
+
+        /**
+         * Closes the class loader. Classes that were loaded keep working, so a generator that is still running
+         * only fails if it loads another class.
+         */
+        void close() {
+            generators.clear();
+            try {
+                classLoader.close();
+            } catch (IOException e) {
+                // the jars stay open until the class loader is collected
+            }
+        }
+    }
+
+    /**
+     * A class loader that sees the generator's jars and the JDK, and nothing of the Maven plugin
+     * but the {@link CodeGenerator} SPI package.
+     */
+    static final class IsolatedClassLoader extends URLClassLoader {
+
+        private static final String SPI_PACKAGE = CodeGenerator.class.getPackage().getName() + '.';
+
+        static {
+            registerAsParallelCapable();
+        }
+
+        IsolatedClassLoader(final URL[] urls) {
+            // the parent of the system class loader is the extension (Java 8) or platform (Java 9+) class loader
+            super(urls, ClassLoader.getSystemClassLoader().getParent());
+        }
+
+        @Override
+        protected Class<?> loadClass(final String name, final boolean resolve) throws ClassNotFoundException {
+            if (name.startsWith(SPI_PACKAGE)) {
+                return CodeGenerator.class.getClassLoader().loadClass(name);
+            }
+            return super.loadClass(name, resolve);
+        }
+    }
+
+    private static final class Context implements GeneratorContext {
+
+        private final String id;
+
+        private final List<File> binarySchemas;
+
+        private final File outputDirectory;
+
+        private final Map<String, String> parameters;
+
+        private final Log log;
+
+        Context(final FlatcGenerator definition, final List<File> binarySchemas, final File outputDirectory,
+                final Log log) {
+            this.id = definition.getId();
+            this.binarySchemas = ImmutableList.copyOf(binarySchemas);
+            this.outputDirectory = outputDirectory;
+            this.parameters = ImmutableMap.copyOf(definition.getParameters());
+            this.log = log;
+        }
+
+        @Override
+        public String getId() {
+            return id;
+        }
+
+        @Override
+        public List<File> getBinarySchemas() {
+            return binarySchemas;
+        }
+
+        @Override
+        public File getOutputDirectory() {
+            return outputDirectory;
+        }
+
+        @Override
+        public Map<String, String> getParameters() {
+            return parameters;
+        }
+
+        @Override
+        public void info(final String message) {
+            log.info("[" + id + "] " + message);
+        }
+
+        @Override
+        public void warn(final String message) {
+            log.warn("[" + id + "] " + message);
+        }
+    }
+}
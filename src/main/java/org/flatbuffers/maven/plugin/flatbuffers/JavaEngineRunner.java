@@ -0,0 +1,110 @@
+package org.flatbuffers.maven.plugin.flatbuffers;
+
+/*
+ * Copyright (c) 2016 Maven Flatbuffers Plugin Authors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+import com.google.common.base.Predicates;
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugin.logging.Log;
+import org.flatbuffers.maven.plugin.flatbuffers.codegen.JavaEngine;
+import org.flatbuffers.maven.plugin.flatbuffers.codegen.TypeSelection;
+import org.flatbuffers.maven.plugin.flatbuffers.idl.Declaration;
+import org.flatbuffers.maven.plugin.flatbuffers.idl.SchemaSet;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.HashSet;
+import java.util.Set;
+
+import static java.lang.String.format;
+
+/**
+ * Generates the Java sources of a compilation with the {@link JavaEngine}, inside the Maven JVM,
+ * in place of {@code flatc --java}.
+ *
+ * @since 0.1.0
+ */
+final class JavaEngineRunner {
+
+    private final Flatc flatc;
+
+    private final boolean clearOutputDirectory;
+
+    private final Log log;
+
+    /**
+     * @param flatc the configuration of the compilation, whose Java output directory receives the sources.
+     * @param clearOutputDirectory whether the files of the output directory that are not generated are deleted.
+     * @param log a logger.
+     */
+    JavaEngineRunner(final Flatc flatc, final boolean clearOutputDirectory, final Log log) {
+        this.flatc = flatc;
+        this.clearOutputDirectory = clearOutputDirectory;
+        this.log = log;
+    }
+
+    /**
+     * Generates the Java sources of the compiled definitions. Stale files are left to
+     * {@link #deleteStale(JavaEngine.Result, Set)}, once the other sources are written.
+     *
+     * @param schemas the loaded definitions of the compilation.
+     * @param selection the types to generate, or {@code null} to generate all types.
+     * @param transformers the transformers of the generated sources.
+     * @return the generated sources.
+     * @throws MojoExecutionException if the compilation does not generate Java sources.
+     * @throws IOException if a source cannot be written.
+     * @throws InterruptedException if the thread is interrupted.
+     */
+    JavaEngine.Result generate(
+            final SchemaSet schemas,
+            final TypeSelection selection,
+            final Iterable<? extends JavaEngine.SourceTransformer> transformers)
+            throws MojoExecutionException, IOException, InterruptedException {
+        if (flatc.javaOutputDirectory() == null) {
+            throw new MojoExecutionException("The 'java' engine only generates Java sources");
+        }
+        final long start = System.nanoTime();
+        log.info(format("Generating Java sources of %d fbs file(s) in %s",
+                flatc.fbsFiles().size(), flatc.javaOutputDirectory()));
+        final JavaEngine.Result result = new JavaEngine(Runtime.getRuntime().availableProcessors(), transformers)
+                .generate(schemas, flatc.fbsFiles(), flatc.javaOutputDirectory(), false,
+                        selection != null ? selection : Predicates.<Declaration>alwaysTrue());
+        if (selection != null && !clearOutputDirectory) {
+            selection.deleteUnselected(schemas, flatc.fbsFiles(), flatc.javaOutputDirectory());
+        }
+        log.info(format("Wrote %d and kept %d unchanged Java source(s) in %d ms",
+                result.getWritten(), result.getUnchanged(), (System.nanoTime() - start) / 1000000));
+        return result;
+    }
+
+    /**
+     * Deletes the files of the Java output directory that were generated by a previous execution,
+     * but not by this one, when the output directory is cleared.
+     *
+     * @param sources the sources of the generated types.
+     * @param otherFiles the other files written by this execution, such as the root type registry.
+     * @throws IOException if a file cannot be deleted.
+     */
+    void deleteStale(final JavaEngine.Result sources, final Set<File> otherFiles) throws IOException {
+        if (!clearOutputDirectory) {
+            return;
+        }
+        final Set<File> generated = new HashSet<File>(sources.getFiles());
+        generated.addAll(otherFiles);
+        final int deleted = JavaEngine.deleteStale(flatc.javaOutputDirectory(), generated);
+        log.info(format("Deleted %d stale file(s) in %s", deleted, flatc.javaOutputDirectory()));
+    }
+}
@@ -0,0 +1,288 @@
+package org.flatbuffers.maven.plugin.flatbuffers;
+
+/*
+ * Copyright (c) 2016 Maven Flatbuffers Plugin Authors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+import com.google.common.base.Charsets;
+import com.google.common.base.Predicate;
+import com.google.common.collect.ImmutableList;
+import com.google.common.io.Files;
+import org.flatbuffers.maven.plugin.flatbuffers.idl.Declaration;
+import org.flatbuffers.maven.plugin.flatbuffers.idl.Schema;
+import org.flatbuffers.maven.plugin.flatbuffers.idl.SchemaSet;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+/**
+ * Generates a registry of the root types of a compilation, which maps type names and file identifiers
+ * to factories of the root tables, and declares it as a {@link java.util.ServiceLoader} provider.
+ * An application finds the root types of all its modules by loading the providers of the registry interface,
+ * without any classpath scanning or reflection: each factory calls the static {@code getRootAs} method
+ * of its table.
+ *
+ * <p>The registry interface is generated along with the registry, unless a dependency already provides it,
+ * so that the registries of several modules share the interface.</p>
+ *
+ * @since 0.1.0
+ */
+final class RootTypeRegistryGenerator {
+
+    private static final String HEADER =
+            "// automatically generated by the flatbuffers-maven-plugin, do not modify\n\n";
+
+    private RootTypeRegistryGenerator() {
+    }
+
+    /**
+     * Returns the root types of the compiled definitions, with their file identifier. Tables declared
+     * {@code private} are left out, as classes of other packages cannot refer to them.
+     *
+     * @param schemas the loaded definitions.
+     * @param fbsFiles the compiled definition files.
+     * @param filter selects the generated types.
+     * @return the file identifier of each root type, or {@code null} for types without identifier.
+     */
+    static Map<Declaration, String> rootTypes(
+            final SchemaSet schemas,
+            final Iterable<File> fbsFiles,
+            final Predicate<? super Declaration> filter) {
+        final Map<Declaration, String> rootTypes = new LinkedHashMap<Declaration, String>();
+        for (final File fbsFile : fbsFiles) {
+            final Schema schema = schemas.getSchemas().get(fbsFile.getAbsoluteFile().toPath().normalize().toFile());
+            if (schema == null || schema.getRootType() == null) {
+                continue;
+            }
+            final Declaration table = schemas.resolve(schema.getRootType());
+            if (table != null && filter.apply(table) && !table.getAttributes().containsKey("private")
+                    && !rootTypes.containsKey(table)) {
+                rootTypes.put(table, schema.getFileIdentifier());
+            }
+        }
+        return rootTypes;
+    }
+
+    /**
+     * Writes the registry interface.
+     *
+     * @param interfaceName the fully qualified name of the interface.
+     * @param javaOutputDirectory the directory of the generated sources.
+     * @return {@code true} if the source was written, {@code false} if it was unchanged.
+     * @throws IOException if the source cannot be written.
+     */
+    static boolean writeInterface(final String interfaceName, final File javaOutputDirectory) throws IOException {
+        final String simpleName = simpleName(interfaceName);
+        final StringBuilder out = new StringBuilder(HEADER);
+        appendPackage(interfaceName, out);
+        out.append("import com.google.flatbuffers.Table;\n")
+                .append("import java.nio.ByteBuffer;\n")
+                .append("import java.nio.charset.Charset;\n")
+                .append("import java.util.Map;\n\n")
+                .append("/**\n")
+                .append(" * The root types of generated flatbuffers. The registries of all modules are found with\n")
+                .append(" * {@link java.util.ServiceLoader}.\n")
+                .append(" */\n")
+                .append("public interface ").append(simpleName).append(" {\n\n")
+                .append("  /**\n")
+                .append("   * @return the root types by fully qualified name.\n")
+                .append("   */\n")
+                .append("  Map<String, RootType> getRootTypes();\n\n")
+                .append("  /**\n")
+                .append("   * @return the root types by file identifier; types without identifier are left out.\n")
+                .append("   */\n")
+                .append("  Map<String, RootType> getFileIdentifiers();\n\n")
+                .append("  /**\n")
+                .append("   * A root type, and the factory of its root tables.\n")
+                .append("   */\n")
+                .append("  abstract class RootType {\n\n")
+                .append("    private final String name;\n\n")
+                .append("    private final String fileIdentifier;\n\n")
+                .append("    protected RootType(String name, String fileIdentifier) {\n")
+                .append("      this.name = name;\n")
+                .append("      this.fileIdentifier = fileIdentifier;\n")
+                .append("    }\n\n")
+                .append("    /**\n")
+                .append("     * @return the fully qualified name of the table.\n")
+                .append("     */\n")
+                .append("    public final String getName() {\n")
+                .append("      return name;\n")
+                .append("    }\n\n")
+                .append("    /**\n")
+                .append("     * @return the file identifier of the table, or {@code null} if it has none.\n")
+                .append("     */\n")
+                .append("    public final String getFileIdentifier() {\n")
+                .append("      return fileIdentifier;\n")
+                .append("    }\n\n")
+                .append("    /**\n")
+                .append("     * Reads the root table of a buffer, as the {@code getRootAs} method of the table does.\n")
+                .append("     *\n")
+                .append("     * @param bb the buffer, positioned at the start of the flatbuffer.\n")
+                .append("     * @return the root table.\n")
+                .append("     */\n")
+                .append("    public abstract Table getRootAs(ByteBuffer bb);\n\n")
+                .append("    /**\n")
+                .append("     * Reads the file identifier of a buffer, without changing its position.\n")
+                .append("     *\n")
+                .append("     * @param bb the buffer, positioned at the start of the flatbuffer.\n")
+                .append("     * @return the file identifier, or {@code null} if the buffer is too short.\n")
+                .append("     */\n")
+                .append("    public static String fileIdentifier(ByteBuffer bb) {\n")
+                .append("      if (bb.remaining() < 8) {\n")
+                .append("        return null;\n")
+                .append("      }\n")
+                .append("      final byte[] identifier = new byte[4];\n")
+                .append("      for (int i = 0; i < identifier.length; i++) {\n")
+                .append("        identifier[i] = bb.get(bb.position() + 4 + i);\n")
+                .append("      }\n")
+                .append("      return new String(identifier, Charset.forName(\"ISO-8859-1\"));\n")
+                .append("    }\n")
+                .append("  }\n")
+                .append("}\n");
+        return write(sourceFile(interfaceName, javaOutputDirectory), out);
+    }
+
+    /**
+     * Writes the registry and its service provider declaration.
+     *
+     * @param registryName the fully qualified name of the registry.
+     * @param interfaceName the fully qualified name of the registry interface.
+     * @param rootTypes the file identifier of each root type.
+     * @param javaOutputDirectory the directory of the generated sources.
+     * @return the file identifiers used by several root types; the registry maps them to the first type.
+     * @throws IOException if a file cannot be written.
+     * @throws IllegalArgumentException if the registry would have the name of a generated type, or cannot
+     *         refer to a root type declared without namespace.
+     */
+    static ImmutableList<String> writeRegistry(
+            final String registryName,
+            final String interfaceName,
+            final Map<Declaration, String> rootTypes,
+            final File javaOutputDirectory) throws IOException {
+        final ImmutableList.Builder<String> conflicts = ImmutableList.builder();
+        final Map<String, String> fileIdentifiers = new LinkedHashMap<String, String>();
+        final StringBuilder out = new StringBuilder(HEADER);
+        appendPackage(registryName, out);
+        out.append("import com.google.flatbuffers.Table;\n")
+                .append("import java.nio.ByteBuffer;\n")
+                .append("import java.util.Collections;\n")
+                .append("import java.util.LinkedHashMap;\n")
+                .append("import java.util.Map;\n\n")
+                .append("/**\n")
+                .append(" * The root types of this module.\n")
+                .append(" */\n")
+                .append("public final class ").append(simpleName(registryName)).append(" implements ")
+                .append(interfaceName).append(" {\n\n")
+                .append("  private static final Map<String, RootType> ROOT_TYPES;\n\n")
+                .append("  private static final Map<String, RootType> FILE_IDENTIFIERS;\n\n")
+                .append("  static {\n")
+                .append("    final Map<String, RootType> rootTypes = new LinkedHashMap<String, RootType>();\n")
+                .append("    final Map<String, RootType> fileIdentifiers = new LinkedHashMap<String, RootType>();\n");
+        for (final Map.Entry<Declaration, String> rootType : rootTypes.entrySet()) {
+            final Declaration table = rootType.getKey();
+            final String name = table.getFullName();
+            checkArgument(!name.equals(registryName), "The root type registry %s has the name of a generated type",
+                    registryName);
+            checkArgument(!table.getNamespace().isEmpty() || registryName.indexOf('.') < 0,
+                    "Root type %s has no namespace, so the root type registry %s cannot refer to it",
+                    name, registryName);
+            final String identifier = rootType.getValue();
+            out.append("    rootTypes.put(\"").append(name).append("\", new RootType(\"").append(name).append("\", ")
+                    .append(identifier == null ? "null" : '"' + identifier + '"').append(") {\n")
+                    .append("      @Override\n")
+                    .append("      public Table getRootAs(ByteBuffer bb) {\n")
+                    .append("        return ").append(name).append(".getRootAs").append(table.getName())
+                    .append("(bb);\n")
+                    .append("      }\n")
+                    .append("    });\n");
+            if (identifier != null) {
+                final String previous = fileIdentifiers.get(identifier);
+                if (previous == null) {
+                    fileIdentifiers.put(identifier, name);
+                    out.append("    fileIdentifiers.put(\"").append(identifier).append("\", rootTypes.get(\"")
+                            .append(name).append("\"));\n");
+                } else {
+                    conflicts.add(identifier + " of " + name + ", also the identifier of " + previous);
+                }
+            }
+        }
+        out.append("    ROOT_TYPES = Collections.unmodifiableMap(rootTypes);\n")
+                .append("    FILE_IDENTIFIERS = Collections.unmodifiableMap(fileIdentifiers);\n")
+                .append("  }\n\n")
+                .append("  @Override\n")
+                .append("  public Map<String, RootType> getRootTypes() {\n")
+                .append("    return ROOT_TYPES;\n")
+                .append("  }\n\n")
+                .append("  @Override\n")
+                .append("  public Map<String, RootType> getFileIdentifiers() {\n")
+                .append("    return FILE_IDENTIFIERS;\n")
+                .append("  }\n")
+                .append("}\n");
+        write(sourceFile(registryName, javaOutputDirectory), out);
+        write(serviceFile(interfaceName, javaOutputDirectory), registryName + '\n');
+        return conflicts.build();
+    }
+
+    /**
+     * Returns the source of a class of the registry.
+     *
+     * @param className the fully qualified name of the registry or of its interface.
+     * @param javaOutputDirectory the directory of the generated sources.
+     * @return the source file.
+     */
+    static File sourceFile(final String className, final File javaOutputDirectory) {
+        return new File(javaOutputDirectory, className.replace('.', File.separatorChar) + ".java");
+    }
+
+    /**
+     * Returns the service provider declaration of the registry.
+     *
+     * @param interfaceName the fully qualified name of the registry interface.
+     * @param javaOutputDirectory the directory of the generated sources.
+     * @return the declaration file.
+     */
+    static File serviceFile(final String interfaceName, final File javaOutputDirectory) {
+        return new File(javaOutputDirectory,
+                (AbstractFlatcMojo.SERVICES_DIRECTORY + interfaceName).replace('/', File.separatorChar));
+    }
+
+    private static void appendPackage(final String className, final StringBuilder out) {
+        final int dot = className.lastIndexOf('.');
+        if (dot > 0) {
+            out.append("package ").append(className, 0, dot).append(";\n\n");
+        }
+    }
+
+    private static String simpleName(final String className) {
+        return className.substring(className.lastIndexOf('.') + 1);
+    }
+
+    /**
+     * Writes a file, unless it already has the content, so that the compiler does not see it as changed.
+     */
+    private static boolean write(final File file, final CharSequence content) throws IOException {
+        final String text = content.toString();
+        if (file.isFile() && Files.asCharSource(file, Charsets.UTF_8).read().equals(text)) {
+            return false;
+        }
+        Files.createParentDirs(file);
+        Files.asCharSink(file, Charsets.UTF_8).write(text);
+        return true;
+    }
+}
@@ -0,0 +1,131 @@
+package org.flatbuffers.maven.plugin.flatbuffers;
+
+/*
+ * Copyright (c) 2016 Maven Flatbuffers Plugin Authors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+import com.google.common.base.Predicates;
+import com.google.common.collect.ImmutableList;
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugin.logging.Log;
+import org.flatbuffers.maven.plugin.flatbuffers.codegen.TypeSelection;
+import org.flatbuffers.maven.plugin.flatbuffers.idl.Declaration;
+import org.flatbuffers.maven.plugin.flatbuffers.idl.SchemaSet;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.jar.JarFile;
+
+import static java.lang.String.format;
+
+/**
+ * Writes the root type registry of a compilation with the {@link RootTypeRegistryGenerator}, and its
+ * interface unless the class path of the generated code already provides it.
+ *
+ * @since 0.1.0
+ */
+final class RootTypeRegistryWriter {
+
+    private final String registryName;
+
+    private final String interfaceName;
+
+    private final List<File> classRoots;
+
+    private final Log log;
+
+    /**
+     * @param registryName the fully qualified name of the registry.
+     * @param interfaceName the fully qualified name of the registry interface.
+     * @param classRoots the jars and class directories that the generated code is compiled against.
+     * @param log a logger.
+     */
+    RootTypeRegistryWriter(
+            final String registryName,
+            final String interfaceName,
+            final Iterable<File> classRoots,
+            final Log log) {
+        this.registryName = registryName;
+        this.interfaceName = interfaceName;
+        this.classRoots = ImmutableList.copyOf(classRoots);
+        this.log = log;
+    }
+
+    /**
+     * Writes the registry of the root types of the compiled definitions.
+     *
+     * @param flatc the configuration of the compilation.
+     * @param schemas the definitions of the compilation.
+     * @param selection the generated types, or {@code null} if all types are generated.
+     * @return the files of the registry.
+     * @throws MojoExecutionException if the compilation does not generate Java sources.
+     * @throws IOException if a dependency cannot be read, or a file cannot be written.
+     */
+    Set<File> write(final Flatc flatc, final SchemaSet schemas, final TypeSelection selection)
+            throws MojoExecutionException, IOException {
+        final File javaOutputDirectory = flatc.javaOutputDirectory();
+        if (javaOutputDirectory == null) {
+            throw new MojoExecutionException("rootTypeRegistry requires Java sources to be generated");
+        }
+        final Set<File> files = new HashSet<File>();
+        if (!isInterfaceProvided()) {
+            RootTypeRegistryGenerator.writeInterface(interfaceName, javaOutputDirectory);
+            files.add(RootTypeRegistryGenerator.sourceFile(interfaceName, javaOutputDirectory));
+        }
+        final Map<Declaration, String> rootTypes = RootTypeRegistryGenerator.rootTypes(schemas, flatc.fbsFiles(),
+                selection != null ? selection : Predicates.<Declaration>alwaysTrue());
+        final ImmutableList<String> conflicts = RootTypeRegistryGenerator.writeRegistry(
+                registryName, interfaceName, rootTypes, javaOutputDirectory);
+        for (final String conflict : conflicts) {
+            log.warn("Ignoring the file identifier " + conflict);
+        }
+        log.info(format("Registered %d root type(s) in %s", rootTypes.size(), registryName));
+        files.add(RootTypeRegistryGenerator.sourceFile(registryName, javaOutputDirectory));
+        files.add(RootTypeRegistryGenerator.serviceFile(interfaceName, javaOutputDirectory));
+        return files;
+    }
+
+    /**
+     * Checks whether a jar or class directory of the class path holds the registry interface.
+     */
+    private boolean isInterfaceProvided() throws IOException {
+        final String interfaceClass = interfaceName.replace('.', '/') + ".class";
+        for (final File classRoot : classRoots) {
+            if (classRoot.isDirectory()
+                    ? new File(classRoot, interfaceClass).isFile()
+                    : containsEntry(classRoot, interfaceClass)) {
+                log.debug(format("%s is provided by %s", interfaceName, classRoot));
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean containsEntry(final File jar, final String path) throws IOException {
+        if (!jar.isFile()) {
+            return false;
+        }
+        final JarFile jarFile = new JarFile(jar);
+        try {
+            return jarFile.getEntry(path) != null;
+        } finally {
+            jarFile.close();
+        }
+    }
+}
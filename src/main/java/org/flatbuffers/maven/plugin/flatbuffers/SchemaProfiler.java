@@ -0,0 +1,153 @@
+package org.flatbuffers.maven.plugin.flatbuffers;
+
+/*
+ * Copyright (c) 2016 Maven Flatbuffers Plugin Authors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Ordering;
+import org.apache.maven.plugin.logging.Log;
+import org.codehaus.plexus.util.FileUtils;
+import org.codehaus.plexus.util.cli.CommandLineException;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static java.lang.String.format;
+
+/**
+ * Compiles every definition in its own {@code flatc} invocation, so that the cost of each definition,
+ * together with its include closure, can be measured in isolation.
+ * The definitions are then ranked by compilation time.
+ *
+ * @since 0.1.0
+ */
+final class SchemaProfiler {
+
+    /**
+     * Number of the most expensive definitions that are logged.
+     */
+    private static final int LOGGED_ENTRIES = 10;
+
+    private final Flatc flatc;
+
+    private final File workDirectory;
+
+    private final Log log;
+
+    /**
+     * @param flatc the configuration of the regular compilation; its definitions will be compiled one by one.
+     * @param workDirectory a scratch directory for the output of individual invocations.
+     * @param log a logger.
+     */
+    SchemaProfiler(final Flatc flatc, final File workDirectory, final Log log) {
+        this.flatc = flatc;
+        this.workDirectory = workDirectory;
+        this.log = log;
+    }
+
+    /**
+     * Compiles each definition separately.
+     *
+     * @return profile entries, ranked from the most to the least expensive definition.
+     * @throws IOException if the scratch directory cannot be managed.
+     * @throws CommandLineException if {@code flatc} cannot be invoked.
+     * @throws InterruptedException if the thread is interrupted.
+     */
+    ImmutableList<Entry> profile() throws IOException, CommandLineException, InterruptedException {
+        final List<Entry> entries = new ArrayList<Entry>();
+        final File javaOutputDirectory = new File(workDirectory, "java");
+        final File schemaOutputDirectory = new File(workDirectory, "schema");
+        for (final File fbsFile : flatc.fbsFiles()) {
+            FileUtils.mkdir(javaOutputDirectory.getAbsolutePath());
+            FileUtils.mkdir(schemaOutputDirectory.getAbsolutePath());
+            final Flatc single = ImmutableFlatc.copyOf(flatc)
+                    .withFbsFiles(fbsFile)
+                    .withJavaOutputDirectory(flatc.javaOutputDirectory() != null ? javaOutputDirectory : null)
+                    .withSchemaOutputDirectory(flatc.schemaOutputDirectory() != null ? schemaOutputDirectory : null);
+
+            final long start = System.nanoTime();
+            final int exitStatus = single.execute(log);
+            final Entry entry =
+                    new Entry(fbsFile, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start), exitStatus);
+            for (final File generatedFile : AbstractFlatcMojo.findGeneratedFilesInDirectory(workDirectory)) {
+                entry.generatedFiles++;
+                entry.generatedBytes += generatedFile.length();
+            }
+            entries.add(entry);
+            FileUtils.deleteDirectory(workDirectory);
+        }
+        return ImmutableList.copyOf(Ordering.from(new Comparator<Entry>() {
+            @Override
+            public int compare(final Entry left, final Entry right) {
+                return Long.compare(right.millis, left.millis);
+            }
+        }).sortedCopy(entries));
+    }
+
+    /**
+     * Writes the ranked entries as a CSV file, and logs the most expensive ones.
+     *
+     * @param entries ranked profile entries.
+     * @param reportFile the report to write.
+     * @throws IOException if the report cannot be written.
+     */
+    void writeReport(final List<Entry> entries, final File reportFile) throws IOException {
+        FileUtils.mkdir(reportFile.getParentFile().getAbsolutePath());
+        final PrintWriter out = new PrintWriter(reportFile, "UTF-8");
+        try {
+            out.println("rank,millis,generatedFiles,generatedBytes,exitStatus,schema");
+            int rank = 0;
+            for (final Entry entry : entries) {
+                out.println(format("%d,%d,%d,%d,%d,%s", ++rank, entry.millis, entry.generatedFiles,
+                        entry.generatedBytes, entry.exitStatus, entry.fbsFile));
+            }
+        } finally {
+            out.close();
+        }
+        log.info("Schema compilation profile written to " + reportFile);
+        for (final Entry entry : entries.subList(0, Math.min(LOGGED_ENTRIES, entries.size()))) {
+            log.info(format("  %6d ms %6d file(s) %10d bytes  %s",
+                    entry.millis, entry.generatedFiles, entry.generatedBytes, entry.fbsFile));
+        }
+    }
+
+    /**
+     * The cost of compiling a single definition.
+     */
+    static final class Entry {
+
+        final File fbsFile;
+
+        final long millis;
+
+        final int exitStatus;
+
+        int generatedFiles;
+
+        long generatedBytes;
+
+        Entry(final File fbsFile, final long millis, final int exitStatus) {
+            this.fbsFile = fbsFile;
+            this.millis = millis;
+            this.exitStatus = exitStatus;
+        }
+    }
+}
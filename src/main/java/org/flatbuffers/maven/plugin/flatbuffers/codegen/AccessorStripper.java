@@ -0,0 +1,387 @@
+package org.flatbuffers.maven.plugin.flatbuffers.codegen;
+
+/*
+ * Copyright (c) 2016 Maven Flatbuffers Plugin Authors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+import com.google.common.base.Charsets;
+import com.google.common.collect.HashMultimap;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSetMultimap;
+import com.google.common.collect.Multimap;
+import com.google.common.collect.Multimaps;
+import com.google.common.collect.SetMultimap;
+import com.google.common.io.CharSource;
+import com.google.common.io.Files;
+import org.flatbuffers.maven.plugin.flatbuffers.idl.Declaration;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static java.lang.String.format;
+
+/**
+ * Removes the accessors of generated tables and structs that compiled classes never call.
+ *
+ * <p>The references are read from the constant pools of the compiled classes: a call, or a method reference,
+ * to a method of a generated class is a {@code Methodref} constant naming the class and the method. Methods
+ * are matched by name, so that all overloads of a used accessor are kept, including the overload that reuses
+ * an object, which the other overload calls. Reflective calls are not seen.</p>
+ *
+ * <p>Only the single-line, public instance methods that {@code flatc} generates for the fields of a class are
+ * removed: field accessors, vector helpers and mutators. Static methods, such as builders and root accessors,
+ * the {@code __init} and {@code __assign} methods, and the members of nested classes are kept.</p>
+ *
+ * <p>Written sources are stripped with {@link #strip(File, Iterable)}. As a {@link JavaEngine.SourceTransformer},
+ * the stripper removes the accessors before the engine compares the sources with their files, so that
+ * unchanged classes are not written again.</p>
+ *
+ * @since 0.1.0
+ */
+public final class AccessorStripper implements JavaEngine.SourceTransformer {
+
+    private static final String CLASS_FILE_SUFFIX = ".class";
+
+    private static final String JAVA_FILE_SUFFIX = ".java";
+
+    private static final String ACCESSOR_PREFIX = "  public ";
+
+    private static final String STATIC_PREFIX = "  public static ";
+
+    private static final int CONSTANT_UTF8 = 1;
+    private static final int CONSTANT_INTEGER = 3;
+    private static final int CONSTANT_FLOAT = 4;
+    private static final int CONSTANT_LONG = 5;
+    private static final int CONSTANT_DOUBLE = 6;
+    private static final int CONSTANT_CLASS = 7;
+    private static final int CONSTANT_STRING = 8;
+    private static final int CONSTANT_FIELDREF = 9;
+    private static final int CONSTANT_METHODREF = 10;
+    private static final int CONSTANT_INTERFACE_METHODREF = 11;
+    private static final int CONSTANT_NAME_AND_TYPE = 12;
+    private static final int CONSTANT_METHOD_HANDLE = 15;
+    private static final int CONSTANT_METHOD_TYPE = 16;
+    private static final int CONSTANT_DYNAMIC = 17;
+    private static final int CONSTANT_INVOKE_DYNAMIC = 18;
+    private static final int CONSTANT_MODULE = 19;
+    private static final int CONSTANT_PACKAGE = 20;
+
+    /**
+     * The names of the methods called on each class, by internal class name such as {@code MyGame/Example/Monster}.
+     */
+    private final ImmutableSetMultimap<String, String> references;
+
+    private final int scannedClasses;
+
+    /**
+     * The accessors removed by {@link #transform(Declaration, String)}, by internal class name.
+     */
+    private final SetMultimap<String, String> transformed =
+            Multimaps.synchronizedSetMultimap(HashMultimap.<String, String>create());
+
+    private AccessorStripper(final ImmutableSetMultimap<String, String> references, final int scannedClasses) {
+        this.references = references;
+        this.scannedClasses = scannedClasses;
+    }
+
+    /**
+     * Reads the methods that compiled classes call.
+     *
+     * @param classDirectories the directories of the compiled classes; missing directories are ignored.
+     * @param generatedClasses the internal names of the generated classes, whose own classes are not scanned.
+     * @return the stripper.
+     * @throws IOException if a class cannot be read.
+     */
+    public static AccessorStripper scan(final Iterable<File> classDirectories, final Set<String> generatedClasses)
+            throws IOException {
+        final ImmutableSetMultimap.Builder<String, String> references = ImmutableSetMultimap.builder();
+        int scanned = 0;
+        for (final File directory : classDirectories) {
+            final List<String> classFiles = new ArrayList<String>();
+            list(directory, "", CLASS_FILE_SUFFIX, classFiles);
+            for (final String classFile : classFiles) {
+                final String className = classFile.substring(0, classFile.length() - CLASS_FILE_SUFFIX.length());
+                final int nested = className.indexOf('$');
+                if (generatedClasses.contains(nested < 0 ? className : className.substring(0, nested))) {
+                    continue;
+                }
+                readMethodReferences(new File(directory, classFile), references);
+                scanned++;
+            }
+        }
+        return new AccessorStripper(references.build(), scanned);
+    }
+
+    /**
+     * Adds methods that generated sources call, such as those of readers, which are not compiled yet.
+     *
+     * @param calls the names of the called methods, by internal class name.
+     * @return the stripper, which also keeps these methods.
+     */
+    public AccessorStripper withReferences(final Multimap<String, String> calls) {
+        return new AccessorStripper(ImmutableSetMultimap.<String, String>builder().putAll(references).putAll(calls)
+                .build(), scannedClasses);
+    }
+
+    /**
+     * @return the number of compiled classes whose references were read.
+     */
+    public int getScannedClasses() {
+        return scannedClasses;
+    }
+
+    /**
+     * Removes the unused accessors of generated classes. Sources are only written if an accessor is removed.
+     *
+     * @param sourceDirectory the directory of the generated sources.
+     * @param classNames the internal names of the generated tables and structs.
+     * @return the removed accessors, by internal class name.
+     * @throws IOException if a source cannot be read or written.
+     */
+    public ImmutableSetMultimap<String, String> strip(final File sourceDirectory, final Iterable<String> classNames)
+            throws IOException {
+        final ImmutableSetMultimap.Builder<String, String> removed = ImmutableSetMultimap.builder();
+        for (final String className : classNames) {
+            final File source = new File(sourceDirectory,
+                    (className + JAVA_FILE_SUFFIX).replace('/', File.separatorChar));
+            if (!source.isFile()) {
+                continue;
+            }
+            final Set<String> accessors = new LinkedHashSet<String>();
+            final String stripped = strip(className, Files.readLines(source, Charsets.UTF_8), accessors);
+            if (stripped != null) {
+                Files.asCharSink(source, Charsets.UTF_8).write(stripped);
+                removed.putAll(className, accessors);
+            }
+        }
+        return removed.build();
+    }
+
+    /**
+     * Removes the unused accessors of a generated table or struct; the sources of other types are returned as is.
+     *
+     * @param declaration the generated type.
+     * @param source the source of its class.
+     * @return the source without the unused accessors.
+     * @throws IOException if the source cannot be read.
+     */
+    @Override
+    public String transform(final Declaration declaration, final String source) throws IOException {
+        if (declaration.getKind() != Declaration.Kind.TABLE && declaration.getKind() != Declaration.Kind.STRUCT) {
+            return source;
+        }
+        final String className = JavaGenerator.getPath(declaration).replaceAll("\\.java$", "");
+        final Set<String> accessors = new LinkedHashSet<String>();
+        final String stripped = strip(className, CharSource.wrap(source).readLines(), accessors);
+        if (stripped == null) {
+            return source;
+        }
+        transformed.putAll(className, accessors);
+        return stripped;
+    }
+
+    /**
+     * Returns the accessors removed from the sources passed to {@link #transform(Declaration, String)}.
+     *
+     * @return the removed accessors, by internal class name.
+     */
+    public ImmutableSetMultimap<String, String> getTransformed() {
+        synchronized (transformed) {
+            return ImmutableSetMultimap.copyOf(transformed);
+        }
+    }
+
+    /**
+     * Looks for uses of removed accessors in Java sources that were not compiled when the references were read.
+     * A source is suspect if it names the class of a removed accessor, and calls a method of the same name.
+     *
+     * @param sourceRoots the source roots of the project; missing directories are ignored.
+     * @param removed the removed accessors, by internal class name.
+     * @return a description of each suspect use, empty if there is none.
+     * @throws IOException if a source cannot be read.
+     */
+    public static ImmutableList<String> findUses(
+            final Iterable<File> sourceRoots,
+            final ImmutableSetMultimap<String, String> removed) throws IOException {
+        final ImmutableList.Builder<String> uses = ImmutableList.builder();
+        for (final File root : sourceRoots) {
+            final List<String> sources = new ArrayList<String>();
+            list(root, "", JAVA_FILE_SUFFIX, sources);
+            for (final String path : sources) {
+                final File source = new File(root, path);
+                final String content = Files.asCharSource(source, Charsets.UTF_8).read();
+                for (final Map.Entry<String, String> accessor : removed.entries()) {
+                    final String simpleName = accessor.getKey().substring(accessor.getKey().lastIndexOf('/') + 1);
+                    if (content.contains(simpleName)) {
+                        final Matcher call = Pattern.compile("\\." + Pattern.quote(accessor.getValue()) + "\\s*\\(")
+                                .matcher(content);
+                        if (call.find()) {
+                            uses.add(format("%s.%s() was removed, but %s calls %s()",
+                                    accessor.getKey().replace('/', '.'), accessor.getValue(), source,
+                                    accessor.getValue()));
+                        }
+                    }
+                }
+            }
+        }
+        return uses.build();
+    }
+
+    /**
+     * Removes the unused accessors from the lines of a source.
+     *
+     * @param className the internal name of the class of the source.
+     * @param lines the lines of the source.
+     * @param removed receives the names of the removed accessors.
+     * @return the source without the unused accessors, or {@code null} if no accessor is removed.
+     */
+    private String strip(final String className, final List<String> lines, final Set<String> removed) {
+        final Set<String> used = references.get(className);
+        final StringBuilder out = new StringBuilder();
+        final StringBuilder comment = new StringBuilder();
+        boolean changed = false;
+        for (final String line : lines) {
+            if (line.startsWith("  /") || line.startsWith("   *") && comment.length() > 0) {
+                // the documentation of a field goes with its first accessor
+                comment.append(line).append('\n');
+                continue;
+            }
+            final String accessor = accessorName(line);
+            if (accessor != null && !used.contains(accessor)) {
+                removed.add(accessor);
+                comment.setLength(0);
+                changed = true;
+                continue;
+            }
+            out.append(comment).append(line).append('\n');
+            comment.setLength(0);
+        }
+        out.append(comment);
+        return changed ? out.toString() : null;
+    }
+
+    /**
+     * Returns the name of the accessor declared by a line of a generated source.
+     *
+     * @return the name, or {@code null} if the line does not declare an accessor.
+     */
+    private static String accessorName(final String line) {
+        if (!line.startsWith(ACCESSOR_PREFIX) || line.startsWith(STATIC_PREFIX) || !line.trim().endsWith("}")) {
+            return null;
+        }
+        final int parenthesis = line.indexOf('(');
+        if (parenthesis < 0) {
+            return null;
+        }
+        final String name = line.substring(line.lastIndexOf(' ', parenthesis) + 1, parenthesis);
+        return name.startsWith("__") ? null : name;
+    }
+
+    /**
+     * Adds the methods referenced by the constant pool of a class.
+     */
+    private static void readMethodReferences(
+            final File classFile,
+            final ImmutableSetMultimap.Builder<String, String> references) throws IOException {
+        final DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(classFile)));
+        try {
+            if (in.readInt() != 0xCAFEBABE) {
+                throw new IOException(classFile + " is not a class file");
+            }
+            in.readUnsignedShort();
+            in.readUnsignedShort();
+            final int count = in.readUnsignedShort();
+            final String[] utf8 = new String[count];
+            final int[] classNames = new int[count];
+            final int[] first = new int[count];
+            final int[] second = new int[count];
+            final int[] tags = new int[count];
+            for (int i = 1; i < count; i++) {
+                final int tag = in.readUnsignedByte();
+                tags[i] = tag;
+                switch (tag) {
+                    case CONSTANT_UTF8:
+                        utf8[i] = in.readUTF();
+                        break;
+                    case CONSTANT_CLASS:
+                        classNames[i] = in.readUnsignedShort();
+                        break;
+                    case CONSTANT_METHODREF:
+                    case CONSTANT_INTERFACE_METHODREF:
+                    case CONSTANT_NAME_AND_TYPE:
+                        first[i] = in.readUnsignedShort();
+                        second[i] = in.readUnsignedShort();
+                        break;
+                    case CONSTANT_INTEGER:
+                    case CONSTANT_FLOAT:
+                    case CONSTANT_FIELDREF:
+                    case CONSTANT_DYNAMIC:
+                    case CONSTANT_INVOKE_DYNAMIC:
+                        in.readInt();
+                        break;
+                    case CONSTANT_LONG:
+                    case CONSTANT_DOUBLE:
+                        in.readLong();
+                        i++;
+                        break;
+                    case CONSTANT_STRING:
+                    case CONSTANT_METHOD_TYPE:
+                    case CONSTANT_MODULE:
+                    case CONSTANT_PACKAGE:
+                        in.readUnsignedShort();
+                        break;
+                    case CONSTANT_METHOD_HANDLE:
+                        in.readUnsignedByte();
+                        in.readUnsignedShort();
+                        break;
+                    default:
+                        throw new IOException("Unknown constant pool tag " + tag + " in " + classFile);
+                }
+            }
+            for (int i = 1; i < count; i++) {
+                if (tags[i] == CONSTANT_METHODREF || tags[i] == CONSTANT_INTERFACE_METHODREF) {
+                    references.put(utf8[classNames[first[i]]], utf8[first[second[i]]]);
+                }
+            }
+        } finally {
+            in.close();
+        }
+    }
+
+    private static void list(final File directory, final String prefix, final String suffix,
+            final List<String> files) {
+        final File[] children = directory.listFiles();
+        if (children == null) {
+            return;
+        }
+        for (final File child : children) {
+            if (child.isDirectory()) {
+                list(child, prefix + child.getName() + '/', suffix, files);
+            } else if (child.getName().endsWith(suffix)) {
+                files.add(prefix + child.getName());
+            }
+        }
+    }
+}
@@ -0,0 +1,324 @@
+package org.flatbuffers.maven.plugin.flatbuffers.codegen;
+
+/*
+ * Copyright (c) 2016 Maven Flatbuffers Plugin Authors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+import com.google.common.base.Charsets;
+import com.google.common.io.Files;
+import com.google.common.math.LongMath;
+import org.flatbuffers.maven.plugin.flatbuffers.idl.Declaration;
+import org.flatbuffers.maven.plugin.flatbuffers.idl.EnumValue;
+import org.flatbuffers.maven.plugin.flatbuffers.idl.Field;
+import org.flatbuffers.maven.plugin.flatbuffers.idl.ScalarType;
+import org.flatbuffers.maven.plugin.flatbuffers.idl.SchemaSet;
+import org.flatbuffers.maven.plugin.flatbuffers.idl.TypeRef;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+/**
+ * Generates, for each root type, a pool of reusable {@code FlatBufferBuilder}s backed by direct buffers,
+ * so that serializing a message neither allocates a builder nor grows its buffer in the common case.
+ * The pool keeps one builder per thread, which needs no synchronization; a thread that needs a second
+ * builder while holding one gets a new builder that is not pooled.
+ *
+ * <p>The initial capacity of the builders is estimated from the schema: every field present, strings of
+ * {@value #STRING_LENGTH} characters and vectors of {@value #VECTOR_LENGTH} elements, with recursive tables
+ * counted once, rounded up to a power of two and capped at {@value #MAX_RETAINED_CAPACITY} bytes. The estimate
+ * of each table is computed once. When adaptive sizing is enabled at runtime, the pool records the largest
+ * buffer built, and creates the builders of new threads with that capacity.</p>
+ *
+ * @since 0.1.0
+ */
+public final class BuilderPoolGenerator {
+
+    /**
+     * The suffix of the name of the pool of a root type.
+     */
+    public static final String CLASS_NAME_SUFFIX = "BuilderPool";
+
+    private static final String HEADER =
+            "// automatically generated by the flatbuffers-maven-plugin, do not modify\n\n";
+
+    private static final int STRING_LENGTH = 16;
+
+    private static final int VECTOR_LENGTH = 4;
+
+    private static final int MIN_CAPACITY = 64;
+
+    private static final int MAX_RETAINED_CAPACITY = 1 << 20;
+
+    private final SchemaSet schemas;
+
+    private final JavaGenerator generator;
+
+    /**
+     * The estimated sizes of the tables, computed once per table.
+     */
+    private final Map<Declaration, Long> tableSizes = new HashMap<Declaration, Long>();
+
+    /**
+     * @param schemas the loaded definitions.
+     */
+    public BuilderPoolGenerator(final SchemaSet schemas) {
+        this.schemas = schemas;
+        this.generator = new JavaGenerator(schemas);
+    }
+
+    /**
+     * Estimates the size of a buffer whose root is a table.
+     *
+     * @param table the root table.
+     * @return the estimated size in bytes, a power of two, at most {@value #MAX_RETAINED_CAPACITY}.
+     */
+    public int estimateSize(final Declaration table) {
+        // root offset and file identifier
+        final int size = (int) Math.min(MAX_RETAINED_CAPACITY,
+                LongMath.saturatedAdd(8, tableSize(table, new HashSet<Declaration>())));
+        return Math.max(MIN_CAPACITY, Integer.highestOneBit(size - 1) << 1);
+    }
+
+    /**
+     * Writes the pool of a root type, in the package of the type. The source is only written if it changes.
+     *
+     * @param table the root table.
+     * @param javaOutputDirectory the directory of the generated sources.
+     * @return {@code true} if the source was written.
+     * @throws IOException if the source cannot be written.
+     * @throws IllegalArgumentException if the name of the pool is the name of a type of the definitions.
+     */
+    public boolean write(final Declaration table, final File javaOutputDirectory) throws IOException {
+        final String simpleName = table.getName() + CLASS_NAME_SUFFIX;
+        checkArgument(!schemas.getTypes().containsKey(table.getFullName() + CLASS_NAME_SUFFIX),
+                "The builder pool of %s has the name of a type of the definitions", table.getFullName());
+        final int estimatedSize = estimateSize(table);
+        final StringBuilder out = new StringBuilder(HEADER);
+        if (!table.getNamespace().isEmpty()) {
+            out.append("package ").append(table.getNamespace()).append(";\n\n");
+        }
+        out.append("import com.google.flatbuffers.FlatBufferBuilder;\n")
+                .append("import java.nio.ByteBuffer;\n")
+                .append("import java.nio.ByteOrder;\n")
+                .append("import java.util.concurrent.atomic.AtomicInteger;\n\n")
+                .append("/**\n")
+                .append(" * Reusable builders of {@link ").append(table.getName())
+                .append("} buffers, one per thread, backed by direct buffers.\n")
+                .append(" * A builder returned by {@link #acquire()} is given back with")
+                .append(" {@link #release(FlatBufferBuilder)}\n")
+                .append(" * once its buffer has been consumed or copied, as the next acquisition of the thread")
+                .append(" overwrites it.\n")
+                .append(" */\n")
+                .append("public final class ").append(simpleName).append(" {\n\n")
+                .append("  /**\n")
+                .append("   * The initial capacity of the builders estimated from the schema, in bytes.\n")
+                .append("   */\n")
+                .append("  public static final int ESTIMATED_SIZE = ").append(estimatedSize).append(";\n\n")
+                .append("  /**\n")
+                .append("   * Builders whose buffer grew beyond this capacity are not kept, in bytes.\n")
+                .append("   */\n")
+                .append("  public static final int MAX_RETAINED_CAPACITY = ")
+                .append(MAX_RETAINED_CAPACITY).append(";\n\n")
+                .append("  private static final ThreadLocal<Entry> POOL = new ThreadLocal<Entry>();\n\n")
+                .append("  private static final AtomicInteger LARGEST_SIZE = new AtomicInteger();\n\n")
+                .append("  private static volatile boolean adaptive;\n\n")
+                .append("  /**\n")
+                .append("   * The pooled builder of a thread, and the factory of its direct buffers, which records")
+                .append(" their\n")
+                .append("   * capacity: the buffer of a builder is only accessible once it is finished.\n")
+                .append("   */\n")
+                .append("  private static final class Entry extends FlatBufferBuilder.ByteBufferFactory {\n\n")
+                .append("    final FlatBufferBuilder builder;\n\n")
+                .append("    int capacity;\n\n")
+                .append("    boolean inUse;\n\n")
+                .append("    Entry() {\n")
+                .append("      this.builder = new FlatBufferBuilder(initialCapacity(), this);\n")
+                .append("    }\n\n")
+                .append("    @Override\n")
+                .append("    public ByteBuffer newByteBuffer(int capacity) {\n")
+                .append("      this.capacity = capacity;\n")
+                .append("      return newDirectBuffer(capacity);\n")
+                .append("    }\n")
+                .append("  }\n\n")
+                .append("  private static final FlatBufferBuilder.ByteBufferFactory DIRECT = ")
+                .append("new FlatBufferBuilder.ByteBufferFactory() {\n")
+                .append("    @Override\n")
+                .append("    public ByteBuffer newByteBuffer(int capacity) {\n")
+                .append("      return newDirectBuffer(capacity);\n")
+                .append("    }\n")
+                .append("  };\n\n")
+                .append("  private ").append(simpleName).append("() {\n")
+                .append("  }\n\n")
+                .append("  private static ByteBuffer newDirectBuffer(int capacity) {\n")
+                .append("    return ByteBuffer.allocateDirect(capacity).order(ByteOrder.LITTLE_ENDIAN);\n")
+                .append("  }\n\n")
+                .append("  /**\n")
+                .append("   * Enables or disables adaptive sizing: when enabled, the largest buffer built is")
+                .append(" recorded,\n")
+                .append("   * and the builders of new threads start with that capacity.\n")
+                .append("   *\n")
+                .append("   * @param enabled whether sizing is adaptive.\n")
+                .append("   */\n")
+                .append("  public static void setAdaptive(boolean enabled) {\n")
+                .append("    adaptive = enabled;\n")
+                .append("  }\n\n")
+                .append("  /**\n")
+                .append("   * @return the capacity of new builders, in bytes.\n")
+                .append("   */\n")
+                .append("  public static int initialCapacity() {\n")
+                .append("    final int largest = LARGEST_SIZE.get();\n")
+                .append("    if (!adaptive || largest <= ESTIMATED_SIZE) {\n")
+                .append("      return ESTIMATED_SIZE;\n")
+                .append("    }\n")
+                .append("    return Math.min(Integer.highestOneBit(largest - 1) << 1, MAX_RETAINED_CAPACITY);\n")
+                .append("  }\n\n")
+                .append("  /**\n")
+                .append("   * Returns the cleared builder of the current thread, or a new builder if the thread")
+                .append(" already\n")
+                .append("   * holds it.\n")
+                .append("   *\n")
+                .append("   * @return a builder.\n")
+                .append("   */\n")
+                .append("  public static FlatBufferBuilder acquire() {\n")
+                .append("    Entry entry = POOL.get();\n")
+                .append("    if (entry == null) {\n")
+                .append("      entry = new Entry();\n")
+                .append("      POOL.set(entry);\n")
+                .append("    } else if (entry.inUse) {\n")
+                .append("      return new FlatBufferBuilder(initialCapacity(), DIRECT);\n")
+                .append("    } else {\n")
+                .append("      entry.builder.clear();\n")
+                .append("    }\n")
+                .append("    entry.inUse = true;\n")
+                .append("    return entry.builder;\n")
+                .append("  }\n\n")
+                .append("  /**\n")
+                .append("   * Gives a builder back to the pool of the current thread.\n")
+                .append("   *\n")
+                .append("   * @param builder a builder returned by {@link #acquire()} on this thread.\n")
+                .append("   */\n")
+                .append("  public static void release(FlatBufferBuilder builder) {\n")
+                .append("    if (adaptive) {\n")
+                .append("      final int size = builder.offset();\n")
+                .append("      int largest = LARGEST_SIZE.get();\n")
+                .append("      while (size > largest && !LARGEST_SIZE.compareAndSet(largest, size)) {\n")
+                .append("        largest = LARGEST_SIZE.get();\n")
+                .append("      }\n")
+                .append("    }\n")
+                .append("    final Entry entry = POOL.get();\n")
+                .append("    if (entry != null && entry.builder == builder) {\n")
+                .append("      if (entry.capacity > MAX_RETAINED_CAPACITY) {\n")
+                .append("        POOL.remove();\n")
+                .append("      } else {\n")
+                .append("        entry.inUse = false;\n")
+                .append("      }\n")
+                .append("    }\n")
+                .append("  }\n")
+                .append("}\n");
+
+        final File source = sourceFile(table, javaOutputDirectory);
+        final String content = out.toString();
+        if (source.isFile() && Files.asCharSource(source, Charsets.UTF_8).read().equals(content)) {
+            return false;
+        }
+        Files.createParentDirs(source);
+        Files.asCharSink(source, Charsets.UTF_8).write(content);
+        return true;
+    }
+
+    /**
+     * Returns the source of the pool of a root type.
+     *
+     * @param table the root table.
+     * @param javaOutputDirectory the directory of the generated sources.
+     * @return the source file, in the package of the type.
+     */
+    public static File sourceFile(final Declaration table, final File javaOutputDirectory) {
+        return new File(javaOutputDirectory, (table.getNamespace().isEmpty() ? ""
+                : table.getNamespace().replace('.', File.separatorChar) + File.separator) + table.getName()
+                + CLASS_NAME_SUFFIX + ".java");
+    }
+
+    /**
+     * Estimates the size of a table: its vtable, its offset to the vtable, and its fields. Sizes saturate
+     * at {@link Long#MAX_VALUE} rather than overflow.
+     */
+    private long tableSize(final Declaration table, final Set<Declaration> path) {
+        final Long cached = tableSizes.get(table);
+        if (cached != null) {
+            return cached;
+        }
+        if (!path.add(table)) {
+            return 0;
+        }
+        long size = 4 + 4 + 2 * table.getFields().size();
+        for (final Field field : table.getFields()) {
+            if (!field.isDeprecated()) {
+                size = LongMath.saturatedAdd(size, field.getType().getKind() == TypeRef.Kind.VECTOR
+                        ? LongMath.saturatedAdd(4 + 4,
+                                LongMath.saturatedMultiply(VECTOR_LENGTH, valueSize(field.getType(), path)))
+                        : valueSize(field.getType(), path));
+            }
+        }
+        path.remove(table);
+        tableSizes.put(table, size);
+        return size;
+    }
+
+    /**
+     * Estimates the size of a value, or of a vector element: inline scalars and structs, or an offset
+     * and the referenced string, table or union member.
+     */
+    private long valueSize(final TypeRef type, final Set<Declaration> path) {
+        final ScalarType scalar = type.getScalarType();
+        if (scalar != null) {
+            return scalar.getSize();
+        }
+        if (type.isString()) {
+            return 4 + 4 + STRING_LENGTH + 1;
+        }
+        final Declaration declaration = schemas.resolve(type);
+        if (declaration == null) {
+            return 4;
+        }
+        switch (declaration.getKind()) {
+            case STRUCT:
+                return generator.layout(declaration).getSize();
+            case TABLE:
+                return LongMath.saturatedAdd(4, tableSize(declaration, path));
+            case ENUM:
+                final ScalarType underlying = declaration.getUnderlyingType() != null
+                        ? declaration.getUnderlyingType().getScalarType() : null;
+                return underlying != null ? underlying.getSize() : 4;
+            case UNION:
+                long largest = 0;
+                for (final EnumValue member : declaration.getValues()) {
+                    if (member.getType() != null) {
+                        largest = Math.max(largest, valueSize(member.getType(), path));
+                    }
+                }
+                // the type of the member, and the member
+                return LongMath.saturatedAdd(1, largest);
+            default:
+                return 4;
+        }
+    }
+}
@@ -0,0 +1,317 @@
+package org.flatbuffers.maven.plugin.flatbuffers.codegen;
+
+/*
+ * Copyright (c) 2016 Maven Flatbuffers Plugin Authors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+import com.google.common.base.Charsets;
+import com.google.common.io.Files;
+import org.flatbuffers.maven.plugin.flatbuffers.idl.Declaration;
+import org.flatbuffers.maven.plugin.flatbuffers.idl.Field;
+import org.flatbuffers.maven.plugin.flatbuffers.idl.ScalarType;
+import org.flatbuffers.maven.plugin.flatbuffers.idl.SchemaSet;
+import org.flatbuffers.maven.plugin.flatbuffers.idl.TypeRef;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static java.lang.String.format;
+
+/**
+ * Adds bulk accessors of vectors of scalars and structs to generated tables, which read a whole vector
+ * in one call rather than element by element.
+ *
+ * <p>For a vector of scalars other than bytes and booleans, {@code xAsFloatBuffer()}, or the buffer type
+ * of the scalar, returns a view of the elements in the buffer of the table, without copying them. For a vector
+ * of structs, {@code xAsByteBuffer()} returns a view of the bytes of the elements. When all the fields of
+ * the struct, nested structs and arrays included, have the same scalar type and leave no padding, as in
+ * a struct of three floats, the view of the components of the elements is returned as well. {@code xToArray}
+ * copies the elements, or the components, into an array of the caller.</p>
+ *
+ * <p>Views of unsigned scalars hold their bits, as the signed Java type of the same size.</p>
+ *
+ * <p>The accessors are added to the sources of {@code flatc} once they are written, or by {@link JavaEngine}
+ * as it generates them.</p>
+ *
+ * @since 0.1.0
+ */
+public final class BulkAccessorGenerator implements JavaEngine.SourceTransformer {
+
+    private final SchemaSet schemas;
+
+    private final JavaGenerator generator;
+
+    /**
+     * @param schemas the loaded definitions.
+     */
+    public BulkAccessorGenerator(final SchemaSet schemas) {
+        this.schemas = schemas;
+        this.generator = new JavaGenerator(schemas);
+    }
+
+    /**
+     * Adds the bulk accessors of the vectors of generated tables to their class. Sources are only written
+     * if they change.
+     *
+     * @param types the generated types; types other than tables are ignored.
+     * @param javaOutputDirectory the directory of the generated sources.
+     * @return the number of sources written.
+     * @throws IOException if a source cannot be read or written.
+     * @throws IllegalArgumentException if a bulk accessor has the name of a method of the class.
+     */
+    public int write(final Iterable<Declaration> types, final File javaOutputDirectory) throws IOException {
+        int written = 0;
+        for (final Declaration type : types) {
+            if (type.getKind() != Declaration.Kind.TABLE) {
+                continue;
+            }
+            final File source = new File(javaOutputDirectory,
+                    JavaGenerator.getPath(type).replace('/', File.separatorChar));
+            if (!source.isFile()) {
+                continue;
+            }
+            final String content = Files.asCharSource(source, Charsets.UTF_8).read();
+            final String updated = transform(type, content);
+            if (!updated.equals(content)) {
+                Files.asCharSink(source, Charsets.UTF_8).write(updated);
+                written++;
+            }
+        }
+        return written;
+    }
+
+    /**
+     * Adds the bulk accessors of the vectors of a table to the source of its class, unless it has them.
+     *
+     * @param type the generated type; types other than tables are ignored.
+     * @param source the source of its class.
+     * @return the source with the accessors.
+     * @throws IOException if the source does not declare the builder of the table.
+     * @throws IllegalArgumentException if a bulk accessor has the name of a method of the class.
+     */
+    @Override
+    public String transform(final Declaration type, final String source) throws IOException {
+        if (type.getKind() != Declaration.Kind.TABLE) {
+            return source;
+        }
+        final List<String> names = new ArrayList<String>();
+        final StringBuilder accessors = new StringBuilder();
+        for (final Field field : type.getFields()) {
+            if (!field.isDeprecated() && field.getType().getKind() == TypeRef.Kind.VECTOR) {
+                appendAccessors(type, field, names, accessors);
+            }
+        }
+        if (names.isEmpty() || source.contains(accessors)) {
+            return source;
+        }
+        for (final String name : names) {
+            checkArgument(!source.contains(" " + name + "("), "The bulk accessor %s of %s has the name of "
+                    + "a method of the class", name, type.getFullName());
+        }
+        final int builder = builderStart(type, source);
+        if (builder < 0) {
+            throw new IOException("Cannot find the builder of " + type.getFullName() + " in its source");
+        }
+        return source.substring(0, builder + 1) + accessors + source.substring(builder + 1);
+    }
+
+    /**
+     * Returns the index of the blank line that separates the accessors of a table from its builder,
+     * or -1 if there is none.
+     */
+    private static int builderStart(final Declaration table, final String content) {
+        final int start = content.indexOf("\n\n  public static void start" + table.getName() + "(");
+        final int create = content.indexOf("\n\n  public static int create" + table.getName() + "(");
+        return start < 0 ? create : create < 0 ? start : Math.min(start, create);
+    }
+
+    private void appendAccessors(
+            final Declaration table,
+            final Field field,
+            final List<String> names,
+            final StringBuilder out) {
+        final String camelName = JavaGenerator.makeCamel(field.getName(), false);
+        final int offset = generator.vtableOffset(table, field.getName());
+        final ScalarType scalar = scalarType(field.getType());
+        if (scalar != null) {
+            if (scalar == ScalarType.BOOL) {
+                names.add(camelName + "ToArray");
+                out.append(format("\n  /**\n"
+                        + "   * Copies the elements of {@code %1$s} into an array.\n"
+                        + "   *\n"
+                        + "   * @param dst the array.\n"
+                        + "   * @param offset the index of the first element in the array.\n"
+                        + "   * @return the number of elements copied, 0 if the vector is not set.\n"
+                        + "   */\n"
+                        + "  public int %2$sToArray(boolean[] dst, int offset) {\n"
+                        + "    int o = __offset(%3$d);\n"
+                        + "    if (o == 0) {\n"
+                        + "      return 0;\n"
+                        + "    }\n"
+                        + "    int vector = __vector(o);\n"
+                        + "    int length = __vector_len(o);\n"
+                        + "    for (int i = 0; i < length; i++) {\n"
+                        + "      dst[offset + i] = bb.get(vector + i) != 0;\n"
+                        + "    }\n"
+                        + "    return length;\n"
+                        + "  }\n", field.getName(), camelName, offset));
+            } else {
+                appendViews(field.getName(), camelName, offset, scalar.getSize(), scalar, "elements", names, out);
+            }
+            return;
+        }
+        final Declaration struct = schemas.resolve(field.getType());
+        if (struct == null || struct.getKind() != Declaration.Kind.STRUCT) {
+            return;
+        }
+        final int size = generator.layout(struct).getSize();
+        names.add(camelName + "AsByteBuffer");
+        out.append(format("\n  /**\n"
+                + "   * @return a view of the bytes of the elements of {@code %1$s}, or {@code null} if it is not"
+                + " set.\n"
+                + "   */\n"
+                + "  public ByteBuffer %2$sAsByteBuffer() {\n"
+                + "    return __vector_as_bytebuffer(%3$d, %4$d);\n"
+                + "  }\n", field.getName(), camelName, offset, size));
+        final List<ScalarType> components = new ArrayList<ScalarType>();
+        flatten(struct, components);
+        final String view = components.isEmpty() ? null : viewName(components.get(0));
+        if (view == null) {
+            return;
+        }
+        int componentsSize = 0;
+        for (final ScalarType component : components) {
+            if (!view.equals(viewName(component))) {
+                return;
+            }
+            componentsSize += component.getSize();
+        }
+        if (componentsSize == size) {
+            appendViews(field.getName(), camelName, offset, size, components.get(0), "components of the elements",
+                    names, out);
+        }
+    }
+
+    /**
+     * Appends the typed view of a vector, unless its values are bytes, and the copy of its values.
+     */
+    private static void appendViews(
+            final String fieldName,
+            final String camelName,
+            final int offset,
+            final int elementSize,
+            final ScalarType scalar,
+            final String values,
+            final List<String> names,
+            final StringBuilder out) {
+        final String view = viewName(scalar);
+        final String javaType = view.substring(0, view.length() - "Buffer".length()).toLowerCase();
+        final String viewMethod = camelName + "As" + view;
+        if (scalar.getSize() > 1) {
+            names.add(viewMethod);
+            out.append(format("\n  /**\n"
+                    + "   * @return a view of the %1$s of {@code %2$s}, or {@code null} if it is not set.\n"
+                    + "   */\n"
+                    + "  public %3$s %4$s() {\n"
+                    + "    ByteBuffer bytes = __vector_as_bytebuffer(%5$d, %6$d);\n"
+                    + "    return bytes != null ? bytes.as%3$s() : null;\n"
+                    + "  }\n", values, fieldName, view, viewMethod, offset, elementSize));
+        }
+        names.add(camelName + "ToArray");
+        out.append(format("\n  /**\n"
+                + "   * Copies the %1$s of {@code %2$s} into an array.\n"
+                + "   *\n"
+                + "   * @param dst the array.\n"
+                + "   * @param offset the index of the first value in the array.\n"
+                + "   * @return the number of values copied, 0 if the vector is not set.\n"
+                + "   */\n"
+                + "  public int %3$sToArray(%4$s[] dst, int offset) {\n"
+                + "    ByteBuffer bytes = __vector_as_bytebuffer(%5$d, %6$d);\n"
+                + "    if (bytes == null) {\n"
+                + "      return 0;\n"
+                + "    }\n", values, fieldName, camelName, javaType, offset, elementSize));
+        if (scalar.getSize() > 1) {
+            out.append(format("    %1$s view = bytes.as%1$s();\n"
+                    + "    int length = view.remaining();\n"
+                    + "    view.get(dst, offset, length);\n", view));
+        } else {
+            out.append("    int length = bytes.remaining();\n"
+                    + "    bytes.get(dst, offset, length);\n");
+        }
+        out.append("    return length;\n"
+                + "  }\n");
+    }
+
+    /**
+     * Returns the scalar type of the elements of a vector, the underlying type for enums,
+     * or {@code null} if the elements are not scalars.
+     */
+    private ScalarType scalarType(final TypeRef type) {
+        if (type.getScalarType() != null) {
+            return type.getScalarType();
+        }
+        final Declaration declaration = type.isUserDefined() ? schemas.resolve(type) : null;
+        return declaration != null && declaration.getKind() == Declaration.Kind.ENUM
+                && declaration.getUnderlyingType() != null ? declaration.getUnderlyingType().getScalarType() : null;
+    }
+
+    /**
+     * Adds the scalars of a struct in the order of the layout, nested structs and arrays included.
+     */
+    private void flatten(final Declaration struct, final List<ScalarType> components) {
+        for (final Field field : struct.getFields()) {
+            final int count = field.getType().getKind() == TypeRef.Kind.ARRAY ? field.getType().getLength() : 1;
+            final ScalarType scalar = scalarType(field.getType());
+            final Declaration nested = scalar == null ? schemas.resolve(field.getType()) : null;
+            for (int i = 0; i < count; i++) {
+                if (scalar != null) {
+                    components.add(scalar);
+                } else if (nested != null && nested.getKind() == Declaration.Kind.STRUCT) {
+                    flatten(nested, components);
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns the buffer type that views scalars, or {@code null} for booleans. Signed and unsigned types
+     * of the same size share one.
+     */
+    private static String viewName(final ScalarType scalar) {
+        switch (scalar) {
+            case BYTE:
+            case UBYTE:
+                return "ByteBuffer";
+            case SHORT:
+            case USHORT:
+                return "ShortBuffer";
+            case INT:
+            case UINT:
+                return "IntBuffer";
+            case LONG:
+            case ULONG:
+                return "LongBuffer";
+            case FLOAT:
+                return "FloatBuffer";
+            case DOUBLE:
+                return "DoubleBuffer";
+            default:
+                return null;
+        }
+    }
+}
@@ -0,0 +1,307 @@
+package org.flatbuffers.maven.plugin.flatbuffers.codegen;
+
+/*
+ * Copyright (c) 2016 Maven Flatbuffers Plugin Authors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+import com.google.common.base.Charsets;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSortedMap;
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+import com.google.common.io.Files;
+import org.codehaus.plexus.util.FileUtils;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A cache of generated sources and their compiled classes, shared by the builds of a user.
+ * Entries are keyed by a digest of the definitions and of everything else the generated code depends on,
+ * so that modules that compile the same definitions share an entry.
+ *
+ * <p>An entry is a directory holding the {@code sources} and the {@code classes}. It is written under
+ * a temporary name and renamed once complete, so concurrent builds never see a partial entry. Restoring
+ * an entry marks it as used, and {@link #prune(int)} deletes the entries that were used least recently.</p>
+ *
+ * @since 0.1.0
+ */
+public final class ClassCache {
+
+    private static final String FBS_FILE_SUFFIX = ".fbs";
+
+    /**
+     * The SHA-256 digests of classpath files, by path, size and modification time.
+     */
+    private static final Map<String, String> FILE_DIGESTS = new ConcurrentHashMap<String, String>();
+
+    private final File directory;
+
+    /**
+     * @param directory the directory of the cache.
+     */
+    public ClassCache(final File directory) {
+        this.directory = directory;
+    }
+
+    /**
+     * Computes the key of a compilation. Definitions are identified by their path relative to the include
+     * path element they are found in, so that the key does not depend on where a project is checked out.
+     *
+     * @param fbPathElements the include path of the compilation; all definitions found in it are digested.
+     * @param fbsFiles the definition files that are generated, which must be on the include path.
+     * @param configuration whatever else determines the classes, such as the generator version and
+     *                      the Java target.
+     * @return the key.
+     * @throws IOException if a definition cannot be read.
+     */
+    public static String key(
+            final Iterable<File> fbPathElements,
+            final Iterable<File> fbsFiles,
+            final String... configuration) throws IOException {
+        final Hasher hasher = Hashing.sha256().newHasher();
+        for (final String element : configuration) {
+            hasher.putString(String.valueOf(element), Charsets.UTF_8).putByte((byte) 0);
+        }
+        final List<File> path = ImmutableList.copyOf(fbPathElements);
+        for (int i = 0; i < path.size(); i++) {
+            hasher.putInt(i);
+            for (final Map.Entry<String, File> file : list(path.get(i)).entrySet()) {
+                if (file.getKey().endsWith(FBS_FILE_SUFFIX)) {
+                    hasher.putString(file.getKey(), Charsets.UTF_8).putByte((byte) 0);
+                    hasher.putBytes(Files.toByteArray(file.getValue()));
+                }
+            }
+        }
+        hasher.putByte((byte) 1);
+        for (final File fbsFile : fbsFiles) {
+            hasher.putString(relativePath(path, fbsFile), Charsets.UTF_8).putByte((byte) 0);
+        }
+        return hasher.hash().toString();
+    }
+
+    /**
+     * Digests the content of classpath elements, against which the classes of an entry were compiled, so that
+     * the key changes with the version of {@code flatbuffers-java}. Directories are digested by the relative
+     * path and content of their files; missing elements by their name. The digest of each file is kept in
+     * memory by path, size and modification time, so unchanged jars are only read once per JVM.
+     *
+     * @param classpath the classpath elements, in order.
+     * @return the digest.
+     * @throws IOException if an element cannot be read.
+     */
+    public static String classpathDigest(final Iterable<File> classpath) throws IOException {
+        final Hasher hasher = Hashing.sha256().newHasher();
+        for (final File element : classpath) {
+            hasher.putString(element.getName(), Charsets.UTF_8).putByte((byte) 0);
+            if (element.isFile()) {
+                hasher.putString(fileDigest(element), Charsets.UTF_8);
+            } else {
+                for (final Map.Entry<String, File> file : list(element).entrySet()) {
+                    hasher.putString(file.getKey(), Charsets.UTF_8).putByte((byte) 0);
+                    hasher.putString(fileDigest(file.getValue()), Charsets.UTF_8);
+                }
+            }
+            hasher.putByte((byte) 1);
+        }
+        return hasher.hash().toString();
+    }
+
+    private static String fileDigest(final File file) throws IOException {
+        final String key = file.getAbsolutePath() + '|' + file.length() + '|' + file.lastModified();
+        String digest = FILE_DIGESTS.get(key);
+        if (digest == null) {
+            digest = Files.asByteSource(file).hash(Hashing.sha256()).toString();
+            FILE_DIGESTS.put(key, digest);
+        }
+        return digest;
+    }
+
+    /**
+     * Restores the sources of an entry, and reads its classes.
+     *
+     * @param key the key of the compilation.
+     * @param sourceDirectory the directory into which the sources are restored; only the sources
+     *                        whose content differs are written.
+     * @param deleteStale whether files of the source directory that are not in the entry are deleted.
+     * @return the classes of the entry, or {@code null} if there is no entry for the key.
+     * @throws IOException if the entry cannot be read, or a source cannot be written.
+     */
+    public InMemoryCompiler.Result restore(
+            final String key,
+            final File sourceDirectory,
+            final boolean deleteStale) throws IOException {
+        final File entry = new File(directory, key);
+        if (!entry.isDirectory()) {
+            return null;
+        }
+        entry.setLastModified(System.currentTimeMillis());
+        final ImmutableSortedMap.Builder<String, byte[]> classes = ImmutableSortedMap.naturalOrder();
+        for (final Map.Entry<String, File> file : list(new File(entry, "classes")).entrySet()) {
+            classes.put(file.getKey(), Files.toByteArray(file.getValue()));
+        }
+        final SortedMap<String, File> sources = list(new File(entry, "sources"));
+        for (final Map.Entry<String, File> source : sources.entrySet()) {
+            final File target = new File(sourceDirectory, source.getKey().replace('/', File.separatorChar));
+            final byte[] content = Files.toByteArray(source.getValue());
+            if (!target.isFile() || !Arrays.equals(Files.toByteArray(target), content)) {
+                Files.createParentDirs(target);
+                Files.write(content, target);
+            }
+        }
+        if (deleteStale) {
+            for (final Map.Entry<String, File> file : list(sourceDirectory).entrySet()) {
+                if (!sources.containsKey(file.getKey()) && !file.getValue().delete()) {
+                    throw new IOException("Unable to delete " + file.getValue());
+                }
+            }
+            deleteEmptyDirectories(sourceDirectory);
+        }
+        return new InMemoryCompiler.Result(classes.build(), ImmutableList.<String>of(), ImmutableList.<String>of());
+    }
+
+    /**
+     * Stores the sources and the classes of a compilation. An existing entry is left untouched.
+     *
+     * @param key the key of the compilation.
+     * @param sourceDirectory the directory of the generated sources.
+     * @param classes the compiled classes.
+     * @throws IOException if the entry cannot be written.
+     */
+    public void store(
+            final String key,
+            final File sourceDirectory,
+            final InMemoryCompiler.Result classes) throws IOException {
+        final File entry = new File(directory, key);
+        if (entry.isDirectory()) {
+            return;
+        }
+        final File temporary = new File(directory, key + "." + UUID.randomUUID() + ".tmp");
+        try {
+            for (final Map.Entry<String, File> source : list(sourceDirectory).entrySet()) {
+                final File target = new File(temporary, "sources/" + source.getKey());
+                Files.createParentDirs(target);
+                Files.copy(source.getValue(), target);
+            }
+            for (final Map.Entry<String, byte[]> classFile : classes.getClasses().entrySet()) {
+                final File target = new File(temporary, "classes/" + classFile.getKey());
+                Files.createParentDirs(target);
+                Files.write(classFile.getValue(), target);
+            }
+            // another build may have stored the same entry meanwhile, which is as good as ours
+            if (!temporary.renameTo(entry) && !entry.isDirectory()) {
+                throw new IOException("Unable to store " + entry);
+            }
+        } finally {
+            if (temporary.exists()) {
+                FileUtils.deleteDirectory(temporary);
+            }
+        }
+    }
+
+    /**
+     * Deletes the least recently stored or restored entries, so that at most the given number remain.
+     *
+     * @param maxEntries the number of entries to keep.
+     * @return the number of deleted entries.
+     * @throws IOException if an entry cannot be deleted.
+     */
+    public int prune(final int maxEntries) throws IOException {
+        final File[] children = directory.listFiles();
+        if (children == null) {
+            return 0;
+        }
+        final List<File> entries = new ArrayList<File>();
+        for (final File child : children) {
+            if (child.isDirectory() && !child.getName().endsWith(".tmp")) {
+                entries.add(child);
+            }
+        }
+        Collections.sort(entries, new Comparator<File>() {
+            @Override
+            public int compare(final File left, final File right) {
+                return Long.compare(right.lastModified(), left.lastModified());
+            }
+        });
+        int deleted = 0;
+        for (final File entry : entries.subList(Math.min(maxEntries, entries.size()), entries.size())) {
+            FileUtils.deleteDirectory(entry);
+            deleted++;
+        }
+        return deleted;
+    }
+
+    /**
+     * Lists the files below a directory.
+     *
+     * @return the files by path relative to the directory, with {@code /} separators.
+     */
+    private static SortedMap<String, File> list(final File root) {
+        final SortedMap<String, File> files = new TreeMap<String, File>();
+        collect(root, "", files);
+        return files;
+    }
+
+    private static void collect(final File directory, final String prefix, final Map<String, File> files) {
+        final File[] children = directory.listFiles();
+        if (children == null) {
+            return;
+        }
+        for (final File child : children) {
+            if (child.isDirectory()) {
+                collect(child, prefix + child.getName() + '/', files);
+            } else {
+                files.put(prefix + child.getName(), child);
+            }
+        }
+    }
+
+    private static void deleteEmptyDirectories(final File directory) {
+        final File[] children = directory.listFiles();
+        if (children == null) {
+            return;
+        }
+        for (final File child : children) {
+            if (child.isDirectory()) {
+                deleteEmptyDirectories(child);
+                final String[] remaining = child.list();
+                if (remaining != null && remaining.length == 0) {
+                    child.delete();
+                }
+            }
+        }
+    }
+
+    private static String relativePath(final List<File> path, final File file) {
+        final String absolute = file.getAbsolutePath();
+        for (int i = 0; i < path.size(); i++) {
+            final String root = path.get(i).getAbsolutePath() + File.separator;
+            if (absolute.startsWith(root)) {
+                return i + ":" + absolute.substring(root.length()).replace(File.separatorChar, '/');
+            }
+        }
+        return absolute;
+    }
+}
@@ -0,0 +1,250 @@
+package org.flatbuffers.maven.plugin.flatbuffers.codegen;
+
+/*
+ * Copyright (c) 2016 Maven Flatbuffers Plugin Authors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+import com.google.common.base.Charsets;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSortedMap;
+import com.google.common.io.Files;
+
+import javax.tools.Diagnostic;
+import javax.tools.DiagnosticCollector;
+import javax.tools.FileObject;
+import javax.tools.ForwardingJavaFileManager;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileManager;
+import javax.tools.JavaFileObject;
+import javax.tools.SimpleJavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.StandardLocation;
+import javax.tools.ToolProvider;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+/**
+ * Compiles Java sources held in memory with the {@link JavaCompiler} of the running JDK, without writing
+ * intermediate files and without a separate {@code javac} pass over a source root.
+ * The compiled classes are kept in memory until they are {@linkplain Result#write written}.
+ *
+ * @since 0.1.0
+ */
+public final class InMemoryCompiler {
+
+    /**
+     * The outcome of a compilation.
+     */
+    public static final class Result {
+
+        private final ImmutableSortedMap<String, byte[]> classes;
+
+        private final ImmutableList<String> errors;
+
+        private final ImmutableList<String> warnings;
+
+        Result(
+                final ImmutableSortedMap<String, byte[]> classes,
+                final ImmutableList<String> errors,
+                final ImmutableList<String> warnings) {
+            this.classes = classes;
+            this.errors = errors;
+            this.warnings = warnings;
+        }
+
+        /**
+         * Returns the compiled classes by path, such as {@code com/example/Monster.class}.
+         *
+         * @return the compiled classes, empty if the compilation failed.
+         */
+        public ImmutableSortedMap<String, byte[]> getClasses() {
+            return classes;
+        }
+
+        public ImmutableList<String> getErrors() {
+            return errors;
+        }
+
+        public ImmutableList<String> getWarnings() {
+            return warnings;
+        }
+
+        public boolean isSuccess() {
+            return errors.isEmpty();
+        }
+
+        /**
+         * Writes the classes into a directory. A class file is only written when its content changes,
+         * so that incremental builds do not see untouched classes as modified.
+         *
+         * @param directory the class output directory.
+         * @return the number of class files written.
+         * @throws IOException if a class file cannot be read or written.
+         */
+        public int write(final File directory) throws IOException {
+            int written = 0;
+            for (final Map.Entry<String, byte[]> entry : classes.entrySet()) {
+                final File file = new File(directory, entry.getKey().replace('/', File.separatorChar));
+                if (!file.isFile() || !Arrays.equals(Files.toByteArray(file), entry.getValue())) {
+                    Files.createParentDirs(file);
+                    Files.write(entry.getValue(), file);
+                    written++;
+                }
+            }
+            return written;
+        }
+    }
+
+    private final ImmutableList<File> classpath;
+
+    private final String target;
+
+    /**
+     * @param classpath the classpath of the compilation, which must contain the flatbuffers runtime.
+     * @param target the Java version of the classes, such as {@code 1.8} or {@code 11}.
+     */
+    public InMemoryCompiler(final Iterable<File> classpath, final String target) {
+        this.classpath = ImmutableList.copyOf(classpath);
+        this.target = target;
+    }
+
+    /**
+     * Compiles sources.
+     *
+     * @param sources the content of the sources by path, such as {@code com/example/Monster.java}.
+     * @return the compiled classes, or the errors.
+     * @throws IOException if the classpath cannot be set up.
+     * @throws IllegalStateException if Maven runs on a JRE without a Java compiler.
+     */
+    public Result compile(final Map<String, String> sources) throws IOException {
+        final JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        if (compiler == null) {
+            throw new IllegalStateException("No Java compiler is available, Maven must run on a JDK");
+        }
+        final List<JavaFileObject> units = new ArrayList<JavaFileObject>(sources.size());
+        for (final Map.Entry<String, String> source : sources.entrySet()) {
+            units.add(new SourceFile(source.getKey(), source.getValue()));
+        }
+
+        final List<String> options = new ArrayList<String>();
+        if (compiler.isSupportedOption("--release") >= 0) {
+            options.add("--release");
+            options.add(target.startsWith("1.") ? target.substring(2) : target);
+        } else {
+            options.add("-source");
+            options.add(target);
+            options.add("-target");
+            options.add(target);
+        }
+        options.add("-proc:none");
+        options.add("-nowarn");
+        options.add("-Xlint:none");
+
+        final DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<JavaFileObject>();
+        final StandardJavaFileManager standard = compiler.getStandardFileManager(diagnostics, null, Charsets.UTF_8);
+        final SortedMap<String, ClassFile> classes = new TreeMap<String, ClassFile>();
+        try {
+            standard.setLocation(StandardLocation.CLASS_PATH, classpath);
+            final JavaFileManager fileManager = new ForwardingJavaFileManager<JavaFileManager>(standard) {
+                @Override
+                public JavaFileObject getJavaFileForOutput(
+                        final Location location,
+                        final String className,
+                        final JavaFileObject.Kind kind,
+                        final FileObject sibling) {
+                    final ClassFile classFile = new ClassFile(className.replace('.', '/') + kind.extension);
+                    synchronized (classes) {
+                        classes.put(classFile.path, classFile);
+                    }
+                    return classFile;
+                }
+            };
+            final boolean success = compiler.getTask(null, fileManager, diagnostics, options, null, units).call();
+
+            final ImmutableList.Builder<String> errors = ImmutableList.builder();
+            final ImmutableList.Builder<String> warnings = ImmutableList.builder();
+            for (final Diagnostic<? extends JavaFileObject> diagnostic : diagnostics.getDiagnostics()) {
+                final String message = (diagnostic.getSource() != null
+                        ? diagnostic.getSource().getName() + ":" + diagnostic.getLineNumber() + ": " : "")
+                        + diagnostic.getMessage(Locale.ROOT);
+                if (diagnostic.getKind() == Diagnostic.Kind.ERROR) {
+                    errors.add(message);
+                } else if (diagnostic.getKind() != Diagnostic.Kind.NOTE) {
+                    warnings.add(message);
+                }
+            }
+            if (!success) {
+                final ImmutableList<String> failures = errors.build();
+                return new Result(ImmutableSortedMap.<String, byte[]>of(),
+                        failures.isEmpty() ? ImmutableList.of("Compilation failed") : failures, warnings.build());
+            }
+            final ImmutableSortedMap.Builder<String, byte[]> compiled = ImmutableSortedMap.naturalOrder();
+            for (final ClassFile classFile : classes.values()) {
+                compiled.put(classFile.path, classFile.bytes.toByteArray());
+            }
+            return new Result(compiled.build(), ImmutableList.<String>of(), warnings.build());
+        } finally {
+            standard.close();
+        }
+    }
+
+    /**
+     * A source held in memory.
+     */
+    private static final class SourceFile extends SimpleJavaFileObject {
+
+        private final String content;
+
+        SourceFile(final String path, final String content) {
+            super(URI.create("string:///" + path), Kind.SOURCE);
+            this.content = content;
+        }
+
+        @Override
+        public CharSequence getCharContent(final boolean ignoreEncodingErrors) {
+            return content;
+        }
+    }
+
+    /**
+     * A class file collected in memory.
+     */
+    private static final class ClassFile extends SimpleJavaFileObject {
+
+        private final String path;
+
+        private final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+
+        ClassFile(final String path) {
+            super(URI.create("bytes:///" + path), Kind.CLASS);
+            this.path = path;
+        }
+
+        @Override
+        public OutputStream openOutputStream() {
+            return bytes;
+        }
+    }
+}
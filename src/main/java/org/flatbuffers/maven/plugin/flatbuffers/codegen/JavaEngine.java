@@ -0,0 +1,294 @@
+package org.flatbuffers.maven.plugin.flatbuffers.codegen;
+
+/*
+ * Copyright (c) 2016 Maven Flatbuffers Plugin Authors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+import com.google.common.base.Charsets;
+import com.google.common.base.Predicate;
+import com.google.common.collect.ImmutableList;
+import com.google.common.io.Files;
+import org.flatbuffers.maven.plugin.flatbuffers.idl.Declaration;
+import org.flatbuffers.maven.plugin.flatbuffers.idl.Schema;
+import org.flatbuffers.maven.plugin.flatbuffers.idl.SchemaSet;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Writes the Java sources of loaded definitions into an output directory, in the layout {@code flatc} uses.
+ * Definition files are generated in parallel, and a source file is only written when its content changes,
+ * so that incremental compilers and IDEs do not see untouched files as modified.
+ *
+ * @since 0.1.0
+ */
+public final class JavaEngine {
+
+    /**
+     * The outcome of a generation.
+     */
+    public static final class Result {
+
+        private final ImmutableList<File> files;
+
+        private final int written;
+
+        private final int deleted;
+
+        Result(final ImmutableList<File> files, final int written, final int deleted) {
+            this.files = files;
+            this.written = written;
+            this.deleted = deleted;
+        }
+
+        /**
+         * Returns the generated source files, whether they were written or already up to date.
+         *
+         * @return the source files.
+         */
+        public ImmutableList<File> getFiles() {
+            return files;
+        }
+
+        public int getWritten() {
+            return written;
+        }
+
+        public int getUnchanged() {
+            return files.size() - written;
+        }
+
+        public int getDeleted() {
+            return deleted;
+        }
+    }
+
+    /**
+     * Changes the source of a generated class before it is compared with its file, so that changes to
+     * the generated classes are written with them, and unchanged classes are left untouched.
+     */
+    public interface SourceTransformer {
+
+        /**
+         * @param declaration the generated type.
+         * @param source the source of its class.
+         * @return the source to write, which is {@code source} if the transformer ignores the type.
+         * @throws IOException if the source cannot be changed.
+         */
+        String transform(Declaration declaration, String source) throws IOException;
+    }
+
+    /**
+     * A generated source file and whether it was written.
+     */
+    private static final class Output {
+
+        private final File file;
+
+        private final boolean written;
+
+        Output(final File file, final boolean written) {
+            this.file = file;
+            this.written = written;
+        }
+    }
+
+    private final int threads;
+
+    private final ImmutableList<SourceTransformer> transformers;
+
+    /**
+     * @param threads the number of definition files generated at the same time.
+     */
+    public JavaEngine(final int threads) {
+        this(threads, ImmutableList.<SourceTransformer>of());
+    }
+
+    /**
+     * @param threads the number of definition files generated at the same time.
+     * @param transformers the transformers of the generated sources, applied in order; they may be called
+     *        by several threads at the same time.
+     */
+    public JavaEngine(final int threads, final Iterable<? extends SourceTransformer> transformers) {
+        this.threads = Math.max(1, threads);
+        this.transformers = ImmutableList.copyOf(transformers);
+    }
+
+    /**
+     * Generates the classes declared in the given definition files; classes of included files are not generated,
+     * as with {@code flatc}.
+     *
+     * @param schemas the loaded definitions, which must be free of problems.
+     * @param fbsFiles the definition files to generate.
+     * @param outputDirectory the directory of the Java sources.
+     * @param deleteStale whether files in the output directory that are not generated are deleted.
+     * @param filter selects the types to generate.
+     * @return the generated files.
+     * @throws IOException if a file cannot be read or written.
+     * @throws InterruptedException if the thread is interrupted while sources are generated.
+     */
+    public Result generate(
+            final SchemaSet schemas,
+            final Iterable<File> fbsFiles,
+            final File outputDirectory,
+            final boolean deleteStale,
+            final Predicate<? super Declaration> filter) throws IOException, InterruptedException {
+        final JavaGenerator generator = new JavaGenerator(schemas);
+        final List<Callable<List<Output>>> tasks = new ArrayList<Callable<List<Output>>>();
+        for (final File fbsFile : fbsFiles) {
+            final Schema schema = schemas.getSchemas().get(fbsFile.getAbsoluteFile().toPath().normalize().toFile());
+            if (schema == null) {
+                throw new IllegalArgumentException("Definition file was not loaded: " + fbsFile);
+            }
+            tasks.add(new Callable<List<Output>>() {
+                @Override
+                public List<Output> call() throws IOException {
+                    return write(generator, transformers, schema, filter, outputDirectory);
+                }
+            });
+        }
+
+        final List<List<Output>> results = new ArrayList<List<Output>>(tasks.size());
+        if (threads == 1 || tasks.size() < 2) {
+            for (final Callable<List<Output>> task : tasks) {
+                try {
+                    results.add(task.call());
+                } catch (IOException e) {
+                    throw e;
+                } catch (Exception e) {
+                    throw new IllegalStateException(e);
+                }
+            }
+        } else {
+            final ExecutorService executor = Executors.newFixedThreadPool(threads, new ThreadFactory() {
+                private final AtomicInteger count = new AtomicInteger();
+
+                @Override
+                public Thread newThread(final Runnable runnable) {
+                    final Thread thread = new Thread(runnable, "flatc-java-" + count.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                }
+            });
+            try {
+                for (final Future<List<Output>> future : executor.invokeAll(tasks)) {
+                    try {
+                        results.add(future.get());
+                    } catch (ExecutionException e) {
+                        if (e.getCause() instanceof IOException) {
+                            throw (IOException) e.getCause();
+                        }
+                        throw new IllegalStateException(e.getCause());
+                    }
+                }
+            } finally {
+                executor.shutdownNow();
+            }
+        }
+
+        final ImmutableList.Builder<File> files = ImmutableList.builder();
+        final Set<File> generated = new HashSet<File>();
+        int written = 0;
+        for (final List<Output> result : results) {
+            for (final Output output : result) {
+                files.add(output.file);
+                generated.add(output.file);
+                if (output.written) {
+                    written++;
+                }
+            }
+        }
+        final int deleted = deleteStale ? deleteStale(outputDirectory, generated) : 0;
+        return new Result(files.build(), written, deleted);
+    }
+
+    /**
+     * Generates and writes the classes of one definition file.
+     *
+     * @return the files of the classes.
+     */
+    private static List<Output> write(
+            final JavaGenerator generator,
+            final List<SourceTransformer> transformers,
+            final Schema schema,
+            final Predicate<? super Declaration> filter,
+            final File outputDirectory) throws IOException {
+        final List<Output> files = new ArrayList<Output>();
+        for (final Declaration declaration : schema.getDeclarations()) {
+            if (!JavaGenerator.isGenerated(declaration) || !filter.apply(declaration)) {
+                continue;
+            }
+            final File file = new File(outputDirectory,
+                    JavaGenerator.getPath(declaration).replace('/', File.separatorChar));
+            String source = generator.generate(declaration);
+            for (final SourceTransformer transformer : transformers) {
+                source = transformer.transform(declaration, source);
+            }
+            final byte[] content = source.getBytes(Charsets.UTF_8);
+            final boolean changed = !file.isFile() || !Arrays.equals(Files.toByteArray(file), content);
+            if (changed) {
+                Files.createParentDirs(file);
+                Files.write(content, file);
+            }
+            files.add(new Output(file, changed));
+        }
+        return files;
+    }
+
+    /**
+     * Deletes the files of a directory that were not generated, and the directories left empty.
+     * Sources that other generators write next to those of the engine must be among the generated files,
+     * so this is called once they are written, with {@code deleteStale} unset for {@link #generate}.
+     *
+     * @param directory the directory of the Java sources.
+     * @param generated the files to keep.
+     * @return the number of files deleted.
+     * @throws IOException if a file cannot be deleted.
+     */
+    public static int deleteStale(final File directory, final Set<File> generated) throws IOException {
+        int deleted = 0;
+        final File[] children = directory.listFiles();
+        if (children == null) {
+            return 0;
+        }
+        for (final File child : children) {
+            if (child.isDirectory()) {
+                deleted += deleteStale(child, generated);
+                final String[] remaining = child.list();
+                if (remaining != null && remaining.length == 0 && !child.delete()) {
+                    throw new IOException("Unable to delete " + child);
+                }
+            } else if (!generated.contains(child)) {
+                if (!child.delete()) {
+                    throw new IOException("Unable to delete " + child);
+                }
+                deleted++;
+            }
+        }
+        return deleted;
+    }
+}
@@ -0,0 +1,1222 @@
+package org.flatbuffers.maven.plugin.flatbuffers.codegen;
+
+/*
+ * Copyright (c) 2016 Maven Flatbuffers Plugin Authors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+import com.google.common.collect.ImmutableList;
+import org.flatbuffers.maven.plugin.flatbuffers.idl.Declaration;
+import org.flatbuffers.maven.plugin.flatbuffers.idl.EnumValue;
+import org.flatbuffers.maven.plugin.flatbuffers.idl.Field;
+import org.flatbuffers.maven.plugin.flatbuffers.idl.Schema;
+import org.flatbuffers.maven.plugin.flatbuffers.idl.SchemaSet;
+import org.flatbuffers.maven.plugin.flatbuffers.idl.ScalarType;
+import org.flatbuffers.maven.plugin.flatbuffers.idl.TypeRef;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Generates the Java accessor classes for the declarations of a {@link SchemaSet}, producing the same
+ * source text as {@code flatc --java} of version 1.12.0. The methods follow the structure of the {@code flatc}
+ * Java generator closely, so that differences are easy to track down when {@code flatc} changes.
+ *
+ * <p>The schemas must be free of problems; the generator does not report errors.
+ * Instances are thread safe, declarations may be generated concurrently.</p>
+ *
+ * @since 0.1.0
+ */
+public final class JavaGenerator {
+
+    /**
+     * The version of {@code flatc} whose output is reproduced.
+     */
+    public static final String FLATC_VERSION = "1.12.0";
+
+    private static final String HEADER = "// automatically generated by the FlatBuffers compiler, do not modify\n\n";
+
+    private static final String IMPORTS =
+            "import java.nio.*;\nimport java.lang.*;\nimport java.util.*;\nimport com.google.flatbuffers.*;\n\n";
+
+    /**
+     * Average distance between enum values above which no table of names is generated.
+     */
+    private static final long MAX_SPARSENESS = 5;
+
+    private static final int MAX_ALIGNMENT = 16;
+
+    private static final int LARGEST_SCALAR_SIZE = 8;
+
+    /**
+     * The base types of {@code flatc}, in its order, with their Java types and sizes.
+     */
+    private enum BaseType {
+        UTYPE("byte", 1),
+        BOOL("boolean", 1),
+        CHAR("byte", 1),
+        UCHAR("byte", 1),
+        SHORT("short", 2),
+        USHORT("short", 2),
+        INT("int", 4),
+        UINT("int", 4),
+        LONG("long", 8),
+        ULONG("long", 8),
+        FLOAT("float", 4),
+        DOUBLE("double", 8),
+        STRING("int", 4),
+        VECTOR("int", 4),
+        STRUCT("int", 4),
+        UNION("int", 4),
+        ARRAY("int", 0);
+
+        private final String javaType;
+
+        private final int size;
+
+        BaseType(final String javaType, final int size) {
+            this.javaType = javaType;
+            this.size = size;
+        }
+
+        boolean isScalar() {
+            return compareTo(DOUBLE) <= 0;
+        }
+
+        boolean isFloat() {
+            return this == FLOAT || this == DOUBLE;
+        }
+
+        static BaseType of(final ScalarType scalar) {
+            switch (scalar) {
+                case BOOL:
+                    return BOOL;
+                case BYTE:
+                    return CHAR;
+                case UBYTE:
+                    return UCHAR;
+                default:
+                    return valueOf(scalar.name());
+            }
+        }
+    }
+
+    private static final class Type {
+
+        final BaseType base;
+
+        final BaseType element;
+
+        final Declaration struct;
+
+        final Declaration enumeration;
+
+        final int length;
+
+        Type(final BaseType base) {
+            this(base, null, null, null, 0);
+        }
+
+        Type(
+                final BaseType base,
+                final BaseType element,
+                final Declaration struct,
+                final Declaration enumeration,
+                final int length) {
+            this.base = base;
+            this.element = element;
+            this.struct = struct;
+            this.enumeration = enumeration;
+            this.length = length;
+        }
+
+        Type vectorType() {
+            return new Type(element, null, struct, enumeration, 0);
+        }
+
+        boolean isScalar() {
+            return base.isScalar();
+        }
+
+        /**
+         * Returns whether the type is a struct, as opposed to a table.
+         */
+        boolean isStruct() {
+            return base == BaseType.STRUCT && struct.getKind() == Declaration.Kind.STRUCT;
+        }
+
+        boolean isArray() {
+            return base == BaseType.ARRAY;
+        }
+    }
+
+    /**
+     * A field as {@code flatc} sees it: tables get hidden fields for the types of their unions,
+     * the offset is the vtable offset for tables and the offset in the struct for structs.
+     */
+    private static final class FieldDef {
+
+        final String name;
+
+        final Type type;
+
+        final String constant;
+
+        final boolean deprecated;
+
+        final boolean required;
+
+        final boolean key;
+
+        final Declaration nestedFlatbuffer;
+
+        final ImmutableList<String> documentation;
+
+        final int id;
+
+        final int offset;
+
+        final int padding;
+
+        FieldDef(
+                final String name,
+                final Type type,
+                final String constant,
+                final boolean deprecated,
+                final boolean required,
+                final boolean key,
+                final Declaration nestedFlatbuffer,
+                final ImmutableList<String> documentation,
+                final int id,
+                final int offset,
+                final int padding) {
+            this.name = name;
+            this.type = type;
+            this.constant = constant;
+            this.deprecated = deprecated;
+            this.required = required;
+            this.key = key;
+            this.nestedFlatbuffer = nestedFlatbuffer;
+            this.documentation = documentation;
+            this.id = id;
+            this.offset = offset;
+            this.padding = padding;
+        }
+
+        FieldDef withOffset(final int newOffset, final int newPadding) {
+            return new FieldDef(name, type, constant, deprecated, required, key, nestedFlatbuffer, documentation,
+                    id, newOffset, newPadding);
+        }
+    }
+
+    private final SchemaSet schemas;
+
+    private final ConcurrentMap<Declaration, StructLayout> layouts =
+            new ConcurrentHashMap<Declaration, StructLayout>();
+
+    private final ConcurrentMap<Declaration, ImmutableList<FieldDef>> fields =
+            new ConcurrentHashMap<Declaration, ImmutableList<FieldDef>>();
+
+    public JavaGenerator(final SchemaSet schemas) {
+        this.schemas = schemas;
+    }
+
+    /**
+     * Returns whether a Java class is generated for a declaration; services are not generated.
+     *
+     * @param declaration a declaration of the schema set.
+     * @return {@code true} for tables, structs, enums and unions.
+     */
+    public static boolean isGenerated(final Declaration declaration) {
+        return declaration.getKind() != Declaration.Kind.RPC_SERVICE;
+    }
+
+    /**
+     * Returns the path of the source file of a declaration, relative to the output directory.
+     *
+     * @param declaration a declaration for which {@link #isGenerated(Declaration)} is {@code true}.
+     * @return the path, with {@code /} as separator.
+     */
+    public static String getPath(final Declaration declaration) {
+        final String namespace = declaration.getNamespace();
+        return (namespace.isEmpty() ? "" : namespace.replace('.', '/') + '/') + declaration.getName() + ".java";
+    }
+
+    /**
+     * Generates the source file of a declaration.
+     *
+     * @param declaration a declaration for which {@link #isGenerated(Declaration)} is {@code true}.
+     * @return the content of the source file.
+     */
+    public String generate(final Declaration declaration) {
+        final StringBuilder code = new StringBuilder(HEADER);
+        if (!declaration.getNamespace().isEmpty()) {
+            code.append("package ").append(declaration.getNamespace()).append(";\n\n");
+        }
+        switch (declaration.getKind()) {
+            case ENUM:
+            case UNION:
+                generateEnum(declaration, code);
+                break;
+            case TABLE:
+            case STRUCT:
+                code.append(IMPORTS);
+                generateStruct(declaration, code);
+                break;
+            default:
+                throw new IllegalArgumentException("No Java class is generated for " + declaration);
+        }
+        return code.toString();
+    }
+
+    private void generateEnum(final Declaration enumDef, final StringBuilder code) {
+        final String name = enumDef.getName();
+        final BaseType underlying = enumDef.getKind() == Declaration.Kind.UNION
+                ? BaseType.UTYPE : BaseType.of(enumDef.getUnderlyingType().getScalarType());
+        final boolean unsigned = underlying == BaseType.UTYPE || underlying == BaseType.UCHAR
+                || underlying == BaseType.USHORT || underlying == BaseType.UINT || underlying == BaseType.ULONG;
+        comment(enumDef.getDocumentation(), "", code);
+        if (!enumDef.getAttributes().containsKey("private")) {
+            code.append("public ");
+        }
+        code.append("final class ").append(name).append(" {\n");
+        code.append("  private ").append(name).append("() { }\n");
+        final ImmutableList<EnumValue> values = enumDef.getValues();
+        for (final EnumValue value : values) {
+            comment(value.getDocumentation(), "  ", code);
+            final long number = enumValue(enumDef, value);
+            code.append("  public static final ").append(underlying.javaType).append(' ').append(value.getName())
+                    .append(" = ").append(unsigned ? Long.toUnsignedString(number) : Long.toString(number))
+                    .append(";\n");
+        }
+        if (!values.isEmpty()) {
+            final long min = enumValue(enumDef, values.get(0));
+            final long range = enumValue(enumDef, values.get(values.size() - 1)) - min;
+            if (Long.compareUnsigned(Long.divideUnsigned(range, values.size()), MAX_SPARSENESS) < 0) {
+                code.append("\n  public static final String[] names = { ");
+                long previous = min;
+                for (final EnumValue value : values) {
+                    final long number = enumValue(enumDef, value);
+                    for (long k = number - previous; Long.compareUnsigned(k, 1) > 0; k--) {
+                        code.append("\"\", ");
+                    }
+                    previous = number;
+                    code.append('"').append(value.getName()).append("\", ");
+                }
+                code.append("};\n\n");
+                code.append("  public static String name(int e) { return names[e");
+                if (min != 0) {
+                    code.append(" - ").append(values.get(0).getName());
+                }
+                code.append("]; }\n");
+            }
+        }
+        code.append("}\n\n");
+    }
+
+    private void generateStruct(final Declaration structDef, final StringBuilder code) {
+        final String name = structDef.getName();
+        final boolean fixed = structDef.getKind() == Declaration.Kind.STRUCT;
+        final boolean isPrivate = structDef.getAttributes().containsKey("private");
+        final ImmutableList<FieldDef> fieldDefs = fields(structDef);
+        code.append("@SuppressWarnings(\"unused\")\n");
+        comment(structDef.getDocumentation(), "", code);
+        if (!isPrivate) {
+            code.append("public ");
+        }
+        code.append("final class ").append(name).append(" extends ").append(fixed ? "Struct" : "Table").append(" {\n");
+        if (!fixed) {
+            code.append("  public static void ValidateVersion() { Constants.FLATBUFFERS_")
+                    .append(FLATC_VERSION.replace('.', '_')).append("(); }\n");
+            final String methodName = "getRootAs" + name;
+            final String methodSignature = "  public static " + name + ' ' + methodName;
+            code.append(methodSignature).append("(ByteBuffer _bb) { return ").append(methodName)
+                    .append("(_bb, new ").append(name).append("()); }\n");
+            code.append(methodSignature).append("(ByteBuffer _bb, ").append(name).append(" obj) { ")
+                    .append("_bb.order(ByteOrder.LITTLE_ENDIAN); ")
+                    .append("return (obj.__assign(_bb.getInt(_bb.position()) + _bb.position(), _bb)); }\n");
+            if (isRootType(structDef)) {
+                final String identifier = fileIdentifier(structDef);
+                if (identifier != null) {
+                    code.append("  public static boolean ").append(name)
+                            .append("BufferHasIdentifier(ByteBuffer _bb) { return __has_identifier(_bb, \"")
+                            .append(identifier).append("\"); }\n");
+                }
+            }
+        }
+        code.append("  public void __init(int _i, ByteBuffer _bb) { __reset(_i, _bb); }\n");
+        code.append("  public ").append(name)
+                .append(" __assign(int _i, ByteBuffer _bb) { __init(_i, _bb); return this; }\n\n");
+        for (final FieldDef field : fieldDefs) {
+            if (!field.deprecated) {
+                generateAccessors(fixed, field, code);
+            }
+        }
+        code.append('\n');
+        FieldDef keyField = null;
+        if (fixed) {
+            code.append("  public static int create").append(name).append("(FlatBufferBuilder builder");
+            structArgs(structDef, "", 0, code);
+            code.append(") {\n");
+            structBody(structDef, "", 0, false, code);
+            code.append("    return builder.offset();\n  }\n");
+        } else {
+            keyField = generateBuilder(structDef, fieldDefs, code);
+        }
+        if (keyField != null) {
+            generateKeyLookup(structDef, keyField, code);
+        }
+        generateVectorAccessObject(structDef, keyField, code);
+        code.append("}\n\n");
+    }
+
+    private void generateAccessors(final boolean fixed, final FieldDef field, final StringBuilder code) {
+        comment(field.documentation, "  ", code);
+        final Type type = field.type;
+        final String typeName = typeGet(type);
+        final String typeNameDest = typeGet(destinationType(type, true));
+        final String destMask = destinationMask(type, true);
+        final String camelName = makeCamel(field.name, false);
+        final String methodStart = "  public " + typeNameDest + ' ' + camelName;
+        final String offsetPrefix = type.isArray()
+                ? " { return " : " { int o = __offset(" + field.offset + "); return o != 0 ? ";
+        if (type.base == BaseType.STRUCT) {
+            code.append(methodStart).append("() { return ").append(camelName)
+                    .append("(new ").append(typeName).append("()); }\n");
+        } else if (type.base == BaseType.VECTOR && type.element == BaseType.STRUCT) {
+            code.append(methodStart).append("(int j) { return ").append(camelName)
+                    .append("(new ").append(typeName).append("(), j); }\n");
+        }
+        String getter = destinationCast(type) + getter(type);
+        code.append(methodStart);
+        if (type.isScalar()) {
+            code.append("()");
+            if (fixed) {
+                code.append(" { return ").append(getter).append("(bb_pos + ").append(field.offset).append(')')
+                        .append(destMask);
+            } else {
+                code.append(offsetPrefix).append(getter).append("(o + bb_pos)").append(destMask)
+                        .append(" : ").append(defaultValue(field));
+            }
+        } else {
+            switch (type.base) {
+                case STRUCT:
+                    code.append('(').append(typeName).append(" obj)");
+                    if (fixed) {
+                        code.append(" { return obj.__assign(bb_pos + ").append(field.offset).append(", bb)");
+                    } else {
+                        code.append(offsetPrefix).append("obj.__assign(")
+                                .append(type.isStruct() ? "o + bb_pos" : "__indirect(o + bb_pos)")
+                                .append(", bb) : null");
+                    }
+                    break;
+                case STRING:
+                    code.append("()").append(offsetPrefix).append(getter).append("(o + bb_pos) : null");
+                    break;
+                case ARRAY:
+                case VECTOR:
+                    final Type vectorType = type.vectorType();
+                    code.append('(');
+                    if (vectorType.base == BaseType.UNION) {
+                        code.append("Table obj, ");
+                    } else if (vectorType.base == BaseType.STRUCT) {
+                        code.append(typeName).append(" obj, ");
+                        getter = "obj.__assign";
+                    }
+                    code.append("int j)").append(offsetPrefix).append(getter).append('(');
+                    if (vectorType.base == BaseType.UNION) {
+                        code.append("obj, ");
+                    }
+                    final String index = (type.isArray() ? "bb_pos + " + field.offset + " + " : "__vector(o) + ")
+                            + "j * " + inlineSize(vectorType);
+                    if (vectorType.base == BaseType.STRUCT) {
+                        code.append(vectorType.isStruct() ? index : "__indirect(" + index + ")").append(", bb");
+                    } else {
+                        code.append(index);
+                    }
+                    code.append(')').append(destMask);
+                    if (!type.isArray()) {
+                        code.append(" : ").append(type.element == BaseType.BOOL
+                                ? "false" : type.element.isScalar() ? "0" : "null");
+                    }
+                    break;
+                default:
+                    code.append('(').append(typeName).append(" obj)").append(offsetPrefix).append(getter)
+                            .append("(obj, o + bb_pos) : null");
+            }
+        }
+        code.append("; }\n");
+        if (type.base == BaseType.VECTOR) {
+            code.append("  public int ").append(camelName).append("Length()").append(offsetPrefix)
+                    .append("__vector_len(o) : 0; }\n");
+            if (type.element == BaseType.STRUCT && !type.isStruct()
+                    && type.struct.getKind() == Declaration.Kind.TABLE) {
+                final FieldDef keyField = keyField(type.struct);
+                if (keyField != null) {
+                    final String qualifiedName = type.struct.getFullName();
+                    final String keyType = typeGet(destinationType(keyField.type, true));
+                    code.append("  public ").append(qualifiedName).append(' ').append(camelName).append("ByKey(")
+                            .append(keyType).append(" key)").append(offsetPrefix).append(qualifiedName)
+                            .append(".__lookup_by_key(null, __vector(o), key, bb) : null; }\n");
+                    code.append("  public ").append(qualifiedName).append(' ').append(camelName).append("ByKey(")
+                            .append(qualifiedName).append(" obj, ").append(keyType).append(" key)")
+                            .append(offsetPrefix).append(qualifiedName)
+                            .append(".__lookup_by_key(obj, __vector(o), key, bb) : null; }\n");
+                }
+            }
+            final BaseType elementType = type.element;
+            final String vectorTypeName;
+            if (elementType.isScalar()) {
+                vectorTypeName = makeCamel(typeName, true) + "Vector";
+            } else if (elementType == BaseType.STRING) {
+                vectorTypeName = "StringVector";
+            } else if (elementType == BaseType.UNION) {
+                vectorTypeName = "UnionVector";
+            } else {
+                vectorTypeName = typeName + ".Vector";
+            }
+            final String vectorMethodStart = "  public " + vectorTypeName + ' ' + camelName + "Vector";
+            code.append(vectorMethodStart).append("() { return ").append(camelName).append("Vector(new ")
+                    .append(vectorTypeName).append("()); }\n");
+            code.append(vectorMethodStart).append('(').append(vectorTypeName).append(" obj)").append(offsetPrefix)
+                    .append("obj.__assign(__vector(o), ");
+            if (!elementType.isScalar()) {
+                code.append(inlineSize(type.vectorType())).append(", ");
+            }
+            code.append("bb) : null; }\n");
+        }
+        if (type.base == BaseType.VECTOR && type.element.isScalar() || type.base == BaseType.STRING) {
+            final int size = type.base == BaseType.STRING ? 1 : inlineSize(type.vectorType());
+            code.append("  public ByteBuffer ").append(camelName).append("AsByteBuffer() { return ")
+                    .append("__vector_as_bytebuffer(").append(field.offset).append(", ").append(size)
+                    .append("); }\n");
+            code.append("  public ByteBuffer ").append(camelName).append("InByteBuffer(ByteBuffer _bb) { return ")
+                    .append("__vector_in_bytebuffer(_bb, ").append(field.offset).append(", ").append(size)
+                    .append("); }\n");
+        }
+        if (field.nestedFlatbuffer != null) {
+            final String nestedTypeName = field.nestedFlatbuffer.getFullName();
+            final String nestedMethodName = camelName + "As" + field.nestedFlatbuffer.getName();
+            code.append("  public ").append(nestedTypeName).append(' ').append(nestedMethodName).append("() { return ")
+                    .append(nestedMethodName).append("(new ").append(nestedTypeName).append("()); }\n");
+            code.append("  public ").append(nestedTypeName).append(' ').append(nestedMethodName).append('(')
+                    .append(nestedTypeName).append(" obj) { int o = __offset(").append(field.offset)
+                    .append("); return o != 0 ? obj.__assign(__indirect(__vector(o)), bb) : null; }\n");
+        }
+    }
+
+    /**
+     * Generates the static methods that build a table.
+     *
+     * @return the key field of the table, if any.
+     */
+    private FieldDef generateBuilder(
+            final Declaration structDef,
+            final ImmutableList<FieldDef> fieldDefs,
+            final StringBuilder code) {
+        final String name = structDef.getName();
+        boolean hasNoStructFields = true;
+        int numFields = 0;
+        for (final FieldDef field : fieldDefs) {
+            if (field.deprecated) {
+                continue;
+            }
+            if (field.type.isStruct()) {
+                hasNoStructFields = false;
+            } else {
+                numFields++;
+            }
+        }
+        // Longs and doubles take two of the 255 parameter slots of a method
+        if (hasNoStructFields && numFields > 0 && numFields < 127) {
+            code.append("  public static int create").append(name).append("(FlatBufferBuilder builder");
+            for (final FieldDef field : fieldDefs) {
+                if (field.deprecated) {
+                    continue;
+                }
+                code.append(",\n      ").append(typeBasic(destinationType(field.type, false))).append(' ')
+                        .append(field.name);
+                if (!field.type.isScalar()) {
+                    code.append("Offset");
+                }
+            }
+            code.append(") {\n    builder.startTable(").append(fieldDefs.size()).append(");\n");
+            final boolean sortBySize = !structDef.getAttributes().containsKey("original_order");
+            for (int size = sortBySize ? LARGEST_SCALAR_SIZE : 1; size > 0; size /= 2) {
+                for (final FieldDef field : fieldDefs.reverse()) {
+                    if (!field.deprecated && (!sortBySize || size == field.type.base.size)) {
+                        code.append("    ").append(name).append(".add").append(makeCamel(field.name, true))
+                                .append("(builder, ").append(field.name);
+                        if (!field.type.isScalar()) {
+                            code.append("Offset");
+                        }
+                        code.append(");\n");
+                    }
+                }
+            }
+            code.append("    return ").append(name).append(".end").append(name).append("(builder);\n  }\n\n");
+        }
+        code.append("  public static void start").append(name).append("(FlatBufferBuilder builder) { ")
+                .append("builder.startTable(").append(fieldDefs.size()).append("); }\n");
+        FieldDef keyField = null;
+        for (int i = 0; i < fieldDefs.size(); i++) {
+            final FieldDef field = fieldDefs.get(i);
+            if (field.deprecated) {
+                continue;
+            }
+            if (field.key) {
+                keyField = field;
+            }
+            String argName = makeCamel(field.name, false);
+            if (!field.type.isScalar()) {
+                argName += "Offset";
+            }
+            code.append("  public static void add").append(makeCamel(field.name, true))
+                    .append("(FlatBufferBuilder builder, ").append(typeBasic(destinationType(field.type, false)))
+                    .append(' ').append(argName).append(") { builder.add").append(method(field.type)).append('(')
+                    .append(i).append(", ").append(sourceCast(field.type)).append(argName).append(", ")
+                    .append(sourceCast(field.type)).append(defaultValue(field)).append("); }\n");
+            if (field.type.base == BaseType.VECTOR) {
+                final Type vectorType = field.type.vectorType();
+                final int alignment = inlineAlignment(vectorType);
+                final int elementSize = inlineSize(vectorType);
+                final String camelName = makeCamel(field.name, true);
+                if (!vectorType.isStruct()) {
+                    if (vectorType.base == BaseType.CHAR || vectorType.base == BaseType.UCHAR) {
+                        code.append("  public static int create").append(camelName)
+                                .append("Vector(FlatBufferBuilder builder, byte[] data) ")
+                                .append("{ return builder.createByteVector(data); }\n");
+                        code.append("  public static int create").append(camelName)
+                                .append("Vector(FlatBufferBuilder builder, ByteBuffer data) ")
+                                .append("{ return builder.createByteVector(data); }\n");
+                    } else {
+                        code.append("  public static int create").append(camelName)
+                                .append("Vector(FlatBufferBuilder builder, ").append(typeBasic(vectorType))
+                                .append("[] data) { builder.startVector(").append(elementSize)
+                                .append(", data.length, ").append(alignment).append("); ")
+                                .append("for (int i = data.length - 1; i >= 0; i--) builder.add")
+                                .append(method(vectorType)).append("(data[i]); return builder.endVector(); }\n");
+                    }
+                }
+                code.append("  public static void start").append(camelName)
+                        .append("Vector(FlatBufferBuilder builder, int numElems) { builder.startVector(")
+                        .append(elementSize).append(", numElems, ").append(alignment).append("); }\n");
+            }
+        }
+        code.append("  public static int end").append(name).append("(FlatBufferBuilder builder) {\n")
+                .append("    int o = builder.endTable();\n");
+        for (final FieldDef field : fieldDefs) {
+            if (!field.deprecated && field.required) {
+                code.append("    builder.required(o, ").append(field.offset).append(");  // ")
+                        .append(field.name).append('\n');
+            }
+        }
+        code.append("    return o;\n  }\n");
+        if (isRootType(structDef)) {
+            final String identifier = fileIdentifier(structDef);
+            for (final String sizePrefix : new String[] {"", "SizePrefixed"}) {
+                code.append("  public static void finish").append(sizePrefix).append(name)
+                        .append("Buffer(FlatBufferBuilder builder, int offset) { builder.finish").append(sizePrefix)
+                        .append("(offset");
+                if (identifier != null) {
+                    code.append(", \"").append(identifier).append('"');
+                }
+                code.append("); }\n");
+            }
+        }
+        return keyField;
+    }
+
+    private void generateKeyLookup(final Declaration structDef, final FieldDef keyField, final StringBuilder code) {
+        final String name = structDef.getName();
+        final boolean stringKey = keyField.type.base == BaseType.STRING;
+        code.append("\n  @Override\n  protected int keysCompare(Integer o1, Integer o2, ByteBuffer _bb) {");
+        if (stringKey) {
+            code.append(" return compareStrings(__offset(").append(keyField.offset).append(", o1, _bb), __offset(")
+                    .append(keyField.offset).append(", o2, _bb), _bb); }\n");
+        } else {
+            final String keyType = typeGet(destinationType(keyField.type, true));
+            code.append("\n    ").append(keyType).append(" val_1 = ")
+                    .append(keyGetter(keyField, "_bb", "o1")).append(";\n");
+            code.append("    ").append(keyType).append(" val_2 = ")
+                    .append(keyGetter(keyField, "_bb", "o2")).append(";\n");
+            code.append("    return val_1 > val_2 ? 1 : val_1 < val_2 ? -1 : 0;\n  }\n");
+        }
+        code.append("\n  public static ").append(name).append(" __lookup_by_key(").append(name)
+                .append(" obj, int vectorLocation, ").append(typeGet(destinationType(keyField.type, true)))
+                .append(" key, ByteBuffer bb) {\n");
+        if (stringKey) {
+            code.append("    byte[] byteKey = key.getBytes(java.nio.charset.StandardCharsets.UTF_8);\n");
+        }
+        code.append("    int span = bb.getInt(vectorLocation - 4);\n")
+                .append("    int start = 0;\n")
+                .append("    while (span != 0) {\n")
+                .append("      int middle = span / 2;\n")
+                .append("      int tableOffset = __indirect(vectorLocation + 4 * (start + middle), bb);\n");
+        if (stringKey) {
+            code.append("      int comp = compareStrings(__offset(").append(keyField.offset)
+                    .append(", bb.capacity() - tableOffset, bb), byteKey, bb);\n");
+        } else {
+            code.append("      ").append(typeGet(destinationType(keyField.type, true))).append(" val = ")
+                    .append(keyGetter(keyField, "bb", null)).append(";\n")
+                    .append("      int comp = val > key ? 1 : val < key ? -1 : 0;\n");
+        }
+        code.append("      if (comp > 0) {\n")
+                .append("        span = middle;\n")
+                .append("      } else if (comp < 0) {\n")
+                .append("        middle++;\n")
+                .append("        start += middle;\n")
+                .append("        span -= middle;\n")
+                .append("      } else {\n")
+                .append("        return (obj == null ? new ").append(name).append("() : obj)")
+                .append(".__assign(tableOffset, bb);\n")
+                .append("      }\n    }\n")
+                .append("    return null;\n")
+                .append("  }\n");
+    }
+
+    private String keyGetter(final FieldDef keyField, final String buffer, final String table) {
+        final Type type = keyField.type;
+        String getter = buffer + ".get";
+        if (!"byte".equals(typeBasic(type))) {
+            getter += makeCamel(typeBasic(type), true);
+        }
+        return destinationCast(type) + getter + "(__offset(" + keyField.offset + ", "
+                + (table != null ? table + ", _bb)" : "bb.capacity() - tableOffset, bb)") + ')'
+                + destinationMask(type, true);
+    }
+
+    private void generateVectorAccessObject(
+            final Declaration structDef,
+            final FieldDef keyField,
+            final StringBuilder code) {
+        final String name = structDef.getName();
+        final boolean fixed = structDef.getKind() == Declaration.Kind.STRUCT;
+        code.append('\n');
+        code.append(structDef.getAttributes().containsKey("private") ? "  " : "  public ")
+                .append("static final class Vector extends BaseVector {\n");
+        code.append("    public Vector __assign(int _vector, int _element_size, ByteBuffer _bb) { ")
+                .append("__reset(_vector, _element_size, _bb); return this; }\n\n");
+        code.append("    public ").append(name).append(" get(int j) { return get(new ").append(name)
+                .append("(), j); }\n");
+        code.append("    public ").append(name).append(" get(").append(name)
+                .append(" obj, int j) {  return obj.__assign(")
+                .append(fixed ? "__element(j)" : "__indirect(__element(j), bb)").append(", bb); }\n");
+        if (keyField != null) {
+            final String keyType = typeGet(destinationType(keyField.type, true));
+            code.append("    public ").append(name).append(" getByKey(").append(keyType)
+                    .append(" key) {  return __lookup_by_key(null, __vector(), key, bb); }\n");
+            code.append("    public ").append(name).append(" getByKey(").append(name).append(" obj, ").append(keyType)
+                    .append(" key) {  return __lookup_by_key(obj, __vector(), key, bb); }\n");
+        }
+        code.append("  }\n");
+    }
+
+    /**
+     * Appends the parameters of the {@code create} method of a struct, flattening nested structs.
+     */
+    private void structArgs(
+            final Declaration structDef,
+            final String namePrefix,
+            final int arrayCount,
+            final StringBuilder code) {
+        for (final FieldDef field : fields(structDef)) {
+            final Type type = field.type;
+            final Type fieldType = type.isArray() ? type.vectorType() : type;
+            final int arrays = type.isArray() ? arrayCount + 1 : arrayCount;
+            if (fieldType.isStruct()) {
+                structArgs(fieldType.struct, namePrefix + field.name + '_', arrays, code);
+            } else {
+                code.append(", ").append(typeBasic(type.isArray() ? fieldType : destinationType(fieldType, false)));
+                for (int i = 0; i < arrays; i++) {
+                    code.append("[]");
+                }
+                code.append(' ').append(namePrefix).append(makeCamel(field.name, false));
+            }
+        }
+    }
+
+    /**
+     * Appends the statements that write a struct, last field first, nested structs and arrays inline.
+     */
+    private void structBody(
+            final Declaration structDef,
+            final String namePrefix,
+            final int index,
+            final boolean inArrayOfParent,
+            final StringBuilder code) {
+        final StructLayout layout = layout(structDef);
+        final String indent = spaces((index + 1) * 2);
+        boolean inArray = inArrayOfParent;
+        code.append(indent).append("  builder.prep(").append(layout.getAlignment()).append(", ")
+                .append(layout.getSize()).append(");\n");
+        for (final FieldDef field : fields(structDef).reverse()) {
+            final Type fieldType = field.type;
+            if (field.padding != 0) {
+                code.append(indent).append("  builder.pad(").append(field.padding).append(");\n");
+            }
+            if (fieldType.isStruct()) {
+                structBody(fieldType.struct, namePrefix + field.name + '_', index, inArray, code);
+                continue;
+            }
+            final Type type = fieldType.isArray() ? fieldType.vectorType() : fieldType;
+            final String indexVariable = "_idx" + index;
+            if (fieldType.isArray()) {
+                code.append(indent).append("  for (int ").append(indexVariable).append(" = ")
+                        .append(fieldType.length).append("; ").append(indexVariable).append(" > 0; ")
+                        .append(indexVariable).append("--) {\n");
+                // flatc keeps indexing the remaining fields once it has seen an array
+                inArray = true;
+            }
+            if (type.isStruct()) {
+                structBody(fieldType.struct, namePrefix + field.name + '_', index + 1, inArray, code);
+            } else {
+                code.append(fieldType.isArray() ? "  " : "").append(indent).append("  builder.put")
+                        .append(method(type)).append('(').append(sourceCast(type)).append(namePrefix)
+                        .append(makeCamel(field.name, false));
+                final int arrayCount = index + (fieldType.isArray() ? 1 : 0);
+                for (int i = 0; inArray && i < arrayCount; i++) {
+                    code.append("[_idx").append(i).append("-1]");
+                }
+                code.append(");\n");
+            }
+            if (fieldType.isArray()) {
+                code.append(indent).append("  }\n");
+            }
+        }
+    }
+
+    private static String spaces(final int count) {
+        final StringBuilder spaces = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            spaces.append(' ');
+        }
+        return spaces.toString();
+    }
+
+    private static void comment(final List<String> documentation, final String prefix, final StringBuilder code) {
+        if (documentation.isEmpty()) {
+            return;
+        }
+        code.append(prefix).append("/**\n");
+        for (final String line : documentation) {
+            code.append(prefix).append(" *").append(line).append('\n');
+        }
+        code.append(prefix).append(" */\n");
+    }
+
+    // Type mapping, following the helpers of the flatc Java generator
+
+    private static String typeBasic(final Type type) {
+        return type.base.javaType;
+    }
+
+    private static String typeGet(final Type type) {
+        if (type.isScalar()) {
+            return typeBasic(type);
+        }
+        switch (type.base) {
+            case ARRAY:
+            case VECTOR:
+                return typeGet(type.vectorType());
+            case STRING:
+                return "String";
+            case STRUCT:
+                return type.struct.getFullName();
+            default:
+                return "Table";
+        }
+    }
+
+    private static Type destinationType(final Type type, final boolean vectorElement) {
+        switch (type.base) {
+            case UCHAR:
+            case USHORT:
+                return new Type(BaseType.INT);
+            case UINT:
+                return new Type(BaseType.LONG);
+            case ARRAY:
+            case VECTOR:
+                return vectorElement ? destinationType(type.vectorType(), true) : type;
+            default:
+                return type;
+        }
+    }
+
+    private static String destinationMask(final Type type, final boolean vectorElement) {
+        switch (type.base) {
+            case UCHAR:
+                return " & 0xFF";
+            case USHORT:
+                return " & 0xFFFF";
+            case UINT:
+                return " & 0xFFFFFFFFL";
+            case VECTOR:
+                return vectorElement ? destinationMask(type.vectorType(), true) : "";
+            default:
+                return "";
+        }
+    }
+
+    private static String destinationCast(final Type type) {
+        if (type.base == BaseType.VECTOR || type.isArray()) {
+            return destinationCast(type.vectorType());
+        }
+        return type.base == BaseType.UINT ? "(long)" : "";
+    }
+
+    private static String sourceCast(final Type type) {
+        switch (type.base) {
+            case UINT:
+                return "(int)";
+            case USHORT:
+                return "(short)";
+            case UCHAR:
+                return "(byte)";
+            default:
+                return "";
+        }
+    }
+
+    private static String getter(final Type type) {
+        switch (type.base) {
+            case STRING:
+                return "__string";
+            case STRUCT:
+                return "__struct";
+            case UNION:
+                return "__union";
+            case VECTOR:
+            case ARRAY:
+                return getter(type.vectorType());
+            default:
+                if (type.base == BaseType.BOOL) {
+                    return "0!=bb.get";
+                }
+                return "byte".equals(typeBasic(type)) ? "bb.get" : "bb.get" + makeCamel(typeBasic(type), true);
+        }
+    }
+
+    private static String method(final Type type) {
+        if (type.isScalar()) {
+            return makeCamel(typeBasic(type), true);
+        }
+        return type.isStruct() ? "Struct" : "Offset";
+    }
+
+    private static String defaultValue(final FieldDef field) {
+        final String constant = field.constant;
+        switch (field.type.base) {
+            case BOOL:
+                return "0".equals(constant) ? "false" : "true";
+            case ULONG:
+                return Long.toString(Long.parseUnsignedLong(constant)) + 'L';
+            case UINT:
+            case LONG:
+                return constant + 'L';
+            case FLOAT:
+            case DOUBLE:
+                final String prefix = field.type.base == BaseType.FLOAT ? "Float." : "Double.";
+                final double value = parseFloat(constant, field.type.base);
+                if (Double.isNaN(value)) {
+                    return prefix + "NaN";
+                } else if (Double.isInfinite(value)) {
+                    return prefix + (value > 0 ? "POSITIVE_INFINITY" : "NEGATIVE_INFINITY");
+                }
+                return field.type.base == BaseType.FLOAT ? constant + 'f' : constant;
+            default:
+                return constant;
+        }
+    }
+
+    static String makeCamel(final String name, final boolean first) {
+        final StringBuilder camel = new StringBuilder(name.length());
+        for (int i = 0; i < name.length(); i++) {
+            if (i == 0 && first) {
+                camel.append(Character.toUpperCase(name.charAt(0)));
+            } else if (name.charAt(i) == '_' && i + 1 < name.length()) {
+                camel.append(Character.toUpperCase(name.charAt(++i)));
+            } else {
+                camel.append(name.charAt(i));
+            }
+        }
+        return camel.toString();
+    }
+
+    private int inlineSize(final Type type) {
+        if (type.isStruct()) {
+            return layout(type.struct).getSize();
+        }
+        return type.isArray() ? inlineSize(type.vectorType()) * type.length : type.base.size;
+    }
+
+    private int inlineAlignment(final Type type) {
+        if (type.isStruct()) {
+            return layout(type.struct).getAlignment();
+        }
+        return type.isArray() ? inlineAlignment(type.vectorType()) : type.base.size;
+    }
+
+    // Schema model
+
+    private Type type(final TypeRef ref) {
+        final Type element = elementType(ref);
+        switch (ref.getKind()) {
+            case VECTOR:
+                return new Type(BaseType.VECTOR, element.base, element.struct, element.enumeration, 0);
+            case ARRAY:
+                return new Type(BaseType.ARRAY, element.base, element.struct, element.enumeration, ref.getLength());
+            default:
+                return element;
+        }
+    }
+
+    private Type elementType(final TypeRef ref) {
+        if (ref.isString()) {
+            return new Type(BaseType.STRING);
+        }
+        final ScalarType scalar = ref.getScalarType();
+        if (scalar != null) {
+            return new Type(BaseType.of(scalar));
+        }
+        final Declaration declaration = resolve(ref);
+        switch (declaration.getKind()) {
+            case ENUM:
+                return new Type(BaseType.of(declaration.getUnderlyingType().getScalarType()), null, null,
+                        declaration, 0);
+            case UNION:
+                return new Type(BaseType.UNION, null, null, declaration, 0);
+            default:
+                return new Type(BaseType.STRUCT, null, declaration, null, 0);
+        }
+    }
+
+    private Declaration resolve(final TypeRef ref) {
+        final Declaration declaration = schemas.resolve(ref);
+        if (declaration == null) {
+            throw new IllegalStateException("type referenced but not defined: " + ref.getName());
+        }
+        return declaration;
+    }
+
+    /**
+     * Returns the fields of a table or struct as {@code flatc} sees them, with offsets and paddings.
+     */
+    private ImmutableList<FieldDef> fields(final Declaration structDef) {
+        ImmutableList<FieldDef> fieldDefs = fields.get(structDef);
+        if (fieldDefs == null) {
+            fieldDefs = structDef.getKind() == Declaration.Kind.STRUCT
+                    ? structFields(structDef)
+                    : tableFields(structDef);
+            fields.putIfAbsent(structDef, fieldDefs);
+        }
+        return fieldDefs;
+    }
+
+    private ImmutableList<FieldDef> tableFields(final Declaration table) {
+        final List<FieldDef> fieldDefs = new ArrayList<FieldDef>();
+        boolean hasIds = false;
+        for (final Field field : table.getFields()) {
+            final Type type = type(field.getType());
+            final String idAttribute = field.getAttributes().get("id");
+            final int id = idAttribute != null ? Integer.parseInt(idAttribute) : -1;
+            hasIds |= idAttribute != null;
+            final boolean key = field.getAttributes().containsKey("key");
+            // a string key is implicitly required
+            final boolean required = field.getAttributes().containsKey("required") || key && !type.isScalar();
+            if (type.base == BaseType.UNION) {
+                fieldDefs.add(new FieldDef(field.getName() + "_type", new Type(BaseType.UTYPE, null, null,
+                        type.enumeration, 0), "0", false, false, false, null,
+                        ImmutableList.<String>of(), id - 1, 0, 0));
+            } else if (type.base == BaseType.VECTOR && type.element == BaseType.UNION) {
+                fieldDefs.add(new FieldDef(field.getName() + "_type", new Type(BaseType.VECTOR, BaseType.UTYPE,
+                        null, type.enumeration, 0), "0", false, required, false, null,
+                        ImmutableList.<String>of(), id - 1, 0, 0));
+            }
+            final String nested = field.getAttributes().get("nested_flatbuffer");
+            fieldDefs.add(new FieldDef(field.getName(), type, constant(type, field.getDefaultValue()),
+                    field.isDeprecated(), required, key,
+                    nested != null ? resolve(new TypeRef(nested, TypeRef.Kind.SINGLE, 0,
+                            field.getType().getScope(), field.getLocation())) : null,
+                    field.getDocumentation(), id, 0, 0));
+        }
+        if (hasIds) {
+            Collections.sort(fieldDefs, new Comparator<FieldDef>() {
+                @Override
+                public int compare(final FieldDef a, final FieldDef b) {
+                    return Integer.compare(a.id, b.id);
+                }
+            });
+        }
+        final ImmutableList.Builder<FieldDef> result = ImmutableList.builder();
+        for (int i = 0; i < fieldDefs.size(); i++) {
+            result.add(fieldDefs.get(i).withOffset(4 + 2 * i, 0));
+        }
+        return result.build();
+    }
+
+    private ImmutableList<FieldDef> structFields(final Declaration struct) {
+        final StructLayout layout = layout(struct);
+        final ImmutableList.Builder<FieldDef> result = ImmutableList.builder();
+        for (int i = 0; i < struct.getFields().size(); i++) {
+            final Field field = struct.getFields().get(i);
+            final Type type = type(field.getType());
+            result.add(new FieldDef(field.getName(), type, constant(type, field.getDefaultValue()),
+                    field.isDeprecated(), false, field.getAttributes().containsKey("key"), null,
+                    field.getDocumentation(), -1, layout.getOffset(i), layout.getPadding(i)));
+        }
+        return result.build();
+    }
+
+    /**
+     * Lays out a struct the way {@code flatc} does: each field is aligned to its own alignment
+     * and the struct is padded to its largest alignment, or to its {@code force_align}.
+     */
+    StructLayout layout(final Declaration struct) {
+        StructLayout layout = layouts.get(struct);
+        if (layout != null) {
+            return layout;
+        }
+        final int count = struct.getFields().size();
+        final int[] offsets = new int[count];
+        final int[] paddings = new int[count];
+        int size = 0;
+        int alignment = 1;
+        for (int i = 0; i < count; i++) {
+            final Type type = type(struct.getFields().get(i).getType());
+            final int fieldAlignment = inlineAlignment(type);
+            alignment = Math.max(alignment, fieldAlignment);
+            if (i > 0) {
+                paddings[i - 1] = StructLayout.paddingBytes(size, fieldAlignment);
+                size += paddings[i - 1];
+            }
+            offsets[i] = size;
+            size += inlineSize(type);
+        }
+        final String forceAlign = struct.getAttributes().get("force_align");
+        if (forceAlign != null) {
+            try {
+                final int align = Integer.parseInt(forceAlign);
+                if (align >= alignment && align <= MAX_ALIGNMENT && (align & (align - 1)) == 0) {
+                    alignment = align;
+                }
+            } catch (NumberFormatException e) {
+                // reported by the schema checks, the natural alignment is kept
+            }
+        }
+        if (count > 0) {
+            paddings[count - 1] = StructLayout.paddingBytes(size, alignment);
+            size += paddings[count - 1];
+        }
+        final ImmutableList.Builder<Integer> offsetList = ImmutableList.builder();
+        final ImmutableList.Builder<Integer> paddingList = ImmutableList.builder();
+        for (int i = 0; i < count; i++) {
+            offsetList.add(offsets[i]);
+            paddingList.add(paddings[i]);
+        }
+        layout = new StructLayout(struct, offsetList.build(), paddingList.build(), size, alignment);
+        final StructLayout existing = layouts.putIfAbsent(struct, layout);
+        return existing != null ? existing : layout;
+    }
+
+    /**
+     * Returns the offset of a field in the vtables of a table, as the accessors of the field use it.
+     */
+    int vtableOffset(final Declaration table, final String fieldName) {
+        for (final FieldDef field : fields(table)) {
+            if (field.name.equals(fieldName)) {
+                return field.offset;
+            }
+        }
+        throw new IllegalArgumentException("No field " + fieldName + " in " + table.getFullName());
+    }
+
+    private FieldDef keyField(final Declaration table) {
+        for (final FieldDef field : fields(table)) {
+            if (field.key) {
+                return field;
+            }
+        }
+        return null;
+    }
+
+    private boolean isRootType(final Declaration table) {
+        final Schema schema = schemas.getSchemas().get(table.getLocation().getFile());
+        return schema != null && schema.getRootType() != null && schemas.resolve(schema.getRootType()) == table;
+    }
+
+    private String fileIdentifier(final Declaration table) {
+        return schemas.getSchemas().get(table.getLocation().getFile()).getFileIdentifier();
+    }
+
+    private long enumValue(final Declaration enumDef, final EnumValue value) {
+        return enumDef.getAttributes().containsKey("bit_flags") ? 1L << value.getValue() : value.getValue();
+    }
+
+    /**
+     * Normalizes a default value the way {@code flatc} stores it: integers in decimal, unsigned for
+     * {@code ulong}, booleans as {@code 0} or {@code 1}, enum value names replaced by their values
+     * and floating point values as written.
+     */
+    private String constant(final Type type, final String value) {
+        if (!type.isScalar()) {
+            return "0";
+        }
+        if (type.base.isFloat()) {
+            if (value == null) {
+                return "0.0";
+            }
+            final String unsigned = value.startsWith("-") || value.startsWith("+") ? value.substring(1) : value;
+            if (Character.isLetter(unsigned.charAt(0)) || unsigned.matches(".*[.eEpP].*")) {
+                return value;
+            }
+            return value + ".0";
+        }
+        long number = 0;
+        if (value == null || "false".equals(value)) {
+            number = 0;
+        } else if ("true".equals(value)) {
+            number = 1;
+        } else if (Character.isDigit(value.charAt(value.startsWith("-") || value.startsWith("+") ? 1 : 0))) {
+            number = parseInteger(value);
+        } else if (type.enumeration != null) {
+            for (final String name : value.split("\\s+")) {
+                number |= enumValue(type.enumeration, type.enumeration.getValue(name));
+            }
+        }
+        return type.base == BaseType.ULONG ? Long.toUnsignedString(number) : Long.toString(number);
+    }
+
+    private static long parseInteger(final String text) {
+        final boolean negative = text.startsWith("-");
+        final String digits = text.startsWith("-") || text.startsWith("+") ? text.substring(1) : text;
+        final boolean hex = digits.length() > 2 && (digits.charAt(1) | 0x20) == 'x';
+        final long value = hex ? Long.parseUnsignedLong(digits.substring(2), 16) : Long.parseUnsignedLong(digits);
+        return negative ? -value : value;
+    }
+
+    private static double parseFloat(final String text, final BaseType type) {
+        final String unsigned = text.startsWith("-") || text.startsWith("+") ? text.substring(1) : text;
+        if ("nan".equals(unsigned)) {
+            return Double.NaN;
+        } else if ("inf".equals(unsigned) || "infinity".equals(unsigned)) {
+            return text.startsWith("-") ? Double.NEGATIVE_INFINITY : Double.POSITIVE_INFINITY;
+        }
+        return type == BaseType.FLOAT ? Float.parseFloat(text) : Double.parseDouble(text);
+    }
+}
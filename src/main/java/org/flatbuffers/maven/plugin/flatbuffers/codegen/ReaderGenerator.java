@@ -0,0 +1,305 @@
+package org.flatbuffers.maven.plugin.flatbuffers.codegen;
+
+/*
+ * Copyright (c) 2016 Maven Flatbuffers Plugin Authors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+import com.google.common.base.Charsets;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.ImmutableSetMultimap;
+import com.google.common.io.Files;
+import org.flatbuffers.maven.plugin.flatbuffers.idl.Declaration;
+import org.flatbuffers.maven.plugin.flatbuffers.idl.EnumValue;
+import org.flatbuffers.maven.plugin.flatbuffers.idl.Field;
+import org.flatbuffers.maven.plugin.flatbuffers.idl.SchemaSet;
+import org.flatbuffers.maven.plugin.flatbuffers.idl.TypeRef;
+
+import java.io.File;
+import java.io.IOException;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+/**
+ * Generates, for each table and struct, a reader that reads nested tables, structs and vector elements
+ * into flyweights it keeps, rather than into new objects as the accessors of {@code flatc} without an
+ * {@code obj} parameter do.
+ *
+ * <p>A reader holds the flyweight of its own value, and one reader for each field of a table or struct type,
+ * created the first time the field is read. Readers are created lazily so that recursive types have finite
+ * readers; once every path of a traversal has been read, reading the same paths again allocates nothing.
+ * Fields whose type has no reader, vectors of unions and deprecated fields are left to the accessors of
+ * the generated classes.</p>
+ *
+ * @since 0.1.0
+ */
+public final class ReaderGenerator {
+
+    /**
+     * The suffix of the name of the reader of a type.
+     */
+    public static final String CLASS_NAME_SUFFIX = "Reader";
+
+    private static final String HEADER =
+            "// automatically generated by the flatbuffers-maven-plugin, do not modify\n\n";
+
+    private static final ImmutableSet<String> RESERVED_METHODS = ImmutableSet.of("get", "wrap");
+
+    private final SchemaSet schemas;
+
+    private final ImmutableList<Declaration> types;
+
+    /**
+     * @param schemas the loaded definitions.
+     * @param types the generated types; readers are generated for the tables and structs among them.
+     */
+    public ReaderGenerator(final SchemaSet schemas, final Iterable<Declaration> types) {
+        this.schemas = schemas;
+        final ImmutableList.Builder<Declaration> readable = ImmutableList.builder();
+        for (final Declaration type : types) {
+            if (type.getKind() == Declaration.Kind.TABLE || type.getKind() == Declaration.Kind.STRUCT) {
+                readable.add(type);
+            }
+        }
+        this.types = readable.build();
+    }
+
+    /**
+     * @return the tables and structs that have a reader.
+     */
+    public ImmutableList<Declaration> getTypes() {
+        return types;
+    }
+
+    /**
+     * Writes the readers, in the packages of their types. Sources are only written if they change.
+     *
+     * @param javaOutputDirectory the directory of the generated sources.
+     * @return the accessors the readers call, by internal class name such as {@code MyGame/Example/Monster}.
+     * @throws IOException if a source cannot be written.
+     * @throws IllegalArgumentException if the name of a reader is the name of a type of the definitions,
+     *         or a field of a type has the name of a method of the readers.
+     */
+    public ImmutableSetMultimap<String, String> write(final File javaOutputDirectory) throws IOException {
+        final ImmutableSetMultimap.Builder<String, String> calls = ImmutableSetMultimap.builder();
+        for (final Declaration type : types) {
+            write(type, javaOutputDirectory, calls);
+        }
+        return calls.build();
+    }
+
+    /**
+     * Returns the sources of the readers.
+     *
+     * @param javaOutputDirectory the directory of the generated sources.
+     * @return the source files, in the packages of their types.
+     */
+    public ImmutableList<File> getSourceFiles(final File javaOutputDirectory) {
+        final ImmutableList.Builder<File> files = ImmutableList.builder();
+        for (final Declaration type : types) {
+            files.add(sourceFile(type, javaOutputDirectory));
+        }
+        return files.build();
+    }
+
+    private static File sourceFile(final Declaration type, final File javaOutputDirectory) {
+        return new File(javaOutputDirectory, (type.getNamespace().isEmpty() ? ""
+                : type.getNamespace().replace('.', File.separatorChar) + File.separator) + type.getName()
+                + CLASS_NAME_SUFFIX + ".java");
+    }
+
+    private void write(
+            final Declaration type,
+            final File javaOutputDirectory,
+            final ImmutableSetMultimap.Builder<String, String> calls) throws IOException {
+        checkArgument(!schemas.getTypes().containsKey(type.getFullName() + CLASS_NAME_SUFFIX),
+                "The reader of %s has the name of a type of the definitions", type.getFullName());
+        final boolean table = type.getKind() == Declaration.Kind.TABLE;
+        final String name = type.getName();
+        final String simpleName = name + CLASS_NAME_SUFFIX;
+        final String className = JavaGenerator.getPath(type).replaceAll("\\.java$", "");
+        final StringBuilder fields = new StringBuilder();
+        final StringBuilder methods = new StringBuilder();
+
+        for (final Field field : type.getFields()) {
+            if (field.isDeprecated()) {
+                continue;
+            }
+            final TypeRef ref = field.getType();
+            final Declaration fieldType = ref.isUserDefined() ? schemas.resolve(ref) : null;
+            final String camelName = JavaGenerator.makeCamel(field.getName(), false);
+            if (fieldType != null && ref.getKind() == TypeRef.Kind.SINGLE
+                    && fieldType.getKind() == Declaration.Kind.UNION) {
+                final String typeAccessor = JavaGenerator.makeCamel(field.getName() + "_type", false);
+                for (final EnumValue member : fieldType.getValues()) {
+                    final Declaration memberType = member.getType() != null ? schemas.resolve(member.getType()) : null;
+                    if (memberType == null || !types.contains(memberType)) {
+                        continue;
+                    }
+                    final String method = camelName + "As" + member.getName();
+                    checkMethod(type, method);
+                    calls.put(className, typeAccessor);
+                    calls.put(className, camelName);
+                    fields.append("  private ").append(readerName(memberType)).append(' ').append(method)
+                            .append(CLASS_NAME_SUFFIX).append(";\n\n");
+                    methods.append("  /**\n")
+                            .append("   * @return the reader of {@code ").append(field.getName())
+                            .append("} if it holds a {@code ").append(member.getName())
+                            .append("}, or {@code null}.\n")
+                            .append("   */\n")
+                            .append("  public ").append(readerName(memberType)).append(' ').append(method)
+                            .append("() {\n")
+                            .append("    if (value.").append(typeAccessor).append("() != ")
+                            .append(fieldType.getFullName()).append('.').append(member.getName()).append(") {\n")
+                            .append("      return null;\n")
+                            .append("    }\n");
+                    appendLazyReader(method + CLASS_NAME_SUFFIX, memberType, methods);
+                    methods.append("    return value.").append(camelName).append('(').append(method)
+                            .append(CLASS_NAME_SUFFIX).append(".get()) != null ? ").append(method)
+                            .append(CLASS_NAME_SUFFIX).append(" : null;\n")
+                            .append("  }\n\n");
+                }
+            } else if (fieldType != null && types.contains(fieldType)) {
+                checkMethod(type, camelName);
+                final String reader = camelName + CLASS_NAME_SUFFIX;
+                calls.put(className, camelName);
+                fields.append("  private ").append(readerName(fieldType)).append(' ').append(reader).append(";\n\n");
+                if (ref.getKind() == TypeRef.Kind.SINGLE) {
+                    methods.append("  /**\n")
+                            .append("   * @return the reader of {@code ").append(field.getName())
+                            .append("}, or {@code null} if it is not set.\n")
+                            .append("   */\n")
+                            .append("  public ").append(readerName(fieldType)).append(' ').append(camelName)
+                            .append("() {\n");
+                    appendLazyReader(reader, fieldType, methods);
+                    methods.append("    return value.").append(camelName).append('(').append(reader)
+                            .append(".get()) != null ? ").append(reader).append(" : null;\n")
+                            .append("  }\n\n");
+                } else {
+                    methods.append("  /**\n")
+                            .append("   * Reads an element of {@code ").append(field.getName())
+                            .append("}. All elements are read by the same reader.\n")
+                            .append("   *\n")
+                            .append("   * @param j the index of the element.\n")
+                            .append("   * @return the reader of the element, or {@code null} if it is not set.\n")
+                            .append("   */\n")
+                            .append("  public ").append(readerName(fieldType)).append(' ').append(camelName)
+                            .append("(int j) {\n");
+                    appendLazyReader(reader, fieldType, methods);
+                    methods.append("    return value.").append(camelName).append('(').append(reader)
+                            .append(".get(), j) != null ? ").append(reader).append(" : null;\n")
+                            .append("  }\n\n");
+                    if (ref.getKind() == TypeRef.Kind.VECTOR) {
+                        calls.put(className, camelName + "Length");
+                        methods.append("  /**\n")
+                                .append("   * @return the number of elements of {@code ").append(field.getName())
+                                .append("}.\n")
+                                .append("   */\n")
+                                .append("  public int ").append(camelName).append("Length() {\n")
+                                .append("    return value.").append(camelName).append("Length();\n")
+                                .append("  }\n\n");
+                    }
+                }
+            }
+            final String nested = field.getAttributes().get("nested_flatbuffer");
+            final Declaration nestedType = nested != null ? schemas.resolve(new TypeRef(nested, TypeRef.Kind.SINGLE,
+                    0, ref.getScope(), field.getLocation())) : null;
+            if (nestedType != null && types.contains(nestedType)) {
+                final String method = camelName + "As" + nestedType.getName();
+                checkMethod(type, method);
+                calls.put(className, method);
+                fields.append("  private ").append(readerName(nestedType)).append(' ').append(method)
+                        .append(CLASS_NAME_SUFFIX).append(";\n\n");
+                methods.append("  /**\n")
+                        .append("   * @return the reader of the root table nested in {@code ").append(field.getName())
+                        .append("}, or {@code null} if it is not set.\n")
+                        .append("   */\n")
+                        .append("  public ").append(readerName(nestedType)).append(' ').append(method)
+                        .append("() {\n");
+                appendLazyReader(method + CLASS_NAME_SUFFIX, nestedType, methods);
+                methods.append("    return value.").append(method).append('(').append(method).append(CLASS_NAME_SUFFIX)
+                        .append(".get()) != null ? ").append(method).append(CLASS_NAME_SUFFIX).append(" : null;\n")
+                        .append("  }\n\n");
+            }
+        }
+
+        final StringBuilder out = new StringBuilder(HEADER);
+        if (!type.getNamespace().isEmpty()) {
+            out.append("package ").append(type.getNamespace()).append(";\n\n");
+        }
+        if (table) {
+            out.append("import java.nio.ByteBuffer;\n\n");
+        }
+        out.append("/**\n")
+                .append(" * Reads {@link ").append(name).append("} values without allocating: the reader, and the")
+                .append(" readers it returns,\n")
+                .append(" * are reused by each read. A returned reader is valid until the method that returned it")
+                .append(" is called again\n")
+                .append(" * on the same reader. Readers are not thread-safe.\n")
+                .append(" */\n");
+        if (!type.getAttributes().containsKey("private")) {
+            out.append("public ");
+        }
+        out.append("final class ").append(simpleName).append(" {\n\n")
+                .append("  private final ").append(name).append(" value = new ").append(name).append("();\n\n")
+                .append(fields);
+        if (table) {
+            calls.put(className, "getRootAs" + name);
+            out.append("  /**\n")
+                    .append("   * Reads the root table of a buffer.\n")
+                    .append("   *\n")
+                    .append("   * @param bb the buffer, positioned at the start of the flatbuffer.\n")
+                    .append("   * @return this reader.\n")
+                    .append("   */\n")
+                    .append("  public ").append(simpleName).append(" wrap(ByteBuffer bb) {\n")
+                    .append("    ").append(name).append(".getRootAs").append(name).append("(bb, value);\n")
+                    .append("    return this;\n")
+                    .append("  }\n\n");
+        }
+        out.append("  /**\n")
+                .append("   * @return the flyweight of the value read, reused by the next read.\n")
+                .append("   */\n")
+                .append("  public ").append(name).append(" get() {\n")
+                .append("    return value;\n")
+                .append("  }\n");
+        if (methods.length() > 0) {
+            out.append('\n').append(methods, 0, methods.length() - 1);
+        }
+        out.append("}\n");
+
+        final File source = sourceFile(type, javaOutputDirectory);
+        final String content = out.toString();
+        if (source.isFile() && Files.asCharSource(source, Charsets.UTF_8).read().equals(content)) {
+            return;
+        }
+        Files.createParentDirs(source);
+        Files.asCharSink(source, Charsets.UTF_8).write(content);
+    }
+
+    private static void checkMethod(final Declaration type, final String method) {
+        checkArgument(!RESERVED_METHODS.contains(method), "The reader of %s cannot declare %s(), "
+                + "which is a method of all readers", type.getFullName(), method);
+    }
+
+    private static void appendLazyReader(final String reader, final Declaration type, final StringBuilder out) {
+        out.append("    if (").append(reader).append(" == null) {\n")
+                .append("      ").append(reader).append(" = new ").append(readerName(type)).append("();\n")
+                .append("    }\n");
+    }
+
+    private static String readerName(final Declaration type) {
+        return type.getFullName() + CLASS_NAME_SUFFIX;
+    }
+}
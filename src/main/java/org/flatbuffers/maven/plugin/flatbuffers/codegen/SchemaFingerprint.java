@@ -0,0 +1,345 @@
+package org.flatbuffers.maven.plugin.flatbuffers.codegen;
+
+/*
+ * Copyright (c) 2016 Maven Flatbuffers Plugin Authors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+import com.google.common.base.Charsets;
+import com.google.common.hash.Hashing;
+import com.google.common.io.Files;
+import org.flatbuffers.maven.plugin.flatbuffers.idl.Declaration;
+import org.flatbuffers.maven.plugin.flatbuffers.idl.EnumValue;
+import org.flatbuffers.maven.plugin.flatbuffers.idl.Field;
+import org.flatbuffers.maven.plugin.flatbuffers.idl.SchemaSet;
+import org.flatbuffers.maven.plugin.flatbuffers.idl.TypeRef;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import static java.lang.String.format;
+
+/**
+ * Computes a 64-bit structural fingerprint of tables and structs, which peers can exchange to check that they
+ * read and write buffers the same way, instead of exchanging whole schemas.
+ *
+ * <p>The fingerprint of a type covers the types it uses, transitively, so the fingerprint of a {@code root_type}
+ * covers everything its buffers may hold. It is the first 64 bits of the SHA-256 digest of a canonical
+ * description: the field ids, types, deprecations, required fields and scalar default values of tables,
+ * the field types and alignment of structs, the underlying types and values of enums, and the members of
+ * unions. Defaults are part of the format, as a reader sees the default of a field its writer left out; they are
+ * described by value, so {@code 16} and {@code 0x10}, or an enum value and its number, are the same. Names and
+ * documentation are left out, so renaming a field or a type keeps the fingerprint, as it keeps the binary
+ * format.</p>
+ *
+ * <p>The constants are added to the sources of {@code flatc} once they are written, or by {@link JavaEngine}
+ * as it generates them.</p>
+ *
+ * @since 0.1.0
+ */
+public final class SchemaFingerprint implements JavaEngine.SourceTransformer {
+
+    /**
+     * The name of the constant holding the fingerprint in generated classes.
+     */
+    public static final String CONSTANT_NAME = "FINGERPRINT";
+
+    private final SchemaSet schemas;
+
+    private final ConcurrentMap<Declaration, Long> fingerprints = new ConcurrentHashMap<Declaration, Long>();
+
+    /**
+     * @param schemas the loaded definitions.
+     */
+    public SchemaFingerprint(final SchemaSet schemas) {
+        this.schemas = schemas;
+    }
+
+    /**
+     * Returns the fingerprint of a type.
+     *
+     * @param type a table, struct, enum or union.
+     * @return the fingerprint.
+     */
+    public long of(final Declaration type) {
+        Long fingerprint = fingerprints.get(type);
+        if (fingerprint == null) {
+            final StringBuilder description = new StringBuilder();
+            describe(type, new HashMap<Declaration, Integer>(), description);
+            fingerprint = Hashing.sha256().hashString(description, Charsets.UTF_8).asLong();
+            fingerprints.putIfAbsent(type, fingerprint);
+        }
+        return fingerprint;
+    }
+
+    /**
+     * Declares the fingerprint of generated tables and structs as a {@code public static final long} constant
+     * of their class. Sources are only written if they change.
+     *
+     * @param types the generated types; types other than tables and structs are ignored.
+     * @param javaOutputDirectory the directory of the generated sources.
+     * @return the number of sources written.
+     * @throws IOException if a source cannot be read or written.
+     */
+    public int writeConstants(final Iterable<Declaration> types, final File javaOutputDirectory) throws IOException {
+        int written = 0;
+        for (final Declaration type : types) {
+            if (type.getKind() != Declaration.Kind.TABLE && type.getKind() != Declaration.Kind.STRUCT) {
+                continue;
+            }
+            final File source = new File(javaOutputDirectory,
+                    JavaGenerator.getPath(type).replace('/', File.separatorChar));
+            if (!source.isFile()) {
+                continue;
+            }
+            final String content = Files.asCharSource(source, Charsets.UTF_8).read();
+            final String updated = transform(type, content);
+            if (!updated.equals(content)) {
+                Files.asCharSink(source, Charsets.UTF_8).write(updated);
+                written++;
+            }
+        }
+        return written;
+    }
+
+    /**
+     * Declares the fingerprint of a table or struct in the source of its class, replacing the one it declares.
+     *
+     * @param type the generated type; types other than tables and structs are ignored.
+     * @param source the source of its class.
+     * @return the source with the constant.
+     * @throws IOException if the source does not declare the class.
+     */
+    @Override
+    public String transform(final Declaration type, final String source) throws IOException {
+        if (type.getKind() != Declaration.Kind.TABLE && type.getKind() != Declaration.Kind.STRUCT) {
+            return source;
+        }
+        final String declaration = "final class " + type.getName() + " extends "
+                + (type.getKind() == Declaration.Kind.STRUCT ? "Struct" : "Table") + " {\n";
+        final int start = source.indexOf(declaration);
+        if (start < 0) {
+            throw new IOException("Cannot find the declaration of " + type.getFullName() + " in its source");
+        }
+        final int end = start + declaration.length();
+        final String constant = format("  /**\n"
+                + "   * The structural fingerprint of this type and of the types it uses.\n"
+                + "   */\n"
+                + "  public static final long %s = 0x%016xL;\n", CONSTANT_NAME, of(type));
+        final String existing = "  /**\n   * The structural fingerprint";
+        if (source.startsWith(existing, end)) {
+            final int next = source.indexOf(";\n", end) + 2;
+            return source.substring(0, end) + constant + source.substring(next);
+        }
+        return source.substring(0, end) + constant + source.substring(end);
+    }
+
+    /**
+     * Appends the canonical description of a type. A type that is already being described, as in
+     * recursive types, is referred to by the order in which it was first met.
+     */
+    private void describe(final Declaration type, final Map<Declaration, Integer> visited, final StringBuilder out) {
+        final Integer index = visited.get(type);
+        if (index != null) {
+            out.append('#').append(index);
+            return;
+        }
+        visited.put(type, visited.size());
+        switch (type.getKind()) {
+            case TABLE:
+                out.append("table{");
+                for (final Slot slot : slots(type)) {
+                    out.append(slot.id).append(':');
+                    if (slot.field.isDeprecated()) {
+                        out.append("deprecated ");
+                    }
+                    if (slot.field.getAttributes().containsKey("required")) {
+                        out.append("required ");
+                    }
+                    describe(slot.field.getType(), visited, out);
+                    describeDefault(slot.field, out);
+                    out.append(';');
+                }
+                out.append('}');
+                break;
+            case STRUCT:
+                out.append("struct");
+                final String alignment = type.getAttributes().get("force_align");
+                if (alignment != null) {
+                    out.append('(').append(alignment).append(')');
+                }
+                out.append('{');
+                for (final Field field : type.getFields()) {
+                    describe(field.getType(), visited, out);
+                    out.append(';');
+                }
+                out.append('}');
+                break;
+            case ENUM:
+                out.append("enum ");
+                describe(type.getUnderlyingType(), visited, out);
+                if (type.getAttributes().containsKey("bit_flags")) {
+                    out.append(" bit_flags");
+                }
+                out.append('{');
+                for (final EnumValue value : type.getValues()) {
+                    out.append(value.getValue()).append(';');
+                }
+                out.append('}');
+                break;
+            case UNION:
+                out.append("union{");
+                for (final EnumValue member : type.getValues()) {
+                    out.append(member.getValue()).append(':');
+                    if (member.getType() != null) {
+                        describe(member.getType(), visited, out);
+                    }
+                    out.append(';');
+                }
+                out.append('}');
+                break;
+            default:
+                out.append(type.getKind());
+        }
+    }
+
+    private void describe(final TypeRef type, final Map<Declaration, Integer> visited, final StringBuilder out) {
+        if (type == null) {
+            out.append("int");
+            return;
+        }
+        switch (type.getKind()) {
+            case VECTOR:
+                out.append('[');
+                break;
+            case ARRAY:
+                out.append('[').append(type.getLength()).append(':');
+                break;
+            default:
+                break;
+        }
+        final Declaration declaration = type.isUserDefined() ? schemas.resolve(type) : null;
+        if (declaration != null) {
+            describe(declaration, visited, out);
+        } else if (type.getScalarType() != null) {
+            out.append(type.getScalarType().getName());
+        } else {
+            out.append(type.getName());
+        }
+        if (type.getKind() != TypeRef.Kind.SINGLE) {
+            out.append(']');
+        }
+    }
+
+    /**
+     * Appends the default value of a scalar or enum field of a table, as a number, so that the way it is
+     * written does not matter. Fields of other types have no default.
+     */
+    private void describeDefault(final Field field, final StringBuilder out) {
+        final TypeRef type = field.getType();
+        if (type.getKind() != TypeRef.Kind.SINGLE) {
+            return;
+        }
+        final Declaration enumeration = type.isUserDefined() ? schemas.resolve(type) : null;
+        if (enumeration != null ? enumeration.getKind() != Declaration.Kind.ENUM : type.getScalarType() == null) {
+            return;
+        }
+        final String value = field.getDefaultValue();
+        out.append('=');
+        if (type.getScalarType() != null && type.getScalarType().isFloatingPoint()) {
+            out.append(value == null ? 0.0 : parseFloat(value));
+        } else if (value == null || "false".equals(value)) {
+            out.append(0);
+        } else if ("true".equals(value)) {
+            out.append(1);
+        } else if (enumeration != null
+                && !Character.isDigit(value.charAt(value.startsWith("-") || value.startsWith("+") ? 1 : 0))) {
+            long number = 0;
+            for (final String name : value.trim().split("\\s+")) {
+                final EnumValue enumValue = enumeration.getValue(name);
+                if (enumValue != null) {
+                    number |= enumeration.getAttributes().containsKey("bit_flags")
+                            ? 1L << enumValue.getValue()
+                            : enumValue.getValue();
+                }
+            }
+            out.append(number);
+        } else {
+            out.append(parseInteger(value));
+        }
+    }
+
+    private static long parseInteger(final String text) {
+        final boolean negative = text.startsWith("-");
+        final String digits = text.startsWith("-") || text.startsWith("+") ? text.substring(1) : text;
+        final boolean hex = digits.length() > 2 && (digits.charAt(1) | 0x20) == 'x';
+        final long value = hex ? Long.parseUnsignedLong(digits.substring(2), 16) : Long.parseUnsignedLong(digits);
+        return negative ? -value : value;
+    }
+
+    private static double parseFloat(final String text) {
+        final String unsigned = text.startsWith("-") || text.startsWith("+") ? text.substring(1) : text;
+        if ("nan".equals(unsigned)) {
+            return Double.NaN;
+        } else if ("inf".equals(unsigned) || "infinity".equals(unsigned)) {
+            return text.startsWith("-") ? Double.NEGATIVE_INFINITY : Double.POSITIVE_INFINITY;
+        }
+        return Double.parseDouble(text);
+    }
+
+    /**
+     * Returns the fields of a table by id. A union field takes two ids, the one before its own holding the type
+     * of its value.
+     */
+    private List<Slot> slots(final Declaration table) {
+        final List<Slot> slots = new ArrayList<Slot>();
+        int next = 0;
+        for (final Field field : table.getFields()) {
+            final String id = field.getAttributes().get("id");
+            final Declaration declaration = field.getType().isUserDefined() ? schemas.resolve(field.getType()) : null;
+            if (declaration != null && declaration.getKind() == Declaration.Kind.UNION) {
+                next++;
+            }
+            slots.add(new Slot(id != null ? Integer.parseInt(id) : next, field));
+            next++;
+        }
+        Collections.sort(slots, new Comparator<Slot>() {
+            @Override
+            public int compare(final Slot a, final Slot b) {
+                return Integer.compare(a.id, b.id);
+            }
+        });
+        return slots;
+    }
+
+    private static final class Slot {
+
+        final int id;
+
+        final Field field;
+
+        Slot(final int id, final Field field) {
+            this.id = id;
+            this.field = field;
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package org.flatbuffers.maven.plugin.flatbuffers.codegen;
+
+/*
+ * Copyright (c) 2016 Maven Flatbuffers Plugin Authors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+import com.google.common.collect.ImmutableList;
+import org.flatbuffers.maven.plugin.flatbuffers.idl.Declaration;
+import org.flatbuffers.maven.plugin.flatbuffers.idl.Field;
+
+/**
+ * The binary layout of a struct: the offset of each field, the padding that follows it,
+ * the size and the alignment of the struct, computed the way {@code flatc} does.
+ *
+ * @since 0.1.0
+ */
+final class StructLayout {
+
+    private final Declaration struct;
+
+    private final ImmutableList<Integer> offsets;
+
+    private final ImmutableList<Integer> paddings;
+
+    private final int size;
+
+    private final int alignment;
+
+    StructLayout(
+            final Declaration struct,
+            final ImmutableList<Integer> offsets,
+            final ImmutableList<Integer> paddings,
+            final int size,
+            final int alignment) {
+        this.struct = struct;
+        this.offsets = offsets;
+        this.paddings = paddings;
+        this.size = size;
+        this.alignment = alignment;
+    }
+
+    Declaration getStruct() {
+        return struct;
+    }
+
+    /**
+     * Returns the offset of a field from the start of the struct.
+     *
+     * @param index the index of the field in declaration order.
+     * @return the offset in bytes.
+     */
+    int getOffset(final int index) {
+        return offsets.get(index);
+    }
+
+    /**
+     * Returns the number of padding bytes between a field and the next one, or the end of the struct.
+     *
+     * @param index the index of the field in declaration order.
+     * @return the padding in bytes.
+     */
+    int getPadding(final int index) {
+        return paddings.get(index);
+    }
+
+    int getOffset(final Field field) {
+        return getOffset(struct.getFields().indexOf(field));
+    }
+
+    int getPadding(final Field field) {
+        return getPadding(struct.getFields().indexOf(field));
+    }
+
+    /**
+     * Returns the size of the struct including trailing padding, as stored inline in a table or vector.
+     *
+     * @return the size in bytes.
+     */
+    int getSize() {
+        return size;
+    }
+
+    /**
+     * Returns the alignment of the struct: the largest alignment of its fields or its {@code force_align}.
+     *
+     * @return the alignment in bytes.
+     */
+    int getAlignment() {
+        return alignment;
+    }
+
+    static int paddingBytes(final int size, final int alignment) {
+        return (-size) & (alignment - 1);
+    }
+}
@@ -0,0 +1,189 @@
+package org.flatbuffers.maven.plugin.flatbuffers.codegen;
+
+/*
+ * Copyright (c) 2016 Maven Flatbuffers Plugin Authors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+import com.google.common.base.Predicate;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+import org.flatbuffers.maven.plugin.flatbuffers.idl.Declaration;
+import org.flatbuffers.maven.plugin.flatbuffers.idl.EnumValue;
+import org.flatbuffers.maven.plugin.flatbuffers.idl.Field;
+import org.flatbuffers.maven.plugin.flatbuffers.idl.RpcMethod;
+import org.flatbuffers.maven.plugin.flatbuffers.idl.Schema;
+import org.flatbuffers.maven.plugin.flatbuffers.idl.SchemaSet;
+import org.flatbuffers.maven.plugin.flatbuffers.idl.TypeRef;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * The types reachable from a set of root types: the root types, and transitively the tables, structs,
+ * enums and unions their fields use, the members of their unions, their nested flatbuffers, and the
+ * requests and responses of the services among them. Only these types need to be generated for code
+ * that reads and writes the root types.
+ *
+ * @since 0.1.0
+ */
+public final class TypeSelection implements Predicate<Declaration> {
+
+    private static final String NAMESPACE_WILDCARD = ".*";
+
+    private final ImmutableSet<Declaration> types;
+
+    private TypeSelection(final ImmutableSet<Declaration> types) {
+        this.types = types;
+    }
+
+    /**
+     * Computes the types reachable from root types.
+     *
+     * @param schemas the loaded definitions.
+     * @param roots fully qualified type names such as {@code MyGame.Example.Monster}, or namespaces followed by
+     *              {@code .*}, such as {@code MyGame.Example.*}, which select the types of the namespace and of
+     *              its nested namespaces.
+     * @return the reachable types.
+     * @throws IllegalArgumentException if a root matches no type.
+     */
+    public static TypeSelection reachableFrom(final SchemaSet schemas, final Iterable<String> roots) {
+        final Set<Declaration> selected = new LinkedHashSet<Declaration>();
+        final Deque<Declaration> pending = new ArrayDeque<Declaration>();
+        for (final String root : roots) {
+            final String name = root.trim();
+            boolean matched = false;
+            if (name.endsWith(NAMESPACE_WILDCARD)) {
+                final String namespace = name.substring(0, name.length() - NAMESPACE_WILDCARD.length());
+                for (final Declaration declaration : schemas.getTypes().values()) {
+                    final String typeNamespace = declaration.getNamespace();
+                    if (typeNamespace.equals(namespace) || typeNamespace.startsWith(namespace + '.')) {
+                        pending.add(declaration);
+                        matched = true;
+                    }
+                }
+            } else {
+                final Declaration declaration = schemas.getTypes().get(name);
+                if (declaration != null) {
+                    pending.add(declaration);
+                    matched = true;
+                }
+            }
+            if (!matched) {
+                throw new IllegalArgumentException("Root type " + name + " matches no type of the definitions");
+            }
+        }
+
+        while (!pending.isEmpty()) {
+            final Declaration declaration = pending.remove();
+            if (!selected.add(declaration)) {
+                continue;
+            }
+            for (final Field field : declaration.getFields()) {
+                add(schemas, field.getType(), pending);
+                final String nested = field.getAttributes().get("nested_flatbuffer");
+                if (nested != null) {
+                    add(schemas, new TypeRef(nested, TypeRef.Kind.SINGLE, 0, field.getType().getScope(),
+                            field.getLocation()), pending);
+                }
+            }
+            for (final EnumValue value : declaration.getValues()) {
+                add(schemas, value.getType(), pending);
+            }
+            for (final RpcMethod method : declaration.getMethods()) {
+                add(schemas, method.getRequest(), pending);
+                add(schemas, method.getResponse(), pending);
+            }
+        }
+        return new TypeSelection(ImmutableSet.copyOf(selected));
+    }
+
+    private static void add(final SchemaSet schemas, final TypeRef type, final Deque<Declaration> pending) {
+        if (type != null && type.isUserDefined()) {
+            final Declaration declaration = schemas.resolve(type);
+            if (declaration != null) {
+                pending.add(declaration);
+            }
+        }
+    }
+
+    /**
+     * Returns the selected types, the root types first, then the types they reach in breadth-first order.
+     * The services are included, although no source is generated for them.
+     *
+     * @return the selected types.
+     */
+    public ImmutableSet<Declaration> getTypes() {
+        return types;
+    }
+
+    @Override
+    public boolean apply(final Declaration declaration) {
+        return types.contains(declaration);
+    }
+
+    /**
+     * Deletes the sources of the types that are not selected, for generators that cannot leave them out.
+     *
+     * @param schemas the loaded definitions.
+     * @param fbsFiles the definition files whose sources were generated.
+     * @param outputDirectory the directory of the Java sources.
+     * @return the number of sources deleted.
+     * @throws IOException if a source cannot be deleted.
+     */
+    public int deleteUnselected(
+            final SchemaSet schemas,
+            final Iterable<File> fbsFiles,
+            final File outputDirectory) throws IOException {
+        int deleted = 0;
+        for (final Declaration declaration : unselected(schemas, fbsFiles)) {
+            final File file = new File(outputDirectory,
+                    JavaGenerator.getPath(declaration).replace('/', File.separatorChar));
+            if (file.isFile()) {
+                if (!file.delete()) {
+                    throw new IOException("Unable to delete " + file);
+                }
+                deleted++;
+            }
+        }
+        return deleted;
+    }
+
+    /**
+     * Returns the generated types of definition files that are not selected.
+     *
+     * @param schemas the loaded definitions.
+     * @param fbsFiles the definition files.
+     * @return the types that are left out.
+     */
+    public ImmutableList<Declaration> unselected(final SchemaSet schemas, final Iterable<File> fbsFiles) {
+        final ImmutableList.Builder<Declaration> unselected = ImmutableList.builder();
+        for (final File fbsFile : fbsFiles) {
+            final Schema schema = schemas.getSchemas().get(fbsFile.getAbsoluteFile().toPath().normalize().toFile());
+            if (schema == null) {
+                continue;
+            }
+            for (final Declaration declaration : schema.getDeclarations()) {
+                if (JavaGenerator.isGenerated(declaration) && !types.contains(declaration)) {
+                    unselected.add(declaration);
+                }
+            }
+        }
+        return unselected.build();
+    }
+}
@@ -0,0 +1,191 @@
+package org.flatbuffers.maven.plugin.flatbuffers.idl;
+
+/*
+ * Copyright (c) 2016 Maven Flatbuffers Plugin Authors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+
+/**
+ * A named type or service declared in a definition file.
+ *
+ * @since 0.1.0
+ */
+public final class Declaration {
+
+    /**
+     * The kind of a declaration.
+     */
+    public enum Kind {
+        TABLE,
+        STRUCT,
+        ENUM,
+        UNION,
+        RPC_SERVICE
+    }
+
+    private final Kind kind;
+
+    private final String namespace;
+
+    private final String name;
+
+    private final TypeRef underlyingType;
+
+    private final ImmutableList<Field> fields;
+
+    private final ImmutableList<EnumValue> values;
+
+    private final ImmutableList<RpcMethod> methods;
+
+    private final ImmutableMap<String, String> attributes;
+
+    private final ImmutableList<String> documentation;
+
+    private final Location location;
+
+    Declaration(
+            final Kind kind,
+            final String namespace,
+            final String name,
+            final TypeRef underlyingType,
+            final ImmutableList<Field> fields,
+            final ImmutableList<EnumValue> values,
+            final ImmutableList<RpcMethod> methods,
+            final ImmutableMap<String, String> attributes,
+            final ImmutableList<String> documentation,
+            final Location location) {
+        this.kind = kind;
+        this.namespace = namespace;
+        this.name = name;
+        this.underlyingType = underlyingType;
+        this.fields = fields;
+        this.values = values;
+        this.methods = methods;
+        this.attributes = attributes;
+        this.documentation = documentation;
+        this.location = location;
+    }
+
+    public Kind getKind() {
+        return kind;
+    }
+
+    /**
+     * Returns the namespace in which the declaration appears.
+     *
+     * @return the namespace, empty for the root namespace.
+     */
+    public String getNamespace() {
+        return namespace;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Returns the fully qualified name, which is also the Java class name generated by {@code flatc}.
+     *
+     * @return the namespace and name, separated by a dot.
+     */
+    public String getFullName() {
+        return namespace.isEmpty() ? name : namespace + '.' + name;
+    }
+
+    /**
+     * Returns the underlying type of an enum, or {@code ubyte} for a union.
+     *
+     * @return the underlying type, or {@code null} for tables, structs and services.
+     */
+    public TypeRef getUnderlyingType() {
+        return underlyingType;
+    }
+
+    /**
+     * Returns the fields of a table or struct, in declaration order.
+     *
+     * @return the fields, empty for enums, unions and services.
+     */
+    public ImmutableList<Field> getFields() {
+        return fields;
+    }
+
+    /**
+     * Returns the values of an enum, or the members of a union starting with the implicit {@code NONE}.
+     *
+     * @return the values, empty for tables, structs and services.
+     */
+    public ImmutableList<EnumValue> getValues() {
+        return values;
+    }
+
+    /**
+     * Returns the methods of a service.
+     *
+     * @return the methods, empty for other declarations.
+     */
+    public ImmutableList<RpcMethod> getMethods() {
+        return methods;
+    }
+
+    public ImmutableMap<String, String> getAttributes() {
+        return attributes;
+    }
+
+    public ImmutableList<String> getDocumentation() {
+        return documentation;
+    }
+
+    public Location getLocation() {
+        return location;
+    }
+
+    /**
+     * Returns the field with the given name.
+     *
+     * @param fieldName the field name.
+     * @return the field, or {@code null} if there is none.
+     */
+    public Field getField(final String fieldName) {
+        for (final Field field : fields) {
+            if (field.getName().equals(fieldName)) {
+                return field;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Returns the enum value or union member with the given name.
+     *
+     * @param valueName the value name.
+     * @return the value, or {@code null} if there is none.
+     */
+    public EnumValue getValue(final String valueName) {
+        for (final EnumValue value : values) {
+            if (value.getName().equals(valueName)) {
+                return value;
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public String toString() {
+        return kind.name().toLowerCase() + ' ' + getFullName();
+    }
+}
@@ -0,0 +1,101 @@
+package org.flatbuffers.maven.plugin.flatbuffers.idl;
+
+/*
+ * Copyright (c) 2016 Maven Flatbuffers Plugin Authors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+
+/**
+ * A value of an enum, or a member of a union.
+ *
+ * @since 0.1.0
+ */
+public final class EnumValue {
+
+    private final String name;
+
+    private final long value;
+
+    private final TypeRef type;
+
+    private final ImmutableMap<String, String> attributes;
+
+    private final ImmutableList<String> documentation;
+
+    private final Location location;
+
+    EnumValue(
+            final String name,
+            final long value,
+            final TypeRef type,
+            final ImmutableMap<String, String> attributes,
+            final ImmutableList<String> documentation,
+            final Location location) {
+        this.name = name;
+        this.value = value;
+        this.type = type;
+        this.attributes = attributes;
+        this.documentation = documentation;
+        this.location = location;
+    }
+
+    /**
+     * Returns the name of the value. For union members this is the alias, or the type name
+     * with dots replaced by underscores, as {@code flatc} names them.
+     *
+     * @return the name.
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Returns the numeric value, explicit or implied by its position.
+     * Values of {@code ulong} enums above {@link Long#MAX_VALUE} are negative.
+     *
+     * @return the value.
+     */
+    public long getValue() {
+        return value;
+    }
+
+    /**
+     * Returns the type of a union member.
+     *
+     * @return the member type, or {@code null} for enum values and the implicit {@code NONE} union member.
+     */
+    public TypeRef getType() {
+        return type;
+    }
+
+    public ImmutableMap<String, String> getAttributes() {
+        return attributes;
+    }
+
+    public ImmutableList<String> getDocumentation() {
+        return documentation;
+    }
+
+    public Location getLocation() {
+        return location;
+    }
+
+    @Override
+    public String toString() {
+        return name + " = " + value;
+    }
+}
@@ -0,0 +1,105 @@
+package org.flatbuffers.maven.plugin.flatbuffers.idl;
+
+/*
+ * Copyright (c) 2016 Maven Flatbuffers Plugin Authors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+
+/**
+ * A field of a table or struct.
+ *
+ * @since 0.1.0
+ */
+public final class Field {
+
+    private final String name;
+
+    private final TypeRef type;
+
+    private final String defaultValue;
+
+    private final ImmutableMap<String, String> attributes;
+
+    private final ImmutableList<String> documentation;
+
+    private final Location location;
+
+    Field(
+            final String name,
+            final TypeRef type,
+            final String defaultValue,
+            final ImmutableMap<String, String> attributes,
+            final ImmutableList<String> documentation,
+            final Location location) {
+        this.name = name;
+        this.type = type;
+        this.defaultValue = defaultValue;
+        this.attributes = attributes;
+        this.documentation = documentation;
+        this.location = location;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public TypeRef getType() {
+        return type;
+    }
+
+    /**
+     * Returns the default value as written, such as {@code 100}, {@code -0.5}, {@code true} or {@code Blue}.
+     *
+     * @return the default value, or {@code null} if none is declared.
+     */
+    public String getDefaultValue() {
+        return defaultValue;
+    }
+
+    /**
+     * Returns the attributes of the field, such as {@code id: 3} or {@code deprecated}.
+     * Attributes without a value map to an empty string.
+     *
+     * @return the attributes, in declaration order.
+     */
+    public ImmutableMap<String, String> getAttributes() {
+        return attributes;
+    }
+
+    /**
+     * Returns the lines of the {@code ///} documentation comment, without the comment markers
+     * but with the leading space, if any.
+     *
+     * @return the documentation lines.
+     */
+    public ImmutableList<String> getDocumentation() {
+        return documentation;
+    }
+
+    public Location getLocation() {
+        return location;
+    }
+
+    public boolean isDeprecated() {
+        return attributes.containsKey("deprecated");
+    }
+
+    @Override
+    public String toString() {
+        return name + ": " + type;
+    }
+}
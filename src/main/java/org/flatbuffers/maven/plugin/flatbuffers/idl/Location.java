@@ -0,0 +1,70 @@
+package org.flatbuffers.maven.plugin.flatbuffers.idl;
+
+/*
+ * Copyright (c) 2016 Maven Flatbuffers Plugin Authors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+import java.io.File;
+
+/**
+ * A position in a definition file. Lines and columns start at one.
+ *
+ * @since 0.1.0
+ */
+public final class Location implements Comparable<Location> {
+
+    private final File file;
+
+    private final int line;
+
+    private final int column;
+
+    /**
+     * @param file the definition file.
+     * @param line the line, starting at one.
+     * @param column the column, starting at one.
+     */
+    public Location(final File file, final int line, final int column) {
+        this.file = file;
+        this.line = line;
+        this.column = column;
+    }
+
+    public File getFile() {
+        return file;
+    }
+
+    public int getLine() {
+        return line;
+    }
+
+    public int getColumn() {
+        return column;
+    }
+
+    @Override
+    public int compareTo(final Location other) {
+        final int byFile = file.compareTo(other.file);
+        if (byFile != 0) {
+            return byFile;
+        }
+        return line != other.line ? Integer.compare(line, other.line) : Integer.compare(column, other.column);
+    }
+
+    @Override
+    public String toString() {
+        return file.getPath() + ':' + line + ':' + column;
+    }
+}
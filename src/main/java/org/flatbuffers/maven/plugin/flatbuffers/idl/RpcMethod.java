@@ -0,0 +1,84 @@
+package org.flatbuffers.maven.plugin.flatbuffers.idl;
+
+/*
+ * Copyright (c) 2016 Maven Flatbuffers Plugin Authors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+
+/**
+ * A method of an {@code rpc_service}.
+ *
+ * @since 0.1.0
+ */
+public final class RpcMethod {
+
+    private final String name;
+
+    private final TypeRef request;
+
+    private final TypeRef response;
+
+    private final ImmutableMap<String, String> attributes;
+
+    private final ImmutableList<String> documentation;
+
+    private final Location location;
+
+    RpcMethod(
+            final String name,
+            final TypeRef request,
+            final TypeRef response,
+            final ImmutableMap<String, String> attributes,
+            final ImmutableList<String> documentation,
+            final Location location) {
+        this.name = name;
+        this.request = request;
+        this.response = response;
+        this.attributes = attributes;
+        this.documentation = documentation;
+        this.location = location;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public TypeRef getRequest() {
+        return request;
+    }
+
+    public TypeRef getResponse() {
+        return response;
+    }
+
+    public ImmutableMap<String, String> getAttributes() {
+        return attributes;
+    }
+
+    public ImmutableList<String> getDocumentation() {
+        return documentation;
+    }
+
+    public Location getLocation() {
+        return location;
+    }
+
+    @Override
+    public String toString() {
+        return name + "(" + request + "):" + response;
+    }
+}
@@ -0,0 +1,100 @@
+package org.flatbuffers.maven.plugin.flatbuffers.idl;
+
+/*
+ * Copyright (c) 2016 Maven Flatbuffers Plugin Authors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+/**
+ * The scalar types of the schema language, with their sized aliases.
+ *
+ * @since 0.1.0
+ */
+public enum ScalarType {
+
+    BOOL("bool", "bool", 1, false, false),
+    BYTE("byte", "int8", 1, true, false),
+    UBYTE("ubyte", "uint8", 1, true, true),
+    SHORT("short", "int16", 2, true, false),
+    USHORT("ushort", "uint16", 2, true, true),
+    INT("int", "int32", 4, true, false),
+    UINT("uint", "uint32", 4, true, true),
+    LONG("long", "int64", 8, true, false),
+    ULONG("ulong", "uint64", 8, true, true),
+    FLOAT("float", "float32", 4, false, false),
+    DOUBLE("double", "float64", 8, false, false);
+
+    private final String name;
+
+    private final String alias;
+
+    private final int size;
+
+    private final boolean integer;
+
+    private final boolean unsigned;
+
+    ScalarType(
+            final String name,
+            final String alias,
+            final int size,
+            final boolean integer,
+            final boolean unsigned) {
+        this.name = name;
+        this.alias = alias;
+        this.size = size;
+        this.integer = integer;
+        this.unsigned = unsigned;
+    }
+
+    /**
+     * Returns the scalar type with the given name or alias.
+     *
+     * @param typeName a type name as written in a definition.
+     * @return the scalar type, or {@code null} if the name does not denote a scalar.
+     */
+    public static ScalarType forName(final String typeName) {
+        for (final ScalarType type : values()) {
+            if (type.name.equals(typeName) || type.alias.equals(typeName)) {
+                return type;
+            }
+        }
+        return null;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Returns the size of the scalar, in bytes.
+     *
+     * @return the size.
+     */
+    public int getSize() {
+        return size;
+    }
+
+    public boolean isInteger() {
+        return integer;
+    }
+
+    public boolean isUnsigned() {
+        return unsigned;
+    }
+
+    public boolean isFloatingPoint() {
+        return this == FLOAT || this == DOUBLE;
+    }
+}
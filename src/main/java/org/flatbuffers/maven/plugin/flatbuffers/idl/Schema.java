@@ -0,0 +1,165 @@
+package org.flatbuffers.maven.plugin.flatbuffers.idl;
+
+/*
+ * Copyright (c) 2016 Maven Flatbuffers Plugin Authors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+import com.google.common.collect.ImmutableList;
+
+import java.io.File;
+
+/**
+ * The syntax tree of a single definition file. Includes and type references are not resolved,
+ * see {@link SchemaLoader} for that.
+ *
+ * @since 0.1.0
+ */
+public final class Schema {
+
+    /**
+     * An {@code include} statement.
+     */
+    public static final class Include {
+
+        private final String path;
+
+        private final Location location;
+
+        Include(final String path, final Location location) {
+            this.path = path;
+            this.location = location;
+        }
+
+        /**
+         * Returns the included path, as written.
+         *
+         * @return the path.
+         */
+        public String getPath() {
+            return path;
+        }
+
+        public Location getLocation() {
+            return location;
+        }
+
+        @Override
+        public String toString() {
+            return "include \"" + path + '"';
+        }
+    }
+
+    private final File file;
+
+    private final ImmutableList<Include> includes;
+
+    private final String namespace;
+
+    private final ImmutableList<Declaration> declarations;
+
+    private final TypeRef rootType;
+
+    private final String fileIdentifier;
+
+    private final String fileExtension;
+
+    private final ImmutableList<String> declaredAttributes;
+
+    Schema(
+            final File file,
+            final ImmutableList<Include> includes,
+            final String namespace,
+            final ImmutableList<Declaration> declarations,
+            final TypeRef rootType,
+            final String fileIdentifier,
+            final String fileExtension,
+            final ImmutableList<String> declaredAttributes) {
+        this.file = file;
+        this.includes = includes;
+        this.namespace = namespace;
+        this.declarations = declarations;
+        this.rootType = rootType;
+        this.fileIdentifier = fileIdentifier;
+        this.fileExtension = fileExtension;
+        this.declaredAttributes = declaredAttributes;
+    }
+
+    public File getFile() {
+        return file;
+    }
+
+    public ImmutableList<Include> getIncludes() {
+        return includes;
+    }
+
+    /**
+     * Returns the first namespace declared in the file.
+     *
+     * @return the namespace, empty if the file declares none.
+     */
+    public String getNamespace() {
+        return namespace;
+    }
+
+    /**
+     * Returns the tables, structs, enums, unions and services declared in the file, in declaration order.
+     *
+     * @return the declarations.
+     */
+    public ImmutableList<Declaration> getDeclarations() {
+        return declarations;
+    }
+
+    /**
+     * Returns the {@code root_type} of the file.
+     *
+     * @return the root type, or {@code null} if none is declared.
+     */
+    public TypeRef getRootType() {
+        return rootType;
+    }
+
+    /**
+     * Returns the {@code file_identifier} of the file.
+     *
+     * @return the identifier, or {@code null} if none is declared.
+     */
+    public String getFileIdentifier() {
+        return fileIdentifier;
+    }
+
+    /**
+     * Returns the {@code file_extension} of the file.
+     *
+     * @return the extension, or {@code null} if none is declared.
+     */
+    public String getFileExtension() {
+        return fileExtension;
+    }
+
+    /**
+     * Returns the user defined attributes declared with {@code attribute}.
+     *
+     * @return the attribute names.
+     */
+    public ImmutableList<String> getDeclaredAttributes() {
+        return declaredAttributes;
+    }
+
+    @Override
+    public String toString() {
+        return file.getPath();
+    }
+}
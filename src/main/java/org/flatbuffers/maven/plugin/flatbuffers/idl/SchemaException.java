@@ -0,0 +1,41 @@
+package org.flatbuffers.maven.plugin.flatbuffers.idl;
+
+/*
+ * Copyright (c) 2016 Maven Flatbuffers Plugin Authors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+/**
+ * Thrown when a definition file cannot be parsed.
+ *
+ * @since 0.1.0
+ */
+public class SchemaException extends Exception {
+
+    private static final long serialVersionUID = 1L;
+
+    private final SchemaProblem problem;
+
+    /**
+     * @param problem the syntax error.
+     */
+    public SchemaException(final SchemaProblem problem) {
+        super(problem.toString());
+        this.problem = problem;
+    }
+
+    public SchemaProblem getProblem() {
+        return problem;
+    }
+}
@@ -0,0 +1,286 @@
+package org.flatbuffers.maven.plugin.flatbuffers.idl;
+
+/*
+ * Copyright (c) 2016 Maven Flatbuffers Plugin Authors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+import com.google.common.collect.ImmutableList;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Splits a definition file into tokens. The lexer works on the characters of the whole file
+ * and keeps a single current token, which the parser consumes with {@link #next()}.
+ *
+ * @since 0.1.0
+ */
+final class SchemaLexer {
+
+    /**
+     * The kind of a token.
+     */
+    enum Kind {
+        IDENTIFIER,
+        STRING,
+        INTEGER,
+        FLOAT,
+        PUNCTUATION,
+        END
+    }
+
+    private final File file;
+
+    private final char[] text;
+
+    private int position;
+
+    private int line = 1;
+
+    private int lineStart;
+
+    private final List<String> pendingDocumentation = new ArrayList<String>();
+
+    private Kind kind;
+
+    private String value;
+
+    private int tokenLine;
+
+    private int tokenColumn;
+
+    private ImmutableList<String> documentation = ImmutableList.of();
+
+    SchemaLexer(final File file, final String text) {
+        this.file = file;
+        this.text = text.toCharArray();
+    }
+
+    Kind kind() {
+        return kind;
+    }
+
+    /**
+     * Returns the text of the current token; the content of a string literal, without quotes.
+     */
+    String value() {
+        return value;
+    }
+
+    /**
+     * Returns the {@code ///} comment lines that precede the current token, with everything after the third slash
+     * kept as written, as {@code flatc} does; other comments in between are skipped.
+     */
+    ImmutableList<String> documentation() {
+        return documentation;
+    }
+
+    Location location() {
+        return new Location(file, tokenLine, tokenColumn);
+    }
+
+    boolean is(final Kind expectedKind, final String expectedValue) {
+        return kind == expectedKind && value.equals(expectedValue);
+    }
+
+    boolean isPunctuation(final char c) {
+        return kind == Kind.PUNCTUATION && value.charAt(0) == c;
+    }
+
+    SchemaException error(final String message) {
+        return new SchemaException(new SchemaProblem(location(), message));
+    }
+
+    /**
+     * Advances to the next token.
+     */
+    void next() throws SchemaException {
+        skipWhitespaceAndComments();
+        documentation = pendingDocumentation.isEmpty()
+                ? ImmutableList.<String>of() : ImmutableList.copyOf(pendingDocumentation);
+        pendingDocumentation.clear();
+        tokenLine = line;
+        tokenColumn = position - lineStart + 1;
+        if (position >= text.length) {
+            kind = Kind.END;
+            value = "end of file";
+            return;
+        }
+        final char c = text[position];
+        if (Character.isLetter(c) || c == '_') {
+            final int start = position;
+            while (position < text.length && (Character.isLetterOrDigit(text[position]) || text[position] == '_')) {
+                position++;
+            }
+            kind = Kind.IDENTIFIER;
+            value = new String(text, start, position - start);
+        } else if (isDigit(c) || (c == '.' && position + 1 < text.length && isDigit(text[position + 1]))) {
+            readNumber();
+        } else if (c == '"' || c == '\'') {
+            readString(c);
+        } else if ("{}()[]:;,=.-+".indexOf(c) >= 0) {
+            position++;
+            kind = Kind.PUNCTUATION;
+            value = String.valueOf(c);
+        } else {
+            throw error("illegal character '" + c + "'");
+        }
+    }
+
+    private void skipWhitespaceAndComments() throws SchemaException {
+        while (position < text.length) {
+            final char c = text[position];
+            if (c == '\n') {
+                position++;
+                line++;
+                lineStart = position;
+            } else if (Character.isWhitespace(c)) {
+                position++;
+            } else if (c == '/' && position + 1 < text.length && text[position + 1] == '/') {
+                final int start = position;
+                while (position < text.length && text[position] != '\n' && text[position] != '\r') {
+                    position++;
+                }
+                if (position - start >= 3 && text[start + 2] == '/') {
+                    pendingDocumentation.add(new String(text, start + 3, position - start - 3));
+                }
+            } else if (c == '/' && position + 1 < text.length && text[position + 1] == '*') {
+                final int startLine = line;
+                final int startColumn = position - lineStart + 1;
+                position += 2;
+                while (position + 1 < text.length && !(text[position] == '*' && text[position + 1] == '/')) {
+                    if (text[position] == '\n') {
+                        line++;
+                        lineStart = position + 1;
+                    }
+                    position++;
+                }
+                if (position + 1 >= text.length) {
+                    throw new SchemaException(new SchemaProblem(
+                            new Location(file, startLine, startColumn), "unterminated comment"));
+                }
+                position += 2;
+            } else {
+                return;
+            }
+        }
+    }
+
+    private void readNumber() {
+        final int start = position;
+        kind = Kind.INTEGER;
+        if (text[position] == '0' && position + 1 < text.length && (text[position + 1] | 0x20) == 'x') {
+            position += 2;
+            while (position < text.length && Character.digit(text[position], 16) >= 0) {
+                position++;
+            }
+        } else {
+            skipDigits();
+            if (position < text.length && text[position] == '.') {
+                kind = Kind.FLOAT;
+                position++;
+                skipDigits();
+            }
+            if (position < text.length && (text[position] | 0x20) == 'e') {
+                kind = Kind.FLOAT;
+                position++;
+                if (position < text.length && (text[position] == '+' || text[position] == '-')) {
+                    position++;
+                }
+                skipDigits();
+            }
+        }
+        value = new String(text, start, position - start);
+    }
+
+    private void skipDigits() {
+        while (position < text.length && isDigit(text[position])) {
+            position++;
+        }
+    }
+
+    private void readString(final char quote) throws SchemaException {
+        final StringBuilder out = new StringBuilder();
+        position++;
+        while (true) {
+            if (position >= text.length || text[position] == '\n') {
+                throw error("unterminated string constant");
+            }
+            final char c = text[position++];
+            if (c == quote) {
+                break;
+            }
+            if (c != '\\') {
+                out.append(c);
+                continue;
+            }
+            if (position >= text.length) {
+                throw error("unterminated string constant");
+            }
+            final char escaped = text[position++];
+            switch (escaped) {
+                case 'n':
+                    out.append('\n');
+                    break;
+                case 't':
+                    out.append('\t');
+                    break;
+                case 'r':
+                    out.append('\r');
+                    break;
+                case 'b':
+                    out.append('\b');
+                    break;
+                case 'f':
+                    out.append('\f');
+                    break;
+                case '/':
+                case '"':
+                case '\'':
+                case '\\':
+                    out.append(escaped);
+                    break;
+                case 'x':
+                    out.append((char) readHex(2));
+                    break;
+                case 'u':
+                    out.append((char) readHex(4));
+                    break;
+                default:
+                    throw error("unknown escape code in string constant");
+            }
+        }
+        kind = Kind.STRING;
+        value = out.toString();
+    }
+
+    private int readHex(final int digits) throws SchemaException {
+        int result = 0;
+        for (int i = 0; i < digits; i++) {
+            final int digit = position < text.length ? Character.digit(text[position], 16) : -1;
+            if (digit < 0) {
+                throw error("escape code must be followed by " + digits + " hex digits");
+            }
+            result = result * 16 + digit;
+            position++;
+        }
+        return result;
+    }
+
+    private static boolean isDigit(final char c) {
+        return c >= '0' && c <= '9';
+    }
+}
@@ -0,0 +1,594 @@
+package org.flatbuffers.maven.plugin.flatbuffers.idl;
+
+/*
+ * Copyright (c) 2016 Maven Flatbuffers Plugin Authors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Loads definition files with everything they include, and checks them the way {@code flatc} does,
+ * without running it.
+ *
+ * <p>Files are parsed in parallel, one wave of includes at a time. An include is looked up in the
+ * include path first and then relative to the including file. Types are resolved the way {@code flatc}
+ * resolves them, and a type is only visible to the files that include its declaring file,
+ * directly or indirectly.</p>
+ *
+ * @since 0.1.0
+ */
+public final class SchemaLoader {
+
+    private final ImmutableList<File> includePath;
+
+    private final int threads;
+
+    /**
+     * @param includePath directories in which included files are looked up.
+     * @param threads the number of files parsed at the same time.
+     */
+    public SchemaLoader(final Iterable<File> includePath, final int threads) {
+        this.includePath = ImmutableList.copyOf(includePath);
+        this.threads = Math.max(1, threads);
+    }
+
+    /**
+     * Loads and checks definition files.
+     *
+     * @param files the files to load.
+     * @return the loaded files with their problems.
+     * @throws InterruptedException if the thread is interrupted while files are parsed.
+     */
+    public SchemaSet load(final Iterable<File> files) throws InterruptedException {
+        final Map<File, Schema> schemas = new LinkedHashMap<File, Schema>();
+        final Map<File, ImmutableList<File>> includes = new HashMap<File, ImmutableList<File>>();
+        final List<SchemaProblem> problems = new ArrayList<SchemaProblem>();
+        final Set<File> seen = new HashSet<File>();
+
+        Set<File> wave = new LinkedHashSet<File>();
+        for (final File file : files) {
+            final File normalized = normalize(file);
+            if (seen.add(normalized)) {
+                wave.add(normalized);
+            }
+        }
+        final ExecutorService executor = threads > 1 ? Executors.newFixedThreadPool(threads, new ThreadFactory() {
+            private final AtomicInteger count = new AtomicInteger();
+
+            @Override
+            public Thread newThread(final Runnable runnable) {
+                final Thread thread = new Thread(runnable, "flatc-parser-" + count.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            }
+        }) : null;
+        try {
+            while (!wave.isEmpty()) {
+                final Set<File> nextWave = new LinkedHashSet<File>();
+                for (final Object result : parse(wave, executor)) {
+                    if (result instanceof SchemaProblem) {
+                        problems.add((SchemaProblem) result);
+                        continue;
+                    }
+                    final Schema schema = (Schema) result;
+                    schemas.put(schema.getFile(), schema);
+                    final ImmutableList.Builder<File> included = ImmutableList.builder();
+                    for (final Schema.Include include : schema.getIncludes()) {
+                        final File includedFile = resolveInclude(include.getPath(), schema.getFile());
+                        if (includedFile == null) {
+                            problems.add(new SchemaProblem(include.getLocation(),
+                                    "unable to locate include file: " + include.getPath()));
+                        } else {
+                            included.add(includedFile);
+                            if (seen.add(includedFile)) {
+                                nextWave.add(includedFile);
+                            }
+                        }
+                    }
+                    includes.put(schema.getFile(), included.build());
+                }
+                wave = nextWave;
+            }
+        } finally {
+            if (executor != null) {
+                executor.shutdownNow();
+            }
+        }
+
+        final ImmutableMap<String, Declaration> types = collectTypes(schemas.values(), problems);
+        new Checker(types, includes, problems).check(schemas.values());
+        Collections.sort(problems);
+        return new SchemaSet(ImmutableMap.copyOf(schemas), ImmutableMap.copyOf(includes), types,
+                ImmutableList.copyOf(problems));
+    }
+
+    /**
+     * Parses files, returning a {@link Schema} or a {@link SchemaProblem} for each.
+     */
+    private static List<Object> parse(final Set<File> files, final ExecutorService executor)
+            throws InterruptedException {
+        final List<Object> results = new ArrayList<Object>(files.size());
+        if (executor == null || files.size() == 1) {
+            for (final File file : files) {
+                results.add(parse(file));
+            }
+            return results;
+        }
+        final List<Future<Object>> futures = new ArrayList<Future<Object>>(files.size());
+        for (final File file : files) {
+            futures.add(executor.submit(new Callable<Object>() {
+                @Override
+                public Object call() {
+                    return parse(file);
+                }
+            }));
+        }
+        for (final Future<Object> future : futures) {
+            try {
+                results.add(future.get());
+            } catch (ExecutionException e) {
+                throw new IllegalStateException(e.getCause());
+            }
+        }
+        return results;
+    }
+
+    private static Object parse(final File file) {
+        try {
+            return SchemaParser.parse(file);
+        } catch (SchemaException e) {
+            return e.getProblem();
+        } catch (IOException e) {
+            return new SchemaProblem(new Location(file, 1, 1), "unable to load file: " + e.getMessage());
+        }
+    }
+
+    private File resolveInclude(final String path, final File includingFile) {
+        final File absolute = new File(path);
+        if (absolute.isAbsolute()) {
+            return absolute.isFile() ? normalize(absolute) : null;
+        }
+        for (final File directory : includePath) {
+            final File candidate = new File(directory, path);
+            if (candidate.isFile()) {
+                return normalize(candidate);
+            }
+        }
+        final File sibling = new File(includingFile.getParentFile(), path);
+        return sibling.isFile() ? normalize(sibling) : null;
+    }
+
+    private static File normalize(final File file) {
+        return file.getAbsoluteFile().toPath().normalize().toFile();
+    }
+
+    private static ImmutableMap<String, Declaration> collectTypes(
+            final Iterable<Schema> schemas,
+            final List<SchemaProblem> problems) {
+        final Map<String, Declaration> types = new LinkedHashMap<String, Declaration>();
+        for (final Schema schema : schemas) {
+            for (final Declaration declaration : schema.getDeclarations()) {
+                final Declaration previous = types.get(declaration.getFullName());
+                if (previous == null) {
+                    types.put(declaration.getFullName(), declaration);
+                } else {
+                    problems.add(new SchemaProblem(declaration.getLocation(), "datatype already exists: "
+                            + declaration.getFullName() + ", declared at " + previous.getLocation()));
+                }
+            }
+        }
+        return ImmutableMap.copyOf(types);
+    }
+
+    /**
+     * The semantic checks of {@code flatc} that do not depend on the target language.
+     */
+    private static final class Checker {
+
+        private final ImmutableMap<String, Declaration> types;
+
+        private final Map<File, ImmutableList<File>> includes;
+
+        private final List<SchemaProblem> problems;
+
+        private final Map<File, Set<File>> visibleFiles = new HashMap<File, Set<File>>();
+
+        private Schema schema;
+
+        Checker(
+                final ImmutableMap<String, Declaration> types,
+                final Map<File, ImmutableList<File>> includes,
+                final List<SchemaProblem> problems) {
+            this.types = types;
+            this.includes = includes;
+            this.problems = problems;
+        }
+
+        void check(final Iterable<Schema> schemas) {
+            for (final Schema current : schemas) {
+                schema = current;
+                for (final Declaration declaration : schema.getDeclarations()) {
+                    switch (declaration.getKind()) {
+                        case TABLE:
+                            checkTable(declaration);
+                            break;
+                        case STRUCT:
+                            checkStruct(declaration);
+                            break;
+                        case ENUM:
+                            checkEnum(declaration);
+                            break;
+                        case UNION:
+                            checkUnion(declaration);
+                            break;
+                        default:
+                            for (final RpcMethod method : declaration.getMethods()) {
+                                checkKind(method.getRequest(), "rpc request", Declaration.Kind.TABLE);
+                                checkKind(method.getResponse(), "rpc response", Declaration.Kind.TABLE);
+                            }
+                    }
+                }
+                if (schema.getRootType() != null) {
+                    checkKind(schema.getRootType(), "root type", Declaration.Kind.TABLE);
+                }
+            }
+        }
+
+        private void checkTable(final Declaration table) {
+            checkFieldNames(table);
+            for (final Field field : table.getFields()) {
+                final TypeRef type = field.getType();
+                if (type.getKind() == TypeRef.Kind.ARRAY) {
+                    problem(type.getLocation(), "fixed-length array in table must be wrapped in struct");
+                    continue;
+                }
+                final Declaration declaration = type.isUserDefined() ? resolve(type) : null;
+                if (type.isUserDefined() && declaration == null) {
+                    continue;
+                }
+                if (declaration != null && declaration.getKind() == Declaration.Kind.RPC_SERVICE) {
+                    problem(type.getLocation(), "a service cannot be used as a field type: " + type.getName());
+                    continue;
+                }
+                if (declaration != null && isDeclaredLater(declaration, type)
+                        && (declaration.getKind() == Declaration.Kind.ENUM
+                        || declaration.getKind() == Declaration.Kind.UNION)) {
+                    problem(type.getLocation(), "type referenced but not defined (check namespace): "
+                            + type.getName() + ", enums and unions must be declared before they are used");
+                    continue;
+                }
+                if (field.getDefaultValue() != null) {
+                    checkDefaultValue(field, declaration);
+                }
+                if (declaration != null && type.getKind() == TypeRef.Kind.SINGLE) {
+                    checkEnumDefault(field, declaration);
+                }
+            }
+            checkFieldIds(table);
+        }
+
+        private void checkStruct(final Declaration struct) {
+            checkFieldNames(struct);
+            if (struct.getFields().isEmpty()) {
+                problem(struct.getLocation(), "size 0 structs not allowed");
+            }
+            for (final Field field : struct.getFields()) {
+                final TypeRef type = field.getType();
+                if (type.getKind() == TypeRef.Kind.VECTOR || type.isString()) {
+                    problem(type.getLocation(), "structs may contain only scalar or struct fields");
+                    continue;
+                }
+                if (type.isUserDefined()) {
+                    final Declaration declaration = resolve(type);
+                    if (declaration == struct) {
+                        problem(type.getLocation(), "struct cannot contain itself: " + struct.getFullName());
+                    } else if (declaration != null && (isDeclaredLater(declaration, type)
+                            || declaration.getKind() != Declaration.Kind.STRUCT
+                            && declaration.getKind() != Declaration.Kind.ENUM)) {
+                        problem(type.getLocation(), "structs may contain only scalar or struct fields");
+                    } else if (declaration != null) {
+                        checkEnumDefault(field, declaration);
+                    }
+                }
+                if (field.getDefaultValue() != null) {
+                    problem(field.getLocation(), "default values are not supported for struct fields");
+                }
+            }
+        }
+
+        private void checkEnum(final Declaration declaration) {
+            final TypeRef underlyingType = declaration.getUnderlyingType();
+            final ScalarType scalar = underlyingType.getScalarType();
+            if (underlyingType.getKind() != TypeRef.Kind.SINGLE || scalar == null || !scalar.isInteger()) {
+                problem(underlyingType.getLocation(), "underlying enum type must be integral");
+                return;
+            }
+            final boolean bitFlags = declaration.getAttributes().containsKey("bit_flags");
+            final Set<String> names = new HashSet<String>();
+            EnumValue previous = null;
+            for (final EnumValue value : declaration.getValues()) {
+                if (!names.add(value.getName())) {
+                    problem(value.getLocation(), "enum value already exists: " + value.getName());
+                }
+                if (previous != null && !isAscending(previous.getValue(), value.getValue(), scalar)) {
+                    problem(value.getLocation(), "enum values must be specified in ascending order");
+                }
+                if (bitFlags) {
+                    if (value.getValue() < 0 || value.getValue() >= scalar.getSize() * 8L) {
+                        problem(value.getLocation(), "bit flag out of range of underlying integral type");
+                    }
+                } else if (!fits(value.getValue(), scalar)) {
+                    problem(value.getLocation(), "enum value does not fit in " + scalar.getName());
+                }
+                previous = value;
+            }
+        }
+
+        private void checkUnion(final Declaration union) {
+            final Set<String> names = new HashSet<String>();
+            for (final EnumValue value : union.getValues()) {
+                if (!names.add(value.getName())) {
+                    problem(value.getLocation(), "union member already exists: " + value.getName());
+                }
+                final TypeRef type = value.getType();
+                if (type == null || type.isString()) {
+                    continue;
+                }
+                if (type.getKind() != TypeRef.Kind.SINGLE || type.getScalarType() != null) {
+                    problem(type.getLocation(), "union members must be tables, structs or strings");
+                    continue;
+                }
+                final Declaration declaration = resolve(type);
+                if (declaration != null && declaration.getKind() != Declaration.Kind.TABLE
+                        && declaration.getKind() != Declaration.Kind.STRUCT) {
+                    problem(type.getLocation(), "union members must be tables, structs or strings");
+                }
+            }
+        }
+
+        private void checkFieldNames(final Declaration declaration) {
+            final Set<String> names = new HashSet<String>();
+            for (final Field field : declaration.getFields()) {
+                if (!names.add(field.getName())) {
+                    problem(field.getLocation(), "field already exists: " + field.getName());
+                }
+            }
+        }
+
+        /**
+         * Checks that either no field or every field has an {@code id}, and that ids are consecutive from zero.
+         * A union field takes two ids, the one before its own is used by the hidden type field.
+         */
+        private void checkFieldIds(final Declaration table) {
+            final Map<Integer, Field> byId = new HashMap<Integer, Field>();
+            int withId = 0;
+            for (final Field field : table.getFields()) {
+                final String id = field.getAttributes().get("id");
+                if (id == null) {
+                    continue;
+                }
+                withId++;
+                try {
+                    if (byId.put(Integer.parseInt(id), field) != null) {
+                        problem(field.getLocation(), "field id " + id + " is set twice");
+                    }
+                } catch (NumberFormatException e) {
+                    problem(field.getLocation(), "field id must be an integer: " + id);
+                }
+            }
+            if (withId == 0) {
+                return;
+            }
+            if (withId != table.getFields().size()) {
+                problem(table.getLocation(), "either all fields or no fields must have an 'id' attribute");
+                return;
+            }
+            final List<Integer> ids = new ArrayList<Integer>(byId.keySet());
+            Collections.sort(ids);
+            int expected = 0;
+            for (final int id : ids) {
+                final Field field = byId.get(id);
+                final int typeIds = isUnion(field.getType()) ? 1 : 0;
+                if (id != expected + typeIds) {
+                    problem(field.getLocation(), "field id's must be consecutive from 0, id "
+                            + expected + " missing or set twice");
+                    return;
+                }
+                expected = id + 1;
+            }
+        }
+
+        private boolean isUnion(final TypeRef type) {
+            if (!type.isUserDefined()) {
+                return false;
+            }
+            final Declaration declaration = SchemaSet.lookup(types, type.getName(), type.getScope());
+            return declaration != null && declaration.getKind() == Declaration.Kind.UNION;
+        }
+
+        private void checkDefaultValue(final Field field, final Declaration declaration) {
+            final TypeRef type = field.getType();
+            final String value = field.getDefaultValue();
+            if ("null".equals(value) && type.getKind() == TypeRef.Kind.SINGLE) {
+                return;
+            }
+            final ScalarType scalar = type.getScalarType();
+            final boolean isEnum = declaration != null && declaration.getKind() == Declaration.Kind.ENUM;
+            if (type.getKind() != TypeRef.Kind.SINGLE || (scalar == null && !isEnum)) {
+                problem(field.getLocation(), "default values are only supported for scalars and enums");
+            } else if (scalar == ScalarType.BOOL) {
+                if (!value.equals("true") && !value.equals("false") && !value.equals("0") && !value.equals("1")) {
+                    problem(field.getLocation(), "invalid default value for bool: " + value);
+                }
+            } else if (scalar != null && scalar.isFloatingPoint()) {
+                if (!isFloat(value)) {
+                    problem(field.getLocation(), "invalid default value for " + scalar.getName() + ": " + value);
+                }
+            } else if (scalar != null) {
+                final Long number = parseInteger(value);
+                if (number == null || !fits(number, scalar)) {
+                    problem(field.getLocation(), "invalid default value for " + scalar.getName() + ": " + value);
+                }
+            } else if (parseInteger(value) == null) {
+                for (final String name : value.split("\\s+")) {
+                    if (declaration.getValue(name) == null) {
+                        problem(field.getLocation(), "unknown enum value " + name + " of " + declaration.getFullName());
+                    }
+                }
+            }
+        }
+
+        /**
+         * Checks that the numeric default of a field of an enum type, zero if none is given, names a value of the
+         * enum. Bit flags may combine values.
+         */
+        private void checkEnumDefault(final Field field, final Declaration declaration) {
+            if (declaration.getKind() != Declaration.Kind.ENUM
+                    || declaration.getAttributes().containsKey("bit_flags")) {
+                return;
+            }
+            final Long number = field.getDefaultValue() == null
+                    ? Long.valueOf(0) : parseInteger(field.getDefaultValue());
+            if (number == null) {
+                return;
+            }
+            for (final EnumValue value : declaration.getValues()) {
+                if (value.getValue() == number) {
+                    return;
+                }
+            }
+            problem(field.getLocation(), "default value of " + number + " for field " + field.getName()
+                    + " is not part of enum " + declaration.getName());
+        }
+
+        /**
+         * Returns whether a type is declared further down the file that references it; {@code flatc} reads a file
+         * in one pass and only tables and structs used in tables may be referenced ahead of their declaration.
+         */
+        private boolean isDeclaredLater(final Declaration declaration, final TypeRef type) {
+            return declaration.getLocation().getFile().equals(type.getLocation().getFile())
+                    && declaration.getLocation().compareTo(type.getLocation()) > 0;
+        }
+
+        private void checkKind(final TypeRef type, final String role, final Declaration.Kind kind) {
+            final Declaration declaration = resolve(type);
+            if (declaration != null && declaration.getKind() != kind) {
+                problem(type.getLocation(), role + " must be a " + kind.name().toLowerCase() + ": " + type.getName());
+            }
+        }
+
+        /**
+         * Resolves a reference from the current file, reporting unknown types and types that are declared
+         * in a file that is not included.
+         */
+        private Declaration resolve(final TypeRef type) {
+            final Declaration declaration = SchemaSet.lookup(types, type.getName(), type.getScope());
+            if (declaration == null) {
+                problem(type.getLocation(), "type referenced but not defined (check namespace): " + type.getName());
+            } else if (!visibleFiles(schema.getFile()).contains(declaration.getLocation().getFile())) {
+                problem(type.getLocation(), "type referenced but not defined (check namespace): " + type.getName()
+                        + ", it is declared in " + declaration.getLocation().getFile() + " which is not included");
+                return null;
+            }
+            return declaration;
+        }
+
+        private Set<File> visibleFiles(final File file) {
+            Set<File> visible = visibleFiles.get(file);
+            if (visible == null) {
+                visible = new HashSet<File>();
+                final Deque<File> pending = new ArrayDeque<File>();
+                pending.add(file);
+                while (!pending.isEmpty()) {
+                    final File next = pending.poll();
+                    if (visible.add(next) && includes.containsKey(next)) {
+                        pending.addAll(includes.get(next));
+                    }
+                }
+                visibleFiles.put(file, visible);
+            }
+            return visible;
+        }
+
+        private void problem(final Location location, final String message) {
+            problems.add(new SchemaProblem(location, message));
+        }
+
+        private static boolean isAscending(final long previous, final long value, final ScalarType scalar) {
+            return scalar == ScalarType.ULONG ? Long.compareUnsigned(previous, value) < 0 : previous < value;
+        }
+
+        private static boolean fits(final long value, final ScalarType scalar) {
+            if (scalar.getSize() == 8) {
+                return true;
+            }
+            final int bits = scalar.getSize() * 8;
+            return scalar.isUnsigned()
+                    ? value >= 0 && value < (1L << bits)
+                    : value >= -(1L << (bits - 1)) && value < (1L << (bits - 1));
+        }
+
+        private static Long parseInteger(final String text) {
+            try {
+                final boolean negative = text.startsWith("-");
+                final String digits = text.startsWith("-") || text.startsWith("+") ? text.substring(1) : text;
+                final boolean hex = digits.length() > 2 && (digits.charAt(1) | 0x20) == 'x';
+                final long value = hex
+                        ? Long.parseUnsignedLong(digits.substring(2), 16) : Long.parseUnsignedLong(digits);
+                return negative ? -value : value;
+            } catch (NumberFormatException e) {
+                return null;
+            }
+        }
+
+        private static boolean isFloat(final String text) {
+            final String unsigned = text.startsWith("-") || text.startsWith("+") ? text.substring(1) : text;
+            if (unsigned.equals("nan") || unsigned.equals("inf") || unsigned.equals("infinity")) {
+                return true;
+            }
+            if (unsigned.isEmpty() || "fFdD".indexOf(unsigned.charAt(unsigned.length() - 1)) >= 0) {
+                return false;
+            }
+            try {
+                Double.parseDouble(unsigned);
+                return true;
+            } catch (NumberFormatException e) {
+                return parseInteger(text) != null;
+            }
+        }
+    }
+}
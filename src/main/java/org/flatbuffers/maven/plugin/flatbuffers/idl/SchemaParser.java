@@ -0,0 +1,493 @@
+package org.flatbuffers.maven.plugin.flatbuffers.idl;
+
+/*
+ * Copyright (c) 2016 Maven Flatbuffers Plugin Authors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+import com.google.common.base.Charsets;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.io.Files;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.flatbuffers.maven.plugin.flatbuffers.idl.SchemaLexer.Kind.FLOAT;
+import static org.flatbuffers.maven.plugin.flatbuffers.idl.SchemaLexer.Kind.IDENTIFIER;
+import static org.flatbuffers.maven.plugin.flatbuffers.idl.SchemaLexer.Kind.INTEGER;
+import static org.flatbuffers.maven.plugin.flatbuffers.idl.SchemaLexer.Kind.PUNCTUATION;
+import static org.flatbuffers.maven.plugin.flatbuffers.idl.SchemaLexer.Kind.STRING;
+
+/**
+ * A parser for the flatbuffers schema language, following the grammar of {@code flatc}.
+ * It builds the syntax tree of a single file and stops at the first syntax error;
+ * semantic checks that need the included files are done by {@link SchemaLoader}.
+ *
+ * <p>JSON objects, which {@code flatc} accepts after the declarations, are parsed and discarded.</p>
+ *
+ * @since 0.1.0
+ */
+public final class SchemaParser {
+
+    private final File file;
+
+    private final SchemaLexer lexer;
+
+    private String namespace = "";
+
+    private String firstNamespace;
+
+    private final ImmutableList.Builder<Schema.Include> includes = ImmutableList.builder();
+
+    private final ImmutableList.Builder<Declaration> declarations = ImmutableList.builder();
+
+    private final ImmutableList.Builder<String> declaredAttributes = ImmutableList.builder();
+
+    private TypeRef rootType;
+
+    private String fileIdentifier;
+
+    private String fileExtension;
+
+    private boolean declarationSeen;
+
+    private SchemaParser(final File file, final String text) {
+        this.file = file;
+        this.lexer = new SchemaLexer(file, text);
+    }
+
+    /**
+     * Parses a definition file, which is read as UTF-8.
+     *
+     * @param file the definition file.
+     * @return the syntax tree.
+     * @throws IOException if the file cannot be read.
+     * @throws SchemaException if the file has a syntax error.
+     */
+    public static Schema parse(final File file) throws IOException, SchemaException {
+        return parse(file, Files.asCharSource(file, Charsets.UTF_8).read());
+    }
+
+    /**
+     * Parses the text of a definition file.
+     *
+     * @param file the file used in locations.
+     * @param text the definitions.
+     * @return the syntax tree.
+     * @throws SchemaException if the text has a syntax error.
+     */
+    public static Schema parse(final File file, final String text) throws SchemaException {
+        return new SchemaParser(file, text).parseSchema();
+    }
+
+    private Schema parseSchema() throws SchemaException {
+        lexer.next();
+        while (lexer.kind() != SchemaLexer.Kind.END) {
+            if (lexer.isPunctuation('{')) {
+                parseValue();
+                continue;
+            }
+            if (lexer.kind() != IDENTIFIER) {
+                throw unexpected();
+            }
+            final String keyword = lexer.value();
+            if ("include".equals(keyword) || "native_include".equals(keyword)) {
+                if (declarationSeen) {
+                    throw lexer.error("includes must come before declarations");
+                }
+                final Location location = lexer.location();
+                lexer.next();
+                final String path = expectString();
+                if ("include".equals(keyword)) {
+                    includes.add(new Schema.Include(path, location));
+                }
+                expect(';');
+                continue;
+            }
+            declarationSeen = true;
+            if ("namespace".equals(keyword)) {
+                lexer.next();
+                namespace = lexer.isPunctuation(';') ? "" : parseQualifiedName();
+                if (firstNamespace == null) {
+                    firstNamespace = namespace;
+                }
+                expect(';');
+            } else if ("table".equals(keyword)) {
+                parseStructOrTable(Declaration.Kind.TABLE);
+            } else if ("struct".equals(keyword)) {
+                parseStructOrTable(Declaration.Kind.STRUCT);
+            } else if ("enum".equals(keyword)) {
+                parseEnum(false);
+            } else if ("union".equals(keyword)) {
+                parseEnum(true);
+            } else if ("rpc_service".equals(keyword)) {
+                parseService();
+            } else if ("root_type".equals(keyword)) {
+                lexer.next();
+                final Location location = lexer.location();
+                rootType = new TypeRef(parseQualifiedName(), TypeRef.Kind.SINGLE, 0, namespace, location);
+                expect(';');
+            } else if ("file_identifier".equals(keyword)) {
+                lexer.next();
+                final Location location = lexer.location();
+                fileIdentifier = expectString();
+                if (fileIdentifier.length() != 4) {
+                    throw new SchemaException(new SchemaProblem(location,
+                            "file_identifier must be exactly 4 characters"));
+                }
+                expect(';');
+            } else if ("file_extension".equals(keyword)) {
+                lexer.next();
+                fileExtension = expectString();
+                expect(';');
+            } else if ("attribute".equals(keyword)) {
+                lexer.next();
+                if (lexer.kind() == STRING || lexer.kind() == IDENTIFIER) {
+                    declaredAttributes.add(lexer.value());
+                    lexer.next();
+                } else {
+                    throw unexpected();
+                }
+                expect(';');
+            } else {
+                throw unexpected();
+            }
+        }
+        return new Schema(file, includes.build(), firstNamespace == null ? "" : firstNamespace,
+                declarations.build(), rootType, fileIdentifier, fileExtension, declaredAttributes.build());
+    }
+
+    private void parseStructOrTable(final Declaration.Kind kind) throws SchemaException {
+        final ImmutableList<String> documentation = lexer.documentation();
+        lexer.next();
+        final Location location = lexer.location();
+        final String name = expectIdentifier();
+        final ImmutableMap<String, String> attributes = parseMetadata();
+        expect('{');
+        final ImmutableList.Builder<Field> fields = ImmutableList.builder();
+        while (!lexer.isPunctuation('}')) {
+            fields.add(parseField());
+        }
+        lexer.next();
+        declarations.add(new Declaration(kind, namespace, name, null, fields.build(),
+                ImmutableList.<EnumValue>of(), ImmutableList.<RpcMethod>of(), attributes, documentation, location));
+    }
+
+    private Field parseField() throws SchemaException {
+        final ImmutableList<String> documentation = lexer.documentation();
+        final Location location = lexer.location();
+        final String name = expectIdentifier();
+        expect(':');
+        final TypeRef type = parseType();
+        String defaultValue = null;
+        if (lexer.isPunctuation('=')) {
+            lexer.next();
+            defaultValue = parseDefaultValue();
+        }
+        final ImmutableMap<String, String> attributes = parseMetadata();
+        expect(';');
+        return new Field(name, type, defaultValue, attributes, documentation, location);
+    }
+
+    private TypeRef parseType() throws SchemaException {
+        final Location location = lexer.location();
+        if (!lexer.isPunctuation('[')) {
+            return new TypeRef(parseQualifiedName(), TypeRef.Kind.SINGLE, 0, namespace, location);
+        }
+        lexer.next();
+        if (lexer.isPunctuation('[')) {
+            throw lexer.error("nested vector types not supported (wrap in table first)");
+        }
+        final String elementName = parseQualifiedName();
+        if (lexer.isPunctuation(':')) {
+            lexer.next();
+            if (lexer.kind() != INTEGER) {
+                throw lexer.error("length of fixed-length array must be an integer value");
+            }
+            final int length = (int) parseInteger(lexer.value(), false);
+            if (length <= 0) {
+                throw lexer.error("length of fixed-length array must be positive");
+            }
+            lexer.next();
+            expect(']');
+            return new TypeRef(elementName, TypeRef.Kind.ARRAY, length, namespace, location);
+        }
+        expect(']');
+        return new TypeRef(elementName, TypeRef.Kind.VECTOR, 0, namespace, location);
+    }
+
+    private String parseDefaultValue() throws SchemaException {
+        if (lexer.isPunctuation('[')) {
+            lexer.next();
+            expect(']');
+            return "[]";
+        }
+        String sign = "";
+        if (lexer.isPunctuation('-') || lexer.isPunctuation('+')) {
+            sign = lexer.value();
+            lexer.next();
+        }
+        if (lexer.kind() == INTEGER || lexer.kind() == FLOAT) {
+            final String value = sign + lexer.value();
+            lexer.next();
+            return value;
+        }
+        if (lexer.kind() == STRING && sign.isEmpty()) {
+            final String value = lexer.value();
+            lexer.next();
+            return value;
+        }
+        if (lexer.kind() == IDENTIFIER) {
+            return sign + parseQualifiedName();
+        }
+        throw unexpected();
+    }
+
+    private void parseEnum(final boolean union) throws SchemaException {
+        final ImmutableList<String> documentation = lexer.documentation();
+        lexer.next();
+        final Location location = lexer.location();
+        final String name = expectIdentifier();
+        final TypeRef underlyingType;
+        if (union) {
+            underlyingType = new TypeRef("ubyte", TypeRef.Kind.SINGLE, 0, namespace, location);
+        } else {
+            if (!lexer.isPunctuation(':')) {
+                throw lexer.error("must specify the underlying integer type for this enum (e.g. ': short')");
+            }
+            lexer.next();
+            underlyingType = parseType();
+        }
+        final ImmutableMap<String, String> attributes = parseMetadata();
+        expect('{');
+        final ImmutableList.Builder<EnumValue> values = ImmutableList.builder();
+        long next = 0;
+        if (union) {
+            values.add(new EnumValue("NONE", 0, null, ImmutableMap.<String, String>of(),
+                    ImmutableList.<String>of(), location));
+            next = 1;
+        }
+        while (!lexer.isPunctuation('}')) {
+            final ImmutableList<String> valueDocumentation = lexer.documentation();
+            final Location valueLocation = lexer.location();
+            String valueName = parseQualifiedName();
+            TypeRef type = null;
+            if (union) {
+                if (lexer.isPunctuation(':')) {
+                    lexer.next();
+                    type = parseType();
+                } else {
+                    type = new TypeRef(valueName, TypeRef.Kind.SINGLE, 0, namespace, valueLocation);
+                    valueName = valueName.replace('.', '_');
+                }
+            } else if (valueName.indexOf('.') >= 0) {
+                throw new SchemaException(new SchemaProblem(valueLocation, "enum value names cannot be qualified"));
+            }
+            if (lexer.isPunctuation('=')) {
+                lexer.next();
+                boolean negative = false;
+                if (lexer.isPunctuation('-') || lexer.isPunctuation('+')) {
+                    negative = lexer.isPunctuation('-');
+                    lexer.next();
+                }
+                if (lexer.kind() != INTEGER) {
+                    throw lexer.error("enum value must be an integer");
+                }
+                next = parseInteger(lexer.value(), negative);
+                lexer.next();
+            }
+            values.add(new EnumValue(valueName, next, type, parseMetadata(), valueDocumentation, valueLocation));
+            next++;
+            if (!lexer.isPunctuation(',')) {
+                break;
+            }
+            lexer.next();
+        }
+        expect('}');
+        declarations.add(new Declaration(union ? Declaration.Kind.UNION : Declaration.Kind.ENUM, namespace, name,
+                underlyingType, ImmutableList.<Field>of(), values.build(), ImmutableList.<RpcMethod>of(),
+                attributes, documentation, location));
+    }
+
+    private void parseService() throws SchemaException {
+        final ImmutableList<String> documentation = lexer.documentation();
+        lexer.next();
+        final Location location = lexer.location();
+        final String name = expectIdentifier();
+        final ImmutableMap<String, String> attributes = parseMetadata();
+        expect('{');
+        final ImmutableList.Builder<RpcMethod> methods = ImmutableList.builder();
+        while (!lexer.isPunctuation('}')) {
+            final ImmutableList<String> methodDocumentation = lexer.documentation();
+            final Location methodLocation = lexer.location();
+            final String methodName = expectIdentifier();
+            expect('(');
+            final TypeRef request = parseType();
+            expect(')');
+            expect(':');
+            final TypeRef response = parseType();
+            final ImmutableMap<String, String> methodAttributes = parseMetadata();
+            expect(';');
+            methods.add(new RpcMethod(methodName, request, response, methodAttributes, methodDocumentation,
+                    methodLocation));
+        }
+        lexer.next();
+        declarations.add(new Declaration(Declaration.Kind.RPC_SERVICE, namespace, name, null,
+                ImmutableList.<Field>of(), ImmutableList.<EnumValue>of(), methods.build(), attributes,
+                documentation, location));
+    }
+
+    /**
+     * Parses optional attributes in parentheses, such as {@code (id: 2, deprecated)}.
+     */
+    private ImmutableMap<String, String> parseMetadata() throws SchemaException {
+        if (!lexer.isPunctuation('(')) {
+            return ImmutableMap.of();
+        }
+        lexer.next();
+        final Map<String, String> attributes = new LinkedHashMap<String, String>();
+        while (!lexer.isPunctuation(')')) {
+            if (lexer.kind() != IDENTIFIER && lexer.kind() != STRING) {
+                throw unexpected();
+            }
+            final String name = lexer.value();
+            lexer.next();
+            String value = "";
+            if (lexer.isPunctuation(':')) {
+                lexer.next();
+                value = parseSingleValue();
+            }
+            attributes.put(name, value);
+            if (!lexer.isPunctuation(',')) {
+                break;
+            }
+            lexer.next();
+        }
+        expect(')');
+        return ImmutableMap.copyOf(attributes);
+    }
+
+    private String parseSingleValue() throws SchemaException {
+        String sign = "";
+        if (lexer.isPunctuation('-') || lexer.isPunctuation('+')) {
+            sign = lexer.value();
+            lexer.next();
+        }
+        if (lexer.kind() == INTEGER || lexer.kind() == FLOAT || lexer.kind() == IDENTIFIER
+                || (lexer.kind() == STRING && sign.isEmpty())) {
+            final String value = sign + lexer.value();
+            lexer.next();
+            return value;
+        }
+        throw unexpected();
+    }
+
+    /**
+     * Parses and discards a JSON value.
+     */
+    private void parseValue() throws SchemaException {
+        if (lexer.isPunctuation('{')) {
+            lexer.next();
+            while (!lexer.isPunctuation('}')) {
+                if (lexer.kind() != IDENTIFIER && lexer.kind() != STRING) {
+                    throw unexpected();
+                }
+                lexer.next();
+                expect(':');
+                parseValue();
+                if (!lexer.isPunctuation(',')) {
+                    break;
+                }
+                lexer.next();
+            }
+            expect('}');
+        } else if (lexer.isPunctuation('[')) {
+            lexer.next();
+            while (!lexer.isPunctuation(']')) {
+                parseValue();
+                if (!lexer.isPunctuation(',')) {
+                    break;
+                }
+                lexer.next();
+            }
+            expect(']');
+        } else {
+            parseSingleValue();
+        }
+    }
+
+    private String parseQualifiedName() throws SchemaException {
+        final StringBuilder name = new StringBuilder(expectIdentifier());
+        while (lexer.isPunctuation('.')) {
+            lexer.next();
+            name.append('.').append(expectIdentifier());
+        }
+        return name.toString();
+    }
+
+    private String expectIdentifier() throws SchemaException {
+        if (lexer.kind() != IDENTIFIER) {
+            throw lexer.error("expecting: identifier instead got: " + describe());
+        }
+        final String value = lexer.value();
+        lexer.next();
+        return value;
+    }
+
+    private String expectString() throws SchemaException {
+        if (lexer.kind() != STRING) {
+            throw lexer.error("expecting: string constant instead got: " + describe());
+        }
+        final String value = lexer.value();
+        lexer.next();
+        return value;
+    }
+
+    private void expect(final char punctuation) throws SchemaException {
+        if (!lexer.isPunctuation(punctuation)) {
+            throw lexer.error("expecting: " + punctuation + " instead got: " + describe());
+        }
+        lexer.next();
+    }
+
+    private SchemaException unexpected() {
+        return lexer.error("unexpected " + describe());
+    }
+
+    private String describe() {
+        switch (lexer.kind()) {
+            case END:
+                return "end of file";
+            case STRING:
+                return "string constant \"" + lexer.value() + '"';
+            case PUNCTUATION:
+                return "'" + lexer.value() + "'";
+            default:
+                return lexer.value();
+        }
+    }
+
+    private long parseInteger(final String text, final boolean negative) throws SchemaException {
+        try {
+            final boolean hex = text.length() > 2 && (text.charAt(1) | 0x20) == 'x';
+            final long value = hex ? Long.parseUnsignedLong(text.substring(2), 16) : Long.parseUnsignedLong(text);
+            return negative ? -value : value;
+        } catch (NumberFormatException e) {
+            throw lexer.error("invalid integer constant " + text);
+        }
+    }
+}
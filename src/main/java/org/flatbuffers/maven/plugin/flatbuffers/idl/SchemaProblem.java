@@ -0,0 +1,59 @@
+package org.flatbuffers.maven.plugin.flatbuffers.idl;
+
+/*
+ * Copyright (c) 2016 Maven Flatbuffers Plugin Authors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+/**
+ * An error found in a definition file.
+ *
+ * @since 0.1.0
+ */
+public final class SchemaProblem implements Comparable<SchemaProblem> {
+
+    private final Location location;
+
+    private final String message;
+
+    /**
+     * @param location where the problem was found.
+     * @param message description of the problem.
+     */
+    public SchemaProblem(final Location location, final String message) {
+        this.location = location;
+        this.message = message;
+    }
+
+    public Location getLocation() {
+        return location;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    @Override
+    public int compareTo(final SchemaProblem other) {
+        return location.compareTo(other.location);
+    }
+
+    /**
+     * Returns the problem in the {@code file:line:column: message} format understood by editors and IDEs.
+     */
+    @Override
+    public String toString() {
+        return location + ": " + message;
+    }
+}
@@ -0,0 +1,117 @@
+package org.flatbuffers.maven.plugin.flatbuffers.idl;
+
+/*
+ * Copyright (c) 2016 Maven Flatbuffers Plugin Authors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+
+import java.io.File;
+import java.util.Map;
+
+/**
+ * A set of definition files loaded together with the files they include,
+ * with the declared types and the problems found.
+ *
+ * @since 0.1.0
+ */
+public final class SchemaSet {
+
+    private final ImmutableMap<File, Schema> schemas;
+
+    private final ImmutableMap<File, ImmutableList<File>> includes;
+
+    private final ImmutableMap<String, Declaration> types;
+
+    private final ImmutableList<SchemaProblem> problems;
+
+    SchemaSet(
+            final ImmutableMap<File, Schema> schemas,
+            final ImmutableMap<File, ImmutableList<File>> includes,
+            final ImmutableMap<String, Declaration> types,
+            final ImmutableList<SchemaProblem> problems) {
+        this.schemas = schemas;
+        this.includes = includes;
+        this.types = types;
+        this.problems = problems;
+    }
+
+    /**
+     * Returns the parsed files, the requested ones first, by absolute normalized path.
+     * Files with syntax errors are missing.
+     *
+     * @return the syntax trees by file.
+     */
+    public ImmutableMap<File, Schema> getSchemas() {
+        return schemas;
+    }
+
+    /**
+     * Returns the resolved includes of a file.
+     *
+     * @param file a parsed file.
+     * @return the included files, empty if the file is unknown.
+     */
+    public ImmutableList<File> getIncludes(final File file) {
+        final ImmutableList<File> included = includes.get(file);
+        return included != null ? included : ImmutableList.<File>of();
+    }
+
+    /**
+     * Returns the declarations of all parsed files by fully qualified name.
+     *
+     * @return the declarations.
+     */
+    public ImmutableMap<String, Declaration> getTypes() {
+        return types;
+    }
+
+    /**
+     * Returns the problems found, ordered by location.
+     *
+     * @return the problems, empty if all files are valid.
+     */
+    public ImmutableList<SchemaProblem> getProblems() {
+        return problems;
+    }
+
+    public boolean hasProblems() {
+        return !problems.isEmpty();
+    }
+
+    /**
+     * Resolves a type reference the way {@code flatc} does: the name is looked up in the namespace
+     * of the reference, then in each enclosing namespace.
+     *
+     * @param type a reference to a user defined type.
+     * @return the declaration, or {@code null} if there is none.
+     */
+    public Declaration resolve(final TypeRef type) {
+        return lookup(types, type.getName(), type.getScope());
+    }
+
+    static Declaration lookup(final Map<String, Declaration> types, final String name, final String scope) {
+        String prefix = scope;
+        while (true) {
+            final Declaration declaration = types.get(prefix.isEmpty() ? name : prefix + '.' + name);
+            if (declaration != null || prefix.isEmpty()) {
+                return declaration;
+            }
+            final int dot = prefix.lastIndexOf('.');
+            prefix = dot < 0 ? "" : prefix.substring(0, dot);
+        }
+    }
+}
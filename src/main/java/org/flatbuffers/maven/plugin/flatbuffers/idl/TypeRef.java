@@ -0,0 +1,143 @@
+package org.flatbuffers.maven.plugin.flatbuffers.idl;
+
+/*
+ * Copyright (c) 2016 Maven Flatbuffers Plugin Authors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+/**
+ * A reference to a type, as written in a field, a union, an enum or a {@code root_type} declaration.
+ * The name is resolved against the namespace in which the reference appears, see {@link SchemaSet#resolve}.
+ *
+ * @since 0.1.0
+ */
+public final class TypeRef {
+
+    /**
+     * The shape of a referenced type.
+     */
+    public enum Kind {
+        /**
+         * A single value, such as {@code int} or {@code Monster}.
+         */
+        SINGLE,
+        /**
+         * A vector, such as {@code [Monster]}.
+         */
+        VECTOR,
+        /**
+         * A fixed length array, only allowed in structs, such as {@code [float:3]}.
+         */
+        ARRAY
+    }
+
+    private final String name;
+
+    private final Kind kind;
+
+    private final int length;
+
+    private final String scope;
+
+    private final Location location;
+
+    /**
+     * @param name the element type name, possibly qualified.
+     * @param kind the shape of the type.
+     * @param length the length of a fixed length array, otherwise zero.
+     * @param scope the namespace in which the reference appears.
+     * @param location where the reference appears.
+     */
+    public TypeRef(final String name, final Kind kind, final int length, final String scope, final Location location) {
+        this.name = name;
+        this.kind = kind;
+        this.length = length;
+        this.scope = scope;
+        this.location = location;
+    }
+
+    /**
+     * Returns the name of the type, or of the element type of a vector or array, as written.
+     *
+     * @return the type name.
+     */
+    public String getName() {
+        return name;
+    }
+
+    public Kind getKind() {
+        return kind;
+    }
+
+    /**
+     * Returns the length of a fixed length array.
+     *
+     * @return the length, or zero if the type is not an array.
+     */
+    public int getLength() {
+        return length;
+    }
+
+    /**
+     * Returns the namespace in which the reference appears.
+     *
+     * @return the namespace, empty for the root namespace.
+     */
+    public String getScope() {
+        return scope;
+    }
+
+    public Location getLocation() {
+        return location;
+    }
+
+    /**
+     * Returns the scalar type of the value or element.
+     *
+     * @return the scalar type, or {@code null} if the element is not a scalar.
+     */
+    public ScalarType getScalarType() {
+        return ScalarType.forName(name);
+    }
+
+    /**
+     * Returns whether the value or element is a string.
+     *
+     * @return {@code true} for {@code string} and {@code [string]}.
+     */
+    public boolean isString() {
+        return "string".equals(name);
+    }
+
+    /**
+     * Returns whether the value or element is declared in a schema, as opposed to a scalar or a string.
+     *
+     * @return {@code true} for references to tables, structs, enums and unions.
+     */
+    public boolean isUserDefined() {
+        return getScalarType() == null && !isString();
+    }
+
+    @Override
+    public String toString() {
+        switch (kind) {
+            case VECTOR:
+                return "[" + name + "]";
+            case ARRAY:
+                return "[" + name + ":" + length + "]";
+            default:
+                return name;
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package org.flatbuffers.maven.plugin.flatbuffers.spi;
+
+/*
+ * Copyright (c) 2016 Maven Flatbuffers Plugin Authors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+/**
+ * A code generator that runs inside the Maven JVM, as an alternative to a {@code flatc} plugin
+ * that is started as a separate process.
+ *
+ * <p>Implementations are packaged in a jar and declared in the {@code generators} section of the mojo
+ * configuration. They are loaded in an isolated class loader that only shares the classes of this package
+ * with the Maven plugin, so a generator may depend on any library version without conflicts.
+ * The implementation is either named in the configuration, or discovered with {@link java.util.ServiceLoader}
+ * from a {@code META-INF/services/org.flatbuffers.maven.plugin.flatbuffers.spi.CodeGenerator} entry.</p>
+ *
+ * <p>Implementations must have a public no-argument constructor. Several generators may run concurrently,
+ * and the same instance may be invoked by several modules of a parallel build,
+ * so implementations must be thread safe.</p>
+ *
+ * @since 0.1.0
+ */
+public interface CodeGenerator {
+
+    /**
+     * Generates code for the binary schemas of a compilation.
+     *
+     * @param context the input schemas, the output directory and the configuration.
+     * @throws Exception if generation fails; the build fails with this exception as the cause.
+     */
+    void generate(GeneratorContext context) throws Exception;
+}
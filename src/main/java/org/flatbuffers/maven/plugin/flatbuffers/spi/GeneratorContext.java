@@ -0,0 +1,74 @@
+package org.flatbuffers.maven.plugin.flatbuffers.spi;
+
+/*
+ * Copyright (c) 2016 Maven Flatbuffers Plugin Authors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+import java.io.File;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The input and output of a single {@link CodeGenerator} invocation.
+ *
+ * @since 0.1.0
+ */
+public interface GeneratorContext {
+
+    /**
+     * Returns the id of the generator, as declared in the mojo configuration.
+     *
+     * @return the generator id.
+     */
+    String getId();
+
+    /**
+     * Returns the binary schemas ({@code .bfbs} files, serialized {@code reflection.Schema} tables)
+     * compiled by {@code flatc}, one for each definition of the compilation.
+     *
+     * @return a list of binary schema files.
+     */
+    List<File> getBinarySchemas();
+
+    /**
+     * Returns the directory into which the generator writes its output.
+     * For the default configuration, this is the directory that holds the Java sources
+     * generated by {@code flatc}, which is a source root of the project.
+     *
+     * @return the output directory, which exists.
+     */
+    File getOutputDirectory();
+
+    /**
+     * Returns the generator parameters declared in the mojo configuration.
+     *
+     * @return an immutable map of parameters.
+     */
+    Map<String, String> getParameters();
+
+    /**
+     * Logs an informational message to the build log.
+     *
+     * @param message the message.
+     */
+    void info(String message);
+
+    /**
+     * Logs a warning to the build log.
+     *
+     * @param message the message.
+     */
+    void warn(String message);
+}
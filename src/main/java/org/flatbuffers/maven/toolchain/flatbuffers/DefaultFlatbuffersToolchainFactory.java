@@ -16,6 +16,7 @@ package org.flatbuffers.maven.toolchain.flatbuffers;
  * limitations under the License.
  */
 
+import org.apache.maven.artifact.versioning.DefaultArtifactVersion;
 import org.apache.maven.toolchain.MisconfiguredToolchainException;
 import org.apache.maven.toolchain.RequirementMatcher;
 import org.apache.maven.toolchain.RequirementMatcherFactory;
@@ -74,6 +75,16 @@ public class DefaultFlatbuffersToolchainFactory implements ToolchainFactory {
             throw new MisconfiguredToolchainException(
                     "Non-existing flatc executable at " + flatcExecutableFile.getAbsolutePath());
         }
+        final String reflectionFbs = configuration.getProperty(DefaultFlatbuffersToolchain.KEY_REFLECTION_FBS);
+        if (reflectionFbs != null) {
+            final File reflectionFbsFile = new File(FileUtils.normalize(reflectionFbs));
+            if (reflectionFbsFile.isFile()) {
+                toolchain.setReflectionFbs(reflectionFbsFile.getAbsolutePath());
+            } else {
+                throw new MisconfiguredToolchainException(
+                        "Non-existing reflection schema at " + reflectionFbsFile.getAbsolutePath());
+            }
+        }
 
         // populate the provides section
         final Properties provides = getProvidesProperties(model);
@@ -95,6 +106,20 @@ public class DefaultFlatbuffersToolchainFactory implements ToolchainFactory {
             toolchain.addProvideToken(key, matcher);
         }
 
+        // detect the version, so that it does not have to be declared and cannot be declared wrongly
+        final String detectedVersion = new FlatcVersionProbe(FlatcVersionProbe.defaultCacheFile(), logger)
+                .probe(flatcExecutableFile);
+        if (detectedVersion != null) {
+            final String declaredVersion = provides.getProperty("version");
+            if (declaredVersion == null) {
+                toolchain.addProvideToken("version", RequirementMatcherFactory.createVersionMatcher(detectedVersion));
+            } else if (new DefaultArtifactVersion(declaredVersion).compareTo(
+                    new DefaultArtifactVersion(detectedVersion)) != 0) {
+                logger.warn("Flatbuffers toolchain " + flatcExecutableFile.getAbsolutePath()
+                        + " declares version " + declaredVersion + ", but flatc reports " + detectedVersion);
+            }
+        }
+
         return toolchain;
     }
 
@@ -0,0 +1,120 @@
+package org.flatbuffers.maven.toolchain.flatbuffers;
+
+/*
+ * Copyright (c) 2016 Maven Flatbuffers Plugin Authors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+import org.codehaus.plexus.logging.Logger;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A cache of facts about executables, kept in memory and in a properties file shared by all builds of the user.
+ * Entries are keyed by the path, size and modification time of an executable, so they are invalidated
+ * when the executable is replaced.
+ *
+ * @since 0.1.0
+ */
+final class ExecutableCache {
+
+    private static final Map<String, String> VALUES = new ConcurrentHashMap<String, String>();
+
+    private final File cacheFile;
+
+    private final String comment;
+
+    private final Logger logger;
+
+    ExecutableCache(final File cacheFile, final String comment, final Logger logger) {
+        this.cacheFile = cacheFile;
+        this.comment = comment;
+        this.logger = logger;
+    }
+
+    /**
+     * Returns the key of an executable in its current state.
+     */
+    static String key(final File executable) {
+        return executable.getAbsolutePath() + '|' + executable.length() + '|' + executable.lastModified();
+    }
+
+    String get(final String key) {
+        final String memoryKey = cacheFile.getAbsolutePath() + '|' + key;
+        String value = VALUES.get(memoryKey);
+        if (value == null) {
+            value = load().getProperty(key);
+            if (value != null) {
+                VALUES.put(memoryKey, value);
+            }
+        }
+        return value;
+    }
+
+    /**
+     * Adds an entry to the cache. The file is re-read and then replaced atomically,
+     * so that concurrent builds neither read a partial file nor lose each other's entries for long.
+     */
+    void put(final String key, final String value) {
+        VALUES.put(cacheFile.getAbsolutePath() + '|' + key, value);
+        final Properties cache = load();
+        cache.setProperty(key, value);
+        final File directory = cacheFile.getParentFile();
+        try {
+            directory.mkdirs();
+            final File temporaryFile = File.createTempFile(cacheFile.getName(), ".tmp", directory);
+            try {
+                final OutputStream out = new FileOutputStream(temporaryFile);
+                try {
+                    cache.store(out, comment);
+                } finally {
+                    out.close();
+                }
+                Files.move(temporaryFile.toPath(), cacheFile.toPath(),
+                        StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } finally {
+                temporaryFile.delete();
+            }
+        } catch (IOException e) {
+            logger.debug("Could not write cache " + cacheFile, e);
+        }
+    }
+
+    private Properties load() {
+        final Properties cache = new Properties();
+        if (cacheFile.isFile()) {
+            try {
+                final InputStream in = new FileInputStream(cacheFile);
+                try {
+                    cache.load(in);
+                } finally {
+                    in.close();
+                }
+            } catch (IOException e) {
+                logger.debug("Could not read cache " + cacheFile, e);
+            }
+        }
+        return cache;
+    }
+}
@@ -0,0 +1,263 @@
+package org.flatbuffers.maven.toolchain.flatbuffers;
+
+/*
+ * Copyright (c) 2016 Maven Flatbuffers Plugin Authors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.hash.Hashing;
+import com.google.common.io.Files;
+import org.apache.maven.artifact.versioning.ArtifactVersion;
+import org.apache.maven.artifact.versioning.ComparableVersion;
+import org.apache.maven.artifact.versioning.DefaultArtifactVersion;
+import org.apache.maven.artifact.versioning.InvalidVersionSpecificationException;
+import org.apache.maven.artifact.versioning.VersionRange;
+import org.codehaus.plexus.component.annotations.Component;
+import org.codehaus.plexus.component.annotations.Requirement;
+import org.codehaus.plexus.logging.Logger;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * A registry of the {@code flatc} installations found on the local machine.
+ *
+ * <p>Configured directories are searched a few levels deep, so that side by side installations such as
+ * {@code /opt/flatbuffers/1.12.0/bin/flatc} are found; the directories of the {@code PATH} are searched
+ * directly. The version and SHA-256 checksum of each executable are cached on disk by path, size and
+ * modification time, so after the first build a lookup only lists directories.</p>
+ *
+ * @since 0.1.0
+ */
+@Component(role = FlatcRegistry.class)
+public class FlatcRegistry {
+
+    /**
+     * How many directory levels below a configured directory are searched.
+     */
+    private static final int MAX_DEPTH = 3;
+
+    /**
+     * Matches {@code flatc} and versioned names such as {@code flatc-1.12.0}, with an optional Windows extension.
+     */
+    private static final Pattern EXECUTABLE_NAME = Pattern.compile("flatc(-\\d[\\w.-]*)?(\\.exe)?");
+
+    @Requirement
+    private Logger logger;
+
+    /**
+     * Describes a {@code flatc} executable found by the registry.
+     */
+    public static final class Installation {
+
+        private final File executable;
+
+        private final String version;
+
+        private final String sha256;
+
+        Installation(final File executable, final String version, final String sha256) {
+            this.executable = executable;
+            this.version = version;
+            this.sha256 = sha256;
+        }
+
+        /**
+         * Returns the absolute path of the executable.
+         *
+         * @return the executable.
+         */
+        public File getExecutable() {
+            return executable;
+        }
+
+        /**
+         * Returns the version reported by the executable.
+         *
+         * @return the version.
+         */
+        public String getVersion() {
+            return version;
+        }
+
+        /**
+         * Returns the SHA-256 checksum of the executable, in lower case hexadecimal.
+         *
+         * @return the checksum.
+         */
+        public String getSha256() {
+            return sha256;
+        }
+
+        @Override
+        public String toString() {
+            return "flatc " + version + " at " + executable + " (sha256 " + sha256 + ')';
+        }
+    }
+
+    /**
+     * Returns the directories of the {@code PATH} environment variable.
+     *
+     * @return the directories, in search order.
+     */
+    public static List<File> systemPath() {
+        final String path = System.getenv("PATH");
+        if (path == null) {
+            return ImmutableList.of();
+        }
+        final ImmutableList.Builder<File> directories = ImmutableList.builder();
+        for (final String element : path.split(Pattern.quote(File.pathSeparator))) {
+            if (!element.isEmpty()) {
+                directories.add(new File(element));
+            }
+        }
+        return directories.build();
+    }
+
+    /**
+     * Returns the version of an executable. A bare name, such as {@code flatc}, is looked up in the {@code PATH}.
+     *
+     * @param executable the path or the name of the executable.
+     * @return the version, or {@code null} if the executable is not found or its version cannot be determined.
+     */
+    public String version(final String executable) {
+        File file = new File(executable);
+        if (!file.isFile() && file.getParent() == null) {
+            for (final File directory : systemPath()) {
+                final File candidate = new File(directory, executable);
+                final File windowsCandidate = new File(directory, executable + ".exe");
+                if (candidate.isFile() && candidate.canExecute()) {
+                    file = candidate;
+                    break;
+                } else if (windowsCandidate.isFile() && windowsCandidate.canExecute()) {
+                    file = windowsCandidate;
+                    break;
+                }
+            }
+        }
+        if (!file.isFile()) {
+            return null;
+        }
+        return new FlatcVersionProbe(FlatcVersionProbe.defaultCacheFile(), logger).probe(file.getAbsoluteFile());
+    }
+
+    /**
+     * Finds the installations in the given directories. Executables whose version cannot be determined
+     * are left out, as are copies of an executable found earlier, as identified by their checksum.
+     *
+     * @param searchPath configured directories, searched a few levels deep.
+     * @param includeSystemPath whether to also search the directories of the {@code PATH}.
+     * @return the installations, in search order.
+     */
+    public List<Installation> discover(final List<File> searchPath, final boolean includeSystemPath) {
+        final Set<File> executables = new LinkedHashSet<File>();
+        for (final File directory : searchPath) {
+            collect(directory, MAX_DEPTH, executables);
+        }
+        if (includeSystemPath) {
+            for (final File directory : systemPath()) {
+                collect(directory, 0, executables);
+            }
+        }
+
+        final FlatcVersionProbe probe = new FlatcVersionProbe(FlatcVersionProbe.defaultCacheFile(), logger);
+        final ExecutableCache checksums = new ExecutableCache(
+                checksumCacheFile(), "flatc SHA-256 checksums by path|size|mtime", logger);
+        final Set<String> seen = new HashSet<String>();
+        final List<Installation> installations = new ArrayList<Installation>();
+        for (final File executable : executables) {
+            final String version = probe.probe(executable);
+            if (version == null) {
+                continue;
+            }
+            final String key = ExecutableCache.key(executable);
+            String sha256 = checksums.get(key);
+            if (sha256 == null) {
+                try {
+                    sha256 = Files.asByteSource(executable).hash(Hashing.sha256()).toString();
+                } catch (IOException e) {
+                    logger.warn("Could not read " + executable, e);
+                    continue;
+                }
+                checksums.put(key, sha256);
+            }
+            if (seen.add(sha256)) {
+                installations.add(new Installation(executable, version, sha256));
+            } else if (logger.isDebugEnabled()) {
+                logger.debug("Ignoring " + executable + ", a copy of an installation found earlier");
+            }
+        }
+        return installations;
+    }
+
+    /**
+     * Returns the installation with the highest version that satisfies a requirement.
+     *
+     * @param versionRequirement a version, which must match exactly, or a version range such as {@code [1.11,1.13)}.
+     * @param searchPath configured directories, searched a few levels deep.
+     * @param includeSystemPath whether to also search the directories of the {@code PATH}.
+     * @return the installation, or {@code null} if none satisfies the requirement.
+     * @throws InvalidVersionSpecificationException if the requirement is not a valid version or range.
+     */
+    public Installation select(
+            final String versionRequirement,
+            final List<File> searchPath,
+            final boolean includeSystemPath) throws InvalidVersionSpecificationException {
+        final VersionRange range = VersionRange.createFromVersionSpec(versionRequirement);
+        Installation selected = null;
+        ComparableVersion selectedVersion = null;
+        for (final Installation installation : discover(searchPath, includeSystemPath)) {
+            final ArtifactVersion version = new DefaultArtifactVersion(installation.getVersion());
+            final boolean matches = range.hasRestrictions()
+                    ? range.containsVersion(version)
+                    : range.getRecommendedVersion().equals(version);
+            // ArtifactVersion is a raw Comparable in Maven 3.0, ComparableVersion has the same order
+            final ComparableVersion order = new ComparableVersion(installation.getVersion());
+            if (matches && (selectedVersion == null || order.compareTo(selectedVersion) > 0)) {
+                selected = installation;
+                selectedVersion = order;
+            }
+        }
+        return selected;
+    }
+
+    private static File checksumCacheFile() {
+        return new File(System.getProperty("user.home"), ".m2/flatbuffers/flatc-checksums.properties");
+    }
+
+    private static void collect(final File directory, final int depth, final Set<File> executables) {
+        final File[] files = directory.listFiles();
+        if (files == null) {
+            return;
+        }
+        Arrays.sort(files);
+        for (final File file : files) {
+            if (file.isFile()) {
+                if (EXECUTABLE_NAME.matcher(file.getName()).matches() && file.canExecute()) {
+                    executables.add(file.getAbsoluteFile());
+                }
+            } else if (depth > 0 && file.isDirectory()) {
+                collect(file, depth - 1, executables);
+            }
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package org.flatbuffers.maven.toolchain.flatbuffers;
+
+/*
+ * Copyright (c) 2016 Maven Flatbuffers Plugin Authors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+import org.codehaus.plexus.logging.Logger;
+import org.codehaus.plexus.util.cli.CommandLineException;
+import org.codehaus.plexus.util.cli.CommandLineUtils;
+import org.codehaus.plexus.util.cli.Commandline;
+
+import java.io.File;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Detects the version of a {@code flatc} executable by running {@code flatc --version}.
+ *
+ * <p>Results are cached in memory and in a properties file shared by all builds of the user,
+ * keyed by the path, size and modification time of the executable, so that an executable
+ * is only run once, until it is replaced.</p>
+ *
+ * @since 0.1.0
+ */
+public class FlatcVersionProbe {
+
+    /**
+     * Maximum time to wait for {@code flatc --version}, in seconds.
+     */
+    private static final int TIMEOUT_SECONDS = 30;
+
+    private static final Pattern VERSION = Pattern.compile("(\\d+(?:\\.\\d+)+)");
+
+    private final ExecutableCache cache;
+
+    private final Logger logger;
+
+    /**
+     * @param cacheFile the persistent cache of detected versions.
+     * @param logger a logger.
+     */
+    public FlatcVersionProbe(final File cacheFile, final Logger logger) {
+        this.cache = new ExecutableCache(cacheFile, "flatc versions by path|size|mtime", logger);
+        this.logger = logger;
+    }
+
+    /**
+     * Returns the default location of the persistent cache, in the user's Maven directory.
+     *
+     * @return the cache file.
+     */
+    public static File defaultCacheFile() {
+        return new File(System.getProperty("user.home"), ".m2/flatbuffers/flatc-versions.properties");
+    }
+
+    /**
+     * Returns the version of the given executable.
+     *
+     * @param flatcExecutable the executable to probe.
+     * @return the version, such as {@code 1.12.0}, or {@code null} if it cannot be determined.
+     */
+    public String probe(final File flatcExecutable) {
+        final String key = ExecutableCache.key(flatcExecutable);
+        String version = cache.get(key);
+        if (version == null) {
+            version = execute(flatcExecutable);
+            if (version != null) {
+                cache.put(key, version);
+            }
+        }
+        return version;
+    }
+
+    private String execute(final File flatcExecutable) {
+        final Commandline cl = new Commandline();
+        cl.setExecutable(flatcExecutable.getAbsolutePath());
+        cl.addArguments(new String[] {"--version"});
+        final CommandLineUtils.StringStreamConsumer output = new CommandLineUtils.StringStreamConsumer();
+        final CommandLineUtils.StringStreamConsumer error = new CommandLineUtils.StringStreamConsumer();
+        try {
+            final int exitStatus = CommandLineUtils.executeCommandLine(cl, output, error, TIMEOUT_SECONDS);
+            final Matcher matcher = VERSION.matcher(output.getOutput() + error.getOutput());
+            if (exitStatus == 0 && matcher.find()) {
+                if (logger.isDebugEnabled()) {
+                    logger.debug("Detected flatc version " + matcher.group(1) + " for " + flatcExecutable);
+                }
+                return matcher.group(1);
+            }
+            logger.warn("Could not detect the version of " + flatcExecutable + ": " + error.getOutput());
+        } catch (CommandLineException e) {
+            logger.warn("Could not detect the version of " + flatcExecutable, e);
+        }
+        return null;
+    }
+}
@@ -0,0 +1,251 @@
+package org.flatbuffers.maven.plugin.flatbuffers;
+
+/*
+ * Copyright (c) 2016 Maven Flatbuffers Plugin Authors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+import com.google.common.base.Charsets;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.io.Files;
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugin.logging.SystemStreamLog;
+import org.flatbuffers.maven.plugin.flatbuffers.spi.CodeGenerator;
+import org.flatbuffers.maven.plugin.flatbuffers.spi.GeneratorContext;
+import org.junit.BeforeClass;
+import org.junit.ClassRule;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import javax.tools.JavaCompiler;
+import javax.tools.ToolProvider;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class GeneratorRunnerTest {
+
+    private static final String GENERATOR_CLASS = "test.gen.EchoGenerator";
+
+    private static final String UNUSED_CLASS = "test.gen.Unused";
+
+    private static final String GENERATOR_SOURCE = "package test.gen;\n"
+            + "\n"
+            + "import org.flatbuffers.maven.plugin.flatbuffers.spi.CodeGenerator;\n"
+            + "import org.flatbuffers.maven.plugin.flatbuffers.spi.GeneratorContext;\n"
+            + "\n"
+            + "public class EchoGenerator implements CodeGenerator {\n"
+            + "    public void generate(GeneratorContext context) throws Exception {\n"
+            + "        java.nio.file.Files.write(\n"
+            + "                new java.io.File(context.getOutputDirectory(), context.getId() + \".txt\").toPath(),\n"
+            + "                context.getParameters().get(\"greeting\").getBytes(\"UTF-8\"));\n"
+            + "    }\n"
+            + "}\n";
+
+    private static final String UNUSED_SOURCE = "package test.gen;\n"
+            + "\n"
+            + "public class Unused {\n"
+            + "}\n";
+
+    @ClassRule
+    public static final TemporaryFolder CLASSES = new TemporaryFolder();
+
+    private static byte[] generatorJar;
+
+    @Rule
+    public final TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private final GeneratorRunner runner =
+            new GeneratorRunner(null, null, null, null, null, null, new SystemStreamLog());
+
+    @BeforeClass
+    public static void compileGenerator() throws Exception {
+        final File sources = CLASSES.newFolder("sources");
+        final File classes = CLASSES.newFolder("classes");
+        final File generatorSource = new File(sources, "EchoGenerator.java");
+        final File unusedSource = new File(sources, "Unused.java");
+        Files.asCharSink(generatorSource, Charsets.UTF_8).write(GENERATOR_SOURCE);
+        Files.asCharSink(unusedSource, Charsets.UTF_8).write(UNUSED_SOURCE);
+        final JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        final String spiClasses =
+                new File(CodeGenerator.class.getProtectionDomain().getCodeSource().getLocation().toURI()).getPath();
+        assertEquals(0, compiler.run(null, null, null, "-classpath", spiClasses, "-d", classes.getPath(),
+                generatorSource.getPath(), unusedSource.getPath()));
+
+        final ByteArrayOutputStream jar = new ByteArrayOutputStream();
+        final JarOutputStream out = new JarOutputStream(jar);
+        try {
+            for (final String className : new String[] {GENERATOR_CLASS, UNUSED_CLASS}) {
+                final String path = className.replace('.', '/') + ".class";
+                out.putNextEntry(new JarEntry(path));
+                out.write(Files.toByteArray(new File(classes, path)));
+                out.closeEntry();
+            }
+            out.putNextEntry(new JarEntry("META-INF/services/" + CodeGenerator.class.getName()));
+            out.write((GENERATOR_CLASS + "\n").getBytes(Charsets.UTF_8));
+            out.closeEntry();
+        } finally {
+            out.close();
+        }
+        generatorJar = jar.toByteArray();
+    }
+
+    @Test
+    public void runsServiceOfIsolatedJar() throws Exception {
+        final CodeGenerator generator = runner.getGenerator(definition("echo", null), jars("echo.jar"));
+        final File outputDirectory = temporaryFolder.newFolder("out");
+        generator.generate(context("echo", outputDirectory, ImmutableMap.of("greeting", "hello")));
+
+        assertEquals(GENERATOR_CLASS, generator.getClass().getName());
+        assertEquals("hello", Files.asCharSource(new File(outputDirectory, "echo.txt"), Charsets.UTF_8).read());
+        final ClassLoader classLoader = generator.getClass().getClassLoader();
+        assertTrue(classLoader instanceof GeneratorRunner.IsolatedClassLoader);
+        assertSame(CodeGenerator.class, classLoader.loadClass(CodeGenerator.class.getName()));
+        assertNotLoadable(classLoader, ImmutableList.class.getName());
+        assertNotLoadable(classLoader, GeneratorRunner.class.getName());
+        assertNotLoadable(getClass().getClassLoader(), GENERATOR_CLASS);
+    }
+
+    @Test
+    public void instantiatesConfiguredClass() throws Exception {
+        final List<File> jars = jars("configured.jar");
+
+        assertEquals(GENERATOR_CLASS, runner.getGenerator(definition("a", GENERATOR_CLASS), jars).getClass().getName());
+        try {
+            runner.getGenerator(definition("b", UNUSED_CLASS), jars);
+            fail("a class that is not a generator was instantiated");
+        } catch (MojoExecutionException e) {
+            assertTrue(e.getMessage(), e.getMessage().contains("does not implement"));
+        }
+        try {
+            runner.getGenerator(definition("c", "test.gen.Missing"), jars);
+            fail("a missing class was instantiated");
+        } catch (MojoExecutionException e) {
+            assertTrue(e.getMessage(), e.getMessage().contains("not found"));
+        }
+    }
+
+    @Test
+    public void closesClassLoaderOfChangedJars() throws Exception {
+        final List<File> jars = jars("changed.jar");
+        final CodeGenerator generator = runner.getGenerator(definition("changed", null), jars);
+        assertSame(generator, runner.getGenerator(definition("changed", null), jars));
+
+        jars.get(0).setLastModified(jars.get(0).lastModified() - 10000L);
+        final CodeGenerator reloaded = runner.getGenerator(definition("changed", null), jars);
+        assertNotSame(generator, reloaded);
+        assertNotSame(generator.getClass().getClassLoader(), reloaded.getClass().getClassLoader());
+        assertNotLoadable(generator.getClass().getClassLoader(), UNUSED_CLASS);
+    }
+
+    @Test
+    public void evictsLeastRecentlyUsedClassLoaders() throws Exception {
+        final List<CodeGenerator> generators = new ArrayList<CodeGenerator>();
+        for (int i = 0; i < 16; i++) {
+            generators.add(runner.getGenerator(definition("lru" + i, null), jars("lru" + i + ".jar")));
+        }
+        // the first class loader becomes the most recently used, the second one the least recently used
+        assertSame(generators.get(0), runner.getGenerator(definition("lru0", null), jars("lru0.jar")));
+        runner.getGenerator(definition("lru16", null), jars("lru16.jar"));
+
+        assertNotLoadable(generators.get(1).getClass().getClassLoader(), UNUSED_CLASS);
+        assertEquals(UNUSED_CLASS, generators.get(0).getClass().getClassLoader().loadClass(UNUSED_CLASS).getName());
+        assertSame(generators.get(0), runner.getGenerator(definition("lru0", null), jars("lru0.jar")));
+        assertNotSame(generators.get(1), runner.getGenerator(definition("lru1", null), jars("lru1.jar")));
+    }
+
+    /**
+     * Returns a copy of the generator jar, which is written unless it exists.
+     */
+    private List<File> jars(final String name) throws Exception {
+        final File jar = new File(temporaryFolder.getRoot(), name);
+        if (!jar.exists()) {
+            Files.write(generatorJar, jar);
+        }
+        final List<File> jars = new ArrayList<File>();
+        jars.add(jar);
+        return jars;
+    }
+
+    private static FlatcGenerator definition(final String id, final String generatorClass) throws Exception {
+        final FlatcGenerator definition = new FlatcGenerator();
+        set(definition, "id", id);
+        set(definition, "generatorClass", generatorClass);
+        return definition;
+    }
+
+    private static void set(final FlatcGenerator definition, final String name, final Object value)
+            throws Exception {
+        final Field field = FlatcGenerator.class.getDeclaredField(name);
+        field.setAccessible(true);
+        field.set(definition, value);
+    }
+
+    private static void assertNotLoadable(final ClassLoader classLoader, final String className) {
+        try {
+            classLoader.loadClass(className);
+            fail(className + " was loaded");
+        } catch (ClassNotFoundException e) {
+            // expected
+        }
+    }
+
+    private static GeneratorContext context(
+            final String id,
+            final File outputDirectory,
+            final Map<String, String> parameters) {
+        return new GeneratorContext() {
+            @Override
+            public String getId() {
+                return id;
+            }
+
+            @Override
+            public List<File> getBinarySchemas() {
+                return ImmutableList.of();
+            }
+
+            @Override
+            public File getOutputDirectory() {
+                return outputDirectory;
+            }
+
+            @Override
+            public Map<String, String> getParameters() {
+                return parameters;
+            }
+
+            @Override
+            public void info(final String message) {
+            }
+
+            @Override
+            public void warn(final String message) {
+            }
+        };
+    }
+}
@@ -0,0 +1,173 @@
+package org.flatbuffers.maven.plugin.flatbuffers;
+
+/*
+ * Copyright (c) 2016 Maven Flatbuffers Plugin Authors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+import com.google.common.base.Charsets;
+import com.google.common.base.Predicates;
+import com.google.common.collect.ImmutableList;
+import com.google.common.io.Files;
+import com.google.flatbuffers.FlatBufferBuilder;
+import com.google.flatbuffers.Table;
+import org.flatbuffers.maven.plugin.flatbuffers.codegen.InMemoryCompiler;
+import org.flatbuffers.maven.plugin.flatbuffers.codegen.JavaEngine;
+import org.flatbuffers.maven.plugin.flatbuffers.idl.Declaration;
+import org.flatbuffers.maven.plugin.flatbuffers.idl.SchemaLoader;
+import org.flatbuffers.maven.plugin.flatbuffers.idl.SchemaSet;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.ByteBuffer;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.ServiceLoader;
+import java.util.TreeMap;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Compiles the root type registry of generated tables, and loads it with {@link ServiceLoader}.
+ */
+public class RootTypeRegistryGeneratorTest {
+
+    private static final String INTERFACE = "org.flatbuffers.registry.RootTypeRegistry";
+
+    private static final String REGISTRY = "app.GameRegistry";
+
+    @Rule
+    public final TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Test
+    public void registersRootTypesForServiceLoader() throws Exception {
+        final List<File> fbsFiles = ImmutableList.of(
+                fbs("monster.fbs", "namespace Game;\ntable Monster { hp:short; }\nroot_type Monster;\n"
+                        + "file_identifier \"MONS\";\n"),
+                fbs("slot.fbs", "namespace Game.Save;\ntable Slot { id:int; }\nroot_type Slot;\n"
+                        + "file_identifier \"MONS\";\n"),
+                fbs("weapon.fbs", "namespace Game;\ntable Weapon { damage:int; }\nroot_type Weapon;\n"),
+                fbs("hidden.fbs", "namespace Game;\ntable Hidden (private) { a:int; }\nroot_type Hidden;\n"));
+        final SchemaSet schemas = load(fbsFiles);
+        final File sources = temporaryFolder.newFolder("sources");
+        new JavaEngine(1).generate(schemas, fbsFiles, sources, false, Predicates.alwaysTrue());
+
+        assertTrue(RootTypeRegistryGenerator.writeInterface(INTERFACE, sources));
+        final Map<Declaration, String> rootTypes =
+                RootTypeRegistryGenerator.rootTypes(schemas, fbsFiles, Predicates.alwaysTrue());
+        assertEquals(ImmutableList.of("MONS of Game.Save.Slot, also the identifier of Game.Monster"),
+                RootTypeRegistryGenerator.writeRegistry(REGISTRY, INTERFACE, rootTypes, sources));
+        // unchanged sources are not written again
+        assertFalse(RootTypeRegistryGenerator.writeInterface(INTERFACE, sources));
+
+        final File classes = temporaryFolder.newFolder("classes");
+        compile(sources).write(classes);
+        final File service = RootTypeRegistryGenerator.serviceFile(INTERFACE, classes);
+        Files.createParentDirs(service);
+        Files.copy(RootTypeRegistryGenerator.serviceFile(INTERFACE, sources), service);
+
+        final URLClassLoader classLoader =
+                new URLClassLoader(new URL[] {classes.toURI().toURL()}, getClass().getClassLoader());
+        try {
+            final Class<?> registryInterface = classLoader.loadClass(INTERFACE);
+            final Iterator<?> registries = ServiceLoader.load(registryInterface, classLoader).iterator();
+            assertTrue(registries.hasNext());
+            final Object registry = registries.next();
+            assertFalse(registries.hasNext());
+            assertEquals(REGISTRY, registry.getClass().getName());
+
+            final Map<?, ?> byName = (Map<?, ?>) registryInterface.getMethod("getRootTypes").invoke(registry);
+            assertEquals(ImmutableList.of("Game.Monster", "Game.Save.Slot", "Game.Weapon"),
+                    ImmutableList.copyOf(byName.keySet()));
+            final Map<?, ?> byIdentifier =
+                    (Map<?, ?>) registryInterface.getMethod("getFileIdentifiers").invoke(registry);
+            assertEquals(ImmutableList.of("MONS"), ImmutableList.copyOf(byIdentifier.keySet()));
+
+            final Class<?> rootType = classLoader.loadClass(INTERFACE + "$RootType");
+            final Object monster = byIdentifier.get("MONS");
+            assertEquals("Game.Monster", rootType.getMethod("getName").invoke(monster));
+            assertNull(rootType.getMethod("getFileIdentifier").invoke(byName.get("Game.Weapon")));
+
+            final FlatBufferBuilder builder = new FlatBufferBuilder();
+            builder.startTable(0);
+            builder.finish(builder.endTable(), "MONS");
+            final ByteBuffer bb = builder.dataBuffer();
+            assertEquals("MONS", rootType.getMethod("fileIdentifier", ByteBuffer.class).invoke(null, bb));
+            final Object table = rootType.getMethod("getRootAs", ByteBuffer.class).invoke(monster, bb);
+            assertTrue(table instanceof Table);
+            assertEquals("Game.Monster", table.getClass().getName());
+        } finally {
+            classLoader.close();
+        }
+    }
+
+    @Test
+    public void rejectsRootTypeWithoutNamespaceInPackagedRegistry() throws Exception {
+        final List<File> fbsFiles = ImmutableList.of(fbs("plain.fbs", "table Plain { a:int; }\nroot_type Plain;\n"));
+        final SchemaSet schemas = load(fbsFiles);
+        final Map<Declaration, String> rootTypes =
+                RootTypeRegistryGenerator.rootTypes(schemas, fbsFiles, Predicates.alwaysTrue());
+        final File sources = temporaryFolder.newFolder("sources");
+
+        try {
+            RootTypeRegistryGenerator.writeRegistry(REGISTRY, INTERFACE, rootTypes, sources);
+            fail("a registry in a package referred to a type without namespace");
+        } catch (IllegalArgumentException e) {
+            assertEquals("Root type Plain has no namespace, so the root type registry app.GameRegistry cannot "
+                    + "refer to it", e.getMessage());
+        }
+        // a registry without package can refer to the type
+        assertEquals(ImmutableList.of(), RootTypeRegistryGenerator.writeRegistry(
+                "PlainRegistry", INTERFACE, rootTypes, sources));
+        assertTrue(RootTypeRegistryGenerator.sourceFile("PlainRegistry", sources).isFile());
+    }
+
+    private File fbs(final String name, final String content) throws Exception {
+        final File file = new File(temporaryFolder.getRoot(), name);
+        Files.asCharSink(file, Charsets.UTF_8).write(content);
+        return file;
+    }
+
+    private SchemaSet load(final List<File> fbsFiles) throws Exception {
+        final SchemaSet schemas = new SchemaLoader(ImmutableList.of(temporaryFolder.getRoot()), 1).load(fbsFiles);
+        assertEquals(ImmutableList.of(), schemas.getProblems());
+        return schemas;
+    }
+
+    /**
+     * Compiles the Java sources under a directory against the flatbuffers runtime.
+     */
+    private static InMemoryCompiler.Result compile(final File directory) throws Exception {
+        final Map<String, String> sources = new TreeMap<String, String>();
+        for (final File file : Files.fileTraverser().depthFirstPreOrder(directory)) {
+            if (file.isFile() && file.getName().endsWith(".java")) {
+                sources.put(directory.toURI().relativize(file.toURI()).getPath(),
+                        Files.asCharSource(file, Charsets.UTF_8).read());
+            }
+        }
+        final File runtime = new File(Table.class.getProtectionDomain().getCodeSource().getLocation().toURI());
+        final InMemoryCompiler.Result result = new InMemoryCompiler(ImmutableList.of(runtime), "1.8").compile(sources);
+        assertEquals(ImmutableList.of(), result.getErrors());
+        return result;
+    }
+}
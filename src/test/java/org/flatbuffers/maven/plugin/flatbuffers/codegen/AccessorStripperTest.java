@@ -0,0 +1,169 @@
+package org.flatbuffers.maven.plugin.flatbuffers.codegen;
+
+/*
+ * Copyright (c) 2016 Maven Flatbuffers Plugin Authors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+import com.google.common.base.Charsets;
+import com.google.common.base.Predicates;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSetMultimap;
+import com.google.common.io.Files;
+import com.google.flatbuffers.Table;
+import org.flatbuffers.maven.plugin.flatbuffers.idl.SchemaLoader;
+import org.flatbuffers.maven.plugin.flatbuffers.idl.SchemaSet;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Compiles a caller of the generated {@code MyGame.Example.Monster}, and strips the accessors it does not call.
+ */
+public class AccessorStripperTest {
+
+    private static final String MONSTER = "MyGame/Example/Monster";
+
+    /**
+     * Calls {@code mana} from a lambda, which is an {@code invokedynamic} constant, refers to {@code hp}
+     * with a method reference, which is a method handle constant, and loads long and double constants,
+     * which take two entries of the constant pool.
+     */
+    private static final String CALLER = "package app;\n"
+            + "\n"
+            + "import MyGame.Example.Monster;\n"
+            + "import java.nio.ByteBuffer;\n"
+            + "import java.util.function.IntSupplier;\n"
+            + "\n"
+            + "public class Caller {\n"
+            + "  public static double use(ByteBuffer bb) {\n"
+            + "    final Monster monster = Monster.getRootAsMonster(bb);\n"
+            + "    long big = 1234567890123L;\n"
+            + "    double ratio = 2.5e300;\n"
+            + "    IntSupplier hp = monster::hp;\n"
+            + "    IntSupplier mana = () -> monster.mana();\n"
+            + "    return big * ratio + hp.getAsInt() + mana.getAsInt() + monster.name().length();\n"
+            + "  }\n"
+            + "}\n";
+
+    @Rule
+    public final TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private final Map<String, String> all = new TreeMap<String, String>();
+
+    private final Set<String> generatedClasses = new HashSet<String>();
+
+    private File sources;
+
+    private File classes;
+
+    /**
+     * Copies the generated sources of {@code monster_test.fbs}, and compiles them with the caller.
+     */
+    @Before
+    public void compileCaller() throws Exception {
+        sources = temporaryFolder.newFolder("sources");
+        final File golden = resource("golden/monster_test/java");
+        final Map<String, String> generated = new TreeMap<String, String>();
+        for (final File file : Files.fileTraverser().depthFirstPreOrder(golden)) {
+            if (file.isFile()) {
+                final String path = golden.toURI().relativize(file.toURI()).getPath();
+                final File copy = new File(sources, path);
+                Files.createParentDirs(copy);
+                Files.copy(file, copy);
+                generated.put(path, Files.asCharSource(file, Charsets.UTF_8).read());
+            }
+        }
+        all.putAll(generated);
+        all.put("app/Caller.java", CALLER);
+        classes = temporaryFolder.newFolder("classes");
+        assertCompiles(all).write(classes);
+
+        for (final String path : generated.keySet()) {
+            generatedClasses.add(path.substring(0, path.length() - ".java".length()));
+        }
+    }
+
+    @Test
+    public void keepsCalledAccessorsOnly() throws Exception {
+        final AccessorStripper stripper = AccessorStripper.scan(ImmutableList.of(classes), generatedClasses);
+        assertEquals(1, stripper.getScannedClasses());
+        final ImmutableSetMultimap<String, String> removed = stripper.strip(sources, ImmutableList.of(MONSTER));
+
+        final Set<String> removedFromMonster = removed.get(MONSTER);
+        assertFalse(removedFromMonster.contains("hp"));
+        assertFalse(removedFromMonster.contains("mana"));
+        assertFalse(removedFromMonster.contains("name"));
+        assertTrue(removedFromMonster.contains("nameAsByteBuffer"));
+        assertTrue(removedFromMonster.contains("color"));
+        assertTrue(removedFromMonster.contains("inventoryLength"));
+
+        final String monster = Files.asCharSource(new File(sources, MONSTER + ".java"), Charsets.UTF_8).read();
+        assertTrue(monster.contains(" hp() {"));
+        assertFalse(monster.contains(" color() {"));
+        assertTrue(monster.contains("public static Monster getRootAsMonster(ByteBuffer _bb)"));
+        assertTrue(monster.contains("public static void addColor("));
+
+        all.put(MONSTER + ".java", monster);
+        assertCompiles(all);
+        assertEquals(ImmutableList.of(), AccessorStripper.findUses(ImmutableList.of(sources), removed));
+    }
+
+    @Test
+    public void javaEngineWritesStrippedSourcesOnlyOnce() throws Exception {
+        final File fbs = resource("golden/monster_test/fbs");
+        final List<File> fbsFiles = ImmutableList.of(new File(fbs, "monster_test.fbs"));
+        final SchemaSet schemas = new SchemaLoader(ImmutableList.of(fbs, new File(fbs, "inc"), new File(fbs, "sub")), 2)
+                .load(fbsFiles);
+        final AccessorStripper stripper = AccessorStripper.scan(ImmutableList.of(classes), generatedClasses);
+        final JavaEngine engine = new JavaEngine(2, ImmutableList.of(stripper));
+        final File output = temporaryFolder.newFolder("output");
+
+        final JavaEngine.Result first = engine.generate(schemas, fbsFiles, output, true, Predicates.alwaysTrue());
+        final JavaEngine.Result second = engine.generate(schemas, fbsFiles, output, true, Predicates.alwaysTrue());
+
+        assertEquals(first.getFiles().size(), first.getWritten());
+        assertEquals(0, second.getWritten());
+        assertEquals(first.getFiles().size(), second.getUnchanged());
+        assertTrue(stripper.getTransformed().get(MONSTER).contains("color"));
+        assertFalse(stripper.getTransformed().get(MONSTER).contains("hp"));
+        // the engine writes the sources that stripping the written sources gives
+        stripper.strip(sources, ImmutableList.of(MONSTER));
+        assertEquals(Files.asCharSource(new File(sources, MONSTER + ".java"), Charsets.UTF_8).read(),
+                Files.asCharSource(new File(output, MONSTER + ".java"), Charsets.UTF_8).read());
+    }
+
+    private static File resource(final String path) throws Exception {
+        return new File(AccessorStripperTest.class.getClassLoader().getResource(path).toURI());
+    }
+
+    private static InMemoryCompiler.Result assertCompiles(final Map<String, String> sources) throws Exception {
+        final File runtime = new File(Table.class.getProtectionDomain().getCodeSource().getLocation().toURI());
+        final InMemoryCompiler.Result result = new InMemoryCompiler(ImmutableList.of(runtime), "1.8").compile(sources);
+        assertEquals(ImmutableList.of(), result.getErrors());
+        return result;
+    }
+}
@@ -0,0 +1,269 @@
+package org.flatbuffers.maven.plugin.flatbuffers.codegen;
+
+/*
+ * Copyright (c) 2016 Maven Flatbuffers Plugin Authors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+import com.google.common.base.Charsets;
+import com.google.common.base.Predicates;
+import com.google.common.collect.ImmutableList;
+import com.google.common.io.Files;
+import com.google.flatbuffers.FlatBufferBuilder;
+import com.google.flatbuffers.Table;
+import org.flatbuffers.maven.plugin.flatbuffers.idl.Declaration;
+import org.flatbuffers.maven.plugin.flatbuffers.idl.SchemaLoader;
+import org.flatbuffers.maven.plugin.flatbuffers.idl.SchemaSet;
+import org.junit.After;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Checks the capacities that {@link BuilderPoolGenerator} estimates from schemas, and runs the generated pools
+ * against the flatbuffers runtime.
+ */
+public class BuilderPoolGeneratorTest {
+
+    private static final int TABLES = 40;
+
+    private static final String POOL_SCHEMA =
+            "namespace Pool;\ntable Message { id:int; name:string; }\nroot_type Message;\n";
+
+    @Rule
+    public final TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private final List<URLClassLoader> classLoaders = new ArrayList<URLClassLoader>();
+
+    @After
+    public void closeClassLoaders() throws Exception {
+        for (final URLClassLoader classLoader : classLoaders) {
+            classLoader.close();
+        }
+    }
+
+    @Test
+    public void estimatesSmallTables() throws Exception {
+        final SchemaSet schemas = load("table T { a:int; b:string; }\nroot_type T;\n");
+        // 8 + 4 + 4 + 2 * 2 + 4 + (4 + 4 + 16 + 1) = 49
+        assertEquals(64, new BuilderPoolGenerator(schemas).estimateSize(schemas.getTypes().get("T")));
+    }
+
+    @Test
+    public void writesThePoolToItsSourceFile() throws Exception {
+        final SchemaSet schemas = load("namespace A.B;\ntable T { a:int; }\nroot_type T;\n");
+        final File output = temporaryFolder.newFolder();
+        final Declaration table = schemas.getTypes().get("A.B.T");
+        final BuilderPoolGenerator generator = new BuilderPoolGenerator(schemas);
+
+        assertTrue(generator.write(table, output));
+        assertFalse(generator.write(table, output));
+        assertEquals(ImmutableList.of(BuilderPoolGenerator.sourceFile(table, output)), list(output));
+    }
+
+    @Test(timeout = 10000)
+    public void capsTheEstimateOfDeepSchemas() throws Exception {
+        // each table refers to the next one twice, so that the size doubles with each table
+        final StringBuilder fbs = new StringBuilder();
+        for (int i = 0; i < TABLES; i++) {
+            fbs.append("table T").append(i).append(" {");
+            if (i + 1 < TABLES) {
+                fbs.append(" a:T").append(i + 1).append("; b:[T").append(i + 1).append("];");
+            }
+            fbs.append(" }\n");
+        }
+        fbs.append("root_type T0;\n");
+        final SchemaSet schemas = load(fbs.toString());
+        assertEquals(1 << 20, new BuilderPoolGenerator(schemas).estimateSize(schemas.getTypes().get("T0")));
+    }
+
+    @Test
+    public void reusesTheBuilderOfTheThread() throws Exception {
+        final Class<?> pool = compilePool();
+        final FlatBufferBuilder builder = acquire(pool);
+        builder.finish(builder.createString("hello"));
+        assertTrue(builder.dataBuffer().isDirect());
+        assertEquals(64, builder.dataBuffer().capacity());
+        assertEquals(64, pool.getField("ESTIMATED_SIZE").getInt(null));
+        release(pool, builder);
+
+        final FlatBufferBuilder reused = acquire(pool);
+        assertSame(builder, reused);
+        assertEquals(0, reused.offset());
+        release(pool, reused);
+        // another thread has its own builder
+        assertNotSame(builder, inOtherThread(pool));
+    }
+
+    @Test
+    public void createsUnpooledBuilderWhileTheThreadHoldsItsBuilder() throws Exception {
+        final Class<?> pool = compilePool();
+        final FlatBufferBuilder held = acquire(pool);
+        final FlatBufferBuilder nested = acquire(pool);
+        assertNotSame(held, nested);
+        nested.finish(nested.createString("nested"));
+        assertEquals(64, nested.dataBuffer().capacity());
+        // giving back the unpooled builder leaves the pooled one in use
+        release(pool, nested);
+        assertNotSame(held, acquire(pool));
+
+        // an unfinished builder can be given back
+        release(pool, held);
+        assertSame(held, acquire(pool));
+    }
+
+    @Test
+    public void dropsBuildersAboveTheRetainedCapacity() throws Exception {
+        final Class<?> pool = compilePool();
+        final int maxRetainedCapacity = pool.getField("MAX_RETAINED_CAPACITY").getInt(null);
+        final FlatBufferBuilder builder = acquire(pool);
+        builder.finish(builder.createByteVector(new byte[maxRetainedCapacity]));
+        assertTrue(builder.dataBuffer().capacity() > maxRetainedCapacity);
+        release(pool, builder);
+
+        final FlatBufferBuilder replacement = acquire(pool);
+        assertNotSame(builder, replacement);
+        replacement.finish(replacement.createString("small"));
+        assertEquals(64, replacement.dataBuffer().capacity());
+        release(pool, replacement);
+        assertSame(replacement, acquire(pool));
+    }
+
+    @Test
+    public void sizesTheBuildersOfNewThreadsAdaptively() throws Exception {
+        final Class<?> pool = compilePool();
+        FlatBufferBuilder builder = acquire(pool);
+        builder.finish(builder.createByteVector(new byte[1000]));
+        release(pool, builder);
+        // the sizes are only recorded when sizing is adaptive
+        assertEquals(64, initialCapacity(pool));
+
+        pool.getMethod("setAdaptive", boolean.class).invoke(null, true);
+        builder = acquire(pool);
+        builder.finish(builder.createByteVector(new byte[1000]));
+        assertTrue(builder.offset() > 1000);
+        release(pool, builder);
+        assertEquals(1024, initialCapacity(pool));
+        final FlatBufferBuilder other = inOtherThread(pool);
+        other.finish(other.createString("other"));
+        assertEquals(1024, other.dataBuffer().capacity());
+        // the builder of this thread keeps its capacity
+        assertSame(builder, acquire(pool));
+
+        pool.getMethod("setAdaptive", boolean.class).invoke(null, false);
+        assertEquals(64, initialCapacity(pool));
+    }
+
+    private SchemaSet load(final String content) throws Exception {
+        final File directory = temporaryFolder.newFolder();
+        final File fbs = new File(directory, "pool.fbs");
+        Files.asCharSink(fbs, Charsets.UTF_8).write(content);
+        final SchemaSet schemas = new SchemaLoader(ImmutableList.of(directory), 1).load(ImmutableList.of(fbs));
+        assertEquals(Collections.emptyList(), schemas.getProblems());
+        return schemas;
+    }
+
+    /**
+     * Generates the message table and its pool, compiles them against the flatbuffers runtime, and loads the
+     * pool in its own class loader, so that each test starts with an empty pool.
+     */
+    private Class<?> compilePool() throws Exception {
+        final File directory = temporaryFolder.newFolder();
+        final File fbs = new File(directory, "pool.fbs");
+        Files.asCharSink(fbs, Charsets.UTF_8).write(POOL_SCHEMA);
+        final SchemaSet schemas = new SchemaLoader(ImmutableList.of(directory), 1).load(ImmutableList.of(fbs));
+        assertEquals(Collections.emptyList(), schemas.getProblems());
+        final File sources = temporaryFolder.newFolder();
+        new JavaEngine(1).generate(schemas, ImmutableList.of(fbs), sources, false, Predicates.alwaysTrue());
+        assertTrue(new BuilderPoolGenerator(schemas).write(schemas.getTypes().get("Pool.Message"), sources));
+
+        final Map<String, String> javaSources = new TreeMap<String, String>();
+        for (final File file : list(sources)) {
+            javaSources.put(sources.toURI().relativize(file.toURI()).getPath(),
+                    Files.asCharSource(file, Charsets.UTF_8).read());
+        }
+        final File runtime = new File(Table.class.getProtectionDomain().getCodeSource().getLocation().toURI());
+        final InMemoryCompiler.Result result =
+                new InMemoryCompiler(ImmutableList.of(runtime), "1.8").compile(javaSources);
+        assertEquals(ImmutableList.of(), result.getErrors());
+        final File classes = temporaryFolder.newFolder();
+        result.write(classes);
+
+        final URLClassLoader classLoader =
+                new URLClassLoader(new URL[] {classes.toURI().toURL()}, getClass().getClassLoader());
+        classLoaders.add(classLoader);
+        return classLoader.loadClass("Pool.Message" + BuilderPoolGenerator.CLASS_NAME_SUFFIX);
+    }
+
+    private static FlatBufferBuilder acquire(final Class<?> pool) throws Exception {
+        return (FlatBufferBuilder) pool.getMethod("acquire").invoke(null);
+    }
+
+    private static void release(final Class<?> pool, final FlatBufferBuilder builder) throws Exception {
+        pool.getMethod("release", FlatBufferBuilder.class).invoke(null, builder);
+    }
+
+    private static int initialCapacity(final Class<?> pool) throws Exception {
+        return (Integer) pool.getMethod("initialCapacity").invoke(null);
+    }
+
+    /**
+     * Acquires a builder in a new thread.
+     */
+    private static FlatBufferBuilder inOtherThread(final Class<?> pool) throws Exception {
+        final AtomicReference<Object> acquired = new AtomicReference<Object>();
+        final Thread thread = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    acquired.set(acquire(pool));
+                } catch (Exception e) {
+                    acquired.set(e);
+                }
+            }
+        });
+        thread.start();
+        thread.join();
+        if (acquired.get() instanceof Exception) {
+            throw (Exception) acquired.get();
+        }
+        return (FlatBufferBuilder) acquired.get();
+    }
+
+    private static List<File> list(final File directory) {
+        final List<File> files = new ArrayList<File>();
+        for (final File file : Files.fileTraverser().depthFirstPreOrder(directory)) {
+            if (file.isFile()) {
+                files.add(file);
+            }
+        }
+        return files;
+    }
+}
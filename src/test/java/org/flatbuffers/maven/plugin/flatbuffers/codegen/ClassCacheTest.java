@@ -0,0 +1,94 @@
+package org.flatbuffers.maven.plugin.flatbuffers.codegen;
+
+/*
+ * Copyright (c) 2016 Maven Flatbuffers Plugin Authors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSortedMap;
+import com.google.common.io.Files;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class ClassCacheTest {
+
+    @Rule
+    public final TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Test
+    public void classpathDigestFollowsContent() throws Exception {
+        final File jar = temporaryFolder.newFile("flatbuffers-java.jar");
+        final File classes = temporaryFolder.newFolder("classes");
+        Files.write(new byte[] {1}, jar);
+        final String first = ClassCache.classpathDigest(ImmutableList.of(jar, classes));
+
+        assertEquals(first, ClassCache.classpathDigest(ImmutableList.of(jar, classes)));
+        Files.write(new byte[] {2}, jar);
+        jar.setLastModified(jar.lastModified() + 2000L);
+        final String changedJar = ClassCache.classpathDigest(ImmutableList.of(jar, classes));
+        assertNotEquals(first, changedJar);
+        Files.write(new byte[] {3}, new File(classes, "A.class"));
+        assertNotEquals(changedJar, ClassCache.classpathDigest(ImmutableList.of(jar, classes)));
+    }
+
+    @Test
+    public void classpathDigestIsKeptBySizeAndModificationTime() throws Exception {
+        final File jar = temporaryFolder.newFile("flatbuffers-java.jar");
+        Files.write(new byte[] {1}, jar);
+        jar.setLastModified(1000000L);
+        final String first = ClassCache.classpathDigest(ImmutableList.of(jar));
+
+        // a jar is not read again as long as it keeps its size and modification time
+        Files.write(new byte[] {2}, jar);
+        jar.setLastModified(1000000L);
+        assertEquals(first, ClassCache.classpathDigest(ImmutableList.of(jar)));
+        jar.setLastModified(2000000L);
+        assertNotEquals(first, ClassCache.classpathDigest(ImmutableList.of(jar)));
+    }
+
+    @Test
+    public void pruneKeepsMostRecentlyUsedEntries() throws Exception {
+        final ClassCache cache = new ClassCache(temporaryFolder.newFolder("cache"));
+        final File sources = temporaryFolder.newFolder("sources");
+        Files.write(new byte[] {1}, new File(sources, "A.java"));
+        final InMemoryCompiler.Result classes = new InMemoryCompiler.Result(
+                ImmutableSortedMap.of("A.class", new byte[] {2}), ImmutableList.<String>of(),
+                ImmutableList.<String>of());
+        for (final String key : new String[] {"a", "b", "c"}) {
+            cache.store(key, sources, classes);
+        }
+        final File root = new File(temporaryFolder.getRoot(), "cache");
+        new File(root, "a").setLastModified(1000L);
+        new File(root, "b").setLastModified(2000L);
+        new File(root, "c").setLastModified(3000L);
+        assertNotNull(cache.restore("a", temporaryFolder.newFolder("restored"), false));
+
+        assertEquals(1, cache.prune(2));
+        assertTrue(new File(root, "a").isDirectory());
+        assertFalse(new File(root, "b").isDirectory());
+        assertTrue(new File(root, "c").isDirectory());
+        assertNull(cache.restore("b", temporaryFolder.getRoot(), false));
+    }
+}
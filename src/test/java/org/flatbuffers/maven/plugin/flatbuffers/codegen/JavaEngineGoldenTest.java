@@ -0,0 +1,135 @@
+package org.flatbuffers.maven.plugin.flatbuffers.codegen;
+
+/*
+ * Copyright (c) 2016 Maven Flatbuffers Plugin Authors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+import com.google.common.base.Charsets;
+import com.google.common.base.Predicates;
+import com.google.common.collect.ImmutableList;
+import com.google.common.io.Files;
+import org.flatbuffers.maven.plugin.flatbuffers.idl.SchemaLoader;
+import org.flatbuffers.maven.plugin.flatbuffers.idl.SchemaSet;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.net.URISyntaxException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Compares the sources of {@link JavaEngine} with those that {@code flatc} 1.12.0 generates for the same
+ * definitions, which are checked in under {@code golden/<case>/java}.
+ *
+ * <p>The expected sources are regenerated with {@code flatc --java -I inc -I sub monster_test.fbs} and
+ * {@code flatc --java -I . edge.fbs uv.fbs}, run in the {@code fbs} directory of each case.</p>
+ */
+public class JavaEngineGoldenTest {
+
+    @Rule
+    public final TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Test
+    public void generatesMonsterTestLikeFlatc() throws Exception {
+        final File fbs = resource("golden/monster_test/fbs");
+        assertGolden("monster_test", ImmutableList.of(fbs, new File(fbs, "inc"), new File(fbs, "sub")),
+                ImmutableList.of(new File(fbs, "monster_test.fbs")));
+    }
+
+    @Test
+    public void generatesHardCasesLikeFlatc() throws Exception {
+        final File fbs = resource("golden/hard_cases/fbs");
+        assertGolden("hard_cases", ImmutableList.of(fbs),
+                ImmutableList.of(new File(fbs, "edge.fbs"), new File(fbs, "uv.fbs")));
+    }
+
+    @Test
+    public void doesNotRewriteUnchangedSources() throws Exception {
+        final File fbs = resource("golden/hard_cases/fbs");
+        final List<File> fbsFiles = ImmutableList.of(new File(fbs, "edge.fbs"), new File(fbs, "uv.fbs"));
+        final SchemaSet schemas = new SchemaLoader(ImmutableList.of(fbs), 2).load(fbsFiles);
+        final File output = temporaryFolder.newFolder();
+        final JavaEngine engine = new JavaEngine(2);
+        final JavaEngine.Result first = engine.generate(schemas, fbsFiles, output, true, Predicates.alwaysTrue());
+        final JavaEngine.Result second = engine.generate(schemas, fbsFiles, output, true, Predicates.alwaysTrue());
+
+        assertEquals(first.getFiles().size(), first.getWritten());
+        assertEquals(0, second.getWritten());
+        assertEquals(0, second.getDeleted());
+        assertEquals(first.getFiles().size(), second.getUnchanged());
+    }
+
+    @Test
+    public void writesTransformedSourcesOnce() throws Exception {
+        final File fbs = resource("golden/monster_test/fbs");
+        final List<File> fbsFiles = ImmutableList.of(new File(fbs, "monster_test.fbs"));
+        final SchemaSet schemas = new SchemaLoader(ImmutableList.of(fbs, new File(fbs, "inc"), new File(fbs, "sub")),
+                2).load(fbsFiles);
+        final File output = temporaryFolder.newFolder();
+        final JavaEngine engine = new JavaEngine(2, ImmutableList.of(new SchemaFingerprint(schemas),
+                new BulkAccessorGenerator(schemas)));
+        final JavaEngine.Result first = engine.generate(schemas, fbsFiles, output, true, Predicates.alwaysTrue());
+        final JavaEngine.Result second = engine.generate(schemas, fbsFiles, output, true, Predicates.alwaysTrue());
+
+        assertEquals(0, second.getWritten());
+        assertEquals(first.getFiles().size(), second.getUnchanged());
+        final String monster = Files.asCharSource(new File(output, "MyGame/Example/Monster.java".replace('/',
+                File.separatorChar)), Charsets.UTF_8).read();
+        assertTrue(monster.contains("public static final long " + SchemaFingerprint.CONSTANT_NAME + " = "));
+        assertTrue(monster.contains("public int inventoryToArray(byte[] dst, int offset) {"));
+    }
+
+    private void assertGolden(final String name, final List<File> includePath, final List<File> fbsFiles)
+            throws Exception {
+        final SchemaSet schemas = new SchemaLoader(includePath, 2).load(fbsFiles);
+        assertEquals(Collections.emptyList(), schemas.getProblems());
+
+        final File output = temporaryFolder.newFolder(name);
+        new JavaEngine(2).generate(schemas, fbsFiles, output, true, Predicates.alwaysTrue());
+
+        final File expected = resource("golden/" + name + "/java");
+        final List<String> expectedFiles = list(expected);
+        assertTrue(name + " has no expected sources", !expectedFiles.isEmpty());
+        assertEquals(expectedFiles, list(output));
+        for (final String file : expectedFiles) {
+            assertEquals(file, Files.asCharSource(new File(expected, file), Charsets.UTF_8).read(),
+                    Files.asCharSource(new File(output, file), Charsets.UTF_8).read());
+        }
+    }
+
+    private static File resource(final String path) throws URISyntaxException {
+        return new File(JavaEngineGoldenTest.class.getClassLoader().getResource(path).toURI());
+    }
+
+    /**
+     * Lists the files under a directory by sorted relative path.
+     */
+    private static List<String> list(final File directory) {
+        final List<String> files = new ArrayList<String>();
+        for (final File file : Files.fileTraverser().depthFirstPreOrder(directory)) {
+            if (file.isFile()) {
+                files.add(directory.toURI().relativize(file.toURI()).getPath());
+            }
+        }
+        Collections.sort(files);
+        return files;
+    }
+}
@@ -0,0 +1,202 @@
+package org.flatbuffers.maven.plugin.flatbuffers.codegen;
+
+/*
+ * Copyright (c) 2016 Maven Flatbuffers Plugin Authors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+import com.google.common.base.Charsets;
+import com.google.common.collect.ImmutableList;
+import com.google.common.io.Files;
+import com.google.flatbuffers.Table;
+import org.flatbuffers.maven.plugin.flatbuffers.idl.Declaration;
+import org.flatbuffers.maven.plugin.flatbuffers.idl.SchemaLoader;
+import org.flatbuffers.maven.plugin.flatbuffers.idl.SchemaSet;
+import org.junit.Assume;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.lang.management.ManagementFactory;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Generates the readers of {@code monster_test.fbs}, compiles them with the sources of {@code flatc}, and checks
+ * that traversing a monster with them again and again allocates nothing.
+ */
+public class ReaderAllocationTest {
+
+    private static final int WARMUP = 200000;
+
+    private static final int TRAVERSALS = 1000000;
+
+    /**
+     * Builds a monster with a nested struct, a union, a table, a vector of tables and a nested flatbuffer,
+     * and measures the bytes the current thread allocates while traversing it with the readers.
+     */
+    private static final String DRIVER = "package app;\n"
+            + "\n"
+            + "import MyGame.Example.*;\n"
+            + "import com.google.flatbuffers.FlatBufferBuilder;\n"
+            + "import java.lang.management.ManagementFactory;\n"
+            + "import java.nio.ByteBuffer;\n"
+            + "\n"
+            + "public class Driver {\n"
+            + "  public static long[] measure(int warmup, int traversals) {\n"
+            + "    FlatBufferBuilder nb = new FlatBufferBuilder();\n"
+            + "    int nestedName = nb.createString(\"nested\");\n"
+            + "    Monster.startMonster(nb);\n"
+            + "    Monster.addName(nb, nestedName);\n"
+            + "    Monster.addHp(nb, (short) 7);\n"
+            + "    nb.finish(Monster.endMonster(nb));\n"
+            + "    FlatBufferBuilder b = new FlatBufferBuilder();\n"
+            + "    int nested = Monster.createTestnestedflatbufferVector(b, nb.sizedByteArray());\n"
+            + "    int innerName = b.createString(\"inner\");\n"
+            + "    Monster.startMonster(b);\n"
+            + "    Monster.addName(b, innerName);\n"
+            + "    Monster.addHp(b, (short) 42);\n"
+            + "    int inner = Monster.endMonster(b);\n"
+            + "    int statId = b.createString(\"stat\");\n"
+            + "    Stat.startStat(b);\n"
+            + "    Stat.addId(b, statId);\n"
+            + "    Stat.addVal(b, 5);\n"
+            + "    int stat = Stat.endStat(b);\n"
+            + "    int[] referrables = new int[3];\n"
+            + "    for (int i = 0; i < referrables.length; i++) {\n"
+            + "      Referrable.startReferrable(b);\n"
+            + "      Referrable.addId(b, i + 1);\n"
+            + "      referrables[i] = Referrable.endReferrable(b);\n"
+            + "    }\n"
+            + "    int vector = Monster.createVectorOfReferrablesVector(b, referrables);\n"
+            + "    int name = b.createString(\"root\");\n"
+            + "    Monster.startMonster(b);\n"
+            + "    Monster.addName(b, name);\n"
+            + "    Monster.addPos(b, Vec3.createVec3(b, 1f, 2f, 3f, 4.0, 5, (short) 6, (byte) 7));\n"
+            + "    Monster.addTestType(b, Any.Monster);\n"
+            + "    Monster.addTest(b, inner);\n"
+            + "    Monster.addTestempty(b, stat);\n"
+            + "    Monster.addVectorOfReferrables(b, vector);\n"
+            + "    Monster.addTestnestedflatbuffer(b, nested);\n"
+            + "    b.finish(Monster.endMonster(b));\n"
+            + "    ByteBuffer bb = b.dataBuffer();\n"
+            + "\n"
+            + "    MonsterReader reader = new MonsterReader();\n"
+            + "    long expected = walk(reader, bb);\n"
+            + "    for (int i = 0; i < warmup; i++) {\n"
+            + "      walk(reader, bb);\n"
+            + "    }\n"
+            + "    com.sun.management.ThreadMXBean threads =\n"
+            + "        (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();\n"
+            + "    long thread = Thread.currentThread().getId();\n"
+            + "    long before = threads.getThreadAllocatedBytes(thread);\n"
+            + "    long sum = 0;\n"
+            + "    for (int i = 0; i < traversals; i++) {\n"
+            + "      sum += walk(reader, bb);\n"
+            + "    }\n"
+            + "    long allocated = threads.getThreadAllocatedBytes(thread) - before;\n"
+            + "    return new long[] {expected, sum, allocated};\n"
+            + "  }\n"
+            + "\n"
+            + "  private static long walk(MonsterReader reader, ByteBuffer bb) {\n"
+            + "    reader.wrap(bb);\n"
+            + "    Vec3Reader pos = reader.pos();\n"
+            + "    long sum = (long) pos.get().x() + pos.test3().get().a();\n"
+            + "    sum += reader.testAsMonster().get().hp();\n"
+            + "    sum += reader.testempty().get().val();\n"
+            + "    for (int i = 0; i < reader.vectorOfReferrablesLength(); i++) {\n"
+            + "      sum += reader.vectorOfReferrables(i).get().id();\n"
+            + "    }\n"
+            + "    sum += reader.testnestedflatbufferAsMonster().get().hp();\n"
+            + "    return sum;\n"
+            + "  }\n"
+            + "}\n";
+
+    @Rule
+    public final TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Test
+    public void traversesWithoutAllocating() throws Exception {
+        Assume.assumeTrue(ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean);
+        final com.sun.management.ThreadMXBean threads =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        Assume.assumeTrue(threads.isThreadAllocatedMemorySupported());
+        threads.setThreadAllocatedMemoryEnabled(true);
+
+        final File fbs = resource("golden/monster_test/fbs");
+        final File monsterTest = new File(fbs, "monster_test.fbs");
+        final SchemaSet schemas = new SchemaLoader(ImmutableList.of(fbs, new File(fbs, "inc"), new File(fbs, "sub")),
+                2).load(ImmutableList.of(monsterTest));
+        assertEquals(Collections.emptyList(), schemas.getProblems());
+        final List<Declaration> types = new ArrayList<Declaration>();
+        for (final Declaration declaration : schemas.getSchemas()
+                .get(monsterTest.getAbsoluteFile().toPath().normalize().toFile()).getDeclarations()) {
+            if (JavaGenerator.isGenerated(declaration)) {
+                types.add(declaration);
+            }
+        }
+
+        final File sources = temporaryFolder.newFolder("sources");
+        final File golden = resource("golden/monster_test/java");
+        for (final File file : Files.fileTraverser().depthFirstPreOrder(golden)) {
+            if (file.isFile()) {
+                final File copy = new File(sources, golden.toURI().relativize(file.toURI()).getPath());
+                Files.createParentDirs(copy);
+                Files.copy(file, copy);
+            }
+        }
+        new ReaderGenerator(schemas, types).write(sources);
+        final Map<String, String> all = new TreeMap<String, String>();
+        for (final File file : Files.fileTraverser().depthFirstPreOrder(sources)) {
+            if (file.isFile()) {
+                all.put(sources.toURI().relativize(file.toURI()).getPath(),
+                        Files.asCharSource(file, Charsets.UTF_8).read());
+            }
+        }
+        assertTrue(all.containsKey("MyGame/Example/MonsterReader.java"));
+        all.put("app/Driver.java", DRIVER);
+
+        final File runtime = new File(Table.class.getProtectionDomain().getCodeSource().getLocation().toURI());
+        final InMemoryCompiler.Result result = new InMemoryCompiler(ImmutableList.of(runtime), "1.8").compile(all);
+        assertEquals(ImmutableList.of(), result.getErrors());
+        final File classes = temporaryFolder.newFolder("classes");
+        result.write(classes);
+
+        final URLClassLoader loader = new URLClassLoader(new URL[] {classes.toURI().toURL()},
+                getClass().getClassLoader());
+        try {
+            final long[] measured = (long[]) loader.loadClass("app.Driver").getMethod("measure", int.class, int.class)
+                    .invoke(null, WARMUP, TRAVERSALS);
+            assertEquals(measured[0] * TRAVERSALS, measured[1]);
+            // an allocation in each traversal would be at least 16 bytes a traversal
+            assertTrue(measured[2] + " byte(s) allocated over " + TRAVERSALS + " traversals",
+                    measured[2] < TRAVERSALS);
+        } finally {
+            loader.close();
+        }
+    }
+
+    private static File resource(final String path) throws Exception {
+        return new File(ReaderAllocationTest.class.getClassLoader().getResource(path).toURI());
+    }
+}
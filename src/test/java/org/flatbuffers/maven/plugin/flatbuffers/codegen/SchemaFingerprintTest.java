@@ -0,0 +1,109 @@
+package org.flatbuffers.maven.plugin.flatbuffers.codegen;
+
+/*
+ * Copyright (c) 2016 Maven Flatbuffers Plugin Authors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+import com.google.common.base.Charsets;
+import com.google.common.collect.ImmutableList;
+import com.google.common.io.Files;
+import org.flatbuffers.maven.plugin.flatbuffers.idl.SchemaLoader;
+import org.flatbuffers.maven.plugin.flatbuffers.idl.SchemaSet;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Checks which changes of a definition change the fingerprint of its root type.
+ */
+public class SchemaFingerprintTest {
+
+    private static final String SCHEMA = "namespace Game;\n"
+            + "\n"
+            + "enum Color : byte { Red, Green, Blue }\n"
+            + "struct Vec3 { x:float; y:float; z:float; }\n"
+            + "table Weapon { damage:short; }\n"
+            + "table Monster {\n"
+            + "  pos:Vec3;\n"
+            + "  hp:short = 100;\n"
+            + "  speed:float = 1.5;\n"
+            + "  color:Color = Blue;\n"
+            + "  weapons:[Weapon];\n"
+            + "  name:string;\n"
+            + "}\n"
+            + "root_type Monster;\n";
+
+    @Rule
+    public final TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Test
+    public void keepsFingerprintOfRenamedTypesAndFields() throws Exception {
+        final String renamed = "namespace Rpg;\n"
+                + "\n"
+                + "enum Colour : byte { R, G, B }\n"
+                + "struct Point { a:float; b:float; c:float; }\n"
+                + "table Arm { dmg:short; }\n"
+                + "table Creature {\n"
+                + "  where:Point;\n"
+                + "  health:short = 0x64;\n"
+                + "  pace:float = 1.50;\n"
+                + "  tint:Colour = 2;\n"
+                + "  arms:[Arm];\n"
+                + "  label:string;\n"
+                + "}\n"
+                + "root_type Creature;\n";
+
+        assertEquals(fingerprint(SCHEMA, "Game.Monster"), fingerprint(renamed, "Rpg.Creature"));
+        assertEquals(fingerprint(SCHEMA, "Game.Weapon"), fingerprint(renamed, "Rpg.Arm"));
+    }
+
+    @Test
+    public void changesFingerprintWhenFormatChanges() throws Exception {
+        final long fingerprint = fingerprint(SCHEMA, "Game.Monster");
+
+        // the ids of pos and hp are swapped
+        assertChanged(fingerprint,
+                SCHEMA.replace("  pos:Vec3;\n  hp:short = 100;\n", "  hp:short = 100;\n  pos:Vec3;\n"));
+        assertChanged(fingerprint, SCHEMA.replace("hp:short = 100;", "hp:int = 100;"));
+        assertChanged(fingerprint, SCHEMA.replace("name:string;", "name:string (deprecated);"));
+        assertChanged(fingerprint, SCHEMA.replace("name:string;", "name:string (required);"));
+        assertChanged(fingerprint, SCHEMA.replace("hp:short = 100;", "hp:short = 50;"));
+        assertChanged(fingerprint, SCHEMA.replace("speed:float = 1.5;", "speed:float;"));
+        assertChanged(fingerprint, SCHEMA.replace("color:Color = Blue;", "color:Color = Green;"));
+        // types used by the root type are covered
+        assertChanged(fingerprint, SCHEMA.replace("damage:short;", "damage:int;"));
+        assertChanged(fingerprint, SCHEMA.replace("Red, Green, Blue", "Red, Green, Blue, Black"));
+    }
+
+    private void assertChanged(final long fingerprint, final String schema) throws Exception {
+        assertTrue(schema, !schema.equals(SCHEMA));
+        assertNotEquals(schema, fingerprint, fingerprint(schema, "Game.Monster"));
+    }
+
+    private long fingerprint(final String schema, final String typeName) throws Exception {
+        final File fbsFile = temporaryFolder.newFile();
+        Files.asCharSink(fbsFile, Charsets.UTF_8).write(schema);
+        final SchemaSet schemas = new SchemaLoader(ImmutableList.of(temporaryFolder.getRoot()), 1)
+                .load(ImmutableList.of(fbsFile));
+        assertEquals(ImmutableList.of(), schemas.getProblems());
+        return new SchemaFingerprint(schemas).of(schemas.getTypes().get(typeName));
+    }
+}
@@ -0,0 +1,167 @@
+package org.flatbuffers.maven.plugin.flatbuffers.codegen;
+
+/*
+ * Copyright (c) 2016 Maven Flatbuffers Plugin Authors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+import com.google.common.base.Charsets;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.io.Files;
+import org.flatbuffers.maven.plugin.flatbuffers.idl.Declaration;
+import org.flatbuffers.maven.plugin.flatbuffers.idl.SchemaLoader;
+import org.flatbuffers.maven.plugin.flatbuffers.idl.SchemaSet;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.util.Set;
+import java.util.TreeSet;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Checks the types reachable from root types and the deletion of the sources of the other types.
+ */
+public class TypeSelectionTest {
+
+    private static final String SCHEMA = "namespace Game;\n"
+            + "\n"
+            + "enum Color : byte { Red, Green }\n"
+            + "struct Vec3 { x:float; y:float; z:float; }\n"
+            + "table Sword { damage:int; }\n"
+            + "table Shield { armor:short; }\n"
+            + "union Equipment { Sword, Shield }\n"
+            + "table Monster { pos:Vec3; color:Color; equipped:Equipment; }\n"
+            + "table Stats { kills:int; }\n"
+            + "table Save { payload:[ubyte] (nested_flatbuffer: \"Stats\"); }\n"
+            + "table Unused { name:string; }\n"
+            + "\n"
+            + "namespace Game.Net;\n"
+            + "\n"
+            + "table Request { id:long; }\n"
+            + "table Response { monster:Game.Monster; }\n"
+            + "rpc_service Lookup { Find(Request):Response; }\n"
+            + "\n"
+            + "namespace Other;\n"
+            + "\n"
+            + "table Alone { value:int; }\n";
+
+    @Rule
+    public final TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private File fbsFile;
+
+    private SchemaSet schemas;
+
+    @Before
+    public void setUp() throws Exception {
+        fbsFile = temporaryFolder.newFile("game.fbs");
+        Files.asCharSink(fbsFile, Charsets.UTF_8).write(SCHEMA);
+        schemas = new SchemaLoader(ImmutableList.of(temporaryFolder.getRoot()), 1).load(ImmutableList.of(fbsFile));
+        assertTrue(schemas.getProblems().toString(), schemas.getProblems().isEmpty());
+    }
+
+    @Test
+    public void selectsFieldTypesAndUnionMembers() {
+        assertEquals(ImmutableSet.of("Game.Monster", "Game.Vec3", "Game.Color", "Game.Equipment", "Game.Sword",
+                "Game.Shield"), names(select("Game.Monster")));
+    }
+
+    @Test
+    public void selectsNestedFlatbuffers() {
+        assertEquals(ImmutableSet.of("Game.Save", "Game.Stats"), names(select("Game.Save")));
+    }
+
+    @Test
+    public void selectsRequestsAndResponsesOfServices() {
+        assertEquals(ImmutableSet.of("Game.Net.Lookup", "Game.Net.Request", "Game.Net.Response", "Game.Monster",
+                "Game.Vec3", "Game.Color", "Game.Equipment", "Game.Sword", "Game.Shield"),
+                names(select("Game.Net.Lookup")));
+    }
+
+    @Test
+    public void selectsTypesOfNamespaceAndNestedNamespaces() {
+        final Set<String> selected = names(select("Game.*"));
+        assertTrue(selected.contains("Game.Unused"));
+        assertTrue(selected.contains("Game.Net.Request"));
+        assertFalse(selected.contains("Other.Alone"));
+
+        assertEquals(ImmutableSet.of("Game.Net.Lookup", "Game.Net.Request", "Game.Net.Response", "Game.Monster",
+                "Game.Vec3", "Game.Color", "Game.Equipment", "Game.Sword", "Game.Shield"),
+                names(select("Game.Net.*")));
+    }
+
+    @Test
+    public void rejectsRootMatchingNoType() {
+        try {
+            select("Game.Missing");
+            fail("an unknown root type was selected");
+        } catch (IllegalArgumentException e) {
+            assertEquals("Root type Game.Missing matches no type of the definitions", e.getMessage());
+        }
+        try {
+            select("Missing.*");
+            fail("an unknown namespace was selected");
+        } catch (IllegalArgumentException e) {
+            assertEquals("Root type Missing.* matches no type of the definitions", e.getMessage());
+        }
+    }
+
+    @Test
+    public void deletesSourcesOfUnselectedTypes() throws Exception {
+        final File outputDirectory = temporaryFolder.newFolder("java");
+        for (final Declaration declaration : schemas.getTypes().values()) {
+            if (JavaGenerator.isGenerated(declaration)) {
+                final File source = new File(outputDirectory, JavaGenerator.getPath(declaration));
+                Files.createParentDirs(source);
+                Files.asCharSink(source, Charsets.UTF_8).write("// " + declaration.getFullName());
+            }
+        }
+        final TypeSelection selection = select("Game.Save");
+
+        assertEquals(ImmutableSet.of("Game.Color", "Game.Vec3", "Game.Sword", "Game.Shield", "Game.Equipment",
+                "Game.Monster", "Game.Unused", "Game.Net.Request", "Game.Net.Response", "Other.Alone"),
+                names(selection.unselected(schemas, ImmutableList.of(fbsFile))));
+        assertEquals(10, selection.deleteUnselected(schemas, ImmutableList.of(fbsFile), outputDirectory));
+        assertTrue(new File(outputDirectory, "Game/Save.java").isFile());
+        assertTrue(new File(outputDirectory, "Game/Stats.java").isFile());
+        assertFalse(new File(outputDirectory, "Game/Monster.java").exists());
+        assertFalse(new File(outputDirectory, "Other/Alone.java").exists());
+        // the sources are already deleted
+        assertEquals(0, selection.deleteUnselected(schemas, ImmutableList.of(fbsFile), outputDirectory));
+    }
+
+    private TypeSelection select(final String... roots) {
+        return TypeSelection.reachableFrom(schemas, ImmutableList.copyOf(roots));
+    }
+
+    private static Set<String> names(final Iterable<Declaration> declarations) {
+        final Set<String> names = new TreeSet<String>();
+        for (final Declaration declaration : declarations) {
+            names.add(declaration.getFullName());
+        }
+        return names;
+    }
+
+    private static Set<String> names(final TypeSelection selection) {
+        return names(selection.getTypes());
+    }
+}
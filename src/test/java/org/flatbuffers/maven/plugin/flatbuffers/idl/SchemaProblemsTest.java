@@ -0,0 +1,83 @@
+package org.flatbuffers.maven.plugin.flatbuffers.idl;
+
+/*
+ * Copyright (c) 2016 Maven Flatbuffers Plugin Authors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+import com.google.common.collect.ImmutableList;
+import org.junit.Test;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+/**
+ * Checks the messages and locations of the problems reported for invalid definitions.
+ */
+public class SchemaProblemsTest {
+
+    @Test
+    public void reportsSyntaxErrorWithLocation() throws Exception {
+        final File file = resource("errors/bad_syntax.fbs");
+        try {
+            SchemaParser.parse(file);
+            fail("bad_syntax.fbs was parsed");
+        } catch (SchemaException e) {
+            assertEquals(4, e.getProblem().getLocation().getLine());
+            assertEquals(3, e.getProblem().getLocation().getColumn());
+            assertEquals("expecting: ; instead got: b", e.getProblem().getMessage());
+            assertEquals(file + ":4:3: expecting: ; instead got: b", e.getMessage());
+        }
+    }
+
+    @Test
+    public void reportsSemanticErrorsInOrder() throws Exception {
+        final File file = resource("errors/bad_semantic.fbs");
+        final SchemaSet schemas = new SchemaLoader(ImmutableList.of(file.getParentFile()), 1)
+                .load(ImmutableList.of(file));
+
+        final List<String> problems = new ArrayList<String>();
+        for (final SchemaProblem problem : schemas.getProblems()) {
+            assertEquals(file, problem.getLocation().getFile());
+            problems.add(problem.getLocation().getLine() + ":" + problem.getLocation().getColumn() + ": "
+                    + problem.getMessage());
+        }
+        assertEquals(ImmutableList.of(
+                "1:1: unable to locate include file: nope.fbs",
+                "3:10: underlying enum type must be integral",
+                "4:25: enum values must be specified in ascending order",
+                "4:32: enum value does not fit in ubyte",
+                "5:15: structs may contain only scalar or struct fields",
+                "5:25: structs may contain only scalar or struct fields",
+                "6:8: size 0 structs not allowed",
+                "8:6: type referenced but not defined (check namespace): Unknown",
+                "9:3: invalid default value for int: 1.5",
+                "10:3: unknown enum value D of Bad2.F",
+                "11:3: field already exists: a",
+                "12:6: fixed-length array in table must be wrapped in struct",
+                "13:6: type referenced but not defined (check namespace): MyGame.Example.Monster",
+                "14:3: invalid default value for bool: yes",
+                "16:14: union members must be tables, structs or strings",
+                "17:26: field id's must be consecutive from 0, id 1 missing or set twice",
+                "18:11: root type must be a table: E"), problems);
+    }
+
+    private static File resource(final String path) throws Exception {
+        return new File(SchemaProblemsTest.class.getClassLoader().getResource(path).toURI());
+    }
+}
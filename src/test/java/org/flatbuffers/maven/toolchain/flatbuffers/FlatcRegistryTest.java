@@ -0,0 +1,124 @@
+package org.flatbuffers.maven.toolchain.flatbuffers;
+
+/*
+ * Copyright (c) 2016 Maven Flatbuffers Plugin Authors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+import com.google.common.base.Charsets;
+import com.google.common.collect.ImmutableList;
+import com.google.common.io.Files;
+import org.codehaus.plexus.logging.Logger;
+import org.codehaus.plexus.logging.console.ConsoleLogger;
+import org.codehaus.plexus.util.Os;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assume.assumeFalse;
+
+public class FlatcRegistryTest {
+
+    @Rule
+    public final TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private final FlatcRegistry registry = new FlatcRegistry();
+
+    private String userHome;
+
+    private File installations;
+
+    @Before
+    public void setUp() throws Exception {
+        // the fake executables are shell scripts
+        assumeFalse(Os.isFamily(Os.FAMILY_WINDOWS));
+        final Field logger = FlatcRegistry.class.getDeclaredField("logger");
+        logger.setAccessible(true);
+        logger.set(registry, new ConsoleLogger(Logger.LEVEL_WARN, "test"));
+        // keeps the version and checksum caches out of the user's Maven directory
+        userHome = System.getProperty("user.home");
+        System.setProperty("user.home", temporaryFolder.newFolder("home").getPath());
+
+        installations = temporaryFolder.newFolder("installations");
+        fakeFlatc("flatc", "flatc version 1.11.0");
+        fakeFlatc("flatbuffers/1.9.0/bin/flatc", "flatc version 1.9.0");
+        fakeFlatc("flatbuffers/1.12.0/bin/flatc", "flatc version 1.12.0");
+        // a copy of the executable found first, under another name
+        fakeFlatc("bin/flatc-1.11.0", "flatc version 1.11.0");
+        fakeFlatc("broken/flatc", "flatc version 2.0.0\nexit 1");
+        fakeFlatc("other/protoc", "flatc version 3.0.0");
+        fakeFlatc("too/deep/for/the/search/flatc", "flatc version 4.0.0");
+        final File plain = new File(installations, "plain/flatc");
+        Files.createParentDirs(plain);
+        Files.asCharSink(plain, Charsets.UTF_8).write("not executable");
+    }
+
+    @After
+    public void tearDown() {
+        if (userHome != null) {
+            System.setProperty("user.home", userHome);
+        }
+    }
+
+    @Test
+    public void discoversVersionedExecutablesOnce() {
+        final List<String> found = new ArrayList<String>();
+        for (final FlatcRegistry.Installation installation
+                : registry.discover(ImmutableList.of(installations), false)) {
+            found.add(installation.getVersion() + " "
+                    + installations.toURI().relativize(installation.getExecutable().toURI()));
+        }
+
+        assertEquals(ImmutableList.of("1.11.0 bin/flatc-1.11.0", "1.12.0 flatbuffers/1.12.0/bin/flatc",
+                "1.9.0 flatbuffers/1.9.0/bin/flatc"), found);
+        // the checksums and versions are cached, a second discovery finds the same installations
+        assertEquals(3, registry.discover(ImmutableList.of(installations), false).size());
+    }
+
+    @Test
+    public void selectsHighestSatisfyingVersion() throws Exception {
+        assertEquals("1.12.0", select("[1.0,2.0)"));
+        assertEquals("1.11.0", select("[1.0,1.12)"));
+        assertEquals("1.9.0", select("1.9.0"));
+        assertNull(select("1.10.0"));
+        assertNull(select("[2.0,)"));
+    }
+
+    private String select(final String versionRequirement) throws Exception {
+        final FlatcRegistry.Installation installation =
+                registry.select(versionRequirement, ImmutableList.of(installations), false);
+        return installation != null ? installation.getVersion() : null;
+    }
+
+    private void fakeFlatc(final String path, final String script) throws Exception {
+        final File executable = new File(installations, path);
+        Files.createParentDirs(executable);
+        final String[] lines = script.split("\n");
+        final StringBuilder content = new StringBuilder("#!/bin/sh\necho \"").append(lines[0]).append("\"\n");
+        for (int i = 1; i < lines.length; i++) {
+            content.append(lines[i]).append('\n');
+        }
+        Files.asCharSink(executable, Charsets.UTF_8).write(content);
+        executable.setExecutable(true);
+    }
+}
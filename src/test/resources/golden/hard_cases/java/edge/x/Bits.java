@@ -0,0 +1,11 @@
+// automatically generated by the FlatBuffers compiler, do not modify
+
+package edge.x;
+
+public final class Bits {
+  private Bits() { }
+  public static final long B0 = 1;
+  public static final long B1 = 2;
+  public static final long B63 = 9223372036854775808;
+}
+
@@ -0,0 +1,14 @@
+// automatically generated by the FlatBuffers compiler, do not modify
+
+package edge.x;
+
+public final class Bytes {
+  private Bytes() { }
+  public static final byte N1 = -1;
+  public static final byte Z0 = 0;
+
+  public static final String[] names = { "N1", "Z0", };
+
+  public static String name(int e) { return names[e - N1]; }
+}
+
@@ -0,0 +1,60 @@
+// automatically generated by the FlatBuffers compiler, do not modify
+
+package edge.x;
+
+import java.nio.*;
+import java.lang.*;
+import java.util.*;
+import com.google.flatbuffers.*;
+
+@SuppressWarnings("unused")
+public final class Deep2 extends Struct {
+  public void __init(int _i, ByteBuffer _bb) { __reset(_i, _bb); }
+  public Deep2 __assign(int _i, ByteBuffer _bb) { __init(_i, _bb); return this; }
+
+  public edge.x.Nest n(edge.x.Nest obj, int j) { return obj.__assign(bb_pos + 0 + j * 64, bb); }
+  public double d() { return bb.getDouble(bb_pos + 128); }
+
+  public static int createDeep2(FlatBufferBuilder builder, int[] n_inner_s_firstField, int[] n_inner_s_secondFieldX, int[][] n_inner_s_arrU32, byte[][] n_inner_s_arrU8, int[][] n_many_firstField, int[][] n_many_secondFieldX, int[][][] n_many_arrU32, byte[][][] n_many_arrU8, boolean[] n_b, double d) {
+    builder.prep(8, 136);
+    builder.putDouble(d);
+    for (int _idx0 = 2; _idx0 > 0; _idx0--) {
+      builder.prep(4, 64);
+      builder.pad(3);
+      builder.putBoolean(n_b[_idx0-1]);
+      for (int _idx1 = 2; _idx1 > 0; _idx1--) {
+        builder.prep(4, 20);
+        builder.pad(1);
+        for (int _idx2 = 3; _idx2 > 0; _idx2--) {
+          builder.putByte((byte)n_many_arrU8[_idx0-1][_idx1-1][_idx2-1]);
+        }
+        for (int _idx2 = 2; _idx2 > 0; _idx2--) {
+          builder.putInt((int)n_many_arrU32[_idx0-1][_idx1-1][_idx2-1]);
+        }
+        builder.pad(3);
+        builder.putByte((byte)n_many_secondFieldX[_idx0-1][_idx1-1]);
+        builder.putInt(n_many_firstField[_idx0-1][_idx1-1]);
+      }
+      builder.prep(4, 20);
+      builder.pad(1);
+      for (int _idx1 = 3; _idx1 > 0; _idx1--) {
+        builder.putByte((byte)n_inner_s_arrU8[_idx0-1][_idx1-1]);
+      }
+      for (int _idx1 = 2; _idx1 > 0; _idx1--) {
+        builder.putInt((int)n_inner_s_arrU32[_idx0-1][_idx1-1]);
+      }
+      builder.pad(3);
+      builder.putByte((byte)n_inner_s_secondFieldX[_idx0-1]);
+      builder.putInt(n_inner_s_firstField[_idx0-1]);
+    }
+    return builder.offset();
+  }
+
+  public static final class Vector extends BaseVector {
+    public Vector __assign(int _vector, int _element_size, ByteBuffer _bb) { __reset(_vector, _element_size, _bb); return this; }
+
+    public Deep2 get(int j) { return get(new Deep2(), j); }
+    public Deep2 get(Deep2 obj, int j) {  return obj.__assign(__element(j), bb); }
+  }
+}
+
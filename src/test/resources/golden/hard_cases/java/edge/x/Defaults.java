@@ -0,0 +1,133 @@
+// automatically generated by the FlatBuffers compiler, do not modify
+
+package edge.x;
+
+import java.nio.*;
+import java.lang.*;
+import java.util.*;
+import com.google.flatbuffers.*;
+
+@SuppressWarnings("unused")
+public final class Defaults extends Table {
+  public static void ValidateVersion() { Constants.FLATBUFFERS_1_12_0(); }
+  public static Defaults getRootAsDefaults(ByteBuffer _bb) { return getRootAsDefaults(_bb, new Defaults()); }
+  public static Defaults getRootAsDefaults(ByteBuffer _bb, Defaults obj) { _bb.order(ByteOrder.LITTLE_ENDIAN); return (obj.__assign(_bb.getInt(_bb.position()) + _bb.position(), _bb)); }
+  public void __init(int _i, ByteBuffer _bb) { __reset(_i, _bb); }
+  public Defaults __assign(int _i, ByteBuffer _bb) { __init(_i, _bb); return this; }
+
+  public float f1() { int o = __offset(4); return o != 0 ? bb.getFloat(o + bb_pos) : .5f; }
+  public float f2() { int o = __offset(6); return o != 0 ? bb.getFloat(o + bb_pos) : 1.f; }
+  public float f3() { int o = __offset(8); return o != 0 ? bb.getFloat(o + bb_pos) : +1.5f; }
+  public double f4() { int o = __offset(10); return o != 0 ? bb.getDouble(o + bb_pos) : 1e-3; }
+  public float f5() { int o = __offset(12); return o != 0 ? bb.getFloat(o + bb_pos) : 3.4e38f; }
+  public float f6() { int o = __offset(14); return o != 0 ? bb.getFloat(o + bb_pos) : Float.NaN; }
+  public double f7() { int o = __offset(16); return o != 0 ? bb.getDouble(o + bb_pos) : Double.POSITIVE_INFINITY; }
+  public float f8() { int o = __offset(18); return o != 0 ? bb.getFloat(o + bb_pos) : Float.NEGATIVE_INFINITY; }
+  public float f9() { int o = __offset(20); return o != 0 ? bb.getFloat(o + bb_pos) : 0.0f; }
+  public double f10() { int o = __offset(22); return o != 0 ? bb.getDouble(o + bb_pos) : 0.0; }
+  public float f12() { int o = __offset(24); return o != 0 ? bb.getFloat(o + bb_pos) : 1E5f; }
+  public boolean b1() { int o = __offset(26); return o != 0 ? 0!=bb.get(o + bb_pos) : true; }
+  public boolean b2() { int o = __offset(28); return o != 0 ? 0!=bb.get(o + bb_pos) : true; }
+  public int i1() { int o = __offset(30); return o != 0 ? bb.getInt(o + bb_pos) : 5; }
+  public long i2() { int o = __offset(32); return o != 0 ? bb.getLong(o + bb_pos) : 9223372036854775807L; }
+  public long i3() { int o = __offset(34); return o != 0 ? bb.getLong(o + bb_pos) : 0L; }
+  public short i4() { int o = __offset(36); return o != 0 ? bb.getShort(o + bb_pos) : -32768; }
+  public int i5() { int o = __offset(38); return o != 0 ? bb.get(o + bb_pos) & 0xFF : 255; }
+  public long i6() { int o = __offset(40); return o != 0 ? (long)bb.getInt(o + bb_pos) & 0xFFFFFFFFL : 7L; }
+  public int e1() { int o = __offset(42); return o != 0 ? bb.getInt(o + bb_pos) : 1; }
+  public int e3() { int o = __offset(44); return o != 0 ? bb.getInt(o + bb_pos) : 1; }
+  public long fl() { int o = __offset(46); return o != 0 ? bb.getLong(o + bb_pos) : 1L; }
+  public long fl2() { int o = __offset(48); return o != 0 ? bb.getLong(o + bb_pos) : 2L; }
+  public long fl3() { int o = __offset(50); return o != 0 ? bb.getLong(o + bb_pos) : 0L; }
+
+  public static int createDefaults(FlatBufferBuilder builder,
+      float f1,
+      float f2,
+      float f3,
+      double f4,
+      float f5,
+      float f6,
+      double f7,
+      float f8,
+      float f9,
+      double f10,
+      float f12,
+      boolean b1,
+      boolean b2,
+      int i1,
+      long i2,
+      long i3,
+      short i4,
+      int i5,
+      long i6,
+      int e1,
+      int e3,
+      long fl,
+      long fl2,
+      long fl3) {
+    builder.startTable(24);
+    Defaults.addFl3(builder, fl3);
+    Defaults.addFl2(builder, fl2);
+    Defaults.addFl(builder, fl);
+    Defaults.addI3(builder, i3);
+    Defaults.addI2(builder, i2);
+    Defaults.addF10(builder, f10);
+    Defaults.addF7(builder, f7);
+    Defaults.addF4(builder, f4);
+    Defaults.addE3(builder, e3);
+    Defaults.addE1(builder, e1);
+    Defaults.addI6(builder, i6);
+    Defaults.addI1(builder, i1);
+    Defaults.addF12(builder, f12);
+    Defaults.addF9(builder, f9);
+    Defaults.addF8(builder, f8);
+    Defaults.addF6(builder, f6);
+    Defaults.addF5(builder, f5);
+    Defaults.addF3(builder, f3);
+    Defaults.addF2(builder, f2);
+    Defaults.addF1(builder, f1);
+    Defaults.addI4(builder, i4);
+    Defaults.addI5(builder, i5);
+    Defaults.addB2(builder, b2);
+    Defaults.addB1(builder, b1);
+    return Defaults.endDefaults(builder);
+  }
+
+  public static void startDefaults(FlatBufferBuilder builder) { builder.startTable(24); }
+  public static void addF1(FlatBufferBuilder builder, float f1) { builder.addFloat(0, f1, .5f); }
+  public static void addF2(FlatBufferBuilder builder, float f2) { builder.addFloat(1, f2, 1.f); }
+  public static void addF3(FlatBufferBuilder builder, float f3) { builder.addFloat(2, f3, +1.5f); }
+  public static void addF4(FlatBufferBuilder builder, double f4) { builder.addDouble(3, f4, 1e-3); }
+  public static void addF5(FlatBufferBuilder builder, float f5) { builder.addFloat(4, f5, 3.4e38f); }
+  public static void addF6(FlatBufferBuilder builder, float f6) { builder.addFloat(5, f6, Float.NaN); }
+  public static void addF7(FlatBufferBuilder builder, double f7) { builder.addDouble(6, f7, Double.POSITIVE_INFINITY); }
+  public static void addF8(FlatBufferBuilder builder, float f8) { builder.addFloat(7, f8, Float.NEGATIVE_INFINITY); }
+  public static void addF9(FlatBufferBuilder builder, float f9) { builder.addFloat(8, f9, 0.0f); }
+  public static void addF10(FlatBufferBuilder builder, double f10) { builder.addDouble(9, f10, 0.0); }
+  public static void addF12(FlatBufferBuilder builder, float f12) { builder.addFloat(10, f12, 1E5f); }
+  public static void addB1(FlatBufferBuilder builder, boolean b1) { builder.addBoolean(11, b1, true); }
+  public static void addB2(FlatBufferBuilder builder, boolean b2) { builder.addBoolean(12, b2, true); }
+  public static void addI1(FlatBufferBuilder builder, int i1) { builder.addInt(13, i1, 5); }
+  public static void addI2(FlatBufferBuilder builder, long i2) { builder.addLong(14, i2, 9223372036854775807L); }
+  public static void addI3(FlatBufferBuilder builder, long i3) { builder.addLong(15, i3, 0L); }
+  public static void addI4(FlatBufferBuilder builder, short i4) { builder.addShort(16, i4, -32768); }
+  public static void addI5(FlatBufferBuilder builder, int i5) { builder.addByte(17, (byte)i5, (byte)255); }
+  public static void addI6(FlatBufferBuilder builder, long i6) { builder.addInt(18, (int)i6, (int)7L); }
+  public static void addE1(FlatBufferBuilder builder, int e1) { builder.addInt(19, e1, 1); }
+  public static void addE3(FlatBufferBuilder builder, int e3) { builder.addInt(20, e3, 1); }
+  public static void addFl(FlatBufferBuilder builder, long fl) { builder.addLong(21, fl, 1L); }
+  public static void addFl2(FlatBufferBuilder builder, long fl2) { builder.addLong(22, fl2, 2L); }
+  public static void addFl3(FlatBufferBuilder builder, long fl3) { builder.addLong(23, fl3, 0L); }
+  public static int endDefaults(FlatBufferBuilder builder) {
+    int o = builder.endTable();
+    return o;
+  }
+
+  public static final class Vector extends BaseVector {
+    public Vector __assign(int _vector, int _element_size, ByteBuffer _bb) { __reset(_vector, _element_size, _bb); return this; }
+
+    public Defaults get(int j) { return get(new Defaults(), j); }
+    public Defaults get(Defaults obj, int j) {  return obj.__assign(__indirect(__element(j), bb), bb); }
+  }
+}
+
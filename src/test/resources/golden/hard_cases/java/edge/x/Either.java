@@ -0,0 +1,16 @@
+// automatically generated by the FlatBuffers compiler, do not modify
+
+package edge.x;
+
+public final class Either {
+  private Either() { }
+  public static final byte NONE = 0;
+  public static final byte PrivT = 1;
+  public static final byte Other = 2;
+  public static final byte edge_x_Ids = 3;
+
+  public static final String[] names = { "NONE", "PrivT", "Other", "edge_x_Ids", };
+
+  public static String name(int e) { return names[e]; }
+}
+
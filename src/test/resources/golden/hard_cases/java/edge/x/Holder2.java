@@ -0,0 +1,126 @@
+// automatically generated by the FlatBuffers compiler, do not modify
+
+package edge.x;
+
+import java.nio.*;
+import java.lang.*;
+import java.util.*;
+import com.google.flatbuffers.*;
+
+@SuppressWarnings("unused")
+public final class Holder2 extends Table {
+  public static void ValidateVersion() { Constants.FLATBUFFERS_1_12_0(); }
+  public static Holder2 getRootAsHolder2(ByteBuffer _bb) { return getRootAsHolder2(_bb, new Holder2()); }
+  public static Holder2 getRootAsHolder2(ByteBuffer _bb, Holder2 obj) { _bb.order(ByteOrder.LITTLE_ENDIAN); return (obj.__assign(_bb.getInt(_bb.position()) + _bb.position(), _bb)); }
+  public void __init(int _i, ByteBuffer _bb) { __reset(_i, _bb); }
+  public Holder2 __assign(int _i, ByteBuffer _bb) { __init(_i, _bb); return this; }
+
+  public edge.x.Keyed ks(int j) { return ks(new edge.x.Keyed(), j); }
+  public edge.x.Keyed ks(edge.x.Keyed obj, int j) { int o = __offset(4); return o != 0 ? obj.__assign(__indirect(__vector(o) + j * 4), bb) : null; }
+  public int ksLength() { int o = __offset(4); return o != 0 ? __vector_len(o) : 0; }
+  public edge.x.Keyed ksByKey(long key) { int o = __offset(4); return o != 0 ? edge.x.Keyed.__lookup_by_key(null, __vector(o), key, bb) : null; }
+  public edge.x.Keyed ksByKey(edge.x.Keyed obj, long key) { int o = __offset(4); return o != 0 ? edge.x.Keyed.__lookup_by_key(obj, __vector(o), key, bb) : null; }
+  public edge.x.Keyed.Vector ksVector() { return ksVector(new edge.x.Keyed.Vector()); }
+  public edge.x.Keyed.Vector ksVector(edge.x.Keyed.Vector obj) { int o = __offset(4); return o != 0 ? obj.__assign(__vector(o), 4, bb) : null; }
+  public edge.x.KeyedL kl(int j) { return kl(new edge.x.KeyedL(), j); }
+  public edge.x.KeyedL kl(edge.x.KeyedL obj, int j) { int o = __offset(6); return o != 0 ? obj.__assign(__indirect(__vector(o) + j * 4), bb) : null; }
+  public int klLength() { int o = __offset(6); return o != 0 ? __vector_len(o) : 0; }
+  public edge.x.KeyedL klByKey(long key) { int o = __offset(6); return o != 0 ? edge.x.KeyedL.__lookup_by_key(null, __vector(o), key, bb) : null; }
+  public edge.x.KeyedL klByKey(edge.x.KeyedL obj, long key) { int o = __offset(6); return o != 0 ? edge.x.KeyedL.__lookup_by_key(obj, __vector(o), key, bb) : null; }
+  public edge.x.KeyedL.Vector klVector() { return klVector(new edge.x.KeyedL.Vector()); }
+  public edge.x.KeyedL.Vector klVector(edge.x.KeyedL.Vector obj) { int o = __offset(6); return o != 0 ? obj.__assign(__vector(o), 4, bb) : null; }
+  public edge.x.KeyedD kd(int j) { return kd(new edge.x.KeyedD(), j); }
+  public edge.x.KeyedD kd(edge.x.KeyedD obj, int j) { int o = __offset(8); return o != 0 ? obj.__assign(__indirect(__vector(o) + j * 4), bb) : null; }
+  public int kdLength() { int o = __offset(8); return o != 0 ? __vector_len(o) : 0; }
+  public edge.x.KeyedD kdByKey(double key) { int o = __offset(8); return o != 0 ? edge.x.KeyedD.__lookup_by_key(null, __vector(o), key, bb) : null; }
+  public edge.x.KeyedD kdByKey(edge.x.KeyedD obj, double key) { int o = __offset(8); return o != 0 ? edge.x.KeyedD.__lookup_by_key(obj, __vector(o), key, bb) : null; }
+  public edge.x.KeyedD.Vector kdVector() { return kdVector(new edge.x.KeyedD.Vector()); }
+  public edge.x.KeyedD.Vector kdVector(edge.x.KeyedD.Vector obj) { int o = __offset(8); return o != 0 ? obj.__assign(__vector(o), 4, bb) : null; }
+  public edge.x.KeyedS kss(int j) { return kss(new edge.x.KeyedS(), j); }
+  public edge.x.KeyedS kss(edge.x.KeyedS obj, int j) { int o = __offset(10); return o != 0 ? obj.__assign(__indirect(__vector(o) + j * 4), bb) : null; }
+  public int kssLength() { int o = __offset(10); return o != 0 ? __vector_len(o) : 0; }
+  public edge.x.KeyedS kssByKey(short key) { int o = __offset(10); return o != 0 ? edge.x.KeyedS.__lookup_by_key(null, __vector(o), key, bb) : null; }
+  public edge.x.KeyedS kssByKey(edge.x.KeyedS obj, short key) { int o = __offset(10); return o != 0 ? edge.x.KeyedS.__lookup_by_key(obj, __vector(o), key, bb) : null; }
+  public edge.x.KeyedS.Vector kssVector() { return kssVector(new edge.x.KeyedS.Vector()); }
+  public edge.x.KeyedS.Vector kssVector(edge.x.KeyedS.Vector obj) { int o = __offset(10); return o != 0 ? obj.__assign(__vector(o), 4, bb) : null; }
+  public edge.x.Nest ss(int j) { return ss(new edge.x.Nest(), j); }
+  public edge.x.Nest ss(edge.x.Nest obj, int j) { int o = __offset(12); return o != 0 ? obj.__assign(__vector(o) + j * 64, bb) : null; }
+  public int ssLength() { int o = __offset(12); return o != 0 ? __vector_len(o) : 0; }
+  public edge.x.Nest.Vector ssVector() { return ssVector(new edge.x.Nest.Vector()); }
+  public edge.x.Nest.Vector ssVector(edge.x.Nest.Vector obj) { int o = __offset(12); return o != 0 ? obj.__assign(__vector(o), 64, bb) : null; }
+  public edge.x.Deep2 dd(int j) { return dd(new edge.x.Deep2(), j); }
+  public edge.x.Deep2 dd(edge.x.Deep2 obj, int j) { int o = __offset(14); return o != 0 ? obj.__assign(__vector(o) + j * 136, bb) : null; }
+  public int ddLength() { int o = __offset(14); return o != 0 ? __vector_len(o) : 0; }
+  public edge.x.Deep2.Vector ddVector() { return ddVector(new edge.x.Deep2.Vector()); }
+  public edge.x.Deep2.Vector ddVector(edge.x.Deep2.Vector obj) { int o = __offset(14); return o != 0 ? obj.__assign(__vector(o), 136, bb) : null; }
+  public byte e(int j) { int o = __offset(16); return o != 0 ? bb.get(__vector(o) + j * 1) : 0; }
+  public int eLength() { int o = __offset(16); return o != 0 ? __vector_len(o) : 0; }
+  public ByteVector eVector() { return eVector(new ByteVector()); }
+  public ByteVector eVector(ByteVector obj) { int o = __offset(16); return o != 0 ? obj.__assign(__vector(o), bb) : null; }
+  public ByteBuffer eAsByteBuffer() { return __vector_as_bytebuffer(16, 1); }
+  public ByteBuffer eInByteBuffer(ByteBuffer _bb) { return __vector_in_bytebuffer(_bb, 16, 1); }
+  public long v(int j) { int o = __offset(18); return o != 0 ? bb.getLong(__vector(o) + j * 8) : 0; }
+  public int vLength() { int o = __offset(18); return o != 0 ? __vector_len(o) : 0; }
+  public LongVector vVector() { return vVector(new LongVector()); }
+  public LongVector vVector(LongVector obj) { int o = __offset(18); return o != 0 ? obj.__assign(__vector(o), bb) : null; }
+  public ByteBuffer vAsByteBuffer() { return __vector_as_bytebuffer(18, 8); }
+  public ByteBuffer vInByteBuffer(ByteBuffer _bb) { return __vector_in_bytebuffer(_bb, 18, 8); }
+
+  public static int createHolder2(FlatBufferBuilder builder,
+      int ksOffset,
+      int klOffset,
+      int kdOffset,
+      int kssOffset,
+      int ssOffset,
+      int ddOffset,
+      int eOffset,
+      int vOffset) {
+    builder.startTable(8);
+    Holder2.addV(builder, vOffset);
+    Holder2.addE(builder, eOffset);
+    Holder2.addDd(builder, ddOffset);
+    Holder2.addSs(builder, ssOffset);
+    Holder2.addKss(builder, kssOffset);
+    Holder2.addKd(builder, kdOffset);
+    Holder2.addKl(builder, klOffset);
+    Holder2.addKs(builder, ksOffset);
+    return Holder2.endHolder2(builder);
+  }
+
+  public static void startHolder2(FlatBufferBuilder builder) { builder.startTable(8); }
+  public static void addKs(FlatBufferBuilder builder, int ksOffset) { builder.addOffset(0, ksOffset, 0); }
+  public static int createKsVector(FlatBufferBuilder builder, int[] data) { builder.startVector(4, data.length, 4); for (int i = data.length - 1; i >= 0; i--) builder.addOffset(data[i]); return builder.endVector(); }
+  public static void startKsVector(FlatBufferBuilder builder, int numElems) { builder.startVector(4, numElems, 4); }
+  public static void addKl(FlatBufferBuilder builder, int klOffset) { builder.addOffset(1, klOffset, 0); }
+  public static int createKlVector(FlatBufferBuilder builder, int[] data) { builder.startVector(4, data.length, 4); for (int i = data.length - 1; i >= 0; i--) builder.addOffset(data[i]); return builder.endVector(); }
+  public static void startKlVector(FlatBufferBuilder builder, int numElems) { builder.startVector(4, numElems, 4); }
+  public static void addKd(FlatBufferBuilder builder, int kdOffset) { builder.addOffset(2, kdOffset, 0); }
+  public static int createKdVector(FlatBufferBuilder builder, int[] data) { builder.startVector(4, data.length, 4); for (int i = data.length - 1; i >= 0; i--) builder.addOffset(data[i]); return builder.endVector(); }
+  public static void startKdVector(FlatBufferBuilder builder, int numElems) { builder.startVector(4, numElems, 4); }
+  public static void addKss(FlatBufferBuilder builder, int kssOffset) { builder.addOffset(3, kssOffset, 0); }
+  public static int createKssVector(FlatBufferBuilder builder, int[] data) { builder.startVector(4, data.length, 4); for (int i = data.length - 1; i >= 0; i--) builder.addOffset(data[i]); return builder.endVector(); }
+  public static void startKssVector(FlatBufferBuilder builder, int numElems) { builder.startVector(4, numElems, 4); }
+  public static void addSs(FlatBufferBuilder builder, int ssOffset) { builder.addOffset(4, ssOffset, 0); }
+  public static void startSsVector(FlatBufferBuilder builder, int numElems) { builder.startVector(64, numElems, 4); }
+  public static void addDd(FlatBufferBuilder builder, int ddOffset) { builder.addOffset(5, ddOffset, 0); }
+  public static void startDdVector(FlatBufferBuilder builder, int numElems) { builder.startVector(136, numElems, 8); }
+  public static void addE(FlatBufferBuilder builder, int eOffset) { builder.addOffset(6, eOffset, 0); }
+  public static int createEVector(FlatBufferBuilder builder, byte[] data) { return builder.createByteVector(data); }
+  public static int createEVector(FlatBufferBuilder builder, ByteBuffer data) { return builder.createByteVector(data); }
+  public static void startEVector(FlatBufferBuilder builder, int numElems) { builder.startVector(1, numElems, 1); }
+  public static void addV(FlatBufferBuilder builder, int vOffset) { builder.addOffset(7, vOffset, 0); }
+  public static int createVVector(FlatBufferBuilder builder, long[] data) { builder.startVector(8, data.length, 8); for (int i = data.length - 1; i >= 0; i--) builder.addLong(data[i]); return builder.endVector(); }
+  public static void startVVector(FlatBufferBuilder builder, int numElems) { builder.startVector(8, numElems, 8); }
+  public static int endHolder2(FlatBufferBuilder builder) {
+    int o = builder.endTable();
+    return o;
+  }
+
+  public static final class Vector extends BaseVector {
+    public Vector __assign(int _vector, int _element_size, ByteBuffer _bb) { __reset(_vector, _element_size, _bb); return this; }
+
+    public Holder2 get(int j) { return get(new Holder2(), j); }
+    public Holder2 get(Holder2 obj, int j) {  return obj.__assign(__indirect(__element(j), bb), bb); }
+  }
+}
+
@@ -0,0 +1,99 @@
+// automatically generated by the FlatBuffers compiler, do not modify
+
+package edge.x;
+
+import java.nio.*;
+import java.lang.*;
+import java.util.*;
+import com.google.flatbuffers.*;
+
+@SuppressWarnings("unused")
+public final class Ids extends Table {
+  public static void ValidateVersion() { Constants.FLATBUFFERS_1_12_0(); }
+  public static Ids getRootAsIds(ByteBuffer _bb) { return getRootAsIds(_bb, new Ids()); }
+  public static Ids getRootAsIds(ByteBuffer _bb, Ids obj) { _bb.order(ByteOrder.LITTLE_ENDIAN); return (obj.__assign(_bb.getInt(_bb.position()) + _bb.position(), _bb)); }
+  public static boolean IdsBufferHasIdentifier(ByteBuffer _bb) { return __has_identifier(_bb, "EDGE"); }
+  public void __init(int _i, ByteBuffer _bb) { __reset(_i, _bb); }
+  public Ids __assign(int _i, ByteBuffer _bb) { __init(_i, _bb); return this; }
+
+  public String a() { int o = __offset(4); return o != 0 ? __string(o + bb_pos) : null; }
+  public ByteBuffer aAsByteBuffer() { return __vector_as_bytebuffer(4, 1); }
+  public ByteBuffer aInByteBuffer(ByteBuffer _bb) { return __vector_in_bytebuffer(_bb, 4, 1); }
+  public byte uType() { int o = __offset(6); return o != 0 ? bb.get(o + bb_pos) : 0; }
+  public Table u(Table obj) { int o = __offset(8); return o != 0 ? __union(obj, o + bb_pos) : null; }
+  public int c() { int o = __offset(10); return o != 0 ? bb.getInt(o + bb_pos) : 0; }
+  public int z(int j) { int o = __offset(12); return o != 0 ? bb.get(__vector(o) + j * 1) & 0xFF : 0; }
+  public int zLength() { int o = __offset(12); return o != 0 ? __vector_len(o) : 0; }
+  public ByteVector zVector() { return zVector(new ByteVector()); }
+  public ByteVector zVector(ByteVector obj) { int o = __offset(12); return o != 0 ? obj.__assign(__vector(o), bb) : null; }
+  public ByteBuffer zAsByteBuffer() { return __vector_as_bytebuffer(12, 1); }
+  public ByteBuffer zInByteBuffer(ByteBuffer _bb) { return __vector_in_bytebuffer(_bb, 12, 1); }
+  public edge.x.SortT zAsSortT() { return zAsSortT(new edge.x.SortT()); }
+  public edge.x.SortT zAsSortT(edge.x.SortT obj) { int o = __offset(12); return o != 0 ? obj.__assign(__indirect(__vector(o)), bb) : null; }
+
+  public static int createIds(FlatBufferBuilder builder,
+      int aOffset,
+      byte u_type,
+      int uOffset,
+      int c,
+      int zOffset) {
+    builder.startTable(5);
+    Ids.addZ(builder, zOffset);
+    Ids.addC(builder, c);
+    Ids.addU(builder, uOffset);
+    Ids.addA(builder, aOffset);
+    Ids.addUType(builder, u_type);
+    return Ids.endIds(builder);
+  }
+
+  public static void startIds(FlatBufferBuilder builder) { builder.startTable(5); }
+  public static void addA(FlatBufferBuilder builder, int aOffset) { builder.addOffset(0, aOffset, 0); }
+  public static void addUType(FlatBufferBuilder builder, byte uType) { builder.addByte(1, uType, 0); }
+  public static void addU(FlatBufferBuilder builder, int uOffset) { builder.addOffset(2, uOffset, 0); }
+  public static void addC(FlatBufferBuilder builder, int c) { builder.addInt(3, c, 0); }
+  public static void addZ(FlatBufferBuilder builder, int zOffset) { builder.addOffset(4, zOffset, 0); }
+  public static int createZVector(FlatBufferBuilder builder, byte[] data) { return builder.createByteVector(data); }
+  public static int createZVector(FlatBufferBuilder builder, ByteBuffer data) { return builder.createByteVector(data); }
+  public static void startZVector(FlatBufferBuilder builder, int numElems) { builder.startVector(1, numElems, 1); }
+  public static int endIds(FlatBufferBuilder builder) {
+    int o = builder.endTable();
+    builder.required(o, 4);  // a
+    return o;
+  }
+  public static void finishIdsBuffer(FlatBufferBuilder builder, int offset) { builder.finish(offset, "EDGE"); }
+  public static void finishSizePrefixedIdsBuffer(FlatBufferBuilder builder, int offset) { builder.finishSizePrefixed(offset, "EDGE"); }
+
+  @Override
+  protected int keysCompare(Integer o1, Integer o2, ByteBuffer _bb) { return compareStrings(__offset(4, o1, _bb), __offset(4, o2, _bb), _bb); }
+
+  public static Ids __lookup_by_key(Ids obj, int vectorLocation, String key, ByteBuffer bb) {
+    byte[] byteKey = key.getBytes(java.nio.charset.StandardCharsets.UTF_8);
+    int span = bb.getInt(vectorLocation - 4);
+    int start = 0;
+    while (span != 0) {
+      int middle = span / 2;
+      int tableOffset = __indirect(vectorLocation + 4 * (start + middle), bb);
+      int comp = compareStrings(__offset(4, bb.capacity() - tableOffset, bb), byteKey, bb);
+      if (comp > 0) {
+        span = middle;
+      } else if (comp < 0) {
+        middle++;
+        start += middle;
+        span -= middle;
+      } else {
+        return (obj == null ? new Ids() : obj).__assign(tableOffset, bb);
+      }
+    }
+    return null;
+  }
+
+  public static final class Vector extends BaseVector {
+    public Vector __assign(int _vector, int _element_size, ByteBuffer _bb) { __reset(_vector, _element_size, _bb); return this; }
+
+    public Ids get(int j) { return get(new Ids(), j); }
+    public Ids get(Ids obj, int j) {  return obj.__assign(__indirect(__element(j), bb), bb); }
+    public Ids getByKey(String key) {  return __lookup_by_key(null, __vector(), key, bb); }
+    public Ids getByKey(Ids obj, String key) {  return __lookup_by_key(obj, __vector(), key, bb); }
+  }
+}
+
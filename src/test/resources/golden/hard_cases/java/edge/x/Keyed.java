@@ -0,0 +1,71 @@
+// automatically generated by the FlatBuffers compiler, do not modify
+
+package edge.x;
+
+import java.nio.*;
+import java.lang.*;
+import java.util.*;
+import com.google.flatbuffers.*;
+
+@SuppressWarnings("unused")
+public final class Keyed extends Table {
+  public static void ValidateVersion() { Constants.FLATBUFFERS_1_12_0(); }
+  public static Keyed getRootAsKeyed(ByteBuffer _bb) { return getRootAsKeyed(_bb, new Keyed()); }
+  public static Keyed getRootAsKeyed(ByteBuffer _bb, Keyed obj) { _bb.order(ByteOrder.LITTLE_ENDIAN); return (obj.__assign(_bb.getInt(_bb.position()) + _bb.position(), _bb)); }
+  public void __init(int _i, ByteBuffer _bb) { __reset(_i, _bb); }
+  public Keyed __assign(int _i, ByteBuffer _bb) { __init(_i, _bb); return this; }
+
+  public long k() { int o = __offset(4); return o != 0 ? (long)bb.getInt(o + bb_pos) & 0xFFFFFFFFL : 0L; }
+
+  public static int createKeyed(FlatBufferBuilder builder,
+      long k) {
+    builder.startTable(1);
+    Keyed.addK(builder, k);
+    return Keyed.endKeyed(builder);
+  }
+
+  public static void startKeyed(FlatBufferBuilder builder) { builder.startTable(1); }
+  public static void addK(FlatBufferBuilder builder, long k) { builder.addInt(0, (int)k, (int)0L); }
+  public static int endKeyed(FlatBufferBuilder builder) {
+    int o = builder.endTable();
+    return o;
+  }
+
+  @Override
+  protected int keysCompare(Integer o1, Integer o2, ByteBuffer _bb) {
+    long val_1 = (long)_bb.getInt(__offset(4, o1, _bb)) & 0xFFFFFFFFL;
+    long val_2 = (long)_bb.getInt(__offset(4, o2, _bb)) & 0xFFFFFFFFL;
+    return val_1 > val_2 ? 1 : val_1 < val_2 ? -1 : 0;
+  }
+
+  public static Keyed __lookup_by_key(Keyed obj, int vectorLocation, long key, ByteBuffer bb) {
+    int span = bb.getInt(vectorLocation - 4);
+    int start = 0;
+    while (span != 0) {
+      int middle = span / 2;
+      int tableOffset = __indirect(vectorLocation + 4 * (start + middle), bb);
+      long val = (long)bb.getInt(__offset(4, bb.capacity() - tableOffset, bb)) & 0xFFFFFFFFL;
+      int comp = val > key ? 1 : val < key ? -1 : 0;
+      if (comp > 0) {
+        span = middle;
+      } else if (comp < 0) {
+        middle++;
+        start += middle;
+        span -= middle;
+      } else {
+        return (obj == null ? new Keyed() : obj).__assign(tableOffset, bb);
+      }
+    }
+    return null;
+  }
+
+  public static final class Vector extends BaseVector {
+    public Vector __assign(int _vector, int _element_size, ByteBuffer _bb) { __reset(_vector, _element_size, _bb); return this; }
+
+    public Keyed get(int j) { return get(new Keyed(), j); }
+    public Keyed get(Keyed obj, int j) {  return obj.__assign(__indirect(__element(j), bb), bb); }
+    public Keyed getByKey(long key) {  return __lookup_by_key(null, __vector(), key, bb); }
+    public Keyed getByKey(Keyed obj, long key) {  return __lookup_by_key(obj, __vector(), key, bb); }
+  }
+}
+
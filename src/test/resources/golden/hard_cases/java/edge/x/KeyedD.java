@@ -0,0 +1,71 @@
+// automatically generated by the FlatBuffers compiler, do not modify
+
+package edge.x;
+
+import java.nio.*;
+import java.lang.*;
+import java.util.*;
+import com.google.flatbuffers.*;
+
+@SuppressWarnings("unused")
+public final class KeyedD extends Table {
+  public static void ValidateVersion() { Constants.FLATBUFFERS_1_12_0(); }
+  public static KeyedD getRootAsKeyedD(ByteBuffer _bb) { return getRootAsKeyedD(_bb, new KeyedD()); }
+  public static KeyedD getRootAsKeyedD(ByteBuffer _bb, KeyedD obj) { _bb.order(ByteOrder.LITTLE_ENDIAN); return (obj.__assign(_bb.getInt(_bb.position()) + _bb.position(), _bb)); }
+  public void __init(int _i, ByteBuffer _bb) { __reset(_i, _bb); }
+  public KeyedD __assign(int _i, ByteBuffer _bb) { __init(_i, _bb); return this; }
+
+  public double k() { int o = __offset(4); return o != 0 ? bb.getDouble(o + bb_pos) : 0.0; }
+
+  public static int createKeyedD(FlatBufferBuilder builder,
+      double k) {
+    builder.startTable(1);
+    KeyedD.addK(builder, k);
+    return KeyedD.endKeyedD(builder);
+  }
+
+  public static void startKeyedD(FlatBufferBuilder builder) { builder.startTable(1); }
+  public static void addK(FlatBufferBuilder builder, double k) { builder.addDouble(0, k, 0.0); }
+  public static int endKeyedD(FlatBufferBuilder builder) {
+    int o = builder.endTable();
+    return o;
+  }
+
+  @Override
+  protected int keysCompare(Integer o1, Integer o2, ByteBuffer _bb) {
+    double val_1 = _bb.getDouble(__offset(4, o1, _bb));
+    double val_2 = _bb.getDouble(__offset(4, o2, _bb));
+    return val_1 > val_2 ? 1 : val_1 < val_2 ? -1 : 0;
+  }
+
+  public static KeyedD __lookup_by_key(KeyedD obj, int vectorLocation, double key, ByteBuffer bb) {
+    int span = bb.getInt(vectorLocation - 4);
+    int start = 0;
+    while (span != 0) {
+      int middle = span / 2;
+      int tableOffset = __indirect(vectorLocation + 4 * (start + middle), bb);
+      double val = bb.getDouble(__offset(4, bb.capacity() - tableOffset, bb));
+      int comp = val > key ? 1 : val < key ? -1 : 0;
+      if (comp > 0) {
+        span = middle;
+      } else if (comp < 0) {
+        middle++;
+        start += middle;
+        span -= middle;
+      } else {
+        return (obj == null ? new KeyedD() : obj).__assign(tableOffset, bb);
+      }
+    }
+    return null;
+  }
+
+  public static final class Vector extends BaseVector {
+    public Vector __assign(int _vector, int _element_size, ByteBuffer _bb) { __reset(_vector, _element_size, _bb); return this; }
+
+    public KeyedD get(int j) { return get(new KeyedD(), j); }
+    public KeyedD get(KeyedD obj, int j) {  return obj.__assign(__indirect(__element(j), bb), bb); }
+    public KeyedD getByKey(double key) {  return __lookup_by_key(null, __vector(), key, bb); }
+    public KeyedD getByKey(KeyedD obj, double key) {  return __lookup_by_key(obj, __vector(), key, bb); }
+  }
+}
+
@@ -0,0 +1,71 @@
+// automatically generated by the FlatBuffers compiler, do not modify
+
+package edge.x;
+
+import java.nio.*;
+import java.lang.*;
+import java.util.*;
+import com.google.flatbuffers.*;
+
+@SuppressWarnings("unused")
+public final class KeyedL extends Table {
+  public static void ValidateVersion() { Constants.FLATBUFFERS_1_12_0(); }
+  public static KeyedL getRootAsKeyedL(ByteBuffer _bb) { return getRootAsKeyedL(_bb, new KeyedL()); }
+  public static KeyedL getRootAsKeyedL(ByteBuffer _bb, KeyedL obj) { _bb.order(ByteOrder.LITTLE_ENDIAN); return (obj.__assign(_bb.getInt(_bb.position()) + _bb.position(), _bb)); }
+  public void __init(int _i, ByteBuffer _bb) { __reset(_i, _bb); }
+  public KeyedL __assign(int _i, ByteBuffer _bb) { __init(_i, _bb); return this; }
+
+  public long k() { int o = __offset(4); return o != 0 ? bb.getLong(o + bb_pos) : 0L; }
+
+  public static int createKeyedL(FlatBufferBuilder builder,
+      long k) {
+    builder.startTable(1);
+    KeyedL.addK(builder, k);
+    return KeyedL.endKeyedL(builder);
+  }
+
+  public static void startKeyedL(FlatBufferBuilder builder) { builder.startTable(1); }
+  public static void addK(FlatBufferBuilder builder, long k) { builder.addLong(0, k, 0L); }
+  public static int endKeyedL(FlatBufferBuilder builder) {
+    int o = builder.endTable();
+    return o;
+  }
+
+  @Override
+  protected int keysCompare(Integer o1, Integer o2, ByteBuffer _bb) {
+    long val_1 = _bb.getLong(__offset(4, o1, _bb));
+    long val_2 = _bb.getLong(__offset(4, o2, _bb));
+    return val_1 > val_2 ? 1 : val_1 < val_2 ? -1 : 0;
+  }
+
+  public static KeyedL __lookup_by_key(KeyedL obj, int vectorLocation, long key, ByteBuffer bb) {
+    int span = bb.getInt(vectorLocation - 4);
+    int start = 0;
+    while (span != 0) {
+      int middle = span / 2;
+      int tableOffset = __indirect(vectorLocation + 4 * (start + middle), bb);
+      long val = bb.getLong(__offset(4, bb.capacity() - tableOffset, bb));
+      int comp = val > key ? 1 : val < key ? -1 : 0;
+      if (comp > 0) {
+        span = middle;
+      } else if (comp < 0) {
+        middle++;
+        start += middle;
+        span -= middle;
+      } else {
+        return (obj == null ? new KeyedL() : obj).__assign(tableOffset, bb);
+      }
+    }
+    return null;
+  }
+
+  public static final class Vector extends BaseVector {
+    public Vector __assign(int _vector, int _element_size, ByteBuffer _bb) { __reset(_vector, _element_size, _bb); return this; }
+
+    public KeyedL get(int j) { return get(new KeyedL(), j); }
+    public KeyedL get(KeyedL obj, int j) {  return obj.__assign(__indirect(__element(j), bb), bb); }
+    public KeyedL getByKey(long key) {  return __lookup_by_key(null, __vector(), key, bb); }
+    public KeyedL getByKey(KeyedL obj, long key) {  return __lookup_by_key(obj, __vector(), key, bb); }
+  }
+}
+
@@ -0,0 +1,71 @@
+// automatically generated by the FlatBuffers compiler, do not modify
+
+package edge.x;
+
+import java.nio.*;
+import java.lang.*;
+import java.util.*;
+import com.google.flatbuffers.*;
+
+@SuppressWarnings("unused")
+public final class KeyedS extends Table {
+  public static void ValidateVersion() { Constants.FLATBUFFERS_1_12_0(); }
+  public static KeyedS getRootAsKeyedS(ByteBuffer _bb) { return getRootAsKeyedS(_bb, new KeyedS()); }
+  public static KeyedS getRootAsKeyedS(ByteBuffer _bb, KeyedS obj) { _bb.order(ByteOrder.LITTLE_ENDIAN); return (obj.__assign(_bb.getInt(_bb.position()) + _bb.position(), _bb)); }
+  public void __init(int _i, ByteBuffer _bb) { __reset(_i, _bb); }
+  public KeyedS __assign(int _i, ByteBuffer _bb) { __init(_i, _bb); return this; }
+
+  public short k() { int o = __offset(4); return o != 0 ? bb.getShort(o + bb_pos) : 0; }
+
+  public static int createKeyedS(FlatBufferBuilder builder,
+      short k) {
+    builder.startTable(1);
+    KeyedS.addK(builder, k);
+    return KeyedS.endKeyedS(builder);
+  }
+
+  public static void startKeyedS(FlatBufferBuilder builder) { builder.startTable(1); }
+  public static void addK(FlatBufferBuilder builder, short k) { builder.addShort(0, k, 0); }
+  public static int endKeyedS(FlatBufferBuilder builder) {
+    int o = builder.endTable();
+    return o;
+  }
+
+  @Override
+  protected int keysCompare(Integer o1, Integer o2, ByteBuffer _bb) {
+    short val_1 = _bb.getShort(__offset(4, o1, _bb));
+    short val_2 = _bb.getShort(__offset(4, o2, _bb));
+    return val_1 > val_2 ? 1 : val_1 < val_2 ? -1 : 0;
+  }
+
+  public static KeyedS __lookup_by_key(KeyedS obj, int vectorLocation, short key, ByteBuffer bb) {
+    int span = bb.getInt(vectorLocation - 4);
+    int start = 0;
+    while (span != 0) {
+      int middle = span / 2;
+      int tableOffset = __indirect(vectorLocation + 4 * (start + middle), bb);
+      short val = bb.getShort(__offset(4, bb.capacity() - tableOffset, bb));
+      int comp = val > key ? 1 : val < key ? -1 : 0;
+      if (comp > 0) {
+        span = middle;
+      } else if (comp < 0) {
+        middle++;
+        start += middle;
+        span -= middle;
+      } else {
+        return (obj == null ? new KeyedS() : obj).__assign(tableOffset, bb);
+      }
+    }
+    return null;
+  }
+
+  public static final class Vector extends BaseVector {
+    public Vector __assign(int _vector, int _element_size, ByteBuffer _bb) { __reset(_vector, _element_size, _bb); return this; }
+
+    public KeyedS get(int j) { return get(new KeyedS(), j); }
+    public KeyedS get(KeyedS obj, int j) {  return obj.__assign(__indirect(__element(j), bb), bb); }
+    public KeyedS getByKey(short key) {  return __lookup_by_key(null, __vector(), key, bb); }
+    public KeyedS getByKey(KeyedS obj, short key) {  return __lookup_by_key(obj, __vector(), key, bb); }
+  }
+}
+
@@ -0,0 +1,58 @@
+// automatically generated by the FlatBuffers compiler, do not modify
+
+package edge.x;
+
+import java.nio.*;
+import java.lang.*;
+import java.util.*;
+import com.google.flatbuffers.*;
+
+@SuppressWarnings("unused")
+public final class Nest extends Struct {
+  public void __init(int _i, ByteBuffer _bb) { __reset(_i, _bb); }
+  public Nest __assign(int _i, ByteBuffer _bb) { __init(_i, _bb); return this; }
+
+  public edge.x.SnakeS innerS() { return innerS(new edge.x.SnakeS()); }
+  public edge.x.SnakeS innerS(edge.x.SnakeS obj) { return obj.__assign(bb_pos + 0, bb); }
+  public edge.x.SnakeS many(edge.x.SnakeS obj, int j) { return obj.__assign(bb_pos + 20 + j * 20, bb); }
+  public boolean b() { return 0!=bb.get(bb_pos + 60); }
+
+  public static int createNest(FlatBufferBuilder builder, int inner_s_firstField, int inner_s_secondFieldX, int[] inner_s_arrU32, byte[] inner_s_arrU8, int[] many_firstField, int[] many_secondFieldX, int[][] many_arrU32, byte[][] many_arrU8, boolean b) {
+    builder.prep(4, 64);
+    builder.pad(3);
+    builder.putBoolean(b);
+    for (int _idx0 = 2; _idx0 > 0; _idx0--) {
+      builder.prep(4, 20);
+      builder.pad(1);
+      for (int _idx1 = 3; _idx1 > 0; _idx1--) {
+        builder.putByte((byte)many_arrU8[_idx0-1][_idx1-1]);
+      }
+      for (int _idx1 = 2; _idx1 > 0; _idx1--) {
+        builder.putInt((int)many_arrU32[_idx0-1][_idx1-1]);
+      }
+      builder.pad(3);
+      builder.putByte((byte)many_secondFieldX[_idx0-1]);
+      builder.putInt(many_firstField[_idx0-1]);
+    }
+    builder.prep(4, 20);
+    builder.pad(1);
+    for (int _idx0 = 3; _idx0 > 0; _idx0--) {
+      builder.putByte((byte)inner_s_arrU8[_idx0-1]);
+    }
+    for (int _idx0 = 2; _idx0 > 0; _idx0--) {
+      builder.putInt((int)inner_s_arrU32[_idx0-1]);
+    }
+    builder.pad(3);
+    builder.putByte((byte)inner_s_secondFieldX);
+    builder.putInt(inner_s_firstField);
+    return builder.offset();
+  }
+
+  public static final class Vector extends BaseVector {
+    public Vector __assign(int _vector, int _element_size, ByteBuffer _bb) { __reset(_vector, _element_size, _bb); return this; }
+
+    public Nest get(int j) { return get(new Nest(), j); }
+    public Nest get(Nest obj, int j) {  return obj.__assign(__element(j), bb); }
+  }
+}
+
@@ -0,0 +1,59 @@
+// automatically generated by the FlatBuffers compiler, do not modify
+
+package edge.x;
+
+import java.nio.*;
+import java.lang.*;
+import java.util.*;
+import com.google.flatbuffers.*;
+
+@SuppressWarnings("unused")
+public final class OrderT extends Table {
+  public static void ValidateVersion() { Constants.FLATBUFFERS_1_12_0(); }
+  public static OrderT getRootAsOrderT(ByteBuffer _bb) { return getRootAsOrderT(_bb, new OrderT()); }
+  public static OrderT getRootAsOrderT(ByteBuffer _bb, OrderT obj) { _bb.order(ByteOrder.LITTLE_ENDIAN); return (obj.__assign(_bb.getInt(_bb.position()) + _bb.position(), _bb)); }
+  public void __init(int _i, ByteBuffer _bb) { __reset(_i, _bb); }
+  public OrderT __assign(int _i, ByteBuffer _bb) { __init(_i, _bb); return this; }
+
+  public byte a() { int o = __offset(4); return o != 0 ? bb.get(o + bb_pos) : 0; }
+  public long b() { int o = __offset(6); return o != 0 ? bb.getLong(o + bb_pos) : 0L; }
+  public short c() { int o = __offset(8); return o != 0 ? bb.getShort(o + bb_pos) : 0; }
+  public String d() { int o = __offset(10); return o != 0 ? __string(o + bb_pos) : null; }
+  public ByteBuffer dAsByteBuffer() { return __vector_as_bytebuffer(10, 1); }
+  public ByteBuffer dInByteBuffer(ByteBuffer _bb) { return __vector_in_bytebuffer(_bb, 10, 1); }
+  public double e() { int o = __offset(12); return o != 0 ? bb.getDouble(o + bb_pos) : 0.0; }
+
+  public static int createOrderT(FlatBufferBuilder builder,
+      byte a,
+      long b,
+      short c,
+      int dOffset,
+      double e) {
+    builder.startTable(5);
+    OrderT.addE(builder, e);
+    OrderT.addD(builder, dOffset);
+    OrderT.addC(builder, c);
+    OrderT.addB(builder, b);
+    OrderT.addA(builder, a);
+    return OrderT.endOrderT(builder);
+  }
+
+  public static void startOrderT(FlatBufferBuilder builder) { builder.startTable(5); }
+  public static void addA(FlatBufferBuilder builder, byte a) { builder.addByte(0, a, 0); }
+  public static void addB(FlatBufferBuilder builder, long b) { builder.addLong(1, b, 0L); }
+  public static void addC(FlatBufferBuilder builder, short c) { builder.addShort(2, c, 0); }
+  public static void addD(FlatBufferBuilder builder, int dOffset) { builder.addOffset(3, dOffset, 0); }
+  public static void addE(FlatBufferBuilder builder, double e) { builder.addDouble(4, e, 0.0); }
+  public static int endOrderT(FlatBufferBuilder builder) {
+    int o = builder.endTable();
+    return o;
+  }
+
+  public static final class Vector extends BaseVector {
+    public Vector __assign(int _vector, int _element_size, ByteBuffer _bb) { __reset(_vector, _element_size, _bb); return this; }
+
+    public OrderT get(int j) { return get(new OrderT(), j); }
+    public OrderT get(OrderT obj, int j) {  return obj.__assign(__indirect(__element(j), bb), bb); }
+  }
+}
+
@@ -0,0 +1,19 @@
+// automatically generated by the FlatBuffers compiler, do not modify
+
+package edge.x;
+
+/**
+ *no space doc
+ *   three spaces doc
+ */slash doc
+ */
+final class Priv {
+  private Priv() { }
+  public static final int P0 = 0;
+  public static final int P1 = 1;
+
+  public static final String[] names = { "P0", "P1", };
+
+  public static String name(int e) { return names[e]; }
+}
+
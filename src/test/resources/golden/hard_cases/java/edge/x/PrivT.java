@@ -0,0 +1,44 @@
+// automatically generated by the FlatBuffers compiler, do not modify
+
+package edge.x;
+
+import java.nio.*;
+import java.lang.*;
+import java.util.*;
+import com.google.flatbuffers.*;
+
+@SuppressWarnings("unused")
+/**
+ * doc with trailing   
+ */
+final class PrivT extends Table {
+  public static void ValidateVersion() { Constants.FLATBUFFERS_1_12_0(); }
+  public static PrivT getRootAsPrivT(ByteBuffer _bb) { return getRootAsPrivT(_bb, new PrivT()); }
+  public static PrivT getRootAsPrivT(ByteBuffer _bb, PrivT obj) { _bb.order(ByteOrder.LITTLE_ENDIAN); return (obj.__assign(_bb.getInt(_bb.position()) + _bb.position(), _bb)); }
+  public void __init(int _i, ByteBuffer _bb) { __reset(_i, _bb); }
+  public PrivT __assign(int _i, ByteBuffer _bb) { __init(_i, _bb); return this; }
+
+  public int a() { int o = __offset(4); return o != 0 ? bb.getInt(o + bb_pos) : 0; }
+
+  public static int createPrivT(FlatBufferBuilder builder,
+      int a) {
+    builder.startTable(1);
+    PrivT.addA(builder, a);
+    return PrivT.endPrivT(builder);
+  }
+
+  public static void startPrivT(FlatBufferBuilder builder) { builder.startTable(1); }
+  public static void addA(FlatBufferBuilder builder, int a) { builder.addInt(0, a, 0); }
+  public static int endPrivT(FlatBufferBuilder builder) {
+    int o = builder.endTable();
+    return o;
+  }
+
+  static final class Vector extends BaseVector {
+    public Vector __assign(int _vector, int _element_size, ByteBuffer _bb) { __reset(_vector, _element_size, _bb); return this; }
+
+    public PrivT get(int j) { return get(new PrivT(), j); }
+    public PrivT get(PrivT obj, int j) {  return obj.__assign(__indirect(__element(j), bb), bb); }
+  }
+}
+
@@ -0,0 +1,42 @@
+// automatically generated by the FlatBuffers compiler, do not modify
+
+package edge.x;
+
+import java.nio.*;
+import java.lang.*;
+import java.util.*;
+import com.google.flatbuffers.*;
+
+@SuppressWarnings("unused")
+public final class SnakeS extends Struct {
+  public void __init(int _i, ByteBuffer _bb) { __reset(_i, _bb); }
+  public SnakeS __assign(int _i, ByteBuffer _bb) { __init(_i, _bb); return this; }
+
+  public int firstField() { return bb.getInt(bb_pos + 0); }
+  public int secondFieldX() { return bb.get(bb_pos + 4) & 0xFF; }
+  public long arrU32(int j) { return (long)bb.getInt(bb_pos + 8 + j * 4); }
+  public int arrU8(int j) { return bb.get(bb_pos + 16 + j * 1); }
+
+  public static int createSnakeS(FlatBufferBuilder builder, int firstField, int secondFieldX, int[] arrU32, byte[] arrU8) {
+    builder.prep(4, 20);
+    builder.pad(1);
+    for (int _idx0 = 3; _idx0 > 0; _idx0--) {
+      builder.putByte((byte)arrU8[_idx0-1]);
+    }
+    for (int _idx0 = 2; _idx0 > 0; _idx0--) {
+      builder.putInt((int)arrU32[_idx0-1]);
+    }
+    builder.pad(3);
+    builder.putByte((byte)secondFieldX);
+    builder.putInt(firstField);
+    return builder.offset();
+  }
+
+  public static final class Vector extends BaseVector {
+    public Vector __assign(int _vector, int _element_size, ByteBuffer _bb) { __reset(_vector, _element_size, _bb); return this; }
+
+    public SnakeS get(int j) { return get(new SnakeS(), j); }
+    public SnakeS get(SnakeS obj, int j) {  return obj.__assign(__element(j), bb); }
+  }
+}
+
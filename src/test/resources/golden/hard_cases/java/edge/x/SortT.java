@@ -0,0 +1,82 @@
+// automatically generated by the FlatBuffers compiler, do not modify
+
+package edge.x;
+
+import java.nio.*;
+import java.lang.*;
+import java.util.*;
+import com.google.flatbuffers.*;
+
+@SuppressWarnings("unused")
+public final class SortT extends Table {
+  public static void ValidateVersion() { Constants.FLATBUFFERS_1_12_0(); }
+  public static SortT getRootAsSortT(ByteBuffer _bb) { return getRootAsSortT(_bb, new SortT()); }
+  public static SortT getRootAsSortT(ByteBuffer _bb, SortT obj) { _bb.order(ByteOrder.LITTLE_ENDIAN); return (obj.__assign(_bb.getInt(_bb.position()) + _bb.position(), _bb)); }
+  public void __init(int _i, ByteBuffer _bb) { __reset(_i, _bb); }
+  public SortT __assign(int _i, ByteBuffer _bb) { __init(_i, _bb); return this; }
+
+  public byte a() { int o = __offset(4); return o != 0 ? bb.get(o + bb_pos) : 0; }
+  public long b() { int o = __offset(6); return o != 0 ? bb.getLong(o + bb_pos) : 0L; }
+  public short c() { int o = __offset(8); return o != 0 ? bb.getShort(o + bb_pos) : 0; }
+  public String d() { int o = __offset(10); return o != 0 ? __string(o + bb_pos) : null; }
+  public ByteBuffer dAsByteBuffer() { return __vector_as_bytebuffer(10, 1); }
+  public ByteBuffer dInByteBuffer(ByteBuffer _bb) { return __vector_in_bytebuffer(_bb, 10, 1); }
+  public double e() { int o = __offset(12); return o != 0 ? bb.getDouble(o + bb_pos) : 0.0; }
+  public boolean f() { int o = __offset(14); return o != 0 ? 0!=bb.get(o + bb_pos) : false; }
+  public byte gType() { int o = __offset(16); return o != 0 ? bb.get(o + bb_pos) : 0; }
+  public Table g(Table obj) { int o = __offset(18); return o != 0 ? __union(obj, o + bb_pos) : null; }
+  public int h(int j) { int o = __offset(20); return o != 0 ? bb.getInt(__vector(o) + j * 4) : 0; }
+  public int hLength() { int o = __offset(20); return o != 0 ? __vector_len(o) : 0; }
+  public IntVector hVector() { return hVector(new IntVector()); }
+  public IntVector hVector(IntVector obj) { int o = __offset(20); return o != 0 ? obj.__assign(__vector(o), bb) : null; }
+  public ByteBuffer hAsByteBuffer() { return __vector_as_bytebuffer(20, 4); }
+  public ByteBuffer hInByteBuffer(ByteBuffer _bb) { return __vector_in_bytebuffer(_bb, 20, 4); }
+
+  public static int createSortT(FlatBufferBuilder builder,
+      byte a,
+      long b,
+      short c,
+      int dOffset,
+      double e,
+      boolean f,
+      byte g_type,
+      int gOffset,
+      int hOffset) {
+    builder.startTable(9);
+    SortT.addE(builder, e);
+    SortT.addB(builder, b);
+    SortT.addH(builder, hOffset);
+    SortT.addG(builder, gOffset);
+    SortT.addD(builder, dOffset);
+    SortT.addC(builder, c);
+    SortT.addGType(builder, g_type);
+    SortT.addF(builder, f);
+    SortT.addA(builder, a);
+    return SortT.endSortT(builder);
+  }
+
+  public static void startSortT(FlatBufferBuilder builder) { builder.startTable(9); }
+  public static void addA(FlatBufferBuilder builder, byte a) { builder.addByte(0, a, 0); }
+  public static void addB(FlatBufferBuilder builder, long b) { builder.addLong(1, b, 0L); }
+  public static void addC(FlatBufferBuilder builder, short c) { builder.addShort(2, c, 0); }
+  public static void addD(FlatBufferBuilder builder, int dOffset) { builder.addOffset(3, dOffset, 0); }
+  public static void addE(FlatBufferBuilder builder, double e) { builder.addDouble(4, e, 0.0); }
+  public static void addF(FlatBufferBuilder builder, boolean f) { builder.addBoolean(5, f, false); }
+  public static void addGType(FlatBufferBuilder builder, byte gType) { builder.addByte(6, gType, 0); }
+  public static void addG(FlatBufferBuilder builder, int gOffset) { builder.addOffset(7, gOffset, 0); }
+  public static void addH(FlatBufferBuilder builder, int hOffset) { builder.addOffset(8, hOffset, 0); }
+  public static int createHVector(FlatBufferBuilder builder, int[] data) { builder.startVector(4, data.length, 4); for (int i = data.length - 1; i >= 0; i--) builder.addInt(data[i]); return builder.endVector(); }
+  public static void startHVector(FlatBufferBuilder builder, int numElems) { builder.startVector(4, numElems, 4); }
+  public static int endSortT(FlatBufferBuilder builder) {
+    int o = builder.endTable();
+    return o;
+  }
+
+  public static final class Vector extends BaseVector {
+    public Vector __assign(int _vector, int _element_size, ByteBuffer _bb) { __reset(_vector, _element_size, _bb); return this; }
+
+    public SortT get(int j) { return get(new SortT(), j); }
+    public SortT get(SortT obj, int j) {  return obj.__assign(__indirect(__element(j), bb), bb); }
+  }
+}
+
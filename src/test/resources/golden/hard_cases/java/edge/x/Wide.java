@@ -0,0 +1,77 @@
+// automatically generated by the FlatBuffers compiler, do not modify
+
+package edge.x;
+
+import java.nio.*;
+import java.lang.*;
+import java.util.*;
+import com.google.flatbuffers.*;
+
+@SuppressWarnings("unused")
+public final class Wide extends Table {
+  public static void ValidateVersion() { Constants.FLATBUFFERS_1_12_0(); }
+  public static Wide getRootAsWide(ByteBuffer _bb) { return getRootAsWide(_bb, new Wide()); }
+  public static Wide getRootAsWide(ByteBuffer _bb, Wide obj) { _bb.order(ByteOrder.LITTLE_ENDIAN); return (obj.__assign(_bb.getInt(_bb.position()) + _bb.position(), _bb)); }
+  public void __init(int _i, ByteBuffer _bb) { __reset(_i, _bb); }
+  public Wide __assign(int _i, ByteBuffer _bb) { __init(_i, _bb); return this; }
+
+  public int f0() { int o = __offset(4); return o != 0 ? bb.getInt(o + bb_pos) : 0; }
+  public int f1() { int o = __offset(6); return o != 0 ? bb.getInt(o + bb_pos) : 0; }
+  public int f2() { int o = __offset(8); return o != 0 ? bb.getInt(o + bb_pos) : 0; }
+  public int f3() { int o = __offset(10); return o != 0 ? bb.getInt(o + bb_pos) : 0; }
+  public int f4() { int o = __offset(12); return o != 0 ? bb.getInt(o + bb_pos) : 0; }
+  public int f5() { int o = __offset(14); return o != 0 ? bb.getInt(o + bb_pos) : 0; }
+  public int f6() { int o = __offset(16); return o != 0 ? bb.getInt(o + bb_pos) : 0; }
+  public int f7() { int o = __offset(18); return o != 0 ? bb.getInt(o + bb_pos) : 0; }
+  public int f8() { int o = __offset(20); return o != 0 ? bb.getInt(o + bb_pos) : 0; }
+  public int f9() { int o = __offset(22); return o != 0 ? bb.getInt(o + bb_pos) : 0; }
+
+  public static int createWide(FlatBufferBuilder builder,
+      int f0,
+      int f1,
+      int f2,
+      int f3,
+      int f4,
+      int f5,
+      int f6,
+      int f7,
+      int f8,
+      int f9) {
+    builder.startTable(10);
+    Wide.addF9(builder, f9);
+    Wide.addF8(builder, f8);
+    Wide.addF7(builder, f7);
+    Wide.addF6(builder, f6);
+    Wide.addF5(builder, f5);
+    Wide.addF4(builder, f4);
+    Wide.addF3(builder, f3);
+    Wide.addF2(builder, f2);
+    Wide.addF1(builder, f1);
+    Wide.addF0(builder, f0);
+    return Wide.endWide(builder);
+  }
+
+  public static void startWide(FlatBufferBuilder builder) { builder.startTable(10); }
+  public static void addF0(FlatBufferBuilder builder, int f0) { builder.addInt(0, f0, 0); }
+  public static void addF1(FlatBufferBuilder builder, int f1) { builder.addInt(1, f1, 0); }
+  public static void addF2(FlatBufferBuilder builder, int f2) { builder.addInt(2, f2, 0); }
+  public static void addF3(FlatBufferBuilder builder, int f3) { builder.addInt(3, f3, 0); }
+  public static void addF4(FlatBufferBuilder builder, int f4) { builder.addInt(4, f4, 0); }
+  public static void addF5(FlatBufferBuilder builder, int f5) { builder.addInt(5, f5, 0); }
+  public static void addF6(FlatBufferBuilder builder, int f6) { builder.addInt(6, f6, 0); }
+  public static void addF7(FlatBufferBuilder builder, int f7) { builder.addInt(7, f7, 0); }
+  public static void addF8(FlatBufferBuilder builder, int f8) { builder.addInt(8, f8, 0); }
+  public static void addF9(FlatBufferBuilder builder, int f9) { builder.addInt(9, f9, 0); }
+  public static int endWide(FlatBufferBuilder builder) {
+    int o = builder.endTable();
+    return o;
+  }
+
+  public static final class Vector extends BaseVector {
+    public Vector __assign(int _vector, int _element_size, ByteBuffer _bb) { __reset(_vector, _element_size, _bb); return this; }
+
+    public Wide get(int j) { return get(new Wide(), j); }
+    public Wide get(Wide obj, int j) {  return obj.__assign(__indirect(__element(j), bb), bb); }
+  }
+}
+
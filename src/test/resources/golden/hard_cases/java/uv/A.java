@@ -0,0 +1,41 @@
+// automatically generated by the FlatBuffers compiler, do not modify
+
+package uv;
+
+import java.nio.*;
+import java.lang.*;
+import java.util.*;
+import com.google.flatbuffers.*;
+
+@SuppressWarnings("unused")
+public final class A extends Table {
+  public static void ValidateVersion() { Constants.FLATBUFFERS_1_12_0(); }
+  public static A getRootAsA(ByteBuffer _bb) { return getRootAsA(_bb, new A()); }
+  public static A getRootAsA(ByteBuffer _bb, A obj) { _bb.order(ByteOrder.LITTLE_ENDIAN); return (obj.__assign(_bb.getInt(_bb.position()) + _bb.position(), _bb)); }
+  public void __init(int _i, ByteBuffer _bb) { __reset(_i, _bb); }
+  public A __assign(int _i, ByteBuffer _bb) { __init(_i, _bb); return this; }
+
+  public int x() { int o = __offset(4); return o != 0 ? bb.getInt(o + bb_pos) : 0; }
+
+  public static int createA(FlatBufferBuilder builder,
+      int x) {
+    builder.startTable(1);
+    A.addX(builder, x);
+    return A.endA(builder);
+  }
+
+  public static void startA(FlatBufferBuilder builder) { builder.startTable(1); }
+  public static void addX(FlatBufferBuilder builder, int x) { builder.addInt(0, x, 0); }
+  public static int endA(FlatBufferBuilder builder) {
+    int o = builder.endTable();
+    return o;
+  }
+
+  public static final class Vector extends BaseVector {
+    public Vector __assign(int _vector, int _element_size, ByteBuffer _bb) { __reset(_vector, _element_size, _bb); return this; }
+
+    public A get(int j) { return get(new A(), j); }
+    public A get(A obj, int j) {  return obj.__assign(__indirect(__element(j), bb), bb); }
+  }
+}
+
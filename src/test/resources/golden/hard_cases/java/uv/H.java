@@ -0,0 +1,57 @@
+// automatically generated by the FlatBuffers compiler, do not modify
+
+package uv;
+
+import java.nio.*;
+import java.lang.*;
+import java.util.*;
+import com.google.flatbuffers.*;
+
+@SuppressWarnings("unused")
+public final class H extends Table {
+  public static void ValidateVersion() { Constants.FLATBUFFERS_1_12_0(); }
+  public static H getRootAsH(ByteBuffer _bb) { return getRootAsH(_bb, new H()); }
+  public static H getRootAsH(ByteBuffer _bb, H obj) { _bb.order(ByteOrder.LITTLE_ENDIAN); return (obj.__assign(_bb.getInt(_bb.position()) + _bb.position(), _bb)); }
+  public void __init(int _i, ByteBuffer _bb) { __reset(_i, _bb); }
+  public H __assign(int _i, ByteBuffer _bb) { __init(_i, _bb); return this; }
+
+  public byte usType(int j) { int o = __offset(4); return o != 0 ? bb.get(__vector(o) + j * 1) : 0; }
+  public int usTypeLength() { int o = __offset(4); return o != 0 ? __vector_len(o) : 0; }
+  public ByteVector usTypeVector() { return usTypeVector(new ByteVector()); }
+  public ByteVector usTypeVector(ByteVector obj) { int o = __offset(4); return o != 0 ? obj.__assign(__vector(o), bb) : null; }
+  public ByteBuffer usTypeAsByteBuffer() { return __vector_as_bytebuffer(4, 1); }
+  public ByteBuffer usTypeInByteBuffer(ByteBuffer _bb) { return __vector_in_bytebuffer(_bb, 4, 1); }
+  public Table us(Table obj, int j) { int o = __offset(6); return o != 0 ? __union(obj, __vector(o) + j * 4) : null; }
+  public int usLength() { int o = __offset(6); return o != 0 ? __vector_len(o) : 0; }
+  public UnionVector usVector() { return usVector(new UnionVector()); }
+  public UnionVector usVector(UnionVector obj) { int o = __offset(6); return o != 0 ? obj.__assign(__vector(o), 4, bb) : null; }
+
+  public static int createH(FlatBufferBuilder builder,
+      int us_typeOffset,
+      int usOffset) {
+    builder.startTable(2);
+    H.addUs(builder, usOffset);
+    H.addUsType(builder, us_typeOffset);
+    return H.endH(builder);
+  }
+
+  public static void startH(FlatBufferBuilder builder) { builder.startTable(2); }
+  public static void addUsType(FlatBufferBuilder builder, int usTypeOffset) { builder.addOffset(0, usTypeOffset, 0); }
+  public static int createUsTypeVector(FlatBufferBuilder builder, byte[] data) { builder.startVector(1, data.length, 1); for (int i = data.length - 1; i >= 0; i--) builder.addByte(data[i]); return builder.endVector(); }
+  public static void startUsTypeVector(FlatBufferBuilder builder, int numElems) { builder.startVector(1, numElems, 1); }
+  public static void addUs(FlatBufferBuilder builder, int usOffset) { builder.addOffset(1, usOffset, 0); }
+  public static int createUsVector(FlatBufferBuilder builder, int[] data) { builder.startVector(4, data.length, 4); for (int i = data.length - 1; i >= 0; i--) builder.addOffset(data[i]); return builder.endVector(); }
+  public static void startUsVector(FlatBufferBuilder builder, int numElems) { builder.startVector(4, numElems, 4); }
+  public static int endH(FlatBufferBuilder builder) {
+    int o = builder.endTable();
+    return o;
+  }
+
+  public static final class Vector extends BaseVector {
+    public Vector __assign(int _vector, int _element_size, ByteBuffer _bb) { __reset(_vector, _element_size, _bb); return this; }
+
+    public H get(int j) { return get(new H(), j); }
+    public H get(H obj, int j) {  return obj.__assign(__indirect(__element(j), bb), bb); }
+  }
+}
+
@@ -0,0 +1,14 @@
+// automatically generated by the FlatBuffers compiler, do not modify
+
+package uv;
+
+public final class U {
+  private U() { }
+  public static final byte NONE = 0;
+  public static final byte A = 1;
+
+  public static final String[] names = { "NONE", "A", };
+
+  public static String name(int e) { return names[e]; }
+}
+
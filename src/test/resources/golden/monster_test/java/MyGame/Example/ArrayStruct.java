@@ -0,0 +1,39 @@
+// automatically generated by the FlatBuffers compiler, do not modify
+
+package MyGame.Example;
+
+import java.nio.*;
+import java.lang.*;
+import java.util.*;
+import com.google.flatbuffers.*;
+
+@SuppressWarnings("unused")
+public final class ArrayStruct extends Struct {
+  public void __init(int _i, ByteBuffer _bb) { __reset(_i, _bb); }
+  public ArrayStruct __assign(int _i, ByteBuffer _bb) { __init(_i, _bb); return this; }
+
+  public float a(int j) { return bb.getFloat(bb_pos + 0 + j * 4); }
+  public MyGame.Example.Test b(MyGame.Example.Test obj, int j) { return obj.__assign(bb_pos + 60 + j * 4, bb); }
+
+  public static int createArrayStruct(FlatBufferBuilder builder, float[] a, short[] b_a, byte[] b_b) {
+    builder.prep(4, 68);
+    for (int _idx0 = 2; _idx0 > 0; _idx0--) {
+      builder.prep(2, 4);
+      builder.pad(1);
+      builder.putByte(b_b[_idx0-1]);
+      builder.putShort(b_a[_idx0-1]);
+    }
+    for (int _idx0 = 15; _idx0 > 0; _idx0--) {
+      builder.putFloat(a[_idx0-1]);
+    }
+    return builder.offset();
+  }
+
+  public static final class Vector extends BaseVector {
+    public Vector __assign(int _vector, int _element_size, ByteBuffer _bb) { __reset(_vector, _element_size, _bb); return this; }
+
+    public ArrayStruct get(int j) { return get(new ArrayStruct(), j); }
+    public ArrayStruct get(ArrayStruct obj, int j) {  return obj.__assign(__element(j), bb); }
+  }
+}
+